@@ -0,0 +1,107 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public class DataContainerMemoryBenchmark {
+
+    private final static String MESSAGE = "%s entity containers retain %s bytes, %s bytes per container";
+    private final static int CONTAINERS = 20000;
+
+    /**
+     * Fills the container with data that has the same layout
+     * as the data of a entity that is being saved.
+     *
+     * @param container The container
+     * @return The container
+     */
+    private static DataContainer fillEntityContainer(DataContainer container) {
+        container.set(DataQuery.of("id"), "minecraft:zombie");
+        container.set(DataQuery.of("Pos"), Lists.newArrayList(10.5, 64.0, -4.5));
+        container.set(DataQuery.of("Motion"), Lists.newArrayList(0.0, -0.08, 0.0));
+        container.set(DataQuery.of("Rotation"), Lists.newArrayList(90f, 0f));
+        container.set(DataQuery.of("UUIDMost"), 4096L);
+        container.set(DataQuery.of("UUIDLeast"), 8192L);
+        container.set(DataQuery.of("FallDistance"), 0f);
+        container.set(DataQuery.of("Fire"), (short) -1);
+        container.set(DataQuery.of("Air"), (short) 300);
+        container.set(DataQuery.of("OnGround"), (byte) 1);
+        container.set(DataQuery.of("Health"), 20f);
+        container.set(DataQuery.of("HurtTime"), (short) 0);
+        final List<DataView> attributes = Lists.newArrayList();
+        for (int i = 0; i < 4; i++) {
+            attributes.add(DataContainer.createNew()
+                    .set(DataQuery.of("Name"), "generic.attribute" + i)
+                    .set(DataQuery.of("Base"), 0.5 * i));
+        }
+        container.set(DataQuery.of("Attributes"), attributes);
+        for (int i = 0; i < 5; i++) {
+            container.createView(DataQuery.of("HandItems" + i))
+                    .set(DataQuery.of("id"), "minecraft:air")
+                    .set(DataQuery.of("Count"), (byte) 0)
+                    .set(DataQuery.of("Damage"), (short) 0);
+        }
+        return container;
+    }
+
+    private static long getUsedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    public void testMemoryUsage() {
+        for (int i = 0; i < 3; i++) {
+            testMemoryUsage0("Default", DataContainer::createNew);
+            testMemoryUsage0("Compact", DataHelper::createCompactContainer);
+        }
+    }
+
+    private static void testMemoryUsage0(String name, Supplier<DataContainer> supplier) {
+        final DataContainer[] containers = new DataContainer[CONTAINERS];
+        final long before = getUsedMemory();
+        for (int i = 0; i < containers.length; i++) {
+            containers[i] = fillEntityContainer(supplier.get());
+        }
+        final long retained = getUsedMemory() - before;
+        System.out.println(String.format(MESSAGE, name, retained, retained / containers.length));
+        // Keep the containers reachable until the memory is measured
+        if (containers[containers.length - 1].isEmpty()) {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.spongepowered.api.data.key.Key;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@SuppressWarnings("unchecked")
+public class ValueCollectionBenchmark {
+
+    private final static String MESSAGE = "%s for %s tests took: %s ms";
+    private final static int TESTS = 1000;
+    private final static int HOLDERS = 1000;
+    private final static int KEYS = 40;
+
+    private final static String MEMORY_MESSAGE = "%s of %s holders retain %s bytes, %s bytes per holder";
+    private final static int MEMORY_HOLDERS = 20000;
+
+    private static Key[] createKeys() {
+        final Key[] keys = new Key[KEYS];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = mock(Key.class);
+        }
+        return keys;
+    }
+
+    private static ValueCollection createCollection(Key[] keys) {
+        final ValueCollection valueCollection = ValueCollection.create();
+        for (Key key : keys) {
+            valueCollection.registerProcessor(key);
+        }
+        return valueCollection;
+    }
+
+    @Test
+    public void testLookupPerformance() {
+        for (int i = 0; i < 3; i++) {
+            testLookupPerformance0();
+        }
+    }
+
+    private static void testLookupPerformance0() {
+        final Key[] keys = createKeys();
+        final List<ValueCollection> collections = Lists.newArrayList();
+        final List<Map<Key<?>, KeyRegistration>> maps = Lists.newArrayList();
+        for (int i = 0; i < HOLDERS; i++) {
+            final ValueCollection valueCollection = createCollection(keys);
+            final Map<Key<?>, KeyRegistration> map = new HashMap<>();
+            for (Key key : keys) {
+                map.put(key, valueCollection.getRegistration(key));
+            }
+            collections.add(valueCollection);
+            maps.add(map);
+        }
+        int found = 0;
+        long time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            for (Map<Key<?>, KeyRegistration> map : maps) {
+                for (Key key : keys) {
+                    if (map.get(key) != null) {
+                        found++;
+                    }
+                }
+            }
+        }
+        System.out.println(String.format(MESSAGE, "HashMap lookups of " + HOLDERS + " holders",
+                TESTS, System.currentTimeMillis() - time));
+        time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            for (ValueCollection valueCollection : collections) {
+                for (Key key : keys) {
+                    if (valueCollection.getRegistration(key) != null) {
+                        found--;
+                    }
+                }
+            }
+        }
+        System.out.println(String.format(MESSAGE, "Schema lookups of " + HOLDERS + " holders",
+                TESTS, System.currentTimeMillis() - time));
+        assertEquals(0, found);
+    }
+
+    private static long getUsedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    public void testMemoryUsage() {
+        final Key[] keys = createKeys();
+        // Create the shared schemas before anything is measured
+        createCollection(keys);
+        for (int i = 0; i < 3; i++) {
+            // The registrations of a holder in a HashMap, like the previous storage
+            testMemoryUsage0("HashMap storage", keys, keys0 -> {
+                final ValueCollection valueCollection = createCollection(keys0);
+                final Map<Key<?>, KeyRegistration> map = new HashMap<>();
+                for (Key key : keys0) {
+                    map.put(key, valueCollection.getRegistration(key));
+                }
+                return map;
+            });
+            testMemoryUsage0("Schema storage", keys, ValueCollectionBenchmark::createCollection);
+        }
+    }
+
+    private static void testMemoryUsage0(String name, Key[] keys, Function<Key[], Object> holderFactory) {
+        final Object[] holders = new Object[MEMORY_HOLDERS];
+        final long before = getUsedMemory();
+        for (int i = 0; i < holders.length; i++) {
+            holders[i] = holderFactory.apply(keys);
+        }
+        final long retained = getUsedMemory() - before;
+        System.out.println(String.format(MEMORY_MESSAGE, name, holders.length, retained, retained / holders.length));
+        // Keep the holders reachable until the memory is measured
+        if (holders[holders.length - 1] == null) {
+            throw new IllegalStateException();
+        }
+    }
+
+    @Test
+    public void testCopyPerformance() {
+        for (int i = 0; i < 3; i++) {
+            testCopyPerformance0();
+        }
+    }
+
+    private static void testCopyPerformance0() {
+        final ValueCollection valueCollection = createCollection(createKeys());
+        final long time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS * 10; i++) {
+            valueCollection.copy();
+        }
+        System.out.println(String.format(MESSAGE, "Copying a collection with " + KEYS + " keys",
+                TESTS * 10, System.currentTimeMillis() - time));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data.persistence.nbt;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+public class NbtDataContainerStreamsBenchmark {
+
+    private final static String MESSAGE = "%s of %s chunk containers took: %s ms";
+    private final static int TESTS = 1000;
+
+    /**
+     * Creates a container that has the same layout as
+     * the data of a chunk in a region file.
+     *
+     * @return The data container
+     */
+    private static DataContainer createChunkContainer() {
+        final Random random = new Random(0L);
+        final DataContainer container = DataContainer.createNew();
+        final DataView level = container.createView(DataQuery.of("Level"));
+        level.set(DataQuery.of("xPos"), 10);
+        level.set(DataQuery.of("zPos"), -4);
+        level.set(DataQuery.of("LastUpdate"), 4096L);
+        final int[] heightMap = new int[256];
+        for (int i = 0; i < heightMap.length; i++) {
+            heightMap[i] = random.nextInt(256);
+        }
+        level.set(DataQuery.of("HeightMap"), heightMap);
+        final List<DataView> sections = Lists.newArrayList();
+        for (int y = 0; y < 8; y++) {
+            final byte[] blocks = new byte[4096];
+            final byte[] data = new byte[2048];
+            final byte[] blockLight = new byte[2048];
+            final byte[] skyLight = new byte[2048];
+            random.nextBytes(blocks);
+            random.nextBytes(data);
+            random.nextBytes(blockLight);
+            random.nextBytes(skyLight);
+            sections.add(DataContainer.createNew()
+                    .set(DataQuery.of("Y"), (byte) y)
+                    .set(DataQuery.of("Blocks"), blocks)
+                    .set(DataQuery.of("Data"), data)
+                    .set(DataQuery.of("BlockLight"), blockLight)
+                    .set(DataQuery.of("SkyLight"), skyLight));
+        }
+        level.set(DataQuery.of("Sections"), sections);
+        final List<DataView> tileEntities = Lists.newArrayList();
+        for (int i = 0; i < 16; i++) {
+            tileEntities.add(DataContainer.createNew()
+                    .set(DataQuery.of("id"), "minecraft:chest")
+                    .set(DataQuery.of("x"), i)
+                    .set(DataQuery.of("y"), 64)
+                    .set(DataQuery.of("z"), i)
+                    .set(DataQuery.of("Items"), Lists.newArrayList()));
+        }
+        level.set(DataQuery.of("TileEntities"), tileEntities);
+        return container;
+    }
+
+    @Test
+    public void testReadWritePerformance() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            testReadWritePerformance0(false);
+            testReadWritePerformance0(true);
+        }
+    }
+
+    private static void testReadWritePerformance0(boolean compressed) throws IOException {
+        final DataContainer container = createChunkContainer();
+        final String suffix = compressed ? " (compressed)" : "";
+        byte[] content = null;
+        long time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (NbtDataContainerOutputStream output = new NbtDataContainerOutputStream(baos, compressed)) {
+                output.write(container);
+            }
+            content = baos.toByteArray();
+        }
+        System.out.println(String.format(MESSAGE, "Writing" + suffix, TESTS, System.currentTimeMillis() - time));
+        time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            try (NbtDataContainerInputStream input = new NbtDataContainerInputStream(
+                    new ByteArrayInputStream(content), compressed)) {
+                input.read();
+            }
+        }
+        System.out.println(String.format(MESSAGE, "Reading" + suffix, TESTS, System.currentTimeMillis() - time));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.event;
+
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+
+public class EventPostBenchmark {
+
+    private final static String MESSAGE = "Posting with %s listeners for %s tests took: %s ms";
+    private final static int TESTS = 1000000;
+
+    private static int counter;
+
+    @Test
+    public void testPostPerformance() {
+        for (int i = 0; i < 3; i++) {
+            testPostPerformance0(0);
+            testPostPerformance0(1);
+            testPostPerformance0(20);
+        }
+    }
+
+    private static void testPostPerformance0(int listeners) {
+        final LanternEventManager eventManager = new LanternEventManager(LoggerFactory.getLogger(EventPostBenchmark.class));
+        final PluginContainer plugin = mock(PluginContainer.class);
+        for (int i = 0; i < listeners; i++) {
+            eventManager.register(new RegisteredListener<>(plugin, Event.class, Order.DEFAULT, event -> counter++));
+        }
+        final Event event = mock(Event.class);
+        // Warm up the cache
+        eventManager.post(event);
+        final long time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            eventManager.post(event);
+        }
+        System.out.println(String.format(MESSAGE, listeners, TESTS, System.currentTimeMillis() - time));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.inventory;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.lanternpowered.server.data.AdditionalContainerCollection;
+import org.lanternpowered.server.data.ValueCollection;
+import org.lanternpowered.server.inventory.block.ChestInventory;
+import org.spongepowered.api.item.ItemType;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.text.translation.Translation;
+
+public class InventoryQueryBenchmark {
+
+    private final static String MESSAGE = "%s on a chest with %s rows for %s tests took: %s ms";
+    private final static int TESTS = 10000;
+
+    private static ItemType createItemType() {
+        final ItemType itemType = mock(ItemType.class);
+        when(itemType.getMaxStackQuantity()).thenReturn(64);
+        return itemType;
+    }
+
+    private static ItemStack createItemStack(ItemType itemType, int quantity) {
+        return new LanternItemStack(itemType, quantity, ValueCollection.create(), AdditionalContainerCollection.createConcurrent());
+    }
+
+    private static ChestInventory createChest(int rows) {
+        return new ChestInventory(null, mock(Translation.class), rows);
+    }
+
+    @Test
+    public void testOfferPollPerformance() {
+        for (int i = 0; i < 3; i++) {
+            testOfferPollPerformance0(6);
+            testOfferPollPerformance0(60);
+        }
+    }
+
+    private static void testOfferPollPerformance0(int rows) {
+        final ItemType stone = createItemType();
+        final ItemType dirt = createItemType();
+        final ChestInventory chest = createChest(rows);
+        // Fill most of the chest with something else
+        for (int i = 0; i < chest.capacity() - 1; i++) {
+            chest.offer(createItemStack(dirt, 64));
+        }
+        final ItemStack itemStack = createItemStack(stone, 1);
+        long time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            chest.offer(itemStack.copy());
+        }
+        System.out.println(String.format(MESSAGE, "Offer", rows, TESTS, System.currentTimeMillis() - time));
+        time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            chest.contains(stone);
+        }
+        System.out.println(String.format(MESSAGE, "Contains", rows, TESTS, System.currentTimeMillis() - time));
+        time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            chest.poll(1, stone);
+        }
+        System.out.println(String.format(MESSAGE, "Poll", rows, TESTS, System.currentTimeMillis() - time));
+    }
+}
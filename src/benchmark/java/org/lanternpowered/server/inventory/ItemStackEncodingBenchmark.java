@@ -0,0 +1,92 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.inventory;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.lanternpowered.server.network.buffer.ByteBuffer;
+import org.lanternpowered.server.network.buffer.ByteBufferAllocator;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+public class ItemStackEncodingBenchmark {
+
+    private final static String MESSAGE = "Encoding %s window items %s for %s tests took: %s ms";
+    private final static int TESTS = 10000;
+    private final static int SLOTS = 90;
+
+    private static DataView createTag() {
+        final DataContainer tag = DataContainer.createNew();
+        tag.createView(DataQuery.of("display"))
+                .set(DataQuery.of("Name"), "{\"text\":\"Enchanted Sword\",\"color\":\"gold\"}")
+                .set(DataQuery.of("Lore"), Lists.newArrayList("First line", "Second line", "Third line"));
+        final DataView enchantment = DataContainer.createNew()
+                .set(DataQuery.of("id"), (short) 16)
+                .set(DataQuery.of("lvl"), (short) 5);
+        tag.set(DataQuery.of("ench"), Lists.newArrayList(enchantment, enchantment));
+        return tag;
+    }
+
+    @Test
+    public void testEncodingPerformance() {
+        for (int i = 0; i < 3; i++) {
+            testEncodingPerformance0();
+        }
+    }
+
+    private static void testEncodingPerformance0() {
+        final DataView tag = createTag();
+        final ByteBuffer buf = ByteBufferAllocator.unpooled().heapBuffer();
+        long time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            buf.clear();
+            for (int j = 0; j < SLOTS; j++) {
+                buf.writeShort((short) 276);
+                buf.writeByte((byte) 1);
+                buf.writeShort((short) 0);
+                buf.writeDataView(tag);
+            }
+        }
+        System.out.println(String.format(MESSAGE, SLOTS, "without cache", TESTS, System.currentTimeMillis() - time));
+        buf.clear();
+        buf.writeShort((short) 0);
+        buf.writeDataView(tag);
+        final byte[] encoded = new byte[buf.available()];
+        buf.readBytes(encoded);
+        time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            buf.clear();
+            for (int j = 0; j < SLOTS; j++) {
+                buf.writeShort((short) 276);
+                buf.writeByte((byte) 1);
+                buf.writeBytes(encoded);
+            }
+        }
+        System.out.println(String.format(MESSAGE, SLOTS, "with cache", TESTS, System.currentTimeMillis() - time));
+        buf.release();
+    }
+}
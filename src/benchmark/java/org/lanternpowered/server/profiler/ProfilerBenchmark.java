@@ -0,0 +1,81 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.spongepowered.api.plugin.PluginContainer;
+
+public class ProfilerBenchmark {
+
+    private final static String MESSAGE = "%s for %s tests took: %s ms";
+    private final static int TESTS = 10000000;
+
+    private static long counter;
+
+    @Test
+    public void testProfilerPerformance() {
+        for (int i = 0; i < 3; i++) {
+            testProfilerPerformance0();
+        }
+    }
+
+    private static void testProfilerPerformance0() {
+        final Timing timing = new Timing(mock(PluginContainer.class), TimingType.EVENT_LISTENER, "test");
+        final LanternProfiler profiler = LanternProfiler.INSTANCE;
+
+        long time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            counter++;
+        }
+        System.out.println(String.format(MESSAGE, "Without profiler", TESTS, System.currentTimeMillis() - time));
+
+        profiler.setEnabled(false);
+        time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            final boolean timings = profiler.isEnabled();
+            final long start = timings ? System.nanoTime() : 0L;
+            counter++;
+            if (timings) {
+                timing.record(start, System.nanoTime());
+            }
+        }
+        System.out.println(String.format(MESSAGE, "Disabled profiler", TESTS, System.currentTimeMillis() - time));
+
+        profiler.setEnabled(true);
+        time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            final boolean timings = profiler.isEnabled();
+            final long start = timings ? System.nanoTime() : 0L;
+            counter++;
+            if (timings) {
+                timing.record(start, System.nanoTime());
+            }
+        }
+        System.out.println(String.format(MESSAGE, "Enabled profiler", TESTS, System.currentTimeMillis() - time));
+    }
+}
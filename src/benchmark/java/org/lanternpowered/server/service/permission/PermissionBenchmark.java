@@ -0,0 +1,138 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.service.permission;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.lanternpowered.server.service.permission.base.LanternSubject;
+import org.lanternpowered.server.service.permission.base.LanternSubjectCollection;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.service.permission.SubjectCollection;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Random;
+
+public class PermissionBenchmark {
+
+    private final static String MESSAGE = "%s for %s tests took: %s ms";
+    private final static int TESTS = 1000000;
+
+    private final static int LEVELS = 5;
+    private final static int NODES = 1000;
+
+    @Test
+    public void testPermissionPerformance() {
+        final LanternPermissionService service = new LanternPermissionService(null);
+        final SubjectCollection collection = service.getSubjects("benchmark");
+
+        // Build a inheritance chain of 5 levels, with 1000 nodes spread over them
+        final Random random = new Random(4000);
+        LanternSubject subject = null;
+        for (int i = 0; i < LEVELS; i++) {
+            final LanternSubject group = (LanternSubject) collection.get("group_" + i);
+            for (int j = 0; j < NODES / LEVELS; j++) {
+                group.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT,
+                        createPermission(random), Tristate.fromBoolean(random.nextBoolean()));
+            }
+            if (subject != null) {
+                group.getSubjectData().addParent(SubjectData.GLOBAL_CONTEXT, subject);
+            }
+            subject = group;
+        }
+        final LanternSubject user = (LanternSubject) collection.get("user");
+        user.getSubjectData().addParent(SubjectData.GLOBAL_CONTEXT, subject);
+
+        final String[] permissions = new String[1024];
+        for (int i = 0; i < permissions.length; i++) {
+            permissions[i] = createPermission(random);
+        }
+        for (String permission : permissions) {
+            assertEquals(getLegacyPermissionValue(user, permission),
+                    user.getPermissionValue(SubjectData.GLOBAL_CONTEXT, permission));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            testPermissionPerformance0(user, permissions);
+        }
+    }
+
+    private void testPermissionPerformance0(LanternSubject user, String[] permissions) {
+        long time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            getLegacyPermissionValue(user, permissions[i & (permissions.length - 1)]);
+        }
+        System.out.println(String.format(MESSAGE, "Node tree walk",
+                TESTS, System.currentTimeMillis() - time));
+        time = System.currentTimeMillis();
+        for (int i = 0; i < TESTS; i++) {
+            user.getPermissionValue(SubjectData.GLOBAL_CONTEXT, permissions[i & (permissions.length - 1)]);
+        }
+        System.out.println(String.format(MESSAGE, "Compiled permission trie",
+                TESTS, System.currentTimeMillis() - time));
+    }
+
+    private static String createPermission(Random random) {
+        final StringBuilder builder = new StringBuilder("plugin");
+        final int segments = 1 + random.nextInt(4);
+        for (int i = 0; i < segments; i++) {
+            builder.append('.').append("node").append(random.nextInt(6));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The permission resolution before the permissions were compiled,
+     * walks the node tree of the subject data and its parents.
+     */
+    private static Tristate getLegacyPermissionValue(LanternSubject subject, String permission) {
+        Tristate ret = getLegacyDataPermissionValue(subject.getSubjectData(), permission);
+        if (ret == Tristate.UNDEFINED) {
+            final LanternSubjectCollection collection = (LanternSubjectCollection) subject.getContainingCollection();
+            ret = getLegacyDataPermissionValue(collection.getDefaults().getSubjectData(), permission);
+            if (ret == Tristate.UNDEFINED) {
+                ret = getLegacyDataPermissionValue(collection.getService().getDefaults().getSubjectData(), permission);
+            }
+        }
+        return ret;
+    }
+
+    private static Tristate getLegacyDataPermissionValue(MemorySubjectData subjectData, String permission) {
+        Tristate res = subjectData.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+        if (res == Tristate.UNDEFINED) {
+            for (Subject parent : subjectData.getParents(SubjectData.GLOBAL_CONTEXT)) {
+                final Tristate tempRes = getLegacyPermissionValue((LanternSubject) parent, permission);
+                if (tempRes != Tristate.UNDEFINED) {
+                    res = tempRes;
+                    break;
+                }
+            }
+        }
+        return res;
+    }
+}
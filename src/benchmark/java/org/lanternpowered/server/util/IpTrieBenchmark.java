@@ -0,0 +1,95 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class IpTrieBenchmark {
+
+    private final static String MESSAGE = "%s for %s tests took: %s ms";
+    private final static int ENTRIES = 200000;
+    private final static int TESTS = 100;
+
+    @Test
+    public void testLookupPerformance() throws UnknownHostException {
+        final Random random = new Random(200);
+        final List<InetAddress> addresses = new ArrayList<>(ENTRIES);
+        final IpTrie<InetAddress> trie = new IpTrie<>();
+        final byte[] bytes = new byte[4];
+        for (int i = 0; i < ENTRIES; i++) {
+            random.nextBytes(bytes);
+            final InetAddress address = InetAddress.getByAddress(bytes);
+            addresses.add(address);
+            trie.put(address, address);
+        }
+        final InetAddress[] lookups = new InetAddress[TESTS];
+        for (int i = 0; i < TESTS; i++) {
+            if ((i & 1) == 0) {
+                lookups[i] = addresses.get(random.nextInt(ENTRIES));
+            } else {
+                random.nextBytes(bytes);
+                lookups[i] = InetAddress.getByAddress(bytes);
+            }
+            assertEquals(find(addresses, lookups[i]), trie.get(lookups[i]));
+        }
+        for (int i = 0; i < 3; i++) {
+            testLookupPerformance0(addresses, trie, lookups);
+        }
+    }
+
+    private void testLookupPerformance0(List<InetAddress> addresses, IpTrie<InetAddress> trie, InetAddress[] lookups) {
+        long time = System.currentTimeMillis();
+        for (InetAddress lookup : lookups) {
+            find(addresses, lookup);
+        }
+        System.out.println(String.format(MESSAGE, "Linear scan over " + ENTRIES + " entries",
+                TESTS, System.currentTimeMillis() - time));
+        time = System.currentTimeMillis();
+        for (InetAddress lookup : lookups) {
+            trie.get(lookup);
+        }
+        System.out.println(String.format(MESSAGE, "IpTrie with " + ENTRIES + " entries",
+                TESTS, System.currentTimeMillis() - time));
+    }
+
+    private static InetAddress find(List<InetAddress> addresses, InetAddress address) {
+        final String hostAddress = address.getHostAddress();
+        for (InetAddress address0 : addresses) {
+            if (address0.getHostAddress().equalsIgnoreCase(hostAddress)) {
+                return address0;
+            }
+        }
+        return null;
+    }
+}
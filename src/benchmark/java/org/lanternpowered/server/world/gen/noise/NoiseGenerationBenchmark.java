@@ -0,0 +1,93 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.gen.noise;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+import org.lanternpowered.server.world.chunk.ChunkBlockBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NoiseGenerationBenchmark {
+
+    private final static String MESSAGE = "%s for %s chunks took: %s ms (%s chunks/s per core)";
+    private final static int CHUNKS = 2000;
+
+    private final static short STONE = 1 << 4;
+    private final static short GRASS = 2 << 4;
+    private final static short DIRT = 3 << 4;
+    private final static short BEDROCK = 7 << 4;
+    private final static short WATER = 9 << 4;
+    private final static short SAND = 12 << 4;
+
+    private static NoiseTerrainGenerationPopulator createPopulator() {
+        return new NoiseTerrainGenerationPopulator(1234L, 62, 256, STONE, DIRT, GRASS, SAND, WATER, BEDROCK);
+    }
+
+    @Test
+    public void testPerformance() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            testPerformance0();
+        }
+    }
+
+    private void testPerformance0() throws InterruptedException {
+        final NoiseTerrainGenerationPopulator populator = createPopulator();
+        final ChunkBlockBuffer buffer = new ChunkBlockBuffer();
+        long time = System.currentTimeMillis();
+        for (int i = 0; i < CHUNKS; i++) {
+            buffer.reuse(Vector3i.ZERO);
+            populator.generate(buffer, (i % 64) << 4, (i / 64) << 4);
+        }
+        long delta = Math.max(1, System.currentTimeMillis() - time);
+        System.out.println(String.format(MESSAGE, "Single thread", CHUNKS, delta, CHUNKS * 1000L / delta));
+
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final AtomicInteger counter = new AtomicInteger();
+        final List<Thread> threadList = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            threadList.add(new Thread(() -> {
+                final ChunkBlockBuffer buffer0 = new ChunkBlockBuffer();
+                int index;
+                while ((index = counter.getAndIncrement()) < CHUNKS) {
+                    buffer0.reuse(Vector3i.ZERO);
+                    populator.generate(buffer0, (index % 64) << 4, (index / 64) << 4);
+                }
+            }));
+        }
+        time = System.currentTimeMillis();
+        for (Thread thread : threadList) {
+            thread.start();
+        }
+        for (Thread thread : threadList) {
+            thread.join();
+        }
+        delta = Math.max(1, System.currentTimeMillis() - time);
+        System.out.println(String.format(MESSAGE, threads + " threads", CHUNKS, delta, CHUNKS * 1000L / delta / threads));
+    }
+}
@@ -41,8 +41,11 @@
 import org.lanternpowered.server.console.ConsoleManager;
 import org.lanternpowered.server.console.LanternConsoleSource;
 import org.lanternpowered.server.entity.living.player.LanternPlayer;
+import org.lanternpowered.server.entity.living.player.tab.GlobalTabList;
+import org.lanternpowered.server.event.LanternEventManager;
 import org.lanternpowered.server.game.LanternGame;
 import org.lanternpowered.server.game.version.LanternMinecraftVersion;
+import org.lanternpowered.server.inject.Option;
 import org.lanternpowered.server.network.NetworkManager;
 import org.lanternpowered.server.network.ProxyType;
 import org.lanternpowered.server.network.protocol.ProtocolState;
@@ -50,6 +53,9 @@
 import org.lanternpowered.server.network.rcon.RconServer;
 import org.lanternpowered.server.network.status.LanternFavicon;
 import org.lanternpowered.server.plugin.InternalPluginsInfo;
+import org.lanternpowered.server.profiler.TickMetrics;
+import org.lanternpowered.server.profiler.TickPhase;
+import org.lanternpowered.server.scoreboard.LanternScoreboard;
 import org.lanternpowered.server.service.CloseableService;
 import org.lanternpowered.server.service.LanternServiceManager;
 import org.lanternpowered.server.text.LanternTexts;
@@ -57,12 +63,14 @@
 import org.lanternpowered.server.util.ShutdownMonitorThread;
 import org.lanternpowered.server.world.LanternWorldManager;
 import org.lanternpowered.server.world.chunk.LanternChunkLayout;
+import org.lanternpowered.server.world.pregen.LanternChunkPreGenerateTask;
 import org.slf4j.Logger;
 import org.spongepowered.api.Server;
 import org.spongepowered.api.command.source.ConsoleSource;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.world.ChunkPreGenerationEvent;
 import org.spongepowered.api.network.status.Favicon;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.profile.GameProfileCache;
@@ -115,6 +123,9 @@ public final class LanternServer implements Server {
     @SuppressWarnings("NullableProblems")
     private Thread mainThread;
 
+    // The metrics of the server ticks
+    private final TickMetrics tickMetrics = new TickMetrics();
+
     // The world manager
     @Inject private LanternWorldManager worldManager;
 
@@ -133,6 +144,14 @@ public final class LanternServer implements Server {
     // The console manager
     @Inject private ConsoleManager consoleManager;
 
+    // The radius in blocks of the worlds that should be pre generated without starting the network
+    @Inject @Option(value = "pregenerate", description = "Pre generates the loaded worlds within the radius (in blocks) and stops the server")
+    @Nullable private Integer preGenerateRadius;
+
+    // The amount of threads that should be used to pre generate the worlds
+    @Inject @Option(value = "pregenerate-threads", description = "The amount of threads used to pre generate, defaults to the amount of cores")
+    @Nullable private Integer preGenerateThreads;
+
     // The rcon server/service
     @Nullable private RconServer rconServer;
 
@@ -219,30 +238,35 @@ void start() throws IOException {
 
         this.consoleManager.start();
 
-        try {
-            bind();
-        } catch (BindException e) {
-            // descriptive bind error messages
-            this.logger.error("The server could not bind to the requested address.");
-            if (e.getMessage().startsWith("Cannot assign requested address")) {
-                this.logger.error("The 'server.ip' in your global.conf file may not be valid.");
-                this.logger.error("Unless you are sure you need it, try removing it.");
-                this.logger.error(e.toString());
-            } else if (e.getMessage().startsWith("Address already in use")) {
-                this.logger.error("The address was already in use. Check that no server is");
-                this.logger.error("already running on that port. If needed, try killing all");
-                this.logger.error("Java processes using Task Manager or similar.");
-                this.logger.error(e.toString());
-            } else {
-                this.logger.error("An unknown bind error has occurred.", e);
+        // The network isn't needed while pre generating, no players should join
+        if (this.preGenerateRadius == null) {
+            try {
+                bind();
+            } catch (BindException e) {
+                // descriptive bind error messages
+                this.logger.error("The server could not bind to the requested address.");
+                if (e.getMessage().startsWith("Cannot assign requested address")) {
+                    this.logger.error("The 'server.ip' in your global.conf file may not be valid.");
+                    this.logger.error("Unless you are sure you need it, try removing it.");
+                    this.logger.error(e.toString());
+                } else if (e.getMessage().startsWith("Address already in use")) {
+                    this.logger.error("The address was already in use. Check that no server is");
+                    this.logger.error("already running on that port. If needed, try killing all");
+                    this.logger.error("Java processes using Task Manager or similar.");
+                    this.logger.error(e.toString());
+                } else {
+                    this.logger.error("An unknown bind error has occurred.", e);
+                }
+                System.exit(1);
+                return;
             }
-            System.exit(1);
-            return;
-        }
-        bindQuery();
-        bindRcon();
+            bindQuery();
+            bindRcon();
 
-        this.logger.info("Ready for connections.");
+            this.logger.info("Ready for connections.");
+        } else {
+            this.logger.info("Running headless, pre generating the worlds within a radius of {} blocks.", this.preGenerateRadius);
+        }
         this.worldManager.init();
 
         final Cause gameCause = Cause.source(this.game).build();
@@ -272,6 +296,7 @@ void start() throws IOException {
             }
         }
 
+        this.tickMetrics.registerMBean();
         this.executor.scheduleAtFixedRate(() -> {
             try {
                 pulse();
@@ -281,6 +306,39 @@ void start() throws IOException {
         }, 0, LanternGame.TICK_DURATION, TimeUnit.MILLISECONDS);
 
         this.game.postGameStateChange(SpongeEventFactory.createGameStartedServerEvent(gameCause));
+
+        if (this.preGenerateRadius != null) {
+            preGenerateWorlds(this.preGenerateRadius);
+        }
+    }
+
+    /**
+     * Pre generates all the loaded worlds in parallel and
+     * stops the server once all the worlds are completed.
+     *
+     * @param radius The radius around the world border center, in blocks
+     */
+    private void preGenerateWorlds(int radius) {
+        final int threads = this.preGenerateThreads != null ? this.preGenerateThreads : Runtime.getRuntime().availableProcessors();
+        final Collection<World> worlds = this.worldManager.getWorlds();
+        final AtomicInteger remaining = new AtomicInteger(worlds.size());
+        if (worlds.isEmpty()) {
+            shutdown();
+            return;
+        }
+        for (World world : worlds) {
+            new LanternChunkPreGenerateTask.Builder(world, world.getWorldBorder().getCenter(), radius * 2)
+                    .parallelism(threads)
+                    .owner(this.pluginContainer)
+                    .logger(this.logger)
+                    .addListener(event -> {
+                        if ((event instanceof ChunkPreGenerationEvent.Complete || event instanceof ChunkPreGenerationEvent.Cancelled) &&
+                                remaining.decrementAndGet() == 0) {
+                            shutdown();
+                        }
+                    })
+                    .start();
+        }
     }
 
     /**
@@ -352,14 +410,34 @@ private void bindRcon() {
      * Pulses (ticks) the game.
      */
     private void pulse() {
+        final TickMetrics metrics = this.tickMetrics;
+        final long startTime = metrics.startTick();
         this.runningTimeTicks.incrementAndGet();
         // Pulse the network sessions
         this.networkManager.pulseSessions();
+        long time = metrics.endPhase(TickPhase.NETWORK, startTime);
         // Pulse the sync scheduler tasks
         this.game.getScheduler().pulseSyncScheduler();
+        time = metrics.endPhase(TickPhase.SCHEDULER, time);
         // Pulse the world threads
         this.worldManager.pulse();
+        time = metrics.endPhase(TickPhase.WORLDS, time);
         AdvancementTrees.INSTANCE.pulse();
+        time = metrics.endPhase(TickPhase.ADVANCEMENTS, time);
+        LanternScoreboard.flushAll();
+        time = metrics.endPhase(TickPhase.SCOREBOARDS, time);
+        GlobalTabList.getInstance().flush();
+        metrics.endPhase(TickPhase.TAB_LISTS, time);
+        metrics.endTick(startTime);
+    }
+
+    /**
+     * Gets the {@link TickMetrics} of the server.
+     *
+     * @return The tick metrics
+     */
+    public TickMetrics getTickMetrics() {
+        return this.tickMetrics;
     }
 
     /**
@@ -611,10 +689,14 @@ public void shutdown(Text kickMessage) {
 
         // Shutdown the executor
         this.executor.shutdown();
+        this.tickMetrics.unregisterMBeans();
 
         // Stop the async scheduler
         this.game.getScheduler().shutdownAsyncScheduler(5, TimeUnit.SECONDS);
 
+        // Stop the async event lane
+        ((LanternEventManager) this.game.getEventManager()).shutdown(5, TimeUnit.SECONDS);
+
         final Collection<ProviderRegistration<?>> serviceRegistrations;
         try {
             final ServiceManager serviceManager = this.game.getServiceManager();
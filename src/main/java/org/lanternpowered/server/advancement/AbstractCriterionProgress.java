@@ -43,6 +43,7 @@ public OptionalLong get() {
     @Override
     public long set() {
         if (this.achievingTime == INVALID_TIME) {
+            getProgress().markDirty();
             this.achievingTime = System.currentTimeMillis();
             getProgress().updateAchievedState(this.achievingTime);
         }
@@ -54,6 +55,7 @@ public OptionalLong revoke() {
         if (this.achievingTime == INVALID_TIME) {
             return OptionalLong.empty();
         }
+        getProgress().markDirty();
         try {
             return OptionalLong.of(this.achievingTime);
         } finally {
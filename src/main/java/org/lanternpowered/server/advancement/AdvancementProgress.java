@@ -34,15 +34,23 @@
 import java.util.Optional;
 import java.util.OptionalLong;
 
+import javax.annotation.Nullable;
+
 public final class AdvancementProgress extends Achievable {
 
     private final Advancement advancement;
     private final Map<AdvancementCriterion, CriterionProgress> progress = new HashMap<>();
+    @Nullable private final AdvancementsProgress advancementsProgress;
 
     private long achievingTime = INVALID_TIME;
     private boolean lock;
 
     public AdvancementProgress(Advancement advancement) {
+        this(null, advancement);
+    }
+
+    AdvancementProgress(@Nullable AdvancementsProgress advancementsProgress, Advancement advancement) {
+        this.advancementsProgress = advancementsProgress;
         this.advancement = advancement;
         for (AdvancementCriterion criterion : advancement.getLeafCriteria()) {
             final CriterionProgress progress;
@@ -128,8 +136,19 @@ public OptionalLong get() {
         return this.achievingTime == INVALID_TIME ? OptionalLong.empty() : OptionalLong.of(this.achievingTime);
     }
 
+    /**
+     * Marks this progress as changed, only the
+     * dirty progresses will be send to the client.
+     */
+    void markDirty() {
+        if (this.advancementsProgress != null) {
+            this.advancementsProgress.markDirty(this);
+        }
+    }
+
     @Override
     public long set() {
+        markDirty();
         this.lock = true;
         try {
             long time = -1L;
@@ -148,6 +167,7 @@ public long set() {
 
     @Override
     public OptionalLong revoke() {
+        markDirty();
         this.lock = true;
         try {
             OptionalLong time = OptionalLong.empty();
@@ -29,6 +29,7 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.flowpowered.math.vector.Vector2d;
+import com.google.common.collect.ImmutableList;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMaps;
 import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
@@ -44,10 +45,12 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -84,6 +87,10 @@ public static AdvancementTreeBuilder builder() {
 
     private boolean refresh;
 
+    // The initialize data is the same for every player, so it only
+    // has to be rebuilt for each locale after the tree changes
+    private final Map<Locale, GlobalAdvancementsData> initializeData = new HashMap<>();
+
     AdvancementTree(String pluginId, String id, String name, Text title, Text description, ItemStackSnapshot icon, FrameType frameType,
             String background, @Nullable Advancement rootAdvancement, Vector2d rootPosition, boolean showToast) {
         super(pluginId, id, name, title, description, icon, frameType, showToast);
@@ -120,7 +127,7 @@ public void addTracker(Player tracker) {
         final LanternPlayer player = (LanternPlayer) tracker;
         if (this.trackers.add(player)) {
             this.addedTrackers.add(player);
-            final MessagePlayOutAdvancements message = createAdvancementsMessage(Locale.ENGLISH, player.getAdvancementsProgress(), INITIALIZE);
+            final MessagePlayOutAdvancements message = createAdvancementsMessage(player.getLocale(), player.getAdvancementsProgress(), INITIALIZE);
             if (message != null) {
                 player.getConnection().send(message);
             }
@@ -150,7 +157,7 @@ public void removeTracker(Player tracker) {
         final LanternPlayer player = (LanternPlayer) tracker;
         if (this.trackers.remove(player)) {
             this.addedTrackers.remove(player);
-            final MessagePlayOutAdvancements message = createAdvancementsMessage(Locale.ENGLISH, player.getAdvancementsProgress(), REMOVE);
+            final MessagePlayOutAdvancements message = createAdvancementsMessage(player.getLocale(), player.getAdvancementsProgress(), REMOVE);
             if (message != null) {
                 player.getConnection().send(message);
             }
@@ -206,6 +213,7 @@ public void addAdvancement(double x, double y, Advancement advancement) {
         }
         this.advancements.put(advancement, new Vector2d(x, y));
         this.addedAdvancements.add(advancement);
+        this.initializeData.clear();
     }
 
     /**
@@ -218,6 +226,7 @@ public void removeAdvancement(Advancement advancement) {
         final Vector2d position = this.advancements.remove(advancement);
         if (position != null) {
             this.removedAdvancements.add(advancement);
+            this.initializeData.clear();
             if (position.getX() < 0 || position.getY() < 0) {
                 double xOffset = 0;
                 double yOffset = 0;
@@ -269,8 +278,8 @@ final static class GlobalAdvancementsData {
         private final List<MessagePlayOutAdvancements.AdvStruct> addedStructs;
 
         private GlobalAdvancementsData(@Nullable List<String> removed, @Nullable List<MessagePlayOutAdvancements.AdvStruct> addedStructs) {
-            this.removed = removed == null ? Collections.emptyList() : removed;
-            this.addedStructs = addedStructs == null ? Collections.emptyList() : addedStructs;
+            this.removed = removed == null ? Collections.emptyList() : ImmutableList.copyOf(removed);
+            this.addedStructs = addedStructs == null ? Collections.emptyList() : ImmutableList.copyOf(addedStructs);
         }
     }
 
@@ -281,6 +290,21 @@ private GlobalAdvancementsData(@Nullable List<String> removed, @Nullable List<Me
 
     @Nullable
     GlobalAdvancementsData createGlobalData(Locale locale, int state) {
+        if (state == INITIALIZE) {
+            GlobalAdvancementsData data = this.initializeData.get(locale);
+            if (data == null) {
+                data = createGlobalData0(locale, state);
+                if (data != null) {
+                    this.initializeData.put(locale, data);
+                }
+            }
+            return data;
+        }
+        return createGlobalData0(locale, state);
+    }
+
+    @Nullable
+    private GlobalAdvancementsData createGlobalData0(Locale locale, int state) {
         final String rootId = getInternalId();
 
         List<String> removed = null;
@@ -311,8 +335,8 @@ GlobalAdvancementsData createGlobalData(Locale locale, int state) {
             addedStructs = new ArrayList<>();
             addedStructs.add(createStruct(rootId, null, createDisplay(
                     // The title has to be reset afterwards, otherwise is the style also used for the description
-                    new LocalizedText(Text.builder().append(getTitle()).style(TextStyles.RESET).build(), Locale.ENGLISH),
-                    new LocalizedText(getDescription(), Locale.ENGLISH),
+                    new LocalizedText(Text.builder().append(getTitle()).style(TextStyles.RESET).build(), locale),
+                    new LocalizedText(getDescription(), locale),
                     getIcon(), getFrameType(), this.background,
                     this.rootPosition.getX() + this.xOffset,
                     this.rootPosition.getY() + this.yOffset,
@@ -386,13 +410,26 @@ MessagePlayOutAdvancements createAdvancementsMessage(@Nullable GlobalAdvancement
             progressMap.put(rootId, Object2LongMaps.singleton(AdvancementCriterion.DUMMY, System.currentTimeMillis()));
         }
 
-        for (Advancement advancement : this.advancements.keySet()) {
+        final Collection<Advancement> advancements;
+        if (state == INITIALIZE || state == REFRESH) {
+            advancements = this.advancements.keySet();
+        } else {
+            // Only the progress that changed has to be updated, the added
+            // advancements are new to the client so they need all their progress
+            final Set<Advancement> advancements1 = new LinkedHashSet<>(this.addedAdvancements);
+            progress.getDirtyProgresses().stream()
+                    .map(AdvancementProgress::getAdvancement)
+                    .forEach(advancements1::add);
+            advancements1.removeIf(advancement -> !this.advancements.containsKey(advancement));
+            advancements = advancements1;
+        }
+        for (Advancement advancement : advancements) {
             final AdvancementProgress progress1 = progress.getOrNull(advancement);
             if (progress1 != null) {
                 final Object2LongMap<String> entries;
                 if (advancement.getCriterion() != AdvancementCriterion.EMPTY) {
                     entries = new Object2LongOpenHashMap<>();
-                    if (state == INITIALIZE || state == REFRESH) {
+                    if (state == INITIALIZE || state == REFRESH || this.addedAdvancements.contains(advancement)) {
                         progress1.fillProgress(entries);
                     } else {
                         progress1.fillDirtyProgress(entries);
@@ -414,6 +451,45 @@ MessagePlayOutAdvancements createAdvancementsMessage(@Nullable GlobalAdvancement
                 progressMap == null ? Collections.emptyMap() : progressMap);
     }
 
+    /**
+     * Sends the changes of this tree to all the given trackers. The global data is
+     * only built once for every locale. Trackers without progress changes in this
+     * tree share the same message for their locale, unless advancements were added
+     * since the progress of those advancements differs per tracker.
+     *
+     * @param trackers The trackers
+     * @param state The update state
+     */
+    void sendUpdates(List<LanternPlayer> trackers, int state) {
+        final Map<Locale, Optional<GlobalAdvancementsData>> globalData = new HashMap<>();
+        final Map<Locale, Optional<MessagePlayOutAdvancements>> sharedMessages = new HashMap<>();
+        for (LanternPlayer tracker : trackers) {
+            final Locale locale = tracker.getLocale();
+            final GlobalAdvancementsData data = globalData.computeIfAbsent(locale,
+                    locale1 -> Optional.ofNullable(createGlobalData(locale1, state))).orElse(null);
+            final AdvancementsProgress progress = tracker.getAdvancementsProgress();
+            final MessagePlayOutAdvancements message;
+            if (state == UPDATE && this.addedAdvancements.isEmpty() && !hasDirtyProgress(progress)) {
+                message = sharedMessages.computeIfAbsent(locale,
+                        locale1 -> Optional.ofNullable(createAdvancementsMessage(data, progress, state))).orElse(null);
+            } else {
+                message = createAdvancementsMessage(data, progress, state);
+            }
+            if (message != null) {
+                tracker.getConnection().send(message);
+            }
+        }
+    }
+
+    private boolean hasDirtyProgress(AdvancementsProgress progress) {
+        for (AdvancementProgress progress1 : progress.getDirtyProgresses()) {
+            if (this.advancements.containsKey(progress1.getAdvancement())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private MessagePlayOutAdvancements.AdvStruct.Display createDisplay(LocalizedText title, LocalizedText description, ItemStackSnapshot icon,
             FrameType frameType, @Nullable String background, double x, double y, boolean showToast, boolean hidden) {
         return new MessagePlayOutAdvancements.AdvStruct.Display(title, description, icon, frameType, background, x, y, showToast, hidden);
@@ -38,7 +38,6 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
@@ -90,7 +89,7 @@ public void initialize(Player player) {
                 continue;
             }
             final AdvancementTree.GlobalAdvancementsData globalAdvancementsData = advancementTree.createGlobalData(
-                    Locale.ENGLISH, AdvancementTree.INITIALIZE);
+                    player1.getLocale(), AdvancementTree.INITIALIZE);
             final MessagePlayOutAdvancements message = advancementTree.createAdvancementsMessage(
                     globalAdvancementsData, player1.getAdvancementsProgress(), AdvancementTree.INITIALIZE);
             if (message != null) {
@@ -122,14 +121,7 @@ public void pulse() {
             final List<LanternPlayer> trackers1 = advancementTree.getUpdateTrackers();
             trackers.addAll(trackers1);
             final int state = advancementTree.isRefreshRequired() ? AdvancementTree.REFRESH : AdvancementTree.UPDATE;
-            final AdvancementTree.GlobalAdvancementsData globalAdvancementsData = advancementTree.createGlobalData(Locale.ENGLISH, state);
-            for (LanternPlayer tracker : trackers1) {
-                final MessagePlayOutAdvancements message = advancementTree.createAdvancementsMessage(
-                        globalAdvancementsData, tracker.getAdvancementsProgress(), state);
-                if (message != null) {
-                    tracker.getConnection().send(message);
-                }
-            }
+            advancementTree.sendUpdates(trackers1, state);
             advancementTree.clearDirty();
         }
         trackers.forEach(player -> player.getAdvancementsProgress().resetDirtyState());
@@ -27,14 +27,19 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
 public final class AdvancementsProgress {
 
     private final Map<Advancement, AdvancementProgress> progresses = new HashMap<>();
+    // All the progresses that changed since the last update
+    private final Set<AdvancementProgress> dirtyProgresses = new HashSet<>();
 
     /**
      * Gets the {@link AdvancementProgress} for the specified {@link Advancement}.
@@ -44,7 +49,7 @@ public final class AdvancementsProgress {
      */
     public AdvancementProgress get(Advancement advancement) {
         checkNotNull(advancement, "advancement");
-        return this.progresses.computeIfAbsent(advancement, AdvancementProgress::new);
+        return this.progresses.computeIfAbsent(advancement, advancement1 -> new AdvancementProgress(this, advancement1));
     }
 
     @Nullable
@@ -53,7 +58,25 @@ AdvancementProgress getOrNull(Advancement advancement) {
         return this.progresses.get(advancement);
     }
 
+    void markDirty(AdvancementProgress progress) {
+        this.dirtyProgresses.add(progress);
+    }
+
+    /**
+     * Gets all the {@link AdvancementProgress}es that changed
+     * since the last time the dirty state was reset.
+     *
+     * @return The dirty advancement progresses
+     */
+    Collection<AdvancementProgress> getDirtyProgresses() {
+        return this.dirtyProgresses;
+    }
+
     void resetDirtyState() {
-        this.progresses.values().forEach(AdvancementProgress::resetDirtyState);
+        if (this.dirtyProgresses.isEmpty()) {
+            return;
+        }
+        this.dirtyProgresses.forEach(AdvancementProgress::resetDirtyState);
+        this.dirtyProgresses.clear();
     }
 }
@@ -43,6 +43,7 @@ public class ScoreCriterionProgress extends AbstractCriterionProgress {
     @Override
     public long set() {
         if (this.score == 0) {
+            getProgress().markDirty();
             this.score = getCriterion().getGoal();
         }
         return super.set();
@@ -50,6 +51,9 @@ public long set() {
 
     @Override
     public OptionalLong revoke() {
+        if (this.score != 0) {
+            getProgress().markDirty();
+        }
         this.score = 0;
         return super.revoke();
     }
@@ -117,6 +121,7 @@ public int getScore() {
     public OptionalLong set(int score) {
         checkArgument(score >= 0, "score to add may not be negative");
         final int goal = getGoal();
+        getProgress().markDirty();
         this.score = Math.min(score, goal);
         if (score == goal) {
             return OptionalLong.of(super.set());
@@ -139,6 +144,7 @@ public OptionalLong add(int score) {
         if (this.score == goal) {
             return super.get();
         }
+        getProgress().markDirty();
         this.score = Math.min(this.score + score, goal);
         if (this.score == goal) {
             return OptionalLong.of(super.set());
@@ -155,6 +161,7 @@ public OptionalLong add(int score) {
      */
     public OptionalLong remove(int score) {
         checkArgument(score > 0, "score to remove must be greater then zero");
+        getProgress().markDirty();
         this.score = Math.max(0, this.score - score);
         return super.revoke();
     }
@@ -0,0 +1,131 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.command;
+
+import static org.lanternpowered.server.text.translation.TranslationHelper.t;
+
+import org.lanternpowered.server.game.Lantern;
+import org.lanternpowered.server.profiler.LanternProfiler;
+import org.lanternpowered.server.profiler.TimingSnapshot;
+import org.lanternpowered.server.profiler.TimingType;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.command.spec.CommandSpec;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.text.Text;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+public final class CommandLantern extends CommandProvider {
+
+    private static final int DEFAULT_ENTRIES = 10;
+
+    public CommandLantern() {
+        super(4, "lantern");
+    }
+
+    @Override
+    public void completeSpec(PluginContainer pluginContainer, CommandSpec.Builder specBuilder) {
+        specBuilder
+                .description(t("commands.lantern.description"))
+                .child(CommandSpec.builder()
+                        .description(t("commands.lantern.profile.description"))
+                        .permission(getChildPermissionFor(pluginContainer, "profile"))
+                        .arguments(GenericArguments.optional(GenericArguments.integer(Text.of("entries"))))
+                        .executor((src, args) -> {
+                            sendProfile(src, args.<Integer>getOne("entries").orElse(DEFAULT_ENTRIES));
+                            return CommandResult.success();
+                        })
+                        .child(CommandSpec.builder()
+                                .executor((src, args) -> {
+                                    LanternProfiler.INSTANCE.setEnabled(true);
+                                    src.sendMessage(t("commands.lantern.profile.enabled"));
+                                    return CommandResult.success();
+                                })
+                                .build(), "on")
+                        .child(CommandSpec.builder()
+                                .executor((src, args) -> {
+                                    LanternProfiler.INSTANCE.setEnabled(false);
+                                    src.sendMessage(t("commands.lantern.profile.disabled"));
+                                    return CommandResult.success();
+                                })
+                                .build(), "off")
+                        .child(CommandSpec.builder()
+                                .executor((src, args) -> {
+                                    LanternProfiler.INSTANCE.reset();
+                                    src.sendMessage(t("commands.lantern.profile.reset"));
+                                    return CommandResult.success();
+                                })
+                                .build(), "reset")
+                        .child(CommandSpec.builder()
+                                .executor((src, args) -> {
+                                    final String fileName = "profile-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".tsv";
+                                    final Path file = Lantern.getGame().getGameDirectory().resolve("profiles").resolve(fileName);
+                                    try {
+                                        LanternProfiler.INSTANCE.export(file);
+                                    } catch (IOException e) {
+                                        throw new CommandException(t("commands.lantern.profile.export.failed", e.getMessage()), e);
+                                    }
+                                    src.sendMessage(t("commands.lantern.profile.export.success", file.toString()));
+                                    return CommandResult.success();
+                                })
+                                .build(), "export")
+                        .build(), "profile");
+    }
+
+    private static void sendProfile(CommandSource src, int entries) {
+        final LanternProfiler profiler = LanternProfiler.INSTANCE;
+        if (!profiler.isEnabled()) {
+            src.sendMessage(t("commands.lantern.profile.not_enabled"));
+        }
+        src.sendMessage(t("commands.lantern.profile.plugins"));
+        final List<TimingSnapshot> plugins = profiler.createPluginSnapshots();
+        for (int i = 0; i < Math.min(entries, plugins.size()); i++) {
+            src.sendMessage(format(plugins.get(i)));
+        }
+        src.sendMessage(t("commands.lantern.profile.entries"));
+        final List<TimingSnapshot> snapshots = profiler.createSnapshots();
+        for (int i = 0; i < Math.min(entries, snapshots.size()); i++) {
+            src.sendMessage(format(snapshots.get(i)));
+        }
+    }
+
+    private static Text format(TimingSnapshot snapshot) {
+        final String name = snapshot.getType().map(TimingType::getId).map(type -> type + " " + snapshot.getName())
+                .orElse(snapshot.getName());
+        return t("commands.lantern.profile.entry", name, snapshot.getCount(),
+                String.format("%.2f", snapshot.getTotalTime() / 1000000.0),
+                String.format("%.3f", snapshot.getAverageTime() / 1000000.0),
+                String.format("%.3f", snapshot.getPercentile(0.95) / 1000000.0),
+                String.format("%.3f", snapshot.getMaxTime() / 1000000.0));
+    }
+}
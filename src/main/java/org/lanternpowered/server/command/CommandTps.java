@@ -0,0 +1,85 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.command;
+
+import static org.lanternpowered.server.text.translation.TranslationHelper.t;
+
+import org.lanternpowered.server.game.Lantern;
+import org.lanternpowered.server.profiler.HistogramSnapshot;
+import org.lanternpowered.server.profiler.TickMetricsSnapshot;
+import org.lanternpowered.server.profiler.TickPhase;
+import org.lanternpowered.server.profiler.WorldTickMetricsSnapshot;
+import org.lanternpowered.server.profiler.WorldTickPhase;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.command.spec.CommandSpec;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.text.Text;
+
+public final class CommandTps extends CommandProvider {
+
+    public CommandTps() {
+        super(2, "tps", "mspt");
+    }
+
+    @Override
+    public void completeSpec(PluginContainer pluginContainer, CommandSpec.Builder specBuilder) {
+        specBuilder
+                .description(t("commands.tps.description"))
+                .arguments(GenericArguments.flags().flag("-phases", "p").buildWith(GenericArguments.none()))
+                .executor((src, args) -> {
+                    final boolean phases = args.hasAny("phases");
+                    final TickMetricsSnapshot snapshot = Lantern.getServer().getTickMetrics().getSnapshot();
+                    src.sendMessage(t("commands.tps.tps", String.format("%.2f", snapshot.getTicksPerSecond()),
+                            snapshot.getOverrunCount(), snapshot.getOverrunWithGarbageCollectionCount(),
+                            snapshot.getGarbageCollectionTimeDuringOverruns()));
+                    src.sendMessage(format(Text.of("server"), snapshot.getTickTimes()));
+                    if (phases) {
+                        for (TickPhase phase : TickPhase.values()) {
+                            src.sendMessage(format(Text.of("  ", phase.getId()), snapshot.getPhaseTimes(phase)));
+                        }
+                    }
+                    for (WorldTickMetricsSnapshot world : snapshot.getWorlds().values()) {
+                        src.sendMessage(format(Text.of(world.getWorldName()), world.getTickTimes()));
+                        if (phases) {
+                            for (WorldTickPhase phase : WorldTickPhase.values()) {
+                                src.sendMessage(format(Text.of("  ", phase.getId()), world.getPhaseTimes(phase)));
+                            }
+                        }
+                    }
+                    return CommandResult.success();
+                });
+    }
+
+    private static Text format(Text name, HistogramSnapshot snapshot) {
+        return t("commands.tps.entry", name,
+                String.format("%.2f", snapshot.getAverageTime() / 1000000.0),
+                String.format("%.2f", snapshot.getPercentile(0.5) / 1000000.0),
+                String.format("%.2f", snapshot.getPercentile(0.95) / 1000000.0),
+                String.format("%.2f", snapshot.getPercentile(0.99) / 1000000.0),
+                String.format("%.2f", snapshot.getMaxTime() / 1000000.0));
+    }
+}
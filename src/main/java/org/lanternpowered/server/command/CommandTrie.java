@@ -0,0 +1,136 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.command;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A prefix trie over command aliases. Every node keeps track of the
+ * aliases within its subtree, so looking up all the aliases that start
+ * with a specific prefix is O(prefix length + matches) instead of
+ * scanning all the registered aliases.
+ */
+final class CommandTrie {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+
+    /**
+     * Adds the alias to this trie.
+     *
+     * @param alias The alias
+     */
+    void add(String alias) {
+        checkNotNull(alias, "alias");
+        final String key = alias.toLowerCase(Locale.ENGLISH);
+        this.lock.writeLock().lock();
+        try {
+            Node node = this.root;
+            node.aliases.add(key);
+            for (int i = 0; i < key.length(); i++) {
+                final char c = key.charAt(i);
+                Node child = node.children.get(c);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(c, child);
+                }
+                child.aliases.add(key);
+                node = child;
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the alias from this trie.
+     *
+     * @param alias The alias
+     */
+    void remove(String alias) {
+        checkNotNull(alias, "alias");
+        final String key = alias.toLowerCase(Locale.ENGLISH);
+        this.lock.writeLock().lock();
+        try {
+            if (!this.root.aliases.remove(key)) {
+                return;
+            }
+            Node node = this.root;
+            for (int i = 0; i < key.length(); i++) {
+                final char c = key.charAt(i);
+                final Node child = node.children.get(c);
+                child.aliases.remove(key);
+                // Prune the nodes that don't contain any aliases anymore
+                if (child.aliases.isEmpty()) {
+                    node.children.remove(c);
+                    return;
+                }
+                node = child;
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets all the aliases that start with the given prefix, sorted
+     * in alphabetical order. The prefix is case insensitive.
+     *
+     * @param prefix The prefix
+     * @return The aliases
+     */
+    List<String> getAliases(String prefix) {
+        checkNotNull(prefix, "prefix");
+        final String key = prefix.toLowerCase(Locale.ENGLISH);
+        this.lock.readLock().lock();
+        try {
+            Node node = this.root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            return node == null ? Collections.emptyList() : ImmutableList.copyOf(node.aliases);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private static final class Node {
+
+        private final Char2ObjectOpenHashMap<Node> children = new Char2ObjectOpenHashMap<>();
+        private final Set<String> aliases = new TreeSet<>();
+    }
+}
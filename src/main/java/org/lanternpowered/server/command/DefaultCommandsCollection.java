@@ -67,6 +67,7 @@ public void load() {
         commandProviders.put(this.minecraft, new CommandGameRule());
         commandProviders.put(this.minecraft, new CommandHelp());
         commandProviders.put(this.minecraft, new CommandKick());
+        commandProviders.put(this.implementation, new CommandLantern());
         commandProviders.put(this.minecraft, new CommandListBans());
         commandProviders.put(this.minecraft, new CommandListPlayers());
         commandProviders.put(this.minecraft, new CommandMe());
@@ -88,6 +89,7 @@ public void load() {
         commandProviders.put(this.minecraft, new CommandTime());
         commandProviders.put(this.minecraft, new CommandTitle());
         commandProviders.put(this.minecraft, new CommandToggleDownfall());
+        commandProviders.put(this.implementation, new CommandTps());
         commandProviders.put(this.minecraft, new CommandTp());
         commandProviders.put(this.implementation, new CommandVersion());
         commandProviders.put(this.minecraft, new CommandWeather());
@@ -29,12 +29,16 @@
 import static org.spongepowered.api.command.CommandMessageFormatting.error;
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import org.lanternpowered.server.profiler.LanternProfiler;
+import org.lanternpowered.server.profiler.TimingType;
 import org.lanternpowered.server.text.LanternTexts;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -71,6 +75,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import javax.annotation.Nullable;
@@ -88,6 +93,14 @@ public class LanternCommandManager implements CommandManager {
     private final Map<CommandMapping, PluginContainer> reverseOwners = new ConcurrentHashMap<>();
     private final Object lock = new Object();
 
+    // A prefix trie over all the registered aliases, used to complete the command names
+    private final CommandTrie aliasTrie = new CommandTrie();
+
+    // The cached permission checks of the command mappings per source, permissions
+    // may change at any time so the entries expire after a short period
+    private final LoadingCache<CommandSource, Map<CommandMapping, Boolean>> permissionCache = Caffeine.newBuilder()
+            .weakKeys().expireAfterWrite(5, TimeUnit.SECONDS).build(source -> new ConcurrentHashMap<>());
+
     /**
      * Construct a simple {@link CommandManager}.
      *
@@ -143,6 +156,8 @@ public Optional<CommandMapping> register(Object plugin, CommandCallable callable
             if (mapping.isPresent()) {
                 this.owners.put(container, mapping.get());
                 this.reverseOwners.put(mapping.get(), container);
+                mapping.get().getAllAliases().forEach(this.aliasTrie::add);
+                this.permissionCache.invalidateAll();
             }
 
             return mapping;
@@ -159,6 +174,12 @@ public Optional<CommandMapping> removeMapping(CommandMapping mapping) {
     }
 
     private void forgetMapping(CommandMapping mapping) {
+        for (String alias : mapping.getAllAliases()) {
+            if (!this.dispatcher.containsAlias(alias)) {
+                this.aliasTrie.remove(alias);
+            }
+        }
+        this.permissionCache.invalidateAll();
         Iterator<CommandMapping> it = this.owners.values().iterator();
         while (it.hasNext()) {
             if (it.next().equals(mapping)) {
@@ -257,7 +278,7 @@ public CommandResult process(CommandSource source, String commandLine) {
 
         try {
             try {
-                return this.dispatcher.process(source, commandLine);
+                return process0(source, commandLine, argSplit[0]);
             } catch (InvocationCommandException ex) {
                 if (ex.getCause() != null) {
                     throw ex.getCause();
@@ -302,6 +323,24 @@ public CommandResult process(CommandSource source, String commandLine) {
         return CommandResult.empty();
     }
 
+    private CommandResult process0(CommandSource source, String commandLine, String alias) throws CommandException {
+        if (!LanternProfiler.INSTANCE.isEnabled()) {
+            return this.dispatcher.process(source, commandLine);
+        }
+        final long start = System.nanoTime();
+        try {
+            return this.dispatcher.process(source, commandLine);
+        } finally {
+            final long end = System.nanoTime();
+            this.dispatcher.get(alias, source).ifPresent(mapping -> {
+                final PluginContainer plugin = this.reverseOwners.get(mapping);
+                if (plugin != null) {
+                    LanternProfiler.INSTANCE.getTiming(plugin, TimingType.COMMAND, mapping.getPrimaryAlias()).record(start, end);
+                }
+            });
+        }
+    }
+
     @Override
     public List<String> getSuggestions(CommandSource source, String arguments, @Nullable Location<World> targetPosition) {
         return getSuggestions(source, arguments, targetPosition, false);
@@ -313,8 +352,8 @@ public List<String> getSuggestions(CommandSource source, String arguments, @Null
             final String[] argSplit = arguments.split(" ", 2);
             // TODO: Fix this in the SimpleDispatcher -> in 'getSuggestions' add after
             // 'argSplit.length == 1' the check '&& !arguments.endsWith(" ")'
-            if (argSplit.length == 1 && !arguments.endsWith(" ")) {
-                suggestions = this.dispatcher.getSuggestions(source, arguments, targetPosition);
+            if (isAliasCompletion(arguments)) {
+                suggestions = getAliasSuggestions(source, arguments);
             } else {
                 Optional<? extends CommandMapping> cmdOptional = this.dispatcher.get(argSplit[0], source);
                 if (!cmdOptional.isPresent()) {
@@ -323,16 +362,7 @@ public List<String> getSuggestions(CommandSource source, String arguments, @Null
                     suggestions = cmdOptional.get().getCallable().getSuggestions(source, argSplit[1], targetPosition);
                 }
             }
-            final List<String> rawSuggestions = new ArrayList<>(suggestions);
-            final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(Cause.source(source).build(),
-                    ImmutableList.copyOf(suggestions), rawSuggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0],
-                    arguments, Optional.ofNullable(targetPosition), usingBlock);
-            Sponge.getGame().getEventManager().post(event);
-            if (event.isCancelled()) {
-                return ImmutableList.of();
-            } else {
-                return ImmutableList.copyOf(event.getTabCompletions());
-            }
+            return postTabCompleteEvent(source, arguments, suggestions, targetPosition, usingBlock);
         } catch (CommandException e) {
             source.sendMessage(error(t("Error getting suggestions: %s", e.getText())));
             return ImmutableList.of();
@@ -341,6 +371,90 @@ public List<String> getSuggestions(CommandSource source, String arguments, @Null
         }
     }
 
+    /**
+     * Gets whether the arguments only contain the alias that is being
+     * completed, those are completed through {@link #getAliasSuggestions}.
+     *
+     * @param arguments The arguments
+     * @return Whether the alias is being completed
+     */
+    public static boolean isAliasCompletion(String arguments) {
+        return arguments.indexOf(' ') == -1;
+    }
+
+    /**
+     * Posts the {@link TabCompleteEvent.Command} for the given suggestions,
+     * this should only be called from the main thread.
+     *
+     * @param source The command source
+     * @param arguments The arguments
+     * @param suggestions The suggestions
+     * @param targetPosition The target position
+     * @param usingBlock Whether a block is being targeted
+     * @return The suggestions after the event
+     */
+    public List<String> postTabCompleteEvent(CommandSource source, String arguments, List<String> suggestions,
+            @Nullable Location<World> targetPosition, boolean usingBlock) {
+        final String[] argSplit = arguments.split(" ", 2);
+        final List<String> rawSuggestions = new ArrayList<>(suggestions);
+        final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(Cause.source(source).build(),
+                ImmutableList.copyOf(suggestions), rawSuggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0],
+                arguments, Optional.ofNullable(targetPosition), usingBlock);
+        Sponge.getGame().getEventManager().post(event);
+        if (event.isCancelled()) {
+            return ImmutableList.of();
+        } else {
+            return ImmutableList.copyOf(event.getTabCompletions());
+        }
+    }
+
+    /**
+     * Gets all the aliases that start with the given prefix and
+     * can be used by the {@link CommandSource}. This should only
+     * be called from the main thread.
+     *
+     * @param source The command source
+     * @param prefix The prefix
+     * @return The aliases
+     */
+    public List<String> getAliasSuggestions(CommandSource source, String prefix) {
+        return filterAliasSuggestions(source, getAliases(prefix));
+    }
+
+    /**
+     * Gets all the aliases that start with the given prefix, without
+     * checking the permissions. This may be called from any thread.
+     *
+     * @param prefix The prefix
+     * @return The aliases
+     */
+    public List<String> getAliases(String prefix) {
+        return this.aliasTrie.getAliases(prefix);
+    }
+
+    /**
+     * Filters the aliases that can be used by the {@link CommandSource}, the
+     * permission checks of the commands are delegated to the plugins so this
+     * should only be called from the main thread.
+     *
+     * @param source The command source
+     * @param aliases The aliases
+     * @return The aliases that can be used
+     */
+    public List<String> filterAliasSuggestions(CommandSource source, Collection<String> aliases) {
+        final Map<CommandMapping, Boolean> permissions = this.permissionCache.get(source);
+        final ImmutableList.Builder<String> suggestions = ImmutableList.builder();
+        for (String alias : aliases) {
+            for (CommandMapping mapping : this.dispatcher.getAll(alias)) {
+                if (permissions.computeIfAbsent(mapping, mapping1 -> mapping1.getCallable().testPermission(source))) {
+                    suggestions.add(alias);
+                    break;
+                }
+            }
+        }
+        return suggestions.build();
+    }
+
     @Override
     public boolean testPermission(CommandSource source) {
         return this.dispatcher.testPermission(source);
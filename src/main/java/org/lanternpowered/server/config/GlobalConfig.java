@@ -170,6 +170,15 @@ private static final class Server {
                 "The player idle timeout in minutes, a value smaller or equal to 0 disables the check.")
         private int playerIdleTimeout = 0;
 
+        @Setting(value = "tab-list-latency-update-interval", comment =
+                "The minimum time (in milliseconds) between two latency updates of a player in the tab lists.")
+        private int tabListLatencyUpdateInterval = 5000;
+
+        @Setting(value = "tab-list-latency-update-min-delta", comment =
+                "The minimum difference (in milliseconds) between the latency of a player and the latency\n " +
+                "that was last shown in the tab lists before a new latency update will be send.")
+        private int tabListLatencyUpdateMinDelta = 5;
+
         // Some context related stuff, check this issue for more information
         // https://github.com/SpongePowered/SpongeCommon/commit/71220742baf4b0317ddefe625b12cc64a7ec9084
         // TODO: Move this?
@@ -333,6 +342,14 @@ public void setPlayerIdleTimeout(int playerIdleTimeout) {
         this.server.playerIdleTimeout = playerIdleTimeout;
     }
 
+    public int getTabListLatencyUpdateInterval() {
+        return this.server.tabListLatencyUpdateInterval;
+    }
+
+    public int getTabListLatencyUpdateMinDelta() {
+        return this.server.tabListLatencyUpdateMinDelta;
+    }
+
     public boolean useServerEpollWhenAvailable() {
         return this.server.useEpollWhenAvailable;
     }
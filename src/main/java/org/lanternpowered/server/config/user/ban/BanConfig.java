@@ -27,7 +27,6 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.reflect.TypeToken;
 import com.google.inject.Inject;
@@ -42,7 +41,6 @@
 import org.lanternpowered.server.game.DirectoryKeys;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.service.CloseableService;
-import org.lanternpowered.server.util.collect.Lists2;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Event;
@@ -59,7 +57,6 @@
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -89,8 +86,8 @@ public final class BanConfig extends ConfigBase implements UserStorage<BanEntry>
     @Setting(value = "entries")
     private List<BanEntry> entries = new ArrayList<>();
 
-    // A version of the entries list that allows concurrent operations
-    private final List<BanEntry> entries0 = Collections.synchronizedList(Lists2.createExpirableValueListWithPredicate(BanEntry::isExpired));
+    // The indexed entries, allows concurrent operations
+    private final BanIndex index = new BanIndex();
 
     @Inject
     public BanConfig(@Named(DirectoryKeys.CONFIG) Path configFolder) throws IOException {
@@ -103,7 +100,7 @@ public BanConfig(@Named(DirectoryKeys.CONFIG) Path configFolder) throws IOExcept
     public void save() throws IOException {
         synchronized (this) {
             this.entries.clear();
-            this.entries.addAll(this.entries0);
+            this.entries.addAll(this.index.getEntries());
             super.save();
         }
     }
@@ -112,26 +109,19 @@ public void save() throws IOException {
     public void load() throws IOException {
         synchronized (this) {
             super.load();
-            this.entries0.clear();
-            this.entries0.addAll(this.entries);
+            this.index.clear();
+            this.entries.forEach(this.index::add);
         }
     }
 
     @Override
     public Optional<BanEntry> getEntryByUUID(UUID uniqueId) {
-        return this.entries0.stream().filter(e -> e instanceof BanEntry.Profile &&
-                ((BanEntry.Profile) e).getProfile().getUniqueId().equals(uniqueId)).findFirst();
+        return (Optional) this.index.getByUniqueId(checkNotNull(uniqueId, "uniqueId"));
     }
 
     @Override
     public Optional<BanEntry> getEntryByName(String username) {
-        return this.entries0.stream().filter(e -> {
-            if (!(e instanceof BanEntry.Profile)) {
-                return false;
-            }
-            final Optional<String> optName = ((BanEntry.Profile) e).getProfile().getName();
-            return optName.isPresent() && optName.get().equalsIgnoreCase(username);
-        }).findFirst();
+        return (Optional) this.index.getByName(checkNotNull(username, "username"));
     }
 
     @Override
@@ -147,9 +137,7 @@ public Optional<BanEntry> getEntryByProfile(GameProfile gameProfile) {
      * @return The ban entry
      */
     public Optional<BanEntry> getEntryByIp(InetAddress address) {
-        final String address0 = checkNotNull(address, "address").getHostAddress();
-        return this.entries0.stream().filter(e -> e instanceof BanEntry.Ip &&
-                ((BanEntry.Ip) e).getAddress().getHostAddress().equalsIgnoreCase(address0)).findFirst();
+        return (Optional) this.index.getByAddress(checkNotNull(address, "address"));
     }
 
     @Override
@@ -165,17 +153,17 @@ public boolean removeEntry(UUID uniqueId) {
 
     @Override
     public Collection<? extends Ban> getBans() {
-        return ImmutableList.copyOf(this.entries0);
+        return this.index.getEntries();
     }
 
     @Override
     public Collection<Ban.Profile> getProfileBans() {
-        return (Collection) this.entries0.stream().filter(e -> e instanceof Ban.Profile).collect(ImmutableList.toImmutableList());
+        return (Collection) this.index.getProfileEntries();
     }
 
     @Override
     public Collection<Ban.Ip> getIpBans() {
-        return (Collection) this.entries0.stream().filter(e -> e instanceof Ban.Ip).collect(ImmutableList.toImmutableList());
+        return (Collection) this.index.getIpEntries();
     }
 
     @Override
@@ -221,8 +209,7 @@ public boolean pardon(InetAddress address) {
     public boolean removeBan(Ban ban, Supplier<Cause> causeSupplier) {
         checkNotNull(ban, "ban");
         checkNotNull(causeSupplier, "causeSupplier");
-        //noinspection SuspiciousMethodCalls
-        if (this.entries0.remove(ban)) {
+        if (this.index.remove(ban)) {
             // Post the pardon events
             final Event event;
             if (ban instanceof Ban.Ip) {
@@ -281,8 +268,8 @@ public Optional<? extends Ban> addBan(Ban ban, Supplier<Cause> causeSupplier) {
         } else {
             oldBan = (Optional) getBanFor(((Ban.Profile) ban).getProfile());
         }
-        oldBan.ifPresent(this.entries0::remove);
-        this.entries0.add((BanEntry) ban);
+        oldBan.ifPresent(this.index::remove);
+        this.index.add((BanEntry) ban);
         if (!oldBan.isPresent() || !oldBan.get().equals(ban)) {
             // Post the ban events
             final Event event;
@@ -316,13 +303,12 @@ public Optional<? extends Ban> addBan(Ban ban) {
 
     @Override
     public boolean hasBan(Ban ban) {
-        //noinspection SuspiciousMethodCalls
-        return this.entries0.contains(checkNotNull(ban, "ban"));
+        return this.index.contains(checkNotNull(ban, "ban"));
     }
 
     @Override
     public Collection<BanEntry> getEntries() {
-        return ImmutableList.copyOf(this.entries0);
+        return this.index.getEntries();
     }
 
     @Override
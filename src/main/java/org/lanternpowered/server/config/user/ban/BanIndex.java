@@ -0,0 +1,198 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.config.user.ban;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import org.lanternpowered.server.util.IpTrie;
+
+import java.net.InetAddress;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Indexes {@link BanEntry}s by their unique id, name and ip address. Entries
+ * that can expire are queued by their expiration date, so that they can be
+ * removed once they are expired without having to check all the entries.
+ * <p>
+ * Names aren't unique, a name can be shared by multiple profiles that were
+ * banned at different times, so all the profile entries are kept per name.
+ * <p>
+ * Ip entries only hold a single address, so they are indexed by their full
+ * address and looked up exactly, address ranges (CIDR) are not supported.
+ */
+final class BanIndex {
+
+    private final Set<BanEntry> entries = new LinkedHashSet<>();
+    private final Map<UUID, BanEntry.Profile> byUniqueId = new HashMap<>();
+    private final ListMultimap<String, BanEntry.Profile> byName = ArrayListMultimap.create();
+    private final IpTrie<BanEntry.Ip> byAddress = new IpTrie<>();
+    private final PriorityQueue<BanEntry> expirationQueue = new PriorityQueue<>(
+            Comparator.comparing((BanEntry entry) -> entry.getExpirationDate().get()));
+
+    /**
+     * Adds the {@link BanEntry}, replaces the entry
+     * with the same profile or ip address.
+     *
+     * @param entry The ban entry
+     */
+    synchronized void add(BanEntry entry) {
+        if (entry.isExpired()) {
+            return;
+        }
+        final BanEntry oldEntry;
+        if (entry instanceof BanEntry.Ip) {
+            oldEntry = this.byAddress.put(((BanEntry.Ip) entry).getAddress(), (BanEntry.Ip) entry);
+        } else {
+            final BanEntry.Profile profileEntry = (BanEntry.Profile) entry;
+            oldEntry = this.byUniqueId.put(profileEntry.getProfile().getUniqueId(), profileEntry);
+            // Don't index the same entry twice
+            if (oldEntry != profileEntry) {
+                profileEntry.getProfile().getName().ifPresent(name -> this.byName.put(name.toLowerCase(), profileEntry));
+            }
+        }
+        if (oldEntry != null && oldEntry != entry) {
+            this.entries.remove(oldEntry);
+            this.expirationQueue.remove(oldEntry);
+            this.removeFromIndexes(oldEntry);
+        }
+        if (this.entries.add(entry) && entry.getExpirationDate().isPresent()) {
+            this.expirationQueue.add(entry);
+        }
+    }
+
+    /**
+     * Removes the {@link BanEntry}.
+     *
+     * @param entry The ban entry
+     * @return Whether the entry was removed
+     */
+    synchronized boolean remove(Object entry) {
+        if (!this.entries.remove(entry)) {
+            return false;
+        }
+        if (((BanEntry) entry).getExpirationDate().isPresent()) {
+            this.expirationQueue.remove(entry);
+        }
+        this.removeFromIndexes((BanEntry) entry);
+        return true;
+    }
+
+    private void removeFromIndexes(BanEntry entry) {
+        if (entry instanceof BanEntry.Ip) {
+            final InetAddress address = ((BanEntry.Ip) entry).getAddress();
+            // Don't remove a different entry
+            if (this.byAddress.getExact(address, address.getAddress().length << 3) == entry) {
+                this.byAddress.remove(address);
+            }
+        } else {
+            final BanEntry.Profile profileEntry = (BanEntry.Profile) entry;
+            this.byUniqueId.remove(profileEntry.getProfile().getUniqueId(), profileEntry);
+            profileEntry.getProfile().getName().ifPresent(name -> this.byName.remove(name.toLowerCase(), profileEntry));
+        }
+    }
+
+    /**
+     * Removes all the entries that are expired.
+     */
+    private void removeExpired() {
+        BanEntry entry;
+        while ((entry = this.expirationQueue.peek()) != null && entry.isExpired()) {
+            this.expirationQueue.poll();
+            this.entries.remove(entry);
+            this.removeFromIndexes(entry);
+        }
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+        this.byUniqueId.clear();
+        this.byName.clear();
+        this.byAddress.clear();
+        this.expirationQueue.clear();
+    }
+
+    synchronized boolean contains(Object entry) {
+        this.removeExpired();
+        return this.entries.contains(entry);
+    }
+
+    synchronized Optional<BanEntry.Profile> getByUniqueId(UUID uniqueId) {
+        this.removeExpired();
+        return Optional.ofNullable(this.byUniqueId.get(uniqueId));
+    }
+
+    /**
+     * Gets the {@link BanEntry.Profile} of the name, the most
+     * recently added entry is returned if the name is shared
+     * by multiple profiles.
+     *
+     * @param name The name
+     * @return The ban entry
+     */
+    synchronized Optional<BanEntry.Profile> getByName(String name) {
+        this.removeExpired();
+        final List<BanEntry.Profile> entries = this.byName.get(name.toLowerCase());
+        return entries.isEmpty() ? Optional.empty() : Optional.of(entries.get(entries.size() - 1));
+    }
+
+    synchronized Optional<BanEntry.Ip> getByAddress(InetAddress address) {
+        this.removeExpired();
+        return Optional.ofNullable(this.byAddress.get(address));
+    }
+
+    synchronized ImmutableList<BanEntry> getEntries() {
+        this.removeExpired();
+        return ImmutableList.copyOf(this.entries);
+    }
+
+    synchronized ImmutableList<BanEntry.Profile> getProfileEntries() {
+        this.removeExpired();
+        return ImmutableList.copyOf(this.byUniqueId.values());
+    }
+
+    synchronized ImmutableList<BanEntry.Ip> getIpEntries() {
+        this.removeExpired();
+        final ImmutableList.Builder<BanEntry.Ip> builder = ImmutableList.builder();
+        for (BanEntry entry : this.entries) {
+            if (entry instanceof BanEntry.Ip) {
+                builder.add((BanEntry.Ip) entry);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -58,6 +58,36 @@ private static class Chunks {
                 "Controls the number threshold at which the chunk data message\n " +
                 "is preferred over the multi block change message.")
         private int clumpingThreshold = 64;
+
+        @Setting(value = "loading-threads", comment =
+                "The core amount of threads that will be used to load\n " +
+                "and generate the chunks of this world asynchronously.")
+        private int loadingThreads = 4;
+
+        @Setting(value = "max-loading-threads", comment =
+                "The maximum amount of threads that will be used to load\n " +
+                "and generate the chunks of this world asynchronously.")
+        private int maxLoadingThreads = 10;
+
+        @Setting(value = "unload-delay", comment =
+                "The delay in milliseconds before a chunk that is no longer\n " +
+                "used will be unloaded.")
+        private long unloadDelay = 1000;
+
+        @Setting(value = "warm-cache-size", comment =
+                "The maximum amount of recently unloaded chunks that will be kept\n " +
+                "in memory, these can be loaded again without any disk access.")
+        private int warmCacheSize = 256;
+
+        @Setting(value = "warm-cache-heap-watermark", comment =
+                "The fraction of the maximum heap size above which the least\n " +
+                "recently unloaded chunks will be released from memory.")
+        private double warmCacheHeapWatermark = 0.85;
+
+        @Setting(value = "max-open-region-files", comment =
+                "The maximum amount of region files that will be kept open,\n " +
+                "region files that are being accessed are never closed.")
+        private int maxOpenRegionFiles = 256;
     }
 
     @Setting(value = "pvp-enabled", comment = "Enable if this world allows PVP combat.")
@@ -125,6 +155,30 @@ public int getChunkClumpingThreshold() {
         return this.chunks.clumpingThreshold;
     }
 
+    public int getChunkLoadingThreads() {
+        return this.chunks.loadingThreads;
+    }
+
+    public int getMaxChunkLoadingThreads() {
+        return this.chunks.maxLoadingThreads;
+    }
+
+    public long getChunkUnloadDelay() {
+        return this.chunks.unloadDelay;
+    }
+
+    public int getChunkWarmCacheSize() {
+        return this.chunks.warmCacheSize;
+    }
+
+    public double getChunkWarmCacheHeapWatermark() {
+        return this.chunks.warmCacheHeapWatermark;
+    }
+
+    public int getMaxOpenRegionFiles() {
+        return this.chunks.maxOpenRegionFiles;
+    }
+
     public GameMode getGameMode() {
         return this.gameMode.mode;
     }
@@ -39,6 +39,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -69,6 +70,7 @@ public static <C extends ValueContainer<?>> AdditionalContainerCollection<C> cre
 
     private final Map<Class<?>, C> containers;
     private final Collection<C> unmodifiableContainers;
+    private final AtomicInteger modificationCount = new AtomicInteger();
 
     private AdditionalContainerCollection(Map<Class<?>, C> containers) {
         this.unmodifiableContainers = Collections.unmodifiableCollection(containers.values());
@@ -101,6 +103,7 @@ public <T extends C> Optional<T> get(Class<T> containerClass) {
     public <T extends C> Optional<T> offer(T container) {
         checkNotNull(container, "container");
         final C old = this.containers.put(container.getClass(), container);
+        this.modificationCount.incrementAndGet();
         return Optional.ofNullable((T) old);
     }
 
@@ -121,7 +124,22 @@ public Collection<C> getAll() {
      */
     public Optional<C> remove(Class<? extends C> containerClass) {
         checkNotNull(containerClass, "containerClass");
-        return Optional.ofNullable(this.containers.remove(containerClass));
+        final C old = this.containers.remove(containerClass);
+        if (old != null) {
+            this.modificationCount.incrementAndGet();
+        }
+        return Optional.ofNullable(old);
+    }
+
+    /**
+     * Gets the modification count of this collection, the count
+     * is increased every time that a {@link ValueContainer} is
+     * offered or removed.
+     *
+     * @return The modification count
+     */
+    public int getModificationCount() {
+        return this.modificationCount.get();
     }
 
     /**
@@ -52,6 +52,7 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -76,6 +77,56 @@ public static DataView checkDataExists(DataView dataView, DataQuery query) throw
         }
     }
 
+    /**
+     * Creates a new {@link DataContainer} that is optimized for the
+     * persistence of objects. The values are stored in compact flat
+     * arrays instead of hash maps, which saves a lot of memory for the
+     * many small views that are created while serializing entities, tile
+     * entities, items, etc. No data will be cloned.
+     *
+     * @return The data container
+     */
+    public static DataContainer createCompactContainer() {
+        return new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED, true);
+    }
+
+    /**
+     * Puts a value with the given name directly into the {@link DataView},
+     * skipping the path parsing and the serialization if possible. The
+     * value must already be in its serialized form: primitives, strings,
+     * arrays, immutable lists and views that aren't referenced anywhere else.
+     *
+     * @param dataView The data view
+     * @param name The name of the value
+     * @param value The serialized value
+     */
+    public static void putRaw(DataView dataView, String name, Object value) {
+        if (dataView instanceof MemoryDataView) {
+            ((MemoryDataView) dataView).putRaw(name, value);
+        } else {
+            dataView.set(of(name), value);
+        }
+    }
+
+    /**
+     * Gets the values of the {@link DataView} mapped by their name, without
+     * creating {@link DataQuery}s or copies of the values if possible. The
+     * returned {@link Map} may not be modified.
+     *
+     * @param dataView The data view
+     * @return The values
+     */
+    public static Map<String, Object> getRawValues(DataView dataView) {
+        if (dataView instanceof MemoryDataView) {
+            return Collections.unmodifiableMap(((MemoryDataView) dataView).getRawMap());
+        }
+        final Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<DataQuery, Object> entry : dataView.getValues(false).entrySet()) {
+            values.put(entry.getKey().asString('.'), entry.getValue());
+        }
+        return values;
+    }
+
     public static DataView getOrCreateView(DataView dataView, DataQuery query) {
         return dataView.getView(query).orElseGet(() -> dataView.createView(query));
     }
@@ -0,0 +1,298 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * A compact insertion ordered {@link Map} which stores the keys and values
+ * in parallel arrays. Lookups are linear, which is faster than hashing for
+ * the small amount of entries that most data views contain. The arrays are
+ * only allocated once the first entry is put. Once the map grows beyond
+ * {@link #MAX_FLAT_SIZE} entries, all the entries are moved into a
+ * {@link LinkedHashMap}.
+ */
+final class FlatDataMap extends AbstractMap<String, Object> {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * The maximum amount of entries that will be stored in the flat
+     * arrays, linear lookups get slower than hashing beyond this size.
+     */
+    static final int MAX_FLAT_SIZE = 16;
+
+    @Nullable private LinkedHashMap<String, Object> hashMap;
+    @Nullable private String[] keys;
+    @Nullable private Object[] values;
+    private int size;
+    private int modCount;
+
+    @Nullable private Set<Entry<String, Object>> entrySet;
+
+    private int indexOf(Object key) {
+        final String[] keys = this.keys;
+        if (keys == null) {
+            return -1;
+        }
+        // Most keys are shared instances, try a identity check first
+        for (int i = 0; i < this.size; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets whether the entries were moved into a hash map.
+     *
+     * @return Is hashed
+     */
+    boolean isHashed() {
+        return this.hashMap != null;
+    }
+
+    @Override
+    public int size() {
+        return this.hashMap != null ? this.hashMap.size() : this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (this.hashMap != null) {
+            return this.hashMap.containsKey(key);
+        }
+        return indexOf(key) != -1;
+    }
+
+    @Nullable
+    @Override
+    public Object get(Object key) {
+        if (this.hashMap != null) {
+            return this.hashMap.get(key);
+        }
+        final int index = indexOf(key);
+        //noinspection ConstantConditions
+        return index == -1 ? null : this.values[index];
+    }
+
+    @Nullable
+    @Override
+    public Object put(String key, Object value) {
+        checkNotNull(key, "key");
+        checkNotNull(value, "value");
+        if (this.hashMap != null) {
+            return this.hashMap.put(key, value);
+        }
+        final int index = indexOf(key);
+        if (index != -1) {
+            //noinspection ConstantConditions
+            final Object old = this.values[index];
+            this.values[index] = value;
+            return old;
+        }
+        if (this.size == MAX_FLAT_SIZE) {
+            toHashMap().put(key, value);
+            return null;
+        }
+        if (this.keys == null) {
+            this.keys = new String[INITIAL_CAPACITY];
+            this.values = new Object[INITIAL_CAPACITY];
+        } else if (this.size == this.keys.length) {
+            final int capacity = this.size << 1;
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        this.keys[this.size] = key;
+        //noinspection ConstantConditions
+        this.values[this.size] = value;
+        this.size++;
+        this.modCount++;
+        return null;
+    }
+
+    /**
+     * Moves all the entries from the flat arrays into a hash map.
+     *
+     * @return The hash map
+     */
+    private LinkedHashMap<String, Object> toHashMap() {
+        final LinkedHashMap<String, Object> hashMap = new LinkedHashMap<>(this.size << 2);
+        for (int i = 0; i < this.size; i++) {
+            //noinspection ConstantConditions
+            hashMap.put(this.keys[i], this.values[i]);
+        }
+        this.hashMap = hashMap;
+        this.keys = null;
+        this.values = null;
+        this.size = 0;
+        this.modCount++;
+        return hashMap;
+    }
+
+    @Nullable
+    @Override
+    public Object remove(Object key) {
+        if (this.hashMap != null) {
+            return this.hashMap.remove(key);
+        }
+        final int index = indexOf(key);
+        if (index == -1) {
+            return null;
+        }
+        //noinspection ConstantConditions
+        final Object old = this.values[index];
+        removeAt(index);
+        return old;
+    }
+
+    private void removeAt(int index) {
+        final int moved = this.size - index - 1;
+        //noinspection ConstantConditions
+        System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+        //noinspection ConstantConditions
+        System.arraycopy(this.values, index + 1, this.values, index, moved);
+        this.size--;
+        this.keys[this.size] = null;
+        this.values[this.size] = null;
+        this.modCount++;
+    }
+
+    @Override
+    public void clear() {
+        if (this.hashMap != null) {
+            // Start over with the flat arrays
+            this.hashMap = null;
+            this.modCount++;
+        } else if (this.size > 0) {
+            //noinspection ConstantConditions
+            Arrays.fill(this.keys, 0, this.size, null);
+            //noinspection ConstantConditions
+            Arrays.fill(this.values, 0, this.size, null);
+            this.size = 0;
+            this.modCount++;
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Set<Entry<String, Object>> entrySet = this.entrySet;
+        if (entrySet == null) {
+            this.entrySet = entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            final Map<String, Object> hashMap = FlatDataMap.this.hashMap;
+            return hashMap != null ? hashMap.entrySet().iterator() : new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return FlatDataMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            FlatDataMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int index;
+        private int lastIndex = -1;
+        private int expectedModCount = FlatDataMap.this.modCount;
+
+        @Override
+        public boolean hasNext() {
+            return this.index < FlatDataMap.this.size;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (this.expectedModCount != FlatDataMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (this.index >= FlatDataMap.this.size) {
+                throw new NoSuchElementException();
+            }
+            this.lastIndex = this.index++;
+            final int entryIndex = this.lastIndex;
+            //noinspection ConstantConditions
+            return new SimpleEntry<String, Object>(FlatDataMap.this.keys[entryIndex], FlatDataMap.this.values[entryIndex]) {
+                @Override
+                public Object setValue(Object value) {
+                    checkNotNull(value, "value");
+                    //noinspection ConstantConditions
+                    FlatDataMap.this.values[entryIndex] = value;
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (this.lastIndex == -1) {
+                throw new IllegalStateException();
+            }
+            if (this.expectedModCount != FlatDataMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(this.lastIndex);
+            this.index = this.lastIndex;
+            this.lastIndex = -1;
+            this.expectedModCount = FlatDataMap.this.modCount;
+        }
+    }
+}
@@ -86,7 +86,7 @@ default <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E eleme
      */
     default <E> boolean offerFast(Key<? extends BaseValue<E>> key, E element) {
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().getRegistration((Key) key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<E>, E>) localKeyRegistration).offerFastTo(this, element);
         }
@@ -123,7 +123,7 @@ default <E> boolean offerFast(Key<? extends BaseValue<E>> key, E element) {
     @Override
     default <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E element) {
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().getRegistration((Key) key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<E>, E>) localKeyRegistration).offerTo(this, element);
         }
@@ -183,7 +183,7 @@ default <E> boolean offerFast(BaseValue<E> value) {
         final Key<? extends BaseValue<E>> key = value.getKey();
 
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().getRegistration((Key) key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<E>, E>) localKeyRegistration).offerFastTo(this, value);
         }
@@ -224,7 +224,7 @@ default <E> DataTransactionResult offer(BaseValue<E> value) {
         final Key<? extends BaseValue<E>> key = value.getKey();
 
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().getRegistration((Key) key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<E>, E>) localKeyRegistration).offerTo(this, value);
         }
@@ -276,7 +276,7 @@ default boolean removeFast(Key<?> key) {
         checkNotNull(key, "key");
 
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().getRegistration((Key) key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<?>, ?>) localKeyRegistration).removeFastFrom(this);
         }
@@ -314,7 +314,7 @@ default DataTransactionResult remove(Key<?> key) {
         checkNotNull(key, "key");
 
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().getRegistration((Key) key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<?>, ?>) localKeyRegistration).removeFrom(this);
         }
@@ -53,7 +53,7 @@ default boolean supports(Key<?> key) {
         checkNotNull(key, "key");
 
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().getRegistration((Key) key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<?>, ?>) localKeyRegistration).isApplicableTo(this);
         }
@@ -84,7 +84,7 @@ default <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
         checkNotNull(key, "key");
 
         // Check the local key registration
-        final KeyRegistration<BaseValue<E>, E> localKeyRegistration = getValueCollection().get(key).orElse(null);
+        final KeyRegistration<BaseValue<E>, E> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<E>, E>) localKeyRegistration).getFrom(this);
         }
@@ -113,7 +113,7 @@ default <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
     @Override
     default <E, V extends BaseValue<E>> Optional<V> getRawValueFor(Key<V> key) {
         // Check the local key registration
-        final KeyRegistration<BaseValue<E>, E> localKeyRegistration = getValueCollection().get(key).orElse(null);
+        final KeyRegistration<BaseValue<E>, E> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<V, E>) localKeyRegistration).getValueFrom(this);
         }
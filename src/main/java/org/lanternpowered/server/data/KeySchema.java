@@ -0,0 +1,111 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.spongepowered.api.data.key.Key;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable layout that assigns every registered {@link Key} of a
+ * {@link ValueCollection} a dense slot index. Schemas are interned through
+ * their transitions, so all the holders of the same type, which register
+ * their keys in the same order, end up sharing a single schema instance
+ * instead of each holding their own key map.
+ */
+final class KeySchema {
+
+    /**
+     * The schema without any keys, the root of all the transitions.
+     */
+    static final KeySchema EMPTY = new KeySchema(null, null);
+
+    private final Object2IntMap<Key<?>> indices;
+    private final List<Key<?>> keys;
+    private final ConcurrentMap<Key<?>, KeySchema> transitions = new ConcurrentHashMap<>();
+
+    private KeySchema(@Nullable KeySchema parent, @Nullable Key<?> key) {
+        if (parent == null) {
+            this.indices = new Object2IntOpenHashMap<>(0);
+            this.keys = ImmutableList.of();
+        } else {
+            this.indices = new Object2IntOpenHashMap<>(parent.indices);
+            this.indices.put(key, parent.keys.size());
+            this.keys = ImmutableList.<Key<?>>builder().addAll(parent.keys).add(key).build();
+        }
+        this.indices.defaultReturnValue(-1);
+    }
+
+    /**
+     * Gets the slot index of the given {@link Key}, or {@code -1} if
+     * the key isn't part of this schema.
+     *
+     * @param key The key
+     * @return The slot index
+     */
+    int indexOf(Key<?> key) {
+        return this.indices.getInt(key);
+    }
+
+    /**
+     * Gets the amount of slots in this schema.
+     *
+     * @return The size
+     */
+    int size() {
+        return this.keys.size();
+    }
+
+    /**
+     * Gets all the {@link Key}s of this schema, ordered by slot index.
+     *
+     * @return The keys
+     */
+    List<Key<?>> getKeys() {
+        return this.keys;
+    }
+
+    /**
+     * Gets the schema which extends this schema with the given {@link Key},
+     * the key will be assigned the next slot index.
+     *
+     * @param key The key
+     * @return The extended schema
+     */
+    KeySchema with(Key<?> key) {
+        checkArgument(this.indices.getInt(key) == -1, "The specified key (%s) is already registered.", key);
+        return this.transitions.computeIfAbsent(key, key1 -> new KeySchema(this, key1));
+    }
+}
@@ -60,7 +60,19 @@ final class MemoryDataContainer extends MemoryDataView implements DataContainer
      * @see org.spongepowered.api.data.DataView.SafetyMode
      */
     MemoryDataContainer(DataView.SafetyMode safety) {
-        super(safety);
+        this(safety, false);
+    }
+
+    /**
+     * Creates a new {@link MemoryDataContainer} with the provided
+     * {@link org.spongepowered.api.data.DataView.SafetyMode}.
+     *
+     * @param safety The safety mode to use
+     * @param compact Whether the values should be stored in a compact flat map
+     * @see org.spongepowered.api.data.DataView.SafetyMode
+     */
+    MemoryDataContainer(DataView.SafetyMode safety, boolean compact) {
+        super(safety, compact);
     }
 
     @Override
@@ -70,26 +70,36 @@
 @SuppressWarnings("Duplicates")
 class MemoryDataView implements DataView {
 
-    protected final Map<String, Object> map = new LinkedHashMap<>();
+    protected final Map<String, Object> map;
     private final DataContainer container;
     private final DataView parent;
     private final DataQuery path;
     private final DataView.SafetyMode safety;
 
-    MemoryDataView(DataView.SafetyMode safety) {
+    /**
+     * Whether the values are stored in a {@link FlatDataMap}, this
+     * is inherited by all the views that are created by this view.
+     */
+    private final boolean compact;
+
+    MemoryDataView(DataView.SafetyMode safety, boolean compact) {
         checkState(this instanceof DataContainer, "Cannot construct a root MemoryDataView without a container!");
         this.path = of();
         this.parent = this;
         this.container = (DataContainer) this;
         this.safety = checkNotNull(safety, "Safety mode");
+        this.compact = compact;
+        this.map = compact ? new FlatDataMap() : new LinkedHashMap<>();
     }
 
-    private MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety) {
+    private MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety, boolean compact) {
         checkArgument(path.getParts().size() >= 1, "Path must have at least one part");
         this.parent = parent;
         this.container = parent.getContainer();
         this.path = parent.getCurrentPath().then(path);
         this.safety = checkNotNull(safety, "Safety mode");
+        this.compact = compact;
+        this.map = compact ? new FlatDataMap() : new LinkedHashMap<>();
     }
 
     @Override
@@ -304,6 +314,26 @@ public DataView set(DataQuery path, Object value) {
         return this;
     }
 
+    /**
+     * Puts the value directly into this view, without any path
+     * parsing, serialization or copying.
+     *
+     * @param key The key
+     * @param value The value, in its serialized form
+     */
+    void putRaw(String key, Object value) {
+        this.map.put(key, value);
+    }
+
+    /**
+     * Gets the internal map of this view.
+     *
+     * @return The internal map
+     */
+    Map<String, Object> getRawMap() {
+        return this.map;
+    }
+
     @Override
     public <E> DataView set(Key<? extends BaseValue<E>> key, E value) {
         return set(checkNotNull(key, "Key was null!").getQuery(), value);
@@ -319,7 +349,7 @@ private void setCollection(String key, Collection<?> value) {
                 builder.add(((DataSerializable) object).toContainer());
             } else if (object instanceof DataView) {
                 if (this.safety == SafetyMode.ALL_DATA_CLONED || this.safety == SafetyMode.CLONED_ON_SET) {
-                    final MemoryDataView view = new MemoryDataContainer(this.safety);
+                    final MemoryDataView view = new MemoryDataContainer(this.safety, this.compact);
                     final DataView internalView = (DataView) object;
                     for (Map.Entry<DataQuery, Object> entry : internalView.getValues(false).entrySet()) {
                         view.set(entry.getKey(), entry.getValue());
@@ -427,13 +457,13 @@ public DataView createView(DataQuery path) {
         final DataQuery keyQuery = of(key);
 
         if (sz == 1) {
-            final DataView result = new MemoryDataView(this, keyQuery, this.safety);
+            final DataView result = new MemoryDataView(this, keyQuery, this.safety, this.compact);
             this.map.put(key, result);
             return result;
         }
         final DataQuery subQuery = path.popFirst();
         final DataView subView = (DataView) this.map.computeIfAbsent(key,
-                key1 -> new MemoryDataView(this.parent, keyQuery, this.safety));
+                key1 -> new MemoryDataView(this.parent, keyQuery, this.safety, this.compact));
         return subView.createView(subQuery);
     }
 
@@ -762,14 +792,14 @@ public <T> Optional<List<T>> getObjectList(DataQuery path, Class<T> objectClass)
 
     @Override
     public DataContainer copy() {
-        final DataContainer container = new MemoryDataContainer(this.safety);
+        final DataContainer container = new MemoryDataContainer(this.safety, this.compact);
         getKeys(false).forEach(query -> get(query).ifPresent(obj -> container.set(query, obj)));
         return container;
     }
 
     @Override
     public DataContainer copy(SafetyMode safety) {
-        final DataContainer container = new MemoryDataContainer(safety);
+        final DataContainer container = new MemoryDataContainer(safety, this.compact);
         getKeys(false).forEach(query -> get(query).ifPresent(obj -> container.set(query, obj)));
         return container;
     }
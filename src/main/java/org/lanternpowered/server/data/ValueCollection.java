@@ -28,8 +28,10 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.Iterators;
 import org.lanternpowered.server.data.element.Element;
 import org.lanternpowered.server.data.element.ElementKeyRegistration;
+import org.lanternpowered.server.data.element.ElementListener;
 import org.lanternpowered.server.data.processor.ElementProcessorBuilder;
 import org.lanternpowered.server.data.processor.ValueProcessorKeyRegistration;
 import org.lanternpowered.server.data.processor.Processor;
@@ -45,12 +47,11 @@
 import org.spongepowered.api.data.value.mutable.MutableBoundedValue;
 import org.spongepowered.api.data.value.mutable.Value;
 
+import java.util.AbstractCollection;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Iterator;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -70,6 +71,8 @@ public enum Mode {
         NON_REMOVABLE,
     }
 
+    private static final KeyRegistration[] EMPTY_REGISTRATIONS = new KeyRegistration[0];
+
     public static ValueCollection create() {
         return create(Mode.NORMAL);
     }
@@ -83,34 +86,94 @@ public static ValueCollection create() {
      */
     public static ValueCollection create(Mode mode) {
         checkNotNull(mode, "mode");
-        return new ValueCollection(new HashMap<>(), mode);
+        return new ValueCollection(KeySchema.EMPTY, EMPTY_REGISTRATIONS, mode);
     }
 
-    private final Map<Key<?>, KeyRegistration> values;
-    private final Set<Key<?>> unmodifiableKeys;
-    private final Collection<KeyRegistration<?,?>> unmodifiableRegistrations;
+    /**
+     * The schema that maps the keys to slot indexes, shared between
+     * all the collections with the same registered keys.
+     */
+    private KeySchema schema;
+    private KeyRegistration[] registrations;
     private final Mode mode;
 
-    private ValueCollection(Map<Key<?>, KeyRegistration> values, Mode mode) {
-        this.unmodifiableKeys = Collections.unmodifiableSet(values.keySet());
-        this.unmodifiableRegistrations = (Collection) Collections.unmodifiableCollection(values.values());
-        this.values = values;
+    /**
+     * The amount of times that a key was registered or that
+     * the element of a registered {@link Element} changed.
+     */
+    private volatile int modificationCount;
+
+    /**
+     * The listener that tracks the changes of the {@link Element}s.
+     */
+    private final ElementListener<Object> modificationListener = (oldElement, newElement) -> this.modificationCount++;
+
+    private final Collection<KeyRegistration<?,?>> unmodifiableRegistrations = new AbstractCollection<KeyRegistration<?, ?>>() {
+        @Override
+        public Iterator<KeyRegistration<?, ?>> iterator() {
+            return (Iterator) Iterators.limit(Iterators.forArray(ValueCollection.this.registrations), size());
+        }
+
+        @Override
+        public int size() {
+            return ValueCollection.this.schema.size();
+        }
+    };
+
+    private ValueCollection(KeySchema schema, KeyRegistration[] registrations, Mode mode) {
+        this.registrations = registrations;
+        this.schema = schema;
         this.mode = mode;
     }
 
     private void checkKey(Key<?> key) {
         checkNotNull(key, "key");
-        checkArgument(!this.values.containsKey(key), "The specified key (%s) is already registered.", key);
+        checkArgument(this.schema.indexOf(key) == -1, "The specified key (%s) is already registered.", key);
+    }
+
+    private void put(Key<?> key, KeyRegistration registration) {
+        final int index = this.schema.size();
+        this.schema = this.schema.with(key);
+        if (index == this.registrations.length) {
+            this.registrations = Arrays.copyOf(this.registrations, Math.max(4, index + (index >> 1)));
+        }
+        this.registrations[index] = registration;
+        if (registration instanceof Element) {
+            ((Element) registration).addListener(this.modificationListener);
+        }
+        this.modificationCount++;
     }
 
     @Override
     public ValueCollection copy() {
-        final Map<Key<?>, KeyRegistration> values = new HashMap<>();
-        for (Map.Entry<Key<?>, KeyRegistration> entry : this.values.entrySet()) {
-            final KeyRegistration registration = entry.getValue();
-            values.put(entry.getKey(), Copyable.copy(registration).orElse(registration));
+        final int size = this.schema.size();
+        final KeyRegistration[] registrations = new KeyRegistration[size];
+        for (int i = 0; i < size; i++) {
+            final KeyRegistration registration = this.registrations[i];
+            registrations[i] = Copyable.copy(registration).orElse(registration);
+        }
+        final ValueCollection copy = new ValueCollection(this.schema, registrations, this.mode);
+        // The copied elements shouldn't track the changes for this collection
+        for (int i = 0; i < size; i++) {
+            if (registrations[i] != this.registrations[i] && registrations[i] instanceof Element) {
+                final Element element = (Element) registrations[i];
+                element.removeListener(this.modificationListener);
+                element.addListener(copy.modificationListener);
+            }
         }
-        return new ValueCollection(values, this.mode);
+        return copy;
+    }
+
+    /**
+     * Gets the modification count of this collection, the count is increased
+     * every time that a key is registered or that the element of a registered
+     * {@link Element} changes. Modifications to the elements themselves (for
+     * example adding a entry to a element list) aren't tracked.
+     *
+     * @return The modification count
+     */
+    public int getModificationCount() {
+        return this.modificationCount;
     }
 
     /**
@@ -120,7 +183,7 @@ public ValueCollection copy() {
      * @return The keys
      */
     public Collection<Key<?>> getKeys() {
-        return this.unmodifiableKeys;
+        return this.schema.getKeys();
     }
 
     /**
@@ -141,7 +204,7 @@ public Collection<KeyRegistration<?,?>> getAll() {
      * @return Is registered
      */
     public boolean has(Key<?> key) {
-        return this.values.containsKey(key);
+        return this.schema.indexOf(key) != -1;
     }
 
     /**
@@ -153,7 +216,22 @@ public boolean has(Key<?> key) {
      * @return The key registration, if present
      */
     public <V extends BaseValue<E>, E> Optional<KeyRegistration<V, E>> get(Key<? extends BaseValue<E>> key) {
-        return Optional.ofNullable(this.values.get(key));
+        return Optional.ofNullable(getRegistration(key));
+    }
+
+    /**
+     * Gets the {@link KeyRegistration} for the given {@link Key}, or {@code null}
+     * if not present. Avoids the {@link Optional} allocation on hot paths.
+     *
+     * @param key The key
+     * @param <V> The value type
+     * @param <E> The element type
+     * @return The key registration, or null if not present
+     */
+    @Nullable
+    public <V extends BaseValue<E>, E> KeyRegistration<V, E> getRegistration(Key<? extends BaseValue<E>> key) {
+        final int index = this.schema.indexOf(key);
+        return index == -1 ? null : this.registrations[index];
     }
 
     /**
@@ -165,7 +243,7 @@ public <V extends BaseValue<E>, E> Optional<KeyRegistration<V, E>> get(Key<? ext
      */
     public <E> Optional<Element<E>> getElement(Key<? extends BaseValue<E>> key) {
         checkNotNull(key, "key");
-        final Object object = this.values.get(key);
+        final Object object = getRegistration(key);
         return object instanceof Element ? Optional.of((Element<E>) object) : Optional.empty();
     }
 
@@ -184,7 +262,7 @@ public <V extends BaseValue<E>, E> ElementKeyRegistration<V, E> registerNonRemov
         checkKey(key);
         final ElementKeyRegistration<V, E> processor = (ElementKeyRegistration<V, E>) ElementProcessorBuilder.createNonRemovable(key);
         processor.set(defaultValue);
-        this.values.put(key, processor);
+        put(key, processor);
         return processor;
     }
 
@@ -205,7 +283,7 @@ public <V extends BaseValue<E>, E> ElementKeyRegistration<V, E> register(
         checkKey(key);
         final ElementKeyRegistration<V, E> processor = (ElementKeyRegistration<V, E>) ElementProcessorBuilder.createDefault(key);
         processor.set(defaultValue);
-        this.values.put(key, processor);
+        put(key, processor);
         return processor;
     }
 
@@ -232,7 +310,7 @@ public <V extends BaseValue<E>, E> ElementKeyRegistration<V, E> register(
         builderConsumer.accept(builder);
         final ElementKeyRegistration<V, E> element = (ElementKeyRegistration<V, E>) builder.build();
         element.set(defaultValue);
-        this.values.put(key, element);
+        put(key, element);
         return element;
     }
 
@@ -247,7 +325,7 @@ public <V extends BaseValue<E>, E> ElementKeyRegistration<V, E> register(
     public <V extends BaseValue<E>, E> ValueProcessorKeyRegistration<V, E> registerProcessor(Key<? extends V> key) {
         checkKey(key);
         final ValueProcessorKeyRegistration<V, E> processor = ValueProcessorKeyRegistration.create(key);
-        this.values.put(key, processor);
+        put(key, processor);
         return processor;
     }
 
@@ -350,7 +428,7 @@ private <V extends BoundedValue<E>, E extends Comparable<E>> ElementKeyRegistrat
         });
         final ElementKeyRegistration<V, E> element = (ElementKeyRegistration<V, E>) builder.build();
         element.set(defaultValue);
-        this.values.put(key, element);
+        put(key, element);
         return element;
     }
 
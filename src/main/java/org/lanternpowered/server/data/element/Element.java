@@ -58,4 +58,11 @@
      * @param listener The listener
      */
     void addListener(ElementListener<E> listener);
+
+    /**
+     * Removes a listener that was previously added.
+     *
+     * @param listener The listener
+     */
+    void removeListener(ElementListener<E> listener);
 }
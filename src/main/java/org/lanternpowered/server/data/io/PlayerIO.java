@@ -25,6 +25,7 @@
  */
 package org.lanternpowered.server.data.io;
 
+import org.lanternpowered.server.data.DataHelper;
 import org.lanternpowered.server.data.io.store.ObjectStore;
 import org.lanternpowered.server.data.io.store.ObjectStoreRegistry;
 import org.lanternpowered.server.data.persistence.nbt.NbtStreamUtils;
@@ -73,7 +74,7 @@ public static void load(Path dataFolder, LanternPlayer player) throws IOExceptio
     public static void save(Path dataFolder, LanternPlayer player) throws IOException {
         final String fileName = player.getUniqueId().toString() + ".dat";
 
-        final DataContainer dataContainer = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        final DataContainer dataContainer = DataHelper.createCompactContainer();
         final ObjectStore<LanternPlayer> objectStore = ObjectStoreRegistry.get().get(LanternPlayer.class).get();
         objectStore.serialize(player, dataContainer);
 
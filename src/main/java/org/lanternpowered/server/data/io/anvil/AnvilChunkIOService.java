@@ -58,6 +58,7 @@
 import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
 import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
 import org.lanternpowered.server.block.tile.LanternTileEntity;
+import org.lanternpowered.server.data.DataHelper;
 import org.lanternpowered.server.data.io.ChunkIOService;
 import org.lanternpowered.server.data.io.store.ObjectSerializer;
 import org.lanternpowered.server.data.io.store.ObjectSerializerRegistry;
@@ -66,6 +67,7 @@
 import org.lanternpowered.server.data.DataQueries;
 import org.lanternpowered.server.entity.LanternEntity;
 import org.lanternpowered.server.game.DirectoryKeys;
+import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.scheduler.LanternScheduler;
 import org.lanternpowered.server.util.NibbleArray;
 import org.lanternpowered.server.world.chunk.LanternChunk;
@@ -77,6 +79,7 @@
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.InvalidDataException;
 import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.storage.ChunkDataStream;
@@ -91,6 +94,7 @@
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 
 import javax.annotation.Nullable;
@@ -133,25 +137,37 @@ public class AnvilChunkIOService implements ChunkIOService {
     private final RegionFileCache cache;
     private final Path baseDir;
 
+    // The task that closes the region files that weren't accessed for a while
+    @Nullable private Task evictionTask;
+
     // TODO: Consider the session.lock file
 
     @Inject
     public AnvilChunkIOService(@Named(DirectoryKeys.WORLD) Path baseDir, World world, Logger logger, LanternScheduler scheduler) {
-        this.cache = new RegionFileCache(baseDir);
+        this(baseDir, world, logger, scheduler, RegionFileCache.DEFAULT_MAX_OPEN_FILES);
+    }
+
+    public AnvilChunkIOService(Path baseDir, World world, Logger logger, LanternScheduler scheduler, int maxOpenRegionFiles) {
+        this.cache = new RegionFileCache(baseDir, world.getName(), maxOpenRegionFiles);
+        this.cache.getMetrics().registerMBean();
         this.scheduler = scheduler;
         this.baseDir = baseDir;
         this.logger = logger;
         this.world = world;
+        this.evictionTask = scheduler.createTaskBuilder().async()
+                .delay(RegionFileCache.IDLE_TIMEOUT, TimeUnit.MILLISECONDS)
+                .interval(RegionFileCache.IDLE_TIMEOUT / 2, TimeUnit.MILLISECONDS)
+                .execute(this.cache::evictIdle).submit(Lantern.getMinecraftPlugin());
     }
 
     @Override
     public boolean exists(int x, int z) throws IOException {
-        final RegionFile region = this.cache.getRegionFileByChunk(x, z);
-
         final int regionX = x & REGION_MASK;
         final int regionZ = z & REGION_MASK;
 
-        return region.hasChunk(regionX, regionZ);
+        try (RegionFileCache.Handle handle = this.cache.acquireByChunk(x, z)) {
+            return handle.getRegionFile().hasChunk(regionX, regionZ);
+        }
     }
 
     @Override
@@ -159,11 +175,15 @@ public boolean read(LanternChunk chunk) throws IOException {
         final int x = chunk.getX();
         final int z = chunk.getZ();
 
-        final RegionFile region = this.cache.getRegionFileByChunk(x, z);
         final int regionX = x & REGION_MASK;
         final int regionZ = z & REGION_MASK;
 
-        final DataInputStream is = region.getChunkDataInputStream(regionX, regionZ);
+        // The chunk data is fully read into memory, so
+        // the region file doesn't have to stay pinned
+        final DataInputStream is;
+        try (RegionFileCache.Handle handle = this.cache.acquireByChunk(x, z)) {
+            is = handle.getRegionFile().getChunkDataInputStream(regionX, regionZ);
+        }
         if (is == null) {
             return false;
         }
@@ -293,12 +313,10 @@ public void write(LanternChunk chunk) throws IOException {
         final int x = chunk.getX();
         final int z = chunk.getZ();
 
-        final RegionFile region = this.cache.getRegionFileByChunk(x, z);
-
         final int regionX = x & REGION_MASK;
         final int regionZ = z & REGION_MASK;
 
-        final DataContainer rootView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        final DataContainer rootView = DataHelper.createCompactContainer();
         final DataView levelDataView = rootView.createView(LEVEL);
 
         // Core properties
@@ -321,7 +339,7 @@ public void write(LanternChunk chunk) throws IOException {
                 continue;
             }
 
-            final DataContainer sectionDataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+            final DataContainer sectionDataView = DataHelper.createCompactContainer();
             sectionDataView.set(Y, i);
 
             final byte[] rawTypes = new byte[section.types.length];
@@ -387,7 +405,7 @@ public void write(LanternChunk chunk) throws IOException {
                 // Convert the index to the column based system
                 // index = z << 12 | y << 4 | x
                 index = ((index >> 4) & 0xf) << 12 | i << 8 | (index >> 4) & 0xf0 | index & 0xf;
-                final DataView trackerDataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+                final DataView trackerDataView = DataHelper.createCompactContainer();
                 trackerDataView.set(TRACKER_BLOCK_POS, (short) index);
                 trackerDataView.set(TRACKER_ENTRY_NOTIFIER, entry.getValue().getNotifierId());
                 trackerDataView.set(TRACKER_ENTRY_CREATOR, entry.getValue().getCreatorId());
@@ -434,7 +452,10 @@ public void write(LanternChunk chunk) throws IOException {
 
         levelDataView.set(ENTITIES, entityViews);
 
-        try (NbtDataContainerOutputStream nbt = new NbtDataContainerOutputStream(region.getChunkDataOutputStream(regionX, regionZ))) {
+        // Pin the region file until the chunk data is written
+        try (RegionFileCache.Handle handle = this.cache.acquireByChunk(x, z);
+                NbtDataContainerOutputStream nbt = new NbtDataContainerOutputStream(
+                        handle.getRegionFile().getChunkDataOutputStream(regionX, regionZ))) {
             nbt.write(rootView);
             nbt.flush();
         }
@@ -442,7 +463,12 @@ public void write(LanternChunk chunk) throws IOException {
 
     @Override
     public void unload() throws IOException {
+        if (this.evictionTask != null) {
+            this.evictionTask.cancel();
+            this.evictionTask = null;
+        }
         this.cache.clear();
+        this.cache.getMetrics().unregisterMBean();
     }
 
     @Override
@@ -452,8 +478,11 @@ public ChunkDataStream getGeneratedChunks() {
             // All the region files
             private Path[] paths;
 
-            // The current region file that we opened
-            @Nullable private RegionFile region;
+            // The coordinates of the current region file, the region file
+            // is only pinned while it's being accessed
+            private boolean hasRegion;
+            private int regionX;
+            private int regionZ;
 
             // The coordinates of the chunk inside the region
             private int chunkX;
@@ -482,7 +511,10 @@ public DataContainer next() {
                 }
 
                 try {
-                    final DataInputStream is = this.region.getChunkDataInputStream(this.chunkX, this.chunkZ);
+                    final DataInputStream is;
+                    try (RegionFileCache.Handle handle = cache.acquire(this.regionX, this.regionZ)) {
+                        is = handle.getRegionFile().getChunkDataInputStream(this.chunkX, this.chunkZ);
+                    }
                     final DataContainer data;
 
                     try (NbtDataContainerInputStream nbt = new NbtDataContainerInputStream(is)) {
@@ -509,14 +541,20 @@ public boolean hasNext() {
                 }
                 // Try first to search for more chunks in the current region
                 while (true) {
-                    if (this.region != null) {
-                        while (++this.regionChunkIndex < REGION_AREA) {
-                            this.chunkX = this.regionChunkIndex / REGION_SIZE;
-                            this.chunkZ = this.regionChunkIndex % REGION_SIZE;
-                            if (this.region.hasChunk(this.chunkX, this.chunkZ)) {
-                                this.cached = true;
-                                return true;
+                    if (this.hasRegion) {
+                        try (RegionFileCache.Handle handle = cache.acquire(this.regionX, this.regionZ)) {
+                            final RegionFile region = handle.getRegionFile();
+                            while (++this.regionChunkIndex < REGION_AREA) {
+                                this.chunkX = this.regionChunkIndex / REGION_SIZE;
+                                this.chunkZ = this.regionChunkIndex % REGION_SIZE;
+                                if (region.hasChunk(this.chunkX, this.chunkZ)) {
+                                    this.cached = true;
+                                    return true;
+                                }
                             }
+                        } catch (IOException e) {
+                            logger.error("Failed to read the region file ({};{}) in the world folder {}",
+                                    this.regionX, this.regionZ, baseDir.getFileName().toString(), e);
                         }
                     }
                     // There no chunk available in the current region,
@@ -525,24 +563,18 @@ public boolean hasNext() {
                     // There was no chunk present in the current region,
                     // try the next region
                     if (++this.regionFileIndex >= this.paths.length) {
-                        this.region = null;
+                        this.hasRegion = false;
                         this.done = true;
                         return false;
                     }
                     final Path nextRegionFile = this.paths[this.regionFileIndex];
                     if (Files.exists(nextRegionFile)) {
                         Matcher matcher = cache.getFilePattern().matcher(nextRegionFile.getFileName().toString());
-                        int regionX = Integer.parseInt(matcher.group(0));
-                        int regionZ = Integer.parseInt(matcher.group(1));
-                        try {
-                            this.region = cache.getRegionFile(regionX, regionZ);
-                        } catch (IOException e) {
-                            logger.error("Failed to read the region file ({};{}) in the world folder {}",
-                                    regionX, regionZ, baseDir.getFileName().toString(), e);
-                            this.region = null;
-                        }
+                        this.regionX = Integer.parseInt(matcher.group(0));
+                        this.regionZ = Integer.parseInt(matcher.group(1));
+                        this.hasRegion = true;
                     } else {
-                        this.region = null;
+                        this.hasRegion = false;
                     }
                 }
             }
@@ -559,7 +591,7 @@ public void reset() {
                 this.paths = cache.getRegionFiles();
                 this.regionFileIndex = -1;
                 this.regionChunkIndex = -1;
-                this.region = null;
+                this.hasRegion = false;
                 this.cached = false;
                 this.done = false;
             }
@@ -577,11 +609,13 @@ public CompletableFuture<Optional<DataContainer>> getChunkData(Vector3i chunkCoo
             final int x = chunkCoords.getX();
             final int z = chunkCoords.getZ();
 
-            final RegionFile region = cache.getRegionFileByChunk(x, z);
             final int regionX = x & REGION_MASK;
             final int regionZ = z & REGION_MASK;
 
-            final DataInputStream is = region.getChunkDataInputStream(regionX, regionZ);
+            final DataInputStream is;
+            try (RegionFileCache.Handle handle = cache.acquireByChunk(x, z)) {
+                is = handle.getRegionFile().getChunkDataInputStream(regionX, regionZ);
+            }
             if (is == null) {
                 return Optional.empty();
             }
@@ -103,17 +103,29 @@ public final class RegionFile {
     private static final byte[] EMPTY_SECTOR = new byte[SECTOR_BYTES];
 
     private final RandomAccessFile file;
-    private final int[] offsets;
-    private final BitSet usedSectors;
+    private final RegionFileHeader header;
+    private final Path path;
     private final int regionX;
     private final int regionZ;
 
-    private int sectorCount;
-
     RegionFile(Path path, int regionX, int regionZ) throws IOException {
+        this(path, regionX, regionZ, null);
+    }
+
+    /**
+     * Opens the region file, the header will be reused if it's
+     * provided and still matches the contents of the file.
+     *
+     * @param path The path of the region file
+     * @param regionX The x coordinate of the region
+     * @param regionZ The z coordinate of the region
+     * @param cachedHeader The header of a previous session
+     * @throws IOException If the file couldn't be opened
+     */
+    RegionFile(Path path, int regionX, int regionZ, @Nullable RegionFileHeader cachedHeader) throws IOException {
         this.regionX = regionX;
         this.regionZ = regionZ;
-        this.offsets = new int[SECTOR_INTS];
+        this.path = path;
 
         long lastModified = 0;
         if (Files.isRegularFile(path)) {
@@ -123,6 +135,10 @@ public final class RegionFile {
         this.file = new RandomAccessFile(path.toFile(), "rw");
 
         long length = this.file.length();
+        if (cachedHeader != null && cachedHeader.isValid(length, lastModified)) {
+            this.header = cachedHeader;
+            return;
+        }
         // seek to the end to prepare size checking
         this.file.seek(length);
 
@@ -158,9 +174,9 @@ public final class RegionFile {
 
         // set up the available sector map
         final int nSectors = (int) (this.file.length() / SECTOR_BYTES);
-        this.sectorCount = nSectors;
-        this.usedSectors = new BitSet(nSectors);
-        this.usedSectors.set(0, 2);
+        final BitSet usedSectors = new BitSet(nSectors);
+        final int[] offsets = new int[SECTOR_INTS];
+        usedSectors.set(0, 2);
 
         // set the following sectors
         // 0 - chunk offset table
@@ -170,13 +186,13 @@ public final class RegionFile {
         this.file.seek(0);
         for (int i = 0; i < SECTOR_INTS; ++i) {
             final int offset = this.file.readInt();
-            this.offsets[i] = offset;
+            offsets[i] = offset;
 
             final int startSector = (offset >> 8);
             final int numSectors = (offset & 0xff);
 
             if (offset != 0 && startSector >= 0 && startSector + numSectors <= nSectors) {
-                this.usedSectors.set(startSector, startSector + numSectors);
+                usedSectors.set(startSector, startSector + numSectors);
             } else if (offset != 0) {
                 Lantern.getLogger().warn(REGION_FILE_MARKER, "Region \"{}\": offsets[{}] = {} -> {},{} does not fit",
                         path, i, offset, startSector, numSectors);
@@ -186,6 +202,16 @@ public final class RegionFile {
         // for (int i = 0; i < SECTOR_INTS; ++i) {
         //     this.file.readInt();
         // }
+        this.header = new RegionFileHeader(offsets, usedSectors, nSectors);
+    }
+
+    /**
+     * Gets the parsed header of this region file.
+     *
+     * @return The header
+     */
+    RegionFileHeader getHeader() {
+        return this.header;
     }
 
     /**
@@ -208,7 +234,7 @@ public synchronized boolean hasChunk(int x, int z) {
 
             final int sectorNumber = offset >> 8;
             final int numSectors = offset & 0xff;
-            if (sectorNumber + numSectors > this.sectorCount) {
+            if (sectorNumber + numSectors > this.header.sectorCount) {
                 logWarning();
                 return false;
             }
@@ -248,7 +274,7 @@ public synchronized DataInputStream getChunkDataInputStream(int x, int z) {
 
             final int sectorNumber = offset >> 8;
             final int numSectors = offset & 0xff;
-            if (sectorNumber + numSectors > this.sectorCount) {
+            if (sectorNumber + numSectors > this.header.sectorCount) {
                 logWarning();
                 return null;
             }
@@ -334,20 +360,20 @@ protected synchronized void write(int x, int z, byte[] data, int length) throws
             // we need to allocate new sectors
 
             // mark the sectors previously used for this chunk as free
-            this.usedSectors.clear(sectorNumber, sectorNumber + sectorsAllocated);
+            this.header.usedSectors.clear(sectorNumber, sectorNumber + sectorsAllocated);
 
             // scan for a free space large enough to store this chunk
-            int runStart = this.usedSectors.nextClearBit(2);
+            int runStart = this.header.usedSectors.nextClearBit(2);
             int runLength = 0;
-            if (runStart != -1 && runStart < this.sectorCount) {
-                for (int i = runStart; i < this.sectorCount; ++i) {
+            if (runStart != -1 && runStart < this.header.sectorCount) {
+                for (int i = runStart; i < this.header.sectorCount; ++i) {
                     if (runLength != 0) {
-                        if (!this.usedSectors.get(i)) {
+                        if (!this.header.usedSectors.get(i)) {
                             runLength++;
                         } else {
                             runLength = 0;
                         }
-                    } else if (!this.usedSectors.get(i)) {
+                    } else if (!this.header.usedSectors.get(i)) {
                         runStart = i;
                         runLength = 1;
                     }
@@ -356,13 +382,13 @@ protected synchronized void write(int x, int z, byte[] data, int length) throws
                     }
                 }
             } else {
-                runStart = this.sectorCount;
+                runStart = this.header.sectorCount;
             }
 
             sectorNumber = runStart;
             if (runLength < sectorsNeeded) {
                 final int added = sectorsNeeded - runLength;
-                this.sectorCount += added;
+                this.header.sectorCount += added;
                 this.file.seek(this.file.length());
                 for (int i = 0; i < added; i++) {
                     this.file.write(EMPTY_SECTOR);
@@ -370,7 +396,7 @@ protected synchronized void write(int x, int z, byte[] data, int length) throws
             }
 
             // Clear the sectors to set them in use
-            this.usedSectors.set(sectorNumber, sectorNumber + sectorsNeeded);
+            this.header.usedSectors.set(sectorNumber, sectorNumber + sectorsNeeded);
 
             // Write chunk data and offset
             write(sectorNumber, data, length);
@@ -395,11 +421,11 @@ private void checkBounds(int x, int z) {
     }
 
     private int getOffset(int x, int z) {
-        return this.offsets[x + z * 32];
+        return this.header.offsets[x + z * 32];
     }
 
     private void setOffset(int x, int z, int offset) throws IOException {
-        this.offsets[x + z * 32] = offset;
+        this.header.offsets[x + z * 32] = offset;
         this.file.seek((x + z * 32) * 4);
         this.file.writeInt(offset);
     }
@@ -409,8 +435,13 @@ private void setTimestamp(int x, int z, int value) throws IOException {
         this.file.writeInt(value);
     }
 
-    public void close() throws IOException {
+    public synchronized void close() throws IOException {
         this.file.getChannel().force(true);
+        final long fileLength = this.file.length();
         this.file.close();
+        // Remember the state of the file, the header can
+        // be reused if the file is reopened later
+        this.header.fileLength = fileLength;
+        this.header.lastModified = Files.getLastModifiedTime(this.path).toMillis();
     }
 }
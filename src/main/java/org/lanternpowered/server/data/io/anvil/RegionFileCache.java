@@ -49,17 +49,33 @@
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.google.common.base.Throwables;
 import org.lanternpowered.server.game.Lantern;
+import org.lanternpowered.server.profiler.RegionFileMetrics;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 /**
- * A simple cache and wrapper for efficiently accessing multiple RegionFiles
- * simultaneously.
+ * A pool for efficiently accessing multiple RegionFiles simultaneously.
+ * <p>
+ * Every region file access is done through a {@link Handle} that pins the
+ * region file until it's released, pinned region files are never closed.
+ * Idle region files are closed when the open file limit is exceeded or
+ * when they weren't accessed for a while, the parsed headers of those files
+ * are kept in a separate cache to make reopening them cheap.
  */
 final class RegionFileCache {
 
@@ -70,18 +86,32 @@ final class RegionFileCache {
     static final int REGION_AREA = REGION_SIZE * REGION_SIZE;
     static final int REGION_MASK = REGION_SIZE - 1;
 
-    private static final int MAX_CACHE_SIZE = 256;
+    static final int DEFAULT_MAX_OPEN_FILES = 256;
 
-    private final Cache<Long, RegionFile> cache;
+    // The maximum amount of headers of closed region files that are cached
+    private static final int MAX_CACHED_HEADERS = 1024;
+
+    // The time after which idle region files will be closed
+    static final long IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+    // The open region files in access order, guarded by itself
+    private final LinkedHashMap<Long, Handle> handles = new LinkedHashMap<>(16, 0.75f, true);
+    // The regions that were opened at least once, guarded by the handles
+    private final Set<Long> openedRegions = new HashSet<>();
+
+    private final Cache<Long, RegionFileHeader> headers;
+    private final RegionFileMetrics metrics;
+    private final int maxOpenFiles;
     private final String extension;
     private final Pattern filePattern;
     private final Path regionDir;
 
-    RegionFileCache(Path basePath) {
-        this(basePath, DEFAULT_REGION_FILE_EXTENSION);
+    RegionFileCache(Path basePath, String worldName, int maxOpenFiles) {
+        this(basePath, DEFAULT_REGION_FILE_EXTENSION, worldName, maxOpenFiles);
     }
 
-    RegionFileCache(Path basePath, String extension) {
+    RegionFileCache(Path basePath, String extension, String worldName, int maxOpenFiles) {
+        this.maxOpenFiles = Math.max(1, maxOpenFiles);
         this.extension = extension;
         this.regionDir = basePath.resolve("region");
         this.filePattern = Pattern.compile("^r\\.([-]?[0-9]+)\\.([-]?[0-9]+)\\." + extension + "$");
@@ -92,19 +122,23 @@ final class RegionFileCache {
             Lantern.getLogger().warn("Failed to create directory: " + this.regionDir);
         }
 
-        this.cache = Caffeine.newBuilder()
-                .maximumSize(MAX_CACHE_SIZE)
-                .softValues()
-                .removalListener((key, value, cause) -> {
-                    if (value != null) {
-                        try {
-                            ((RegionFile) value).close();
-                        } catch (IOException e) {
-                            throw new RuntimeException(e);
-                        }
-                    }
-                })
+        this.headers = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_HEADERS)
                 .build();
+        this.metrics = new RegionFileMetrics(worldName, () -> {
+            synchronized (this.handles) {
+                return this.handles.size();
+            }
+        });
+    }
+
+    /**
+     * Gets the {@link RegionFileMetrics} of this cache.
+     *
+     * @return The metrics
+     */
+    public RegionFileMetrics getMetrics() {
+        return this.metrics;
     }
 
     public Path[] getRegionFiles() {
@@ -115,29 +149,239 @@ public Path[] getRegionFiles() {
         }
     }
 
-    public RegionFile getRegionFileByChunk(int chunkX, int chunkZ) throws IOException {
+    /**
+     * Acquires a {@link Handle} to the region file that contains the chunk at the
+     * specified coordinates. The handle must be closed once the I/O is done.
+     *
+     * @param chunkX The x coordinate of the chunk
+     * @param chunkZ The z coordinate of the chunk
+     * @return The handle
+     * @throws IOException If the region file couldn't be opened
+     */
+    public Handle acquireByChunk(int chunkX, int chunkZ) throws IOException {
         final int regionX = chunkX >> REGION_COORDINATE_BITS;
         final int regionZ = chunkZ >> REGION_COORDINATE_BITS;
-        return this.getRegionFile(regionX, regionZ);
+        return this.acquire(regionX, regionZ);
     }
 
-    public RegionFile getRegionFile(int regionX, int regionZ) throws IOException {
+    /**
+     * Acquires a {@link Handle} to the region file at the specified
+     * region coordinates. The handle must be closed once the I/O is done.
+     *
+     * @param regionX The x coordinate of the region
+     * @param regionZ The z coordinate of the region
+     * @return The handle
+     * @throws IOException If the region file couldn't be opened
+     */
+    public Handle acquire(int regionX, int regionZ) throws IOException {
         final long coords = (regionZ & 0xffffffffL) << 32 | regionX & 0xffffffffL;
-        return this.cache.get(coords, coords0 -> {
+        final long time = System.currentTimeMillis();
+        Handle handle;
+        boolean open = false;
+        boolean reopen = false;
+        final List<Handle> evicted;
+        synchronized (this.handles) {
+            handle = this.handles.get(coords);
+            if (handle == null) {
+                // The handle is inserted before the region file is opened, other threads
+                // that acquire the same region wait for the opening to finish
+                handle = new Handle(coords, regionX, regionZ);
+                this.handles.put(coords, handle);
+                reopen = !this.openedRegions.add(coords);
+                open = true;
+            }
+            handle.references++;
+            handle.lastAccess = time;
+            evicted = collectEvictions(time);
+        }
+        close(evicted);
+        if (open) {
             try {
-                return new RegionFile(this.regionDir.resolve("r." + regionX + "." + regionZ + "." + this.extension), regionX, regionZ);
-            } catch (IOException e) {
-                Lantern.getLogger().error("Failed to load the region file (%s;%s)", regionX, regionZ);
-                throw new RuntimeException(e);
+                handle.regionFile.complete(open(handle, reopen));
+            } catch (IOException | RuntimeException | Error e) {
+                synchronized (this.handles) {
+                    this.handles.remove(coords, handle);
+                }
+                handle.regionFile.completeExceptionally(e);
+                throw e;
             }
-        });
+        } else {
+            try {
+                handle.regionFile.join();
+            } catch (CompletionException e) {
+                // The region file couldn't be opened by the other thread
+                synchronized (this.handles) {
+                    handle.references--;
+                }
+                final Throwable cause = e.getCause();
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            }
+        }
+        return handle;
+    }
+
+    private RegionFile open(Handle handle, boolean reopen) throws IOException {
+        final RegionFileHeader header = this.headers.getIfPresent(handle.coords);
+        if (header != null) {
+            // The header is owned by the open region file from now on
+            this.headers.invalidate(handle.coords);
+        }
+        final RegionFile regionFile;
+        try {
+            regionFile = new RegionFile(this.regionDir.resolve("r." + handle.regionX + "." + handle.regionZ + "." + this.extension),
+                    handle.regionX, handle.regionZ, header);
+        } catch (IOException e) {
+            Lantern.getLogger().error("Failed to load the region file ({};{})", handle.regionX, handle.regionZ);
+            throw e;
+        }
+        this.metrics.onOpen(reopen, header != null && regionFile.getHeader() == header);
+        return regionFile;
+    }
+
+    private void release(Handle handle) {
+        final List<Handle> evicted;
+        synchronized (this.handles) {
+            handle.references--;
+            handle.lastAccess = System.currentTimeMillis();
+            evicted = collectEvictions(handle.lastAccess);
+        }
+        close(evicted);
+    }
+
+    /**
+     * Closes all the idle region files that weren't accessed for a while, this
+     * is called periodically so that region files of areas that are no longer
+     * visited don't stay open until a different region file is accessed.
+     */
+    void evictIdle() {
+        evictIdle(System.currentTimeMillis());
+    }
+
+    void evictIdle(long time) {
+        final List<Handle> evicted;
+        synchronized (this.handles) {
+            evicted = collectEvictions(time);
+        }
+        close(evicted);
+    }
+
+    /**
+     * Collects all the idle region files that should be closed because the
+     * open file limit is exceeded or because they expired. This may only
+     * be called while holding the lock of the handles.
+     *
+     * @param time The current time
+     * @return The evicted handles
+     */
+    private List<Handle> collectEvictions(long time) {
+        List<Handle> evicted = null;
+        final Iterator<Handle> it = this.handles.values().iterator();
+        while (it.hasNext()) {
+            final Handle handle = it.next();
+            final boolean expired = time - handle.lastAccess > IDLE_TIMEOUT;
+            // The handles are in access order, so the remaining
+            // ones cannot be expired either
+            if (!expired && this.handles.size() <= this.maxOpenFiles) {
+                break;
+            }
+            // Pinned region files cannot be closed, this includes
+            // the region files that are still being opened
+            if (handle.references > 0) {
+                continue;
+            }
+            it.remove();
+            if (evicted == null) {
+                evicted = new ArrayList<>();
+            }
+            evicted.add(handle);
+        }
+        return evicted == null ? Collections.emptyList() : evicted;
+    }
+
+    private void close(List<Handle> handles) {
+        for (Handle handle : handles) {
+            this.metrics.onEviction();
+            closeFile(handle);
+        }
+    }
+
+    private void closeFile(Handle handle) {
+        final RegionFile regionFile;
+        try {
+            regionFile = handle.regionFile.join();
+        } catch (CompletionException e) {
+            // The region file failed to open, nothing to close
+            return;
+        }
+        try {
+            regionFile.close();
+        } catch (IOException e) {
+            Lantern.getLogger().error("Failed to close the region file ({};{})",
+                    handle.regionX, handle.regionZ, e);
+            return;
+        }
+        synchronized (this.handles) {
+            // Don't cache the header if the region file was already reopened
+            if (!this.handles.containsKey(handle.coords)) {
+                this.headers.put(handle.coords, regionFile.getHeader());
+            }
+        }
     }
 
     public void clear() {
-        this.cache.invalidateAll();
+        final List<Handle> handles;
+        synchronized (this.handles) {
+            handles = new ArrayList<>(this.handles.values());
+            this.handles.clear();
+            this.openedRegions.clear();
+        }
+        for (Handle handle : handles) {
+            closeFile(handle);
+        }
+        this.headers.invalidateAll();
     }
 
     public Pattern getFilePattern() {
         return this.filePattern;
     }
+
+    /**
+     * A handle to a {@link RegionFile} that is pinned until the handle is
+     * closed. The handle must be closed exactly once every time that it
+     * was acquired.
+     */
+    final class Handle implements Closeable {
+
+        private final long coords;
+        private final int regionX;
+        private final int regionZ;
+        // The region file, completed once it's opened by the thread that created this handle
+        private final CompletableFuture<RegionFile> regionFile = new CompletableFuture<>();
+
+        // The amount of times that this handle is acquired, guarded by the handles
+        private int references;
+        // The last time that this handle was acquired or released, guarded by the handles
+        private long lastAccess;
+
+        private Handle(long coords, int regionX, int regionZ) {
+            this.regionX = regionX;
+            this.regionZ = regionZ;
+            this.coords = coords;
+        }
+
+        /**
+         * Gets the {@link RegionFile} of this handle.
+         *
+         * @return The region file
+         */
+        public RegionFile getRegionFile() {
+            // The region file is always opened before the handle is returned
+            return this.regionFile.join();
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data.io.anvil;
+
+import java.util.BitSet;
+
+/**
+ * The parsed header of a {@link RegionFile}, the chunk offset table and
+ * the map of the sectors that are in use. The header is kept in memory
+ * after the region file is closed, so that it doesn't need to be parsed
+ * again when the region file is reopened.
+ */
+final class RegionFileHeader {
+
+    final int[] offsets;
+    final BitSet usedSectors;
+    int sectorCount;
+
+    // The length and last modification time of the file when it was
+    // closed, used to detect whether the file was changed externally
+    long fileLength = -1L;
+    long lastModified = -1L;
+
+    RegionFileHeader(int[] offsets, BitSet usedSectors, int sectorCount) {
+        this.usedSectors = usedSectors;
+        this.sectorCount = sectorCount;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Gets whether this header still matches the region
+     * file with the specified length and modification time.
+     *
+     * @param fileLength The length of the file
+     * @param lastModified The last modification time of the file
+     * @return Whether the header is valid
+     */
+    boolean isValid(long fileLength, long lastModified) {
+        return this.fileLength == fileLength && this.lastModified == lastModified;
+    }
+}
@@ -25,7 +25,7 @@
  */
 package org.lanternpowered.server.data.io.store;
 
-import org.spongepowered.api.data.DataContainer;
+import org.lanternpowered.server.data.DataHelper;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.InvalidDataException;
 import org.spongepowered.api.util.Identifiable;
@@ -58,7 +58,7 @@ public T deserialize(DataView dataView) throws InvalidDataException {
 
     @Override
     public DataView serialize(T object) {
-        final DataView dataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        final DataView dataView = DataHelper.createCompactContainer();
         if (this.objectStore instanceof IdentifiableObjectStore) {
             ((IdentifiableObjectStore) this.objectStore).serializeUniqueId(dataView, object.getUniqueId());
         }
@@ -25,6 +25,7 @@
  */
 package org.lanternpowered.server.data.io.store.entity;
 
+import org.lanternpowered.server.data.DataHelper;
 import org.lanternpowered.server.data.io.store.IdentifiableObjectStore;
 import org.lanternpowered.server.data.io.store.ObjectSerializer;
 import org.lanternpowered.server.data.io.store.ObjectStore;
@@ -32,7 +33,6 @@
 import org.lanternpowered.server.entity.LanternEntity;
 import org.lanternpowered.server.entity.LanternEntityType;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.InvalidDataException;
@@ -77,7 +77,7 @@ public LanternEntity deserialize(DataView dataView) throws InvalidDataException
 
     @Override
     public DataView serialize(LanternEntity object) {
-        final DataView dataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        final DataView dataView = DataHelper.createCompactContainer();
         dataView.set(ID, object.getType().getId());
         //noinspection unchecked
         final ObjectStore<LanternEntity> store = (ObjectStore) ObjectStoreRegistry.get().get(object.getClass()).get();
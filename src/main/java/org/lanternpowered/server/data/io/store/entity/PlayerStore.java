@@ -29,6 +29,7 @@
 
 import com.flowpowered.math.vector.Vector3d;
 import org.lanternpowered.server.advancement.AdvancementTrees;
+import org.lanternpowered.server.data.DataHelper;
 import org.lanternpowered.server.data.io.store.ObjectSerializer;
 import org.lanternpowered.server.data.io.store.ObjectStore;
 import org.lanternpowered.server.data.io.store.ObjectStoreRegistry;
@@ -46,7 +47,6 @@
 import org.lanternpowered.server.inventory.entity.OffHandSlot;
 import org.lanternpowered.server.world.LanternWorld;
 import org.lanternpowered.server.world.LanternWorldProperties;
-import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.Queries;
@@ -152,7 +152,7 @@ public void serializeValues(LanternPlayer player, SimpleValueContainer valueCont
                 if (dimensionId == 0) {
                     serializeRespawnLocationTo(dataView, respawnLocation);
                 } else {
-                    respawnLocationViews.add(serializeRespawnLocationTo(DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED), respawnLocation)
+                    respawnLocationViews.add(serializeRespawnLocationTo(DataHelper.createCompactContainer(), respawnLocation)
                             .set(RESPAWN_LOCATIONS_DIMENSION, dimensionId));
                 }
             });
@@ -25,11 +25,11 @@
  */
 package org.lanternpowered.server.data.io.store.item;
 
+import org.lanternpowered.server.data.DataHelper;
 import org.lanternpowered.server.data.io.store.SimpleValueContainer;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.game.registry.type.item.FireworkShapeRegistryModule;
 import org.lanternpowered.server.item.firework.LanternFireworkShape;
-import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.key.Keys;
@@ -84,7 +84,7 @@ public void deserializeValues(ItemStack itemStack, SimpleValueContainer valueCon
     private static final DataQuery FADE_COLORS = DataQuery.of("FadeColors");
 
     static DataView serializeExplosion(FireworkEffect effect) {
-        final DataView dataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        final DataView dataView = DataHelper.createCompactContainer();
         dataView.set(FLICKER, (byte) (effect.flickers() ? 1 : 0));
         dataView.set(TRAIL, (byte) (effect.hasTrail() ? 1 : 0));
         dataView.set(TYPE, (byte) ((LanternFireworkShape) effect.getShape()).getInternalId());
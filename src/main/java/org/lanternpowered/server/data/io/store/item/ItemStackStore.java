@@ -28,6 +28,7 @@
 import static org.lanternpowered.server.data.DataHelper.getOrCreateView;
 import static org.lanternpowered.server.text.translation.TranslationHelper.t;
 
+import org.lanternpowered.server.data.DataHelper;
 import org.lanternpowered.server.data.io.store.ObjectSerializer;
 import org.lanternpowered.server.data.io.store.SimpleValueContainer;
 import org.lanternpowered.server.data.io.store.data.DataHolderStore;
@@ -257,7 +258,7 @@ public LanternItemStack deserialize(DataView dataView) throws InvalidDataExcepti
 
     @Override
     public DataView serialize(LanternItemStack object) {
-        final DataContainer dataContainer = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        final DataContainer dataContainer = DataHelper.createCompactContainer();
         dataContainer.set(IDENTIFIER, object.getItem().getId());
         serialize(object, dataContainer);
         return dataContainer;
@@ -267,7 +268,7 @@ public DataView serialize(LanternItemStack object) {
     public void deserialize(LanternItemStack object, DataView dataView) {
         object.setQuantity(dataView.getInt(QUANTITY).get());
         // All the extra data we will handle will be stored in the tag
-        final DataView tag = dataView.getView(TAG).orElseGet(() -> DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED));
+        final DataView tag = dataView.getView(TAG).orElseGet(() -> DataHelper.createCompactContainer());
         tag.set(ItemTypeObjectSerializer.DATA_VALUE, dataView.getShort(DATA).get());
         super.deserialize(object, tag);
     }
@@ -369,7 +370,7 @@ private void serializeEnchantments(DataView dataView, DataQuery query, List<Item
         }
         final List<DataView> dataViews = new ArrayList<>();
         for (ItemEnchantment enchantment : enchantments) {
-            final DataView enchantmentView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+            final DataView enchantmentView = DataHelper.createCompactContainer();
             enchantmentView.set(ENCHANTMENT_ID, (short) ((LanternEnchantment) enchantment.getEnchantment()).getInternalId());
             enchantmentView.set(ENCHANTMENT_LEVEL, (short) enchantment.getLevel());
             dataViews.add(enchantmentView);
@@ -25,10 +25,10 @@
  */
 package org.lanternpowered.server.data.io.store.misc;
 
+import org.lanternpowered.server.data.DataHelper;
 import org.lanternpowered.server.effect.potion.LanternPotionEffectType;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.game.registry.type.effect.PotionEffectTypeRegistryModule;
-import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.effect.potion.PotionEffect;
@@ -45,7 +45,7 @@ public final class PotionEffectSerializer {
     private static final DataQuery AMBIENT = DataQuery.of("Ambient");
 
     public static DataView serialize(PotionEffect potionEffect) {
-        final DataView dataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        final DataView dataView = DataHelper.createCompactContainer();
         dataView.set(AMPLIFIER, (byte) potionEffect.getAmplifier());
         dataView.set(DURATION, potionEffect.getDuration());
         dataView.set(AMBIENT, (byte) (potionEffect.isAmbient() ? 1 : 0));
@@ -27,12 +27,12 @@
 
 import org.lanternpowered.server.block.tile.LanternTileEntity;
 import org.lanternpowered.server.block.tile.LanternTileEntityType;
+import org.lanternpowered.server.data.DataHelper;
 import org.lanternpowered.server.data.io.store.ObjectSerializer;
 import org.lanternpowered.server.data.io.store.ObjectStore;
 import org.lanternpowered.server.data.io.store.ObjectStoreRegistry;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.tileentity.TileEntityType;
-import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.InvalidDataException;
@@ -62,7 +62,7 @@ public LanternTileEntity deserialize(DataView dataView) throws InvalidDataExcept
 
     @Override
     public DataView serialize(LanternTileEntity object) {
-        final DataView dataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        final DataView dataView = DataHelper.createCompactContainer();
         dataView.set(ID, object.getType().getId());
         //noinspection unchecked
         final ObjectStore<LanternTileEntity> store = (ObjectStore) ObjectStoreRegistry.get().get(object.getClass()).get();
@@ -42,18 +42,22 @@
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.SHORT;
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.STRING;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
+import org.lanternpowered.server.data.DataHelper;
 import org.lanternpowered.server.data.persistence.DataContainerInput;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.InvalidDataFormatException;
 
+import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.GZIPInputStream;
 
 import javax.annotation.Nullable;
@@ -63,6 +67,28 @@
  */
 public class NbtDataContainerInputStream implements Closeable, DataContainerInput {
 
+    /**
+     * The maximum amount of tag names that will be cached.
+     */
+    private static final int MAX_CACHED_QUERIES = 8192;
+
+    /**
+     * A cache for the {@link DataQuery}s of the tag names, most
+     * of the names are shared between all the data that is read.
+     */
+    private static final Map<String, DataQuery> queryCache = new ConcurrentHashMap<>();
+
+    private static DataQuery getQuery(String name) {
+        DataQuery query = queryCache.get(name);
+        if (query == null) {
+            query = DataQuery.of(name);
+            if (queryCache.size() < MAX_CACHED_QUERIES) {
+                queryCache.put(name, query);
+            }
+        }
+        return query;
+    }
+
     private final DataInputStream dis;
     private final int maximumDepth;
 
@@ -125,7 +151,9 @@ public NbtDataContainerInputStream(InputStream inputStream, boolean compressed)
      * @throws IOException
      */
     public NbtDataContainerInputStream(InputStream inputStream, boolean compressed, int maximumDepth) throws IOException {
-        this(compressed ? new GZIPInputStream(checkNotNull(inputStream, "inputStream")) : inputStream, maximumDepth);
+        // Buffer the decompressed content, reading single bytes from the inflater is expensive
+        this(compressed ? new BufferedInputStream(new GZIPInputStream(checkNotNull(inputStream, "inputStream"))) : inputStream,
+                maximumDepth);
     }
 
     @Override
@@ -158,7 +186,15 @@ private Entry readEntry() throws IOException {
             name = name.substring(0, index);
             type = type == LIST ? BOOLEAN_LIST : BOOLEAN;
         }
-        return new Entry(name, type);
+        return new Entry(getQuery(name), type);
+    }
+
+    private int readLength() throws IOException {
+        final int length = this.dis.readInt();
+        if (length < 0) {
+            throw new InvalidDataFormatException("Attempted to read a array or list with a negative length: " + length);
+        }
+        return length;
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
@@ -170,22 +206,22 @@ private Object readPayload(@Nullable DataView container, byte type, int depth) t
         if (type == BYTE) {
             return this.dis.readByte();
         } else if (type == BYTE_ARRAY) {
-            byte[] array = new byte[this.dis.readInt()];
-            for (int i = 0; i < array.length; i++) {
-                array[i] = this.dis.readByte();
-            }
+            final byte[] array = new byte[readLength()];
+            this.dis.readFully(array);
             return array;
         } else if (type == COMPOUND) {
             if (container == null) {
-                container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+                container = DataHelper.createCompactContainer();
             }
             Entry entry;
             final int depth1 = depth + 1;
             while ((entry = this.readEntry()) != null) {
                 if (entry.type == COMPOUND) {
-                    this.readObject(container.createView(DataQuery.of(entry.name)), entry, depth1);
+                    this.readObject(container.createView(entry.query), entry, depth1);
                 } else {
-                    container.set(DataQuery.of(entry.name), this.readObject(null, entry, depth1));
+                    // The values are already in their serialized form,
+                    // so they can be put directly into the view
+                    DataHelper.putRaw(container, entry.query.getParts().get(0), this.readObject(null, entry, depth1));
                 }
             }
             return container;
@@ -196,26 +232,31 @@ private Object readPayload(@Nullable DataView container, byte type, int depth) t
         } else if (type == INT) {
             return this.dis.readInt();
         } else if (type == INT_ARRAY) {
-            int[] array = new int[this.dis.readInt()];
-            for (int i = 0; i < array.length; i++) {
-                array[i] = this.dis.readInt();
+            final int length = readLength();
+            if (length > Integer.MAX_VALUE / 4) {
+                throw new InvalidDataFormatException("Attempted to read a too large int array: " + length);
             }
+            final int[] array = new int[length];
+            // Read all the bytes at once and convert them in bulk
+            final byte[] bytes = new byte[length * 4];
+            this.dis.readFully(bytes);
+            ByteBuffer.wrap(bytes).asIntBuffer().get(array);
             return array;
         } else if (type == LIST || type == BOOLEAN_LIST) {
             byte type0 = this.dis.readByte();
             if (type == BOOLEAN_LIST) {
                 type0 = BOOLEAN;
             }
-            int size = this.dis.readInt();
-            List list = Lists.newArrayListWithExpectedSize(size);
+            final int size = readLength();
             if (size == 0 || type0 == END) {
-                return list;
+                return ImmutableList.of();
             }
+            final Object[] elements = new Object[size];
             final int depth1 = depth + 1;
             for (int i = 0; i < size; i++) {
-                list.add(this.readPayload(null, type0, depth1));
+                elements[i] = this.readPayload(null, type0, depth1);
             }
-            return list;
+            return ImmutableList.copyOf(elements);
         } else if (type == LONG) {
             return this.dis.readLong();
         } else if (type == SHORT) {
@@ -231,11 +272,11 @@ private Object readPayload(@Nullable DataView container, byte type, int depth) t
 
     private static class Entry {
 
-        private final String name;
+        private final DataQuery query;
         private final byte type;
 
-        public Entry(String name, byte type) {
-            this.name = name;
+        public Entry(DataQuery query, byte type) {
+            this.query = query;
             this.type = type;
         }
     }
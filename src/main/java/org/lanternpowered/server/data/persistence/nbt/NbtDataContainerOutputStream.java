@@ -41,16 +41,19 @@
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.STRING;
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.UNKNOWN;
 
+import org.lanternpowered.server.data.DataHelper;
 import org.lanternpowered.server.data.persistence.DataContainerOutput;
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataSerializable;
 import org.spongepowered.api.data.DataView;
 
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.DataOutputStream;
 import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -90,7 +93,8 @@ public NbtDataContainerOutputStream(OutputStream outputStream) {
      * @throws IOException 
      */
     public NbtDataContainerOutputStream(OutputStream outputStream, boolean compressed) throws IOException {
-        this(compressed ? new GZIPOutputStream(checkNotNull(outputStream, "outputStream")) : outputStream);
+        // Buffer the content before it's compressed, writing single bytes to the deflater is expensive
+        this(compressed ? new BufferedOutputStream(new GZIPOutputStream(checkNotNull(outputStream, "outputStream"))) : outputStream);
     }
 
     @Override
@@ -125,20 +129,26 @@ private void writePayload(byte type, Object object) throws IOException {
                 Byte[] array1 = (Byte[]) object;
                 array0 = new byte[array1.length];
                 for (int i = 0; i < array0.length; i++) {
-                    array1[i] = array0[i];
+                    array0[i] = array1[i];
                 }
             }
             this.dos.writeInt(array0.length);
             this.dos.write(array0);
         } else if (type == COMPOUND) {
             // Convert the object in something we can serialize
-            if (object instanceof DataView) {
-                object = ((DataView) object).getValues(false);
-            } else if (object instanceof DataSerializable) {
-                object = ((DataSerializable) object).toContainer().getValues(false);
+            if (object instanceof DataSerializable) {
+                object = ((DataSerializable) object).toContainer();
             }
-            for (Entry<DataQuery, Object> entry : ((Map<DataQuery, Object>) object).entrySet()) {
-                writeEntry(entry.getKey().asString('.'), entry.getValue());
+            if (object instanceof DataView) {
+                // Avoid the creation of data queries and copies of the values
+                for (Entry<String, Object> entry : DataHelper.getRawValues((DataView) object).entrySet()) {
+                    writeEntry(entry.getKey(), entry.getValue());
+                }
+            } else {
+                for (Entry<?, Object> entry : ((Map<?, Object>) object).entrySet()) {
+                    final Object key = entry.getKey();
+                    writeEntry(key instanceof DataQuery ? ((DataQuery) key).asString('.') : key.toString(), entry.getValue());
+                }
             }
             this.dos.writeByte(END);
         } else if (type == DOUBLE) {
@@ -151,9 +161,10 @@ private void writePayload(byte type, Object object) throws IOException {
             if (object instanceof int[]) {
                 int[] array0 = (int[]) object;
                 this.dos.writeInt(array0.length);
-                for (int value : array0) {
-                    this.dos.writeInt(value);
-                }
+                // Convert the ints in bulk and write all the bytes at once
+                final ByteBuffer buf = ByteBuffer.allocate(array0.length * 4);
+                buf.asIntBuffer().put(array0);
+                this.dos.write(buf.array());
             } else {
                 Integer[] array0 = (Integer[]) object;
                 this.dos.writeInt(array0.length);
@@ -127,6 +127,14 @@ public void addListener(ElementListener<E> listener) {
         this.listeners.add(listener);
     }
 
+    @Override
+    public void removeListener(ElementListener<E> listener) {
+        checkNotNull(listener, "listener");
+        if (this.listeners != null) {
+            this.listeners.remove(listener);
+        }
+    }
+
     @Override
     public boolean isApplicableTo(IValueContainer<?> valueContainer) {
         return this.applicableTester.test(valueContainer, this);
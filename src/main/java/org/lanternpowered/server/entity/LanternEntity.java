@@ -41,6 +41,8 @@
 import org.lanternpowered.server.data.property.AbstractPropertyHolder;
 import org.lanternpowered.server.entity.event.EntityEvent;
 import org.lanternpowered.server.entity.living.player.LanternPlayer;
+import org.lanternpowered.server.event.LanternEventManager;
+import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.game.registry.type.entity.EntityTypeRegistryModule;
 import org.lanternpowered.server.network.entity.EntityProtocolType;
 import org.lanternpowered.server.text.LanternTexts;
@@ -615,12 +617,16 @@ public boolean damage(double damage, DamageSource damageSource, Cause cause) {
             return false;
         }
         // TODO: Damage modifiers, etc.
-        final org.spongepowered.api.event.entity.DamageEntityEvent event = SpongeEventFactory.createDamageEntityEvent(
-                cause, new ArrayList<>(), this, damage);
-        if (event.isCancelled()) {
-            return false;
+        // Only construct the event if someone is actually listening to it
+        final LanternEventManager eventManager = Lantern.getEventManager();
+        if (eventManager.hasListeners(org.spongepowered.api.event.entity.DamageEntityEvent.class)) {
+            final org.spongepowered.api.event.entity.DamageEntityEvent event = SpongeEventFactory.createDamageEntityEvent(
+                    cause, new ArrayList<>(), this, damage);
+            if (eventManager.post(event)) {
+                return false;
+            }
+            damage = event.getFinalDamage();
         }
-        damage = event.getFinalDamage();
         if (damage > 0) {
             final double health = optHealth.get() - damage;
             offer(Keys.HEALTH, health);
@@ -522,6 +522,12 @@ private static LanternTabListEntryBuilder createTabListEntryBuilder(LanternPlaye
     public boolean setPositionAndWorld(World world, Vector3d position) {
         final LanternWorld oldWorld = this.getWorld();
         final boolean success = super.setPositionAndWorld(world, position);
+        if (success) {
+            // Start loading the destination chunk without blocking the world thread,
+            // it will be forced by the loading ticket during the next pulse
+            ((LanternWorld) world).getChunkManager().loadAsync(position.getFloorX() >> 4, position.getFloorZ() >> 4,
+                    () -> Cause.source(this).build(), true);
+        }
         if (success && world == oldWorld) {
             this.session.send(new MessagePlayOutPlayerPositionAndLook(position.getX(), position.getY(), position.getZ(), 0, 0, RELATIVE_ROTATION, 0));
         }
@@ -27,10 +27,19 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.lanternpowered.server.config.GlobalConfig;
+import org.lanternpowered.server.game.Lantern;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutTabListEntries;
 import org.spongepowered.api.profile.GameProfile;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -44,6 +53,9 @@ public static GlobalTabList getInstance() {
 
     private final Map<UUID, GlobalTabListEntry> tabListEntries = new ConcurrentHashMap<>();
 
+    // All the entries that have changes which aren't send yet
+    private final Set<GlobalTabListEntry> dirtyEntries = ConcurrentHashMap.newKeySet();
+
     void addEntry(GlobalTabListEntry tabListEntry) {
         this.tabListEntries.put(tabListEntry.getProfile().getUniqueId(), tabListEntry);
     }
@@ -58,6 +70,107 @@ public GlobalTabListEntry getOrCreate(GameProfile gameProfile) {
     }
 
     public GlobalTabListEntry remove(GameProfile gameProfile) {
-        return this.tabListEntries.remove(checkNotNull(gameProfile, "gameProfile").getUniqueId());
+        final GlobalTabListEntry entry = this.tabListEntries.remove(checkNotNull(gameProfile, "gameProfile").getUniqueId());
+        if (entry != null) {
+            this.dirtyEntries.remove(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Marks the {@link GlobalTabListEntry} as dirty, the changes
+     * will be send the next time that the tab list is flushed.
+     *
+     * @param tabListEntry The tab list entry
+     */
+    void markDirty(GlobalTabListEntry tabListEntry) {
+        this.dirtyEntries.add(tabListEntry);
+    }
+
+    /**
+     * Sends all the pending changes of the {@link GlobalTabListEntry}s to
+     * the {@link LanternTabList}s. All the changes of the same type are
+     * grouped into one message, which is shared between all the players
+     * that can see all the changed entries.
+     */
+    public void flush() {
+        if (this.dirtyEntries.isEmpty()) {
+            return;
+        }
+        final GlobalConfig config = Lantern.getGame().getGlobalConfig();
+        flush(System.currentTimeMillis(), config.getTabListLatencyUpdateInterval(),
+                config.getTabListLatencyUpdateMinDelta());
+    }
+
+    /**
+     * Sends all the pending changes of the {@link GlobalTabListEntry}s,
+     * see {@link #flush()}.
+     *
+     * @param time The current time in milliseconds
+     * @param latencyInterval The minimum time between latency updates
+     * @param latencyMinDelta The minimum latency difference
+     */
+    void flush(long time, int latencyInterval, int latencyMinDelta) {
+        final Changes changes = new Changes();
+        final Iterator<GlobalTabListEntry> it = this.dirtyEntries.iterator();
+        while (it.hasNext()) {
+            final GlobalTabListEntry entry = it.next();
+            // Remove the entry before the changes are collected, if the entry
+            // is modified in the meantime, it will be marked dirty again
+            it.remove();
+            if (entry.collectChanges(changes, time, latencyInterval, latencyMinDelta)) {
+                this.dirtyEntries.add(entry);
+            }
+        }
+        changes.send();
+    }
+
+    /**
+     * Sends all the pending changes of the {@link GlobalTabListEntry}
+     * directly, including the latency changes that are being throttled.
+     *
+     * @param tabListEntry The tab list entry
+     */
+    void flush(GlobalTabListEntry tabListEntry) {
+        if (!this.dirtyEntries.remove(tabListEntry)) {
+            return;
+        }
+        final Changes changes = new Changes();
+        tabListEntry.collectChanges(changes, System.currentTimeMillis(), 0, 0);
+        changes.send();
+    }
+
+    /**
+     * Groups the changes of multiple {@link GlobalTabListEntry}s by their type.
+     */
+    static final class Changes {
+
+        private final Map<Class<?>, Group> groups = new LinkedHashMap<>();
+
+        void add(GlobalTabListEntry globalEntry, MessagePlayOutTabListEntries.Entry entry) {
+            final Group group = this.groups.computeIfAbsent(entry.getClass(), type -> new Group());
+            group.entries.add(entry);
+            for (LanternTabListEntry tabListEntry : globalEntry.getEntries()) {
+                group.entriesByTabList.computeIfAbsent(tabListEntry.getList(), tabList -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        void send() {
+            for (Group group : this.groups.values()) {
+                final MessagePlayOutTabListEntries message = new MessagePlayOutTabListEntries(group.entries);
+                for (Map.Entry<LanternTabList, List<MessagePlayOutTabListEntries.Entry>> en : group.entriesByTabList.entrySet()) {
+                    final List<MessagePlayOutTabListEntries.Entry> entries = en.getValue();
+                    // Only create a new message if the player cannot see all the changed entries
+                    en.getKey().getPlayer().getConnection().send(entries.size() == group.entries.size() ? message :
+                            new MessagePlayOutTabListEntries(entries));
+                }
+            }
+        }
+    }
+
+    private static final class Group {
+
+        private final List<MessagePlayOutTabListEntries.Entry> entries = new ArrayList<>();
+        private final Map<LanternTabList, List<MessagePlayOutTabListEntries.Entry>> entriesByTabList = new HashMap<>();
     }
 }
@@ -30,18 +30,31 @@
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.text.Text;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.annotation.Nullable;
 
 public class GlobalTabListEntry {
 
     private final GlobalTabList tabList;
-    private final List<LanternTabListEntry> tabListEntries = new ArrayList<>();
+    private final List<LanternTabListEntry> tabListEntries = new CopyOnWriteArrayList<>();
     private final GameProfile gameProfile;
 
+    // The changes that are pending until the next flush
+    @Nullable private Text displayName;
+    @Nullable private GameMode gameMode;
+    private int latency;
+
+    private boolean dirtyDisplayName;
+    private boolean dirtyGameMode;
+    private boolean dirtyLatency;
+
+    // The latency that was last send to the tab lists
+    private int lastLatency;
+    private long lastLatencyTime;
+
     GlobalTabListEntry(GlobalTabList tabList, GameProfile gameProfile) {
         this.gameProfile = gameProfile;
         this.tabList = tabList;
@@ -90,6 +103,11 @@ public void removeEntry() {
             tabListEntry.getList().getPlayer().getConnection().send(message);
         });
         this.tabListEntries.clear();
+        synchronized (this) {
+            this.dirtyDisplayName = false;
+            this.dirtyGameMode = false;
+            this.dirtyLatency = false;
+        }
         this.tabList.remove(this.gameProfile);
     }
 
@@ -97,35 +115,93 @@ public void setDisplayName(@Nullable Text displayName) {
         if (this.tabListEntries.isEmpty()) {
             return;
         }
-        MessagePlayOutTabListEntries message = new MessagePlayOutTabListEntries(Collections.singletonList(
-                new MessagePlayOutTabListEntries.Entry.UpdateDisplayName(this.gameProfile, displayName)));
-        this.tabListEntries.forEach(tabListEntry -> {
-            tabListEntry.setRawDisplayName(displayName);
-            tabListEntry.getList().getPlayer().getConnection().send(message);
-        });
+        this.tabListEntries.forEach(tabListEntry -> tabListEntry.setRawDisplayName(displayName));
+        synchronized (this) {
+            this.displayName = displayName;
+            this.dirtyDisplayName = true;
+        }
+        this.tabList.markDirty(this);
     }
 
     public void setLatency(int latency) {
         if (this.tabListEntries.isEmpty()) {
             return;
         }
-        MessagePlayOutTabListEntries message = new MessagePlayOutTabListEntries(Collections.singletonList(
-                new MessagePlayOutTabListEntries.Entry.UpdateLatency(this.gameProfile, latency)));
-        this.tabListEntries.forEach(tabListEntry -> {
-            tabListEntry.setRawLatency(latency);
-            tabListEntry.getList().getPlayer().getConnection().send(message);
-        });
+        this.tabListEntries.forEach(tabListEntry -> tabListEntry.setRawLatency(latency));
+        synchronized (this) {
+            this.latency = latency;
+            this.dirtyLatency = true;
+        }
+        this.tabList.markDirty(this);
     }
 
     public void setGameMode(GameMode gameMode) {
         if (this.tabListEntries.isEmpty()) {
             return;
         }
-        MessagePlayOutTabListEntries message = new MessagePlayOutTabListEntries(Collections.singletonList(
-                new MessagePlayOutTabListEntries.Entry.UpdateGameMode(this.gameProfile, gameMode)));
-        this.tabListEntries.forEach(tabListEntry -> {
-            tabListEntry.setRawGameMode(gameMode);
-            tabListEntry.getList().getPlayer().getConnection().send(message);
-        });
+        this.tabListEntries.forEach(tabListEntry -> tabListEntry.setRawGameMode(gameMode));
+        synchronized (this) {
+            this.gameMode = gameMode;
+            this.dirtyGameMode = true;
+        }
+        this.tabList.markDirty(this);
+    }
+
+    /**
+     * Sends the pending changes of this entry directly. This must be done before
+     * a change is applied to a single {@link LanternTabListEntry}, otherwise the
+     * pending change overrides it once the {@link GlobalTabList} is flushed.
+     */
+    void flush() {
+        this.tabList.flush(this);
+    }
+
+    /**
+     * Gets all the {@link LanternTabListEntry}s that are
+     * attached to this global entry.
+     *
+     * @return The tab list entries
+     */
+    List<LanternTabListEntry> getEntries() {
+        return this.tabListEntries;
+    }
+
+    /**
+     * Collects the pending changes of this entry into the
+     * given {@link GlobalTabList.Changes} and resets the dirty state.
+     * <p>
+     * Latency changes are only collected if the update interval
+     * passed and the latency differs enough from the last latency
+     * that was send, otherwise they will remain pending.
+     *
+     * @param changes The changes
+     * @param time The current time in milliseconds
+     * @param latencyInterval The minimum time between latency updates
+     * @param latencyMinDelta The minimum latency difference
+     * @return Whether there are still changes pending
+     */
+    synchronized boolean collectChanges(GlobalTabList.Changes changes, long time, int latencyInterval, int latencyMinDelta) {
+        if (this.dirtyDisplayName) {
+            changes.add(this, new MessagePlayOutTabListEntries.Entry.UpdateDisplayName(this.gameProfile, this.displayName));
+            this.dirtyDisplayName = false;
+            this.displayName = null;
+        }
+        if (this.dirtyGameMode) {
+            changes.add(this, new MessagePlayOutTabListEntries.Entry.UpdateGameMode(this.gameProfile, this.gameMode));
+            this.dirtyGameMode = false;
+            this.gameMode = null;
+        }
+        if (this.dirtyLatency) {
+            if (this.lastLatencyTime != 0L && Math.abs(this.latency - this.lastLatency) < latencyMinDelta) {
+                // The difference is too small to be visible, drop the update
+                this.dirtyLatency = false;
+            } else if (this.lastLatencyTime == 0L || time - this.lastLatencyTime >= latencyInterval) {
+                changes.add(this, new MessagePlayOutTabListEntries.Entry.UpdateLatency(this.gameProfile, this.latency));
+                this.lastLatency = this.latency;
+                this.lastLatencyTime = time;
+                this.dirtyLatency = false;
+            }
+        }
+        return this.dirtyLatency;
     }
 }
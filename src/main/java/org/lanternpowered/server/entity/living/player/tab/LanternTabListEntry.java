@@ -95,6 +95,7 @@ void setRawDisplayName(@Nullable Text displayName) {
     public LanternTabListEntry setDisplayName(@Nullable Text displayName) {
         this.setRawDisplayName(displayName);
         if (this.attached) {
+            this.globalEntry.flush();
             this.tabList.getPlayer().getConnection().send(new MessagePlayOutTabListEntries(Collections.singletonList(
                     new MessagePlayOutTabListEntries.Entry.UpdateDisplayName(this.getProfile(), displayName))));
         }
@@ -119,6 +120,7 @@ void setRawLatency(int latency) {
     public LanternTabListEntry setLatency(int latency) {
         this.setRawLatency(latency);
         if (this.attached) {
+            this.globalEntry.flush();
             this.tabList.getPlayer().getConnection().send(new MessagePlayOutTabListEntries(Collections.singletonList(
                     new MessagePlayOutTabListEntries.Entry.UpdateLatency(this.getProfile(), latency))));
         }
@@ -143,6 +145,7 @@ void setRawGameMode(GameMode gameMode) {
     public LanternTabListEntry setGameMode(GameMode gameMode) {
         this.setRawGameMode(gameMode);
         if (this.attached) {
+            this.globalEntry.flush();
             this.tabList.getPlayer().getConnection().send(new MessagePlayOutTabListEntries(Collections.singletonList(
                     new MessagePlayOutTabListEntries.Entry.UpdateGameMode(this.getProfile(), gameMode))));
         }
@@ -0,0 +1,238 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.lanternpowered.server.util.ThreadHelper;
+import org.slf4j.Logger;
+import org.spongepowered.api.event.Event;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * The lane that dispatches events to the {@link AsyncListener}s. Events of
+ * the same type are handled in order they were posted, events of different
+ * types may be handled concurrently.
+ * <p>
+ * Posting never blocks and the listeners are never invoked by the posting
+ * thread: if the lane is full or shut down, the event is dropped for the
+ * async listeners and counted in {@link #getDroppedEvents()}. Dropping keeps
+ * the order of the events that were queued intact. Events that are posted
+ * from within the lane are queued like any other event.
+ */
+public final class AsyncEventLane {
+
+    /**
+     * The maximum amount of events that can be queued before
+     * new events will be dropped.
+     */
+    private static final int MAX_QUEUED_EVENTS = 8192;
+
+    /**
+     * The maximum amount of events that will be processed by a
+     * lane before it gives other lanes the chance to be processed.
+     */
+    private static final int MAX_EVENTS_PER_DRAIN = 64;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            2, 2, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            ThreadHelper.newFastThreadLocalThreadFactory(() -> "async-events-" + this.threadCounter.getAndIncrement(),
+                    thread -> thread.setDaemon(true)));
+
+    private final Semaphore permits = new Semaphore(MAX_QUEUED_EVENTS);
+    private final Map<Class<?>, Lane> lanes = new ConcurrentHashMap<>();
+    private final BiConsumer<Event, RegisteredListener<?>[]> dispatcher;
+    private final Logger logger;
+
+    private final LongAdder processedEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+
+    // Whether the lane is full, used to only warn once when it gets full
+    private final AtomicBoolean full = new AtomicBoolean();
+
+    AsyncEventLane(Logger logger, BiConsumer<Event, RegisteredListener<?>[]> dispatcher) {
+        this.dispatcher = checkNotNull(dispatcher, "dispatcher");
+        this.logger = checkNotNull(logger, "logger");
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues the {@link Event} to be passed to the given listeners. The
+     * event is dropped if there are too many events queued.
+     *
+     * @param event The event
+     * @param listeners The listeners
+     */
+    void post(Event event, RegisteredListener<?>[] listeners) {
+        if (this.executor.isShutdown()) {
+            this.droppedEvents.increment();
+            return;
+        }
+        if (!this.permits.tryAcquire()) {
+            this.droppedEvents.increment();
+            if (this.full.compareAndSet(false, true)) {
+                this.logger.warn("The async event lane is full ({} events), events will "
+                        + "be dropped for async listeners until there is space again.", MAX_QUEUED_EVENTS);
+            }
+            return;
+        }
+        this.full.set(false);
+        final int depth = getQueueDepth();
+        int peak;
+        while (depth > (peak = this.peakQueueDepth.get())) {
+            if (this.peakQueueDepth.compareAndSet(peak, depth)) {
+                break;
+            }
+        }
+        this.lanes.computeIfAbsent(event.getClass(), type -> new Lane())
+                .add(() -> this.dispatcher.accept(event, listeners));
+    }
+
+    /**
+     * Shuts down the lane and waits for the queued events to be handled.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     */
+    void shutdown(long timeout, TimeUnit unit) {
+        // Wait for all the queued events to be processed
+        try {
+            if (this.permits.tryAcquire(MAX_QUEUED_EVENTS, timeout, unit)) {
+                this.permits.release(MAX_QUEUED_EVENTS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.executor.shutdown();
+    }
+
+    /**
+     * Gets the amount of events that are currently queued.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return MAX_QUEUED_EVENTS - this.permits.availablePermits();
+    }
+
+    /**
+     * Gets the highest amount of events that were queued at once.
+     *
+     * @return The peak queue depth
+     */
+    public int getPeakQueueDepth() {
+        return this.peakQueueDepth.get();
+    }
+
+    /**
+     * Gets the maximum amount of events that can be queued.
+     *
+     * @return The queue capacity
+     */
+    public int getQueueCapacity() {
+        return MAX_QUEUED_EVENTS;
+    }
+
+    /**
+     * Gets the amount of events that were processed.
+     *
+     * @return The processed events
+     */
+    public long getProcessedEvents() {
+        return this.processedEvents.sum();
+    }
+
+    /**
+     * Gets the amount of events that were dropped because
+     * the lane was full or shut down.
+     *
+     * @return The dropped events
+     */
+    public long getDroppedEvents() {
+        return this.droppedEvents.sum();
+    }
+
+    private final class Lane implements Runnable {
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void add(Runnable task) {
+            this.queue.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                try {
+                    AsyncEventLane.this.executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // The lane is shut down, drop the remaining events
+                    while (this.queue.poll() != null) {
+                        AsyncEventLane.this.droppedEvents.increment();
+                        AsyncEventLane.this.permits.release();
+                    }
+                    this.scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Runnable task;
+            int count = 0;
+            while (count++ < MAX_EVENTS_PER_DRAIN && (task = this.queue.poll()) != null) {
+                try {
+                    task.run();
+                } finally {
+                    AsyncEventLane.this.processedEvents.increment();
+                    AsyncEventLane.this.permits.release();
+                }
+            }
+            this.scheduled.set(false);
+            // New tasks could have been added while the
+            // scheduled flag was still set
+            if (!this.queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -36,6 +36,7 @@
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.lanternpowered.server.event.filter.FilterFactory;
+import org.lanternpowered.server.profiler.LanternProfiler;
 import org.lanternpowered.server.util.DefineableClassLoader;
 import org.slf4j.Logger;
 import org.spongepowered.api.event.Cancellable;
@@ -51,6 +52,7 @@
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -59,6 +61,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
@@ -76,13 +79,26 @@ public class LanternEventManager implements EventManager {
     private final Set<Object> registeredListeners = new HashSet<>();
 
     /**
-     * A cache of all the handlers for an event type for quick event posting.
+     * A cache of all the handlers for an event type for quick event posting. The
+     * handlers are baked into arrays to avoid iterator allocations while posting.
      */
-    private final LoadingCache<Class<? extends Event>, List<RegisteredListener<?>>> listenersCache =
+    private final LoadingCache<Class<? extends Event>, BakedListeners> listenersCache =
             Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
 
+    /**
+     * A cache whether there are listeners that could be interested in a specific
+     * event type, this includes listeners that listen to sub types.
+     */
+    private final Map<Class<?>, Boolean> hasListenersCache = new ConcurrentHashMap<>();
+
+    /**
+     * The lane that handles all the {@link AsyncListener}s.
+     */
+    private final AsyncEventLane asyncLane;
+
     @Inject
     public LanternEventManager(Logger logger) {
+        this.asyncLane = new AsyncEventLane(logger, (event, listeners) -> dispatch(event, listeners, null));
         this.logger = logger;
 
         // Caffeine offers no control over the concurrency level of the
@@ -101,7 +117,7 @@ public LanternEventManager(Logger logger) {
             final Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
             final Field cacheData = innerCacheClass.getDeclaredField("data");
             cacheData.setAccessible(true);
-            final ConcurrentHashMap<Class<? extends Event>, List<RegisteredListener<?>>> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
+            final ConcurrentHashMap<Class<? extends Event>, BakedListeners> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
             cacheData.set(innerCacheValue, newBackingData);
         } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
             this.logger.warn("Failed to set event cache backing array, type was " + this.listenersCache.getClass().getName());
@@ -109,8 +125,25 @@ public LanternEventManager(Logger logger) {
         }
     }
 
+    private static final RegisteredListener<?>[] NO_HANDLERS = new RegisteredListener<?>[0];
+    private static final BakedListeners NO_LISTENERS = new BakedListeners(NO_HANDLERS, NO_HANDLERS);
+
+    /**
+     * Represents the baked listeners of a specific event type.
+     */
+    private static final class BakedListeners {
+
+        private final RegisteredListener<?>[] sync;
+        private final RegisteredListener<?>[] async;
+
+        private BakedListeners(RegisteredListener<?>[] sync, RegisteredListener<?>[] async) {
+            this.sync = sync;
+            this.async = async;
+        }
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
-    private List<RegisteredListener<?>> bakeHandlers(Class<?> rootEvent) {
+    private BakedListeners bakeHandlers(Class<?> rootEvent) {
         final List<RegisteredListener<?>> handlers = new ArrayList<>();
         final Set<Class<?>> types = (Set) TypeToken.of(rootEvent).getTypes().rawTypes();
 
@@ -118,8 +151,31 @@ private List<RegisteredListener<?>> bakeHandlers(Class<?> rootEvent) {
             types.stream().filter(Event.class::isAssignableFrom).forEach(type -> handlers.addAll(this.listenersByEvent.get(type)));
         }
 
+        if (handlers.isEmpty()) {
+            return NO_LISTENERS;
+        }
         Collections.sort(handlers);
-        return handlers;
+        return new BakedListeners(
+                handlers.stream().filter(listener -> !listener.isAsync()).toArray(RegisteredListener<?>[]::new),
+                handlers.stream().filter(RegisteredListener::isAsync).toArray(RegisteredListener<?>[]::new));
+    }
+
+    private boolean computeHasListeners(Class<?> eventClass) {
+        synchronized (this.lock) {
+            for (Class<?> type : this.listenersByEvent.keySet()) {
+                // Listeners of super types will receive the event, but listeners of
+                // sub types as well if the actual implementation matches
+                if (type.isAssignableFrom(eventClass) || eventClass.isAssignableFrom(type)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void invalidateCaches(Set<Class<?>> types) {
+        this.listenersCache.invalidateAll(types);
+        this.hasListenersCache.clear();
     }
 
     @Nullable
@@ -151,7 +207,7 @@ private static String getHandlerErrorOrNull(Method method) {
         return String.join(", ", errors);
     }
 
-    private void register(RegisteredListener<?> listener) {
+    void register(RegisteredListener<?> listener) {
         register(Collections.singletonList(listener));
     }
 
@@ -164,7 +220,7 @@ private void register(List<RegisteredListener<?>> listeners) {
                     .forEach(listener -> types.addAll(TypeToken.of(listener.getEventClass()).getTypes().rawTypes()));
         }
         if (!types.isEmpty()) {
-            this.listenersCache.invalidateAll(types);
+            invalidateCaches(types);
         }
     }
 
@@ -202,7 +258,8 @@ private void register(PluginContainer plugin, Object listener) {
                         continue;
                     }
 
-                    handlers.add(createRegistration(plugin, eventClass, subscribe, handler));
+                    final boolean async = method.getAnnotation(AsyncListener.class) != null;
+                    handlers.add(createRegistration(plugin, eventClass, subscribe, async, handler));
                 } else {
                     methodErrors.put(method, error);
                 }
@@ -231,13 +288,13 @@ private void register(PluginContainer plugin, Object listener) {
     }
 
     private static <T extends Event> RegisteredListener<T> createRegistration(PluginContainer plugin, Class<T> eventClass,
-            Listener subscribe, EventListener<? super T> listener) {
-        return createRegistration(plugin, eventClass, subscribe.order(), listener);
+            Listener subscribe, boolean async, EventListener<? super T> listener) {
+        return createRegistration(plugin, eventClass, subscribe.order(), async, listener);
     }
 
     private static <T extends Event> RegisteredListener<T> createRegistration(PluginContainer plugin, Class<T> eventClass,
-            Order order, EventListener<? super T> listener) {
-        return new RegisteredListener<>(plugin, eventClass, order, listener);
+            Order order, boolean async, EventListener<? super T> listener) {
+        return new RegisteredListener<>(plugin, eventClass, order, async, listener);
     }
 
     @Override
@@ -263,7 +320,23 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
         checkNotNull(eventClass, "eventClass");
         checkNotNull(order, "order");
         checkNotNull(listener, "listener");
-        register(createRegistration(container, eventClass, order, listener));
+        register(createRegistration(container, eventClass, order, false, listener));
+    }
+
+    /**
+     * Registers a listener that will be invoked asynchronously, after all the
+     * synchronous listeners handled the event. See {@link AsyncListener}.
+     *
+     * @param plugin The plugin instance
+     * @param eventClass The event class
+     * @param listener The listener
+     * @param <T> The type of the event
+     */
+    public <T extends Event> void registerAsyncListener(Object plugin, Class<T> eventClass, EventListener<? super T> listener) {
+        final PluginContainer container = checkPlugin(plugin, "plugin");
+        checkNotNull(eventClass, "eventClass");
+        checkNotNull(listener, "listener");
+        register(createRegistration(container, eventClass, Order.DEFAULT, true, listener));
     }
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
@@ -280,12 +353,13 @@ private void unregister(Predicate<RegisteredListener<?>> unregister) {
                         }
                     }
                     types.addAll(TypeToken.of(listener.getEventClass()).getTypes().rawTypes());
+                    LanternProfiler.INSTANCE.removeTiming(listener.getTiming());
                     it.remove();
                 }
             }
         }
         if (!types.isEmpty()) {
-            this.listenersCache.invalidateAll(types);
+            invalidateCaches(types);
         }
     }
 
@@ -301,24 +375,93 @@ public void unregisterPluginListeners(Object pluginObj) {
         unregister(handler -> plugin.equals(handler.getPlugin()));
     }
 
-    @SuppressWarnings({"unchecked", "ConstantConditions"})
+    /**
+     * Gets whether there are any listeners registered that could be
+     * interested in the given event type. This allows expensive events
+     * to be skipped entirely when nobody would receive them.
+     *
+     * @param eventClass The event class
+     * @return Whether there are listeners
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        checkNotNull(eventClass, "eventClass");
+        return this.hasListenersCache.computeIfAbsent(eventClass, this::computeHasListeners);
+    }
+
+    /**
+     * Gets a snapshot of the timings of all the registered listeners. Timings
+     * are only collected while the {@link LanternProfiler} is enabled.
+     *
+     * @return The listener timings
+     */
+    public Collection<ListenerTiming> getListenerTimings() {
+        final List<ListenerTiming> timings = new ArrayList<>();
+        synchronized (this.lock) {
+            for (RegisteredListener<?> listener : this.listenersByEvent.values()) {
+                timings.add(new ListenerTiming(listener));
+            }
+        }
+        return timings;
+    }
+
+    /**
+     * Gets the {@link AsyncEventLane} that is used to
+     * handle all the {@link AsyncListener}s.
+     *
+     * @return The async event lane
+     */
+    public AsyncEventLane getAsyncLane() {
+        return this.asyncLane;
+    }
+
+    /**
+     * Shuts down the event manager, this will wait for
+     * the queued asynchronous events to be handled.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        this.asyncLane.shutdown(timeout, unit);
+    }
+
     @Override
     public boolean post(Event event) {
         checkNotNull(event, "event");
-        for (RegisteredListener listener : this.listenersCache.get(event.getClass())) {
+        final BakedListeners listeners = this.listenersCache.get(event.getClass());
+        if (listeners.sync.length != 0) {
+            final AbstractEvent abstractEvent = event instanceof AbstractEvent ? (AbstractEvent) event : null;
+            dispatch(event, listeners.sync, abstractEvent);
+            if (abstractEvent != null) {
+                abstractEvent.currentOrder = null;
+            }
+        }
+        if (listeners.async.length != 0) {
+            this.asyncLane.post(event, listeners.async);
+        }
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+    }
+
+    @SuppressWarnings({"unchecked", "ConstantConditions"})
+    private void dispatch(Event event, RegisteredListener[] listeners, @Nullable AbstractEvent abstractEvent) {
+        final boolean timings = LanternProfiler.INSTANCE.isEnabled();
+        Order lastOrder = null;
+        for (RegisteredListener listener : listeners) {
+            // Only update the order when it changes, listeners are sorted by order
+            if (abstractEvent != null && listener.getOrder() != lastOrder) {
+                lastOrder = listener.getOrder();
+                abstractEvent.currentOrder = lastOrder;
+            }
+            final long start = timings ? System.nanoTime() : 0L;
             try {
-                if (event instanceof AbstractEvent) {
-                    ((AbstractEvent) event).currentOrder = listener.getOrder();
-                }
                 listener.handle(event);
             } catch (Throwable e) {
                 this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(),
                         listener.getPlugin(), e);
             }
+            if (timings) {
+                listener.getTiming().record(start, System.nanoTime());
+            }
         }
-        if (event instanceof AbstractEvent) {
-            ((AbstractEvent) event).currentOrder = null;
-        }
-        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 }
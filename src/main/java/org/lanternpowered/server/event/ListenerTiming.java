@@ -0,0 +1,120 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.event;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+
+/**
+ * A snapshot of the timings of a specific event listener.
+ */
+public final class ListenerTiming {
+
+    private final PluginContainer plugin;
+    private final Class<? extends Event> eventClass;
+    private final Order order;
+    private final Object handle;
+    private final long invocationCount;
+    private final long invocationTime;
+
+    ListenerTiming(RegisteredListener<?> listener) {
+        this.plugin = listener.getPlugin();
+        this.eventClass = listener.getEventClass();
+        this.order = listener.getOrder();
+        this.handle = listener.getHandle();
+        this.invocationCount = listener.getTiming().getLifetimeCount();
+        this.invocationTime = listener.getTiming().getLifetimeTotal();
+    }
+
+    /**
+     * Gets the {@link PluginContainer} that registered the listener.
+     *
+     * @return The plugin container
+     */
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Gets the event class the listener is listening to.
+     *
+     * @return The event class
+     */
+    public Class<? extends Event> getEventClass() {
+        return this.eventClass;
+    }
+
+    /**
+     * Gets the {@link Order} of the listener.
+     *
+     * @return The order
+     */
+    public Order getOrder() {
+        return this.order;
+    }
+
+    /**
+     * Gets the handle of the listener, this is the listener
+     * object in case of annotated listeners.
+     *
+     * @return The handle
+     */
+    public Object getHandle() {
+        return this.handle;
+    }
+
+    /**
+     * Gets the amount of times that the listener was invoked.
+     *
+     * @return The invocation count
+     */
+    public long getInvocationCount() {
+        return this.invocationCount;
+    }
+
+    /**
+     * Gets the total time in nanoseconds that was
+     * spent while invoking the listener.
+     *
+     * @return The invocation time
+     */
+    public long getInvocationTime() {
+        return this.invocationTime;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("plugin", this.plugin.getId())
+                .add("eventType", this.eventClass.getName())
+                .add("order", this.order.toString())
+                .add("invocationCount", this.invocationCount)
+                .add("invocationTime", this.invocationTime)
+                .toString();
+    }
+}
@@ -28,6 +28,9 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.MoreObjects;
+import org.lanternpowered.server.profiler.LanternProfiler;
+import org.lanternpowered.server.profiler.Timing;
+import org.lanternpowered.server.profiler.TimingType;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.event.Order;
@@ -40,12 +43,26 @@
 
     private final Class<T> eventClass;
     private final Order order;
+    private final boolean async;
+
+    /**
+     * The timing of this listener, only tracked while the profiler is enabled. The
+     * timing is removed from the profiler when the listener is unregistered.
+     */
+    private final Timing timing;
 
     RegisteredListener(PluginContainer plugin, Class<T> eventClass, Order order, EventListener<? super T> handler) {
+        this(plugin, eventClass, order, false, handler);
+    }
+
+    RegisteredListener(PluginContainer plugin, Class<T> eventClass, Order order, boolean async, EventListener<? super T> handler) {
         this.plugin = checkNotNull(plugin, "plugin");
         this.eventClass = checkNotNull(eventClass, "eventClass");
         this.order = checkNotNull(order, "order");
         this.handler = checkNotNull(handler, "handler");
+        this.async = async;
+        this.timing = LanternProfiler.INSTANCE.createTiming(plugin, TimingType.EVENT_LISTENER,
+                getHandle().getClass().getName() + '(' + eventClass.getSimpleName() + ')');
     }
 
     public PluginContainer getPlugin() {
@@ -60,6 +77,15 @@ public Order getOrder() {
         return this.order;
     }
 
+    /**
+     * Gets whether this listener should be invoked asynchronously.
+     *
+     * @return Is async
+     */
+    public boolean isAsync() {
+        return this.async;
+    }
+
     @Override
     public Object getHandle() {
         if (this.handler instanceof LanternEventListener) {
@@ -73,6 +99,15 @@ public void handle(T event) throws Exception {
         this.handler.handle(event);
     }
 
+    /**
+     * Gets the {@link Timing} of this listener.
+     *
+     * @return The timing
+     */
+    Timing getTiming() {
+        return this.timing;
+    }
+
     @Override
     public int compareTo(RegisteredListener<?> handler) {
         return this.order.compareTo(handler.order);
@@ -84,6 +119,7 @@ public String toString() {
                 .add("plugin", this.plugin.getId())
                 .add("eventType", this.eventClass.getName())
                 .add("order", this.order.toString())
+                .add("async", this.async)
                 .toString();
     }
 }
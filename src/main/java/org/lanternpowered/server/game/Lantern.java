@@ -27,6 +27,7 @@
 
 import org.lanternpowered.server.LanternServer;
 import org.lanternpowered.server.asset.AssetRepository;
+import org.lanternpowered.server.event.LanternEventManager;
 import org.lanternpowered.server.scheduler.LanternScheduler;
 import org.lanternpowered.server.world.LanternWorldManager;
 import org.slf4j.Logger;
@@ -55,6 +56,10 @@ public static LanternGame getGame() {
         return LanternGame.game;
     }
 
+    public static LanternEventManager getEventManager() {
+        return (LanternEventManager) LanternGame.game.getEventManager();
+    }
+
     public static LanternScheduler getScheduler() {
         return LanternGame.game.getScheduler();
     }
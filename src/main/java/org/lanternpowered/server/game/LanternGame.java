@@ -220,6 +220,8 @@ public static long currentTimeTicks() {
 
     // The current game state
     @Nullable private GameState gameState = null;
+    // The time (in nanoseconds) at which the last game state was reached
+    private long gameStateTime;
 
     @Inject
     private LanternGame() {
@@ -227,6 +229,7 @@ private LanternGame() {
     }
 
     public void initialize() throws IOException {
+        this.gameStateTime = System.nanoTime();
         final LanternMinecraftVersion versionCacheEntry = this.minecraftVersionCache.getVersionOrUnknown(
                 Protocol.CURRENT_VERSION, false);
         if (!LanternMinecraftVersion.CURRENT.equals(versionCacheEntry)) {
@@ -328,6 +331,10 @@ public <T extends GameStateEvent> void postGameStateChange(T event) {
                 gameStates[current + 1].name(), event.getState().name());
         this.gameState = event.getState();
         this.eventManager.post(event);
+        final long time = System.nanoTime();
+        getLogger().info("Reached the game state {} after {} ms", this.gameState.name(),
+                TimeUnit.NANOSECONDS.toMillis(time - this.gameStateTime));
+        this.gameStateTime = time;
     }
 
     private <T> void registerService(Class<T> serviceClass, T serviceImpl) {
@@ -396,6 +396,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
@@ -868,7 +869,12 @@ private boolean isProperPhase(Method method) {
     }
 
     private void registerModulePhase() {
+        final long start = System.nanoTime();
         syncModules();
+        // The modules are registered one by one, many modules read the catalogs
+        // of other modules without declaring a RegistrationDependency and the
+        // registry maps aren't thread safe, so the dependency graph isn't
+        // complete enough to register modules in parallel
         for (Class<? extends RegistryModule> moduleClass : this.orderedModules) {
             if (!this.classMap.containsKey(moduleClass)) {
                 throw new IllegalStateException("Something funky happened! The module "
@@ -877,6 +883,8 @@ private void registerModulePhase() {
             tryModulePhaseRegistration(this.classMap.get(moduleClass));
         }
         registerAdditionalPhase();
+        this.game.getLogger().info("Registry phase {} took {} ms", this.phase == null ? "EARLY" : this.phase.name(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
     private void registerAdditionalPhase() {
@@ -39,6 +39,7 @@
 import org.lanternpowered.server.world.gen.flat.FlatOverworldGeneratorType;
 import org.lanternpowered.server.world.gen.flat.FlatNetherGeneratorType;
 import org.lanternpowered.server.world.gen.flat.FlatTheEndGeneratorType;
+import org.lanternpowered.server.world.gen.noise.NoiseGeneratorType;
 import org.lanternpowered.server.world.gen.skylands.SkylandsGeneratorType;
 import org.lanternpowered.server.world.gen.thevoid.TheVoidGeneratorType;
 import org.spongepowered.api.Sponge;
@@ -80,6 +81,7 @@ public void registerDefaults() {
         register(flatNether);
         register(flatTheEnd);
         register(new DebugGeneratorType("minecraft", "debug"));
+        register(new NoiseGeneratorType("lantern", "noise"));
 
         // Plugin provided generator types, these will fall back
         // to flat if missing
@@ -37,25 +37,72 @@
 import org.spongepowered.api.item.ItemType;
 import org.spongepowered.api.item.inventory.EmptyInventory;
 import org.spongepowered.api.item.inventory.Inventory;
+import org.spongepowered.api.item.inventory.InventoryArchetype;
+import org.spongepowered.api.item.inventory.InventoryProperty;
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.api.item.inventory.Slot;
+import org.spongepowered.api.item.inventory.equipment.EquipmentType;
+import org.spongepowered.api.item.inventory.property.EquipmentSlotType;
 import org.spongepowered.api.item.inventory.transaction.InventoryTransactionResult;
 import org.spongepowered.api.item.inventory.transaction.SlotTransaction;
 import org.spongepowered.api.text.translation.Translation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
 public class AbstractChildrenInventory extends AbstractMutableInventory {
 
+    /**
+     * The flattened slots array that is used when the children of
+     * a inventory cannot be flattened.
+     */
+    private static final LanternSlot[] UNSUPPORTED_SLOTS = new LanternSlot[0];
+
+    /**
+     * The maximum amount of query results that will be memoized.
+     */
+    private static final int MAX_CACHED_QUERIES = 32;
+
+    private enum QueryType {
+        CLASS,
+        PROPERTY,
+        OBJECT,
+    }
+
     private final Object2IntMap<AbstractInventory> childrenIndexes = new Object2IntOpenHashMap<>();
 
+    /**
+     * All the leaf {@link LanternSlot}s of this inventory, in the same order
+     * as they would be visited when walking through the children.
+     */
+    @Nullable private LanternSlot[] flattenedSlots;
+
+    /**
+     * The {@link ItemType} index of the flattened slots.
+     */
+    @Nullable private SlotItemTypeIndex itemTypeIndex;
+
+    /**
+     * The memoized results of queries that only depend on the structure
+     * of the inventory, and not on its contents. Inventories may only be
+     * accessed from the main thread, just like the {@link SlotItemTypeIndex}
+     * this cache isn't thread safe.
+     */
+    private final Map<List<Object>, Inventory> queryCache = new HashMap<>();
+
     /**
      * All the children that are present in this {@link Inventory}.
      */
@@ -86,6 +133,122 @@ protected void finalizeContent() {
         for (int i = 0; i < this.children.size(); i++) {
             this.childrenIndexes.put(this.children.get(i), i);
         }
+        invalidateCaches();
+    }
+
+    /**
+     * Invalidates all the caches that depend on the structure
+     * of this inventory, including the ones of the parents.
+     */
+    private void invalidateCaches() {
+        this.flattenedSlots = null;
+        release();
+        final AbstractInventory parent = parent();
+        if (parent != this && parent instanceof AbstractChildrenInventory) {
+            ((AbstractChildrenInventory) parent).invalidateCaches();
+        }
+    }
+
+    /**
+     * Gets all the leaf {@link LanternSlot}s of this inventory. Returns
+     * {@link #UNSUPPORTED_SLOTS} if one of the children isn't a slot or
+     * a {@link AbstractChildrenInventory}.
+     *
+     * @return The flattened slots
+     */
+    private LanternSlot[] getFlattenedSlots() {
+        LanternSlot[] flattenedSlots = this.flattenedSlots;
+        if (flattenedSlots != null) {
+            return flattenedSlots;
+        }
+        final List<LanternSlot> slots = new ArrayList<>();
+        final Set<LanternSlot> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        flattenedSlots = null;
+        for (AbstractInventory child : this.children) {
+            if (child instanceof LanternSlot) {
+                if (visited.add((LanternSlot) child)) {
+                    slots.add((LanternSlot) child);
+                }
+            } else if (child instanceof AbstractChildrenInventory) {
+                final LanternSlot[] childSlots = ((AbstractChildrenInventory) child).getFlattenedSlots();
+                if (childSlots == UNSUPPORTED_SLOTS) {
+                    flattenedSlots = UNSUPPORTED_SLOTS;
+                    break;
+                }
+                for (LanternSlot slot : childSlots) {
+                    if (visited.add(slot)) {
+                        slots.add(slot);
+                    }
+                }
+            } else {
+                flattenedSlots = UNSUPPORTED_SLOTS;
+                break;
+            }
+        }
+        if (flattenedSlots == null) {
+            flattenedSlots = slots.toArray(new LanternSlot[slots.size()]);
+        }
+        this.flattenedSlots = flattenedSlots;
+        return flattenedSlots;
+    }
+
+    /**
+     * Gets the {@link SlotItemTypeIndex} of this inventory, the
+     * index will be created the first time it's requested.
+     *
+     * @return The item type index, or {@code null} if not supported
+     */
+    @Nullable
+    private SlotItemTypeIndex getItemTypeIndex() {
+        SlotItemTypeIndex itemTypeIndex = this.itemTypeIndex;
+        if (itemTypeIndex == null) {
+            final LanternSlot[] flattenedSlots = getFlattenedSlots();
+            if (flattenedSlots == UNSUPPORTED_SLOTS) {
+                return null;
+            }
+            this.itemTypeIndex = itemTypeIndex = new SlotItemTypeIndex(flattenedSlots);
+        }
+        return itemTypeIndex;
+    }
+
+    /**
+     * Detaches the item type indexes of this inventory and all the memoized
+     * query views from the slots, the views won't be used anymore.
+     */
+    private void release() {
+        final SlotItemTypeIndex itemTypeIndex = this.itemTypeIndex;
+        if (itemTypeIndex != null) {
+            itemTypeIndex.detach();
+            this.itemTypeIndex = null;
+        }
+        clearQueryCache();
+    }
+
+    /**
+     * Clears the query cache and releases the views that were memoized.
+     */
+    private void clearQueryCache() {
+        for (Inventory inventory : this.queryCache.values()) {
+            if (inventory instanceof AbstractChildrenInventory) {
+                ((AbstractChildrenInventory) inventory).release();
+            }
+        }
+        this.queryCache.clear();
+    }
+
+    /**
+     * Creates a new view {@link AbstractChildrenInventory} that
+     * contains the given children.
+     *
+     * @param children The children
+     * @return The view inventory
+     */
+    private static AbstractChildrenInventory createView(List<? extends AbstractInventory> children) {
+        //noinspection unchecked
+        final AbstractChildrenInventory inventory = new AbstractChildrenInventory(
+                null, null, Collections.unmodifiableList((List) children));
+        inventory.finalizeContent();
+        return inventory;
     }
 
     /**
@@ -108,10 +271,15 @@ protected <T extends Inventory> T registerChild(T childInventory) {
         final AbstractInventory childInventory1 = (AbstractInventory) childInventory;
         checkArgument(!this.children.contains(childInventory1), "The child is already registered");
         this.children.add(childInventory1);
+        invalidateCaches();
         return childInventory;
     }
 
     Iterable<LanternSlot> getSlotInventories() {
+        final LanternSlot[] flattenedSlots = getFlattenedSlots();
+        if (flattenedSlots != UNSUPPORTED_SLOTS) {
+            return Arrays.asList(flattenedSlots);
+        }
         final ImmutableList.Builder<LanternSlot> slots = ImmutableList.builder();
         for (AbstractInventory child : this.children) {
             if (child instanceof AbstractChildrenInventory) {
@@ -120,7 +288,7 @@ Iterable<LanternSlot> getSlotInventories() {
                 slots.add((LanternSlot) child);
             }
         }
-        return Collections.emptyList();
+        return slots.build();
     }
 
     /**
@@ -141,6 +309,7 @@ protected <T extends Inventory> T prioritizeChild(T childInventory) {
         }
         this.children.remove(childInventory1);
         this.children.add(0, childInventory1);
+        invalidateCaches();
         return childInventory;
     }
 
@@ -166,9 +335,52 @@ private FastOfferResult offerFast(ItemStack stack, List<Inventory> processed, bo
         return offerResult;
     }
 
+    /**
+     * Offers the {@link ItemStack} to the flattened slots, the slots that
+     * already contain the same {@link ItemType} will be filled first.
+     *
+     * @param stack The stack to offer
+     * @param itemTypeIndex The item type index
+     * @return The offer result
+     */
+    private static FastOfferResult offerFast(ItemStack stack, SlotItemTypeIndex itemTypeIndex) {
+        final LanternSlot[] slots = itemTypeIndex.getSlots();
+        boolean success = false;
+        // Try to merge the stack with the slots that already contain the type,
+        // offering to these slots will never change the bits of the set
+        final BitSet bitSet = itemTypeIndex.get(stack.getItem());
+        if (bitSet != null) {
+            for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+                final FastOfferResult offerResult = slots[i].offerFast(stack);
+                if (offerResult.getRest() == null) {
+                    return offerResult;
+                }
+                success |= offerResult.isSuccess();
+                stack = offerResult.getRest();
+            }
+        }
+        // Offer the rest to all the slots
+        for (LanternSlot slot : slots) {
+            final FastOfferResult offerResult = slot.offerFast(stack);
+            if (offerResult.getRest() == null) {
+                return offerResult;
+            }
+            success |= offerResult.isSuccess();
+            stack = offerResult.getRest();
+        }
+        return new FastOfferResult(stack, success);
+    }
+
     @Override
     public FastOfferResult offerFast(ItemStack stack) {
         checkNotNull(stack, "stack");
+        final SlotItemTypeIndex itemTypeIndex = getItemTypeIndex();
+        if (itemTypeIndex != null) {
+            if (LanternItemStack.toNullable(stack) == null) {
+                return new FastOfferResult(stack, false);
+            }
+            return offerFast(stack, itemTypeIndex);
+        }
         final List<Inventory> processed = new ArrayList<>();
         final Inventory inventory = query(stack);
         if (inventory instanceof AbstractChildrenInventory) {
@@ -258,13 +470,89 @@ List<Inventory> queryInventories(Predicate<Inventory> matcher, boolean nested) {
     public <T extends Inventory> T query(Predicate<Inventory> matcher, boolean nested) {
         checkNotNull(matcher, "matcher");
         if (!nested && matcher.test(this)) {
-            return (T) new AbstractChildrenInventory(null, null, Collections.singletonList(this)) {{ finalizeContent(); }};
+            return (T) createView(Collections.singletonList(this));
         }
         final List<Inventory> matches = queryInventories(matcher, nested);
         if (matches.isEmpty()) {
             return (T) empty();
         }
-        return (T) new AbstractChildrenInventory(null, null, Collections.unmodifiableList((List) matches)) {{ finalizeContent(); }};
+        return (T) createView((List) matches);
+    }
+
+    /**
+     * Gets the memoized result of a query which only depends on the
+     * structure of this inventory, or computes it if it's missing.
+     *
+     * @param queryType The type of the query
+     * @param args The arguments of the query
+     * @param function The function to compute the result
+     * @param <T> The type of the result
+     * @return The query result
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Inventory> T queryCached(QueryType queryType, Object[] args, Supplier<Inventory> function) {
+        final List<Object> key = ImmutableList.builder().add(queryType).add(args).build();
+        Inventory result = this.queryCache.get(key);
+        if (result == null) {
+            result = function.get();
+            if (this.queryCache.size() >= MAX_CACHED_QUERIES) {
+                clearQueryCache();
+            }
+            this.queryCache.put(key, result);
+        }
+        return (T) result;
+    }
+
+    @Override
+    public <T extends Inventory> T query(Class<?>... types) {
+        checkNotNull(types, "types");
+        return queryCached(QueryType.CLASS, types, () -> super.query(types));
+    }
+
+    @Override
+    public <T extends Inventory> T query(InventoryProperty<?, ?>... props) {
+        checkNotNull(props, "props");
+        return queryCached(QueryType.PROPERTY, props, () -> super.query(props));
+    }
+
+    @Override
+    public <T extends Inventory> T query(Object... args) {
+        checkNotNull(args, "args");
+        // Only memoize the query if all the arguments
+        // are independent of the contents
+        for (Object arg : args) {
+            if (!(arg instanceof Class<?> || arg instanceof InventoryProperty<?, ?> || arg instanceof InventoryArchetype ||
+                    arg instanceof EquipmentType || arg instanceof EquipmentSlotType)) {
+                return super.query(args);
+            }
+        }
+        return queryCached(QueryType.OBJECT, args, () -> super.query(args));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends Inventory> T query(ItemType... types) {
+        checkNotNull(types, "types");
+        final SlotItemTypeIndex itemTypeIndex = getItemTypeIndex();
+        if (itemTypeIndex == null) {
+            return super.query(types);
+        }
+        final BitSet matches = new BitSet();
+        for (ItemType type : types) {
+            final BitSet bitSet = itemTypeIndex.get(type);
+            if (bitSet != null) {
+                matches.or(bitSet);
+            }
+        }
+        if (matches.isEmpty()) {
+            return (T) empty();
+        }
+        final LanternSlot[] slots = itemTypeIndex.getSlots();
+        final List<LanternSlot> children = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            children.add(slots[i]);
+        }
+        return (T) createView(children);
     }
 
     @SuppressWarnings("unchecked")
@@ -358,6 +646,10 @@ public boolean containsAny(ItemStack stack) {
     @Override
     public boolean contains(ItemType type) {
         checkNotNull(type, "type");
+        final SlotItemTypeIndex itemTypeIndex = getItemTypeIndex();
+        if (itemTypeIndex != null) {
+            return itemTypeIndex.contains(type);
+        }
         // Loop through the inventories
         for (AbstractInventory inventory : this.children) {
             if (inventory.contains(type)) {
@@ -381,6 +673,57 @@ public boolean test(ItemStack itemStack) {
         }
     }
 
+    @Override
+    public Optional<ItemStack> poll(ItemType itemType) {
+        checkNotNull(itemType, "itemType");
+        final SlotItemTypeIndex itemTypeIndex = getItemTypeIndex();
+        if (itemTypeIndex == null) {
+            return super.poll(itemType);
+        }
+        final BitSet bitSet = itemTypeIndex.get(itemType);
+        if (bitSet == null) {
+            return Optional.empty();
+        }
+        return itemTypeIndex.getSlots()[bitSet.nextSetBit(0)].poll();
+    }
+
+    @Override
+    public Optional<ItemStack> poll(int limit, ItemType itemType) {
+        checkNotNull(itemType, "itemType");
+        checkArgument(limit >= 0, "Limit may not be negative");
+        final SlotItemTypeIndex itemTypeIndex = getItemTypeIndex();
+        if (itemTypeIndex == null) {
+            return super.poll(limit, itemType);
+        }
+        final BitSet bitSet = itemTypeIndex.get(itemType);
+        if (limit == 0 || bitSet == null) {
+            return Optional.empty();
+        }
+        final LanternSlot[] slots = itemTypeIndex.getSlots();
+        ItemStack stack = null;
+        Predicate<ItemStack> matcher = itemStack -> itemStack.getItem().equals(itemType);
+        // Polling can clear bits of the bit set, so always search from the next slot
+        for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+            final Optional<ItemStack> optItemStack = slots[i].poll(limit, matcher);
+            if (!optItemStack.isPresent()) {
+                continue;
+            }
+            final int quantity = optItemStack.get().getQuantity();
+            if (stack == null) {
+                stack = optItemStack.get();
+                // Only similar items can be merged with the first stack
+                matcher = new ItemMatcher(stack);
+            } else {
+                stack.setQuantity(stack.getQuantity() + quantity);
+            }
+            limit -= quantity;
+            if (limit <= 0) {
+                break;
+            }
+        }
+        return Optional.ofNullable(stack);
+    }
+
     @Override
     public Optional<ItemStack> poll(Predicate<ItemStack> matcher) {
         checkNotNull(matcher, "matcher");
@@ -582,6 +925,10 @@ public boolean isChild(Inventory child) {
 
     @Override
     public int slotCount() {
+        final LanternSlot[] flattenedSlots = getFlattenedSlots();
+        if (flattenedSlots != UNSUPPORTED_SLOTS) {
+            return flattenedSlots.length;
+        }
         int slotCount = 0;
         for (AbstractInventory child : this.children) {
             if (child instanceof Slot) {
@@ -39,10 +39,15 @@
 import org.lanternpowered.server.item.LanternItemType;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.DataTransactionResult;
 import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.api.item.ItemType;
 import org.spongepowered.api.item.ItemTypes;
@@ -54,6 +59,7 @@
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
@@ -66,6 +72,39 @@ public class LanternItemStack implements ItemStack, AbstractPropertyHolder, IAdd
     private int quantity;
     private int tempMaxQuantity;
 
+    /**
+     * The amount of times that the data of this item stack was modified
+     * through this item stack, this is combined with the modification
+     * counts of the value and additional container collections.
+     */
+    private volatile int modificationCount;
+
+    /**
+     * The cached network encoding of the data of this item stack.
+     */
+    @Nullable private volatile CachedEncoding cachedEncoding;
+
+    /**
+     * The item stack this item stack was copied from, the encoding of
+     * a unmodified copy is shared with the original item stack. This
+     * allows the item stack that is actually kept (for example in a
+     * slot) to reuse the encoding of the copies that were sent.
+     */
+    @Nullable private LanternItemStack copySource;
+    private int copySourceVersion;
+    private int copyVersion;
+
+    private static final class CachedEncoding {
+
+        private final int version;
+        private final byte[] data;
+
+        private CachedEncoding(int version, byte[] data) {
+            this.version = version;
+            this.data = data;
+        }
+    }
+
     public LanternItemStack(BlockType blockType) {
         this(blockType, 1);
     }
@@ -117,12 +156,206 @@ public boolean validateRawData(DataView dataView) {
         return dataView.contains(DataQueries.ITEM_TYPE);
     }
 
+    /**
+     * Gets the version of the data of this item stack. The version
+     * changes every time that a value or data manipulator is modified,
+     * changing the quantity doesn't affect the version.
+     *
+     * @return The version
+     */
+    public int getVersion() {
+        return this.modificationCount + this.valueCollection.getModificationCount() +
+                this.additionalContainers.getModificationCount();
+    }
+
+    /**
+     * Marks the data of this item stack as modified, this invalidates
+     * all the data that was cached for the previous version. This
+     * should be called after the data was modified.
+     */
+    public void incrementVersion() {
+        this.modificationCount++;
+        this.cachedEncoding = null;
+    }
+
+    /**
+     * Gets the cached network encoding of the data, or creates
+     * and caches a new one with the given encoder.
+     *
+     * @param encoder The encoder
+     * @return The encoded data
+     */
+    public byte[] getOrCreateEncoding(Function<LanternItemStack, byte[]> encoder) {
+        checkNotNull(encoder, "encoder");
+        byte[] data = getCachedEncoding();
+        if (data == null) {
+            // Retrieve the version before the data is encoded, the version is
+            // increased after every modification so a modification while encoding
+            // will never be cached for the new version
+            final int version = getVersion();
+            data = encoder.apply(this);
+            setCachedEncoding(version, data);
+        }
+        return data;
+    }
+
+    /**
+     * Gets the cached network encoding of the data, if it is
+     * still valid for the current version.
+     *
+     * @return The cached encoding
+     */
+    @Nullable
+    public byte[] getCachedEncoding() {
+        final int version = getVersion();
+        final byte[] data = getCachedEncoding(version);
+        if (data != null) {
+            return data;
+        }
+        final LanternItemStack copySource = this.copySource;
+        if (copySource == null) {
+            return null;
+        }
+        // The copy was modified, it no longer shares the data with the source
+        if (version != this.copyVersion) {
+            this.copySource = null;
+            return null;
+        }
+        return copySource.getCachedEncoding(this.copySourceVersion);
+    }
+
+    @Nullable
+    private byte[] getCachedEncoding(int version) {
+        final CachedEncoding cachedEncoding = this.cachedEncoding;
+        return cachedEncoding == null || cachedEncoding.version != version || getVersion() != version ? null : cachedEncoding.data;
+    }
+
+    /**
+     * Sets the cached network encoding of the data for the
+     * given version, the version should be retrieved before
+     * the encoding was created.
+     *
+     * @param version The version the encoding was created for
+     * @param data The encoded data
+     */
+    public void setCachedEncoding(int version, byte[] data) {
+        checkNotNull(data, "data");
+        if (version != getVersion()) {
+            return;
+        }
+        this.cachedEncoding = new CachedEncoding(version, data);
+        // Share the encoding with the source, if it wasn't modified since the copy
+        final LanternItemStack copySource = this.copySource;
+        if (copySource != null && version == this.copyVersion) {
+            copySource.setCachedEncoding(this.copySourceVersion, data);
+        }
+    }
+
     @Override
     public void setRawData(DataView dataView) throws InvalidDataException {
         checkNotNull(dataView, "dataView");
         dataView.remove(DataQueries.ITEM_TYPE);
         this.quantity = dataView.getInt(DataQueries.QUANTITY).orElse(1);
         IAdditionalDataHolder.super.setRawData(dataView);
+        incrementVersion();
+    }
+
+    @Override
+    public <E> boolean offerFast(Key<? extends BaseValue<E>> key, E element) {
+        final boolean result = IAdditionalDataHolder.super.offerFast(key, element);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E element) {
+        final DataTransactionResult result = IAdditionalDataHolder.super.offer(key, element);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public <E> boolean offerFast(BaseValue<E> value) {
+        final boolean result = IAdditionalDataHolder.super.offerFast(value);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public <E> DataTransactionResult offer(BaseValue<E> value) {
+        final DataTransactionResult result = IAdditionalDataHolder.super.offer(value);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public boolean offerFast(DataManipulator<?, ?> valueContainer, MergeFunction function) {
+        final boolean result = IAdditionalDataHolder.super.offerFast(valueContainer, function);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public DataTransactionResult offer(DataManipulator<?, ?> valueContainer, MergeFunction function) {
+        final DataTransactionResult result = IAdditionalDataHolder.super.offer(valueContainer, function);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public boolean removeFast(Key<?> key) {
+        final boolean result = IAdditionalDataHolder.super.removeFast(key);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public DataTransactionResult remove(Key<?> key) {
+        final DataTransactionResult result = IAdditionalDataHolder.super.remove(key);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public boolean removeFast(BaseValue<?> value) {
+        final boolean result = IAdditionalDataHolder.super.removeFast(value);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public boolean removeFast(Class<? extends DataManipulator<?, ?>> containerClass) {
+        final boolean result = IAdditionalDataHolder.super.removeFast(containerClass);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public DataTransactionResult remove(Class<? extends DataManipulator<?, ?>> containerClass) {
+        final DataTransactionResult result = IAdditionalDataHolder.super.remove(containerClass);
+        incrementVersion();
+        return result;
+    }
+
+    @Override
+    public boolean undoFast(DataTransactionResult result) {
+        final boolean success = IAdditionalDataHolder.super.undoFast(result);
+        incrementVersion();
+        return success;
+    }
+
+    @Override
+    public DataTransactionResult undo(DataTransactionResult result) {
+        final DataTransactionResult undoResult = IAdditionalDataHolder.super.undo(result);
+        incrementVersion();
+        return undoResult;
+    }
+
+    @Override
+    public DataTransactionResult copyFrom(DataHolder that, MergeFunction function) {
+        final DataTransactionResult result = IAdditionalDataHolder.super.copyFrom(that, function);
+        incrementVersion();
+        return result;
     }
 
     @Override
@@ -188,6 +421,17 @@ public LanternItemStack copy() {
         final LanternItemStack itemStack = new LanternItemStack(this.itemType, this.quantity, getValueCollection().copy(),
                 this.additionalContainers.copy());
         itemStack.tempMaxQuantity = this.tempMaxQuantity;
+        // The copy has the same data, so the encoding can be shared
+        final int version = getVersion();
+        final LanternItemStack copySource = this.copySource;
+        if (copySource != null && version == this.copyVersion) {
+            itemStack.copySource = copySource;
+            itemStack.copySourceVersion = this.copySourceVersion;
+        } else {
+            itemStack.copySource = this;
+            itemStack.copySourceVersion = version;
+        }
+        itemStack.copyVersion = itemStack.getVersion();
         return itemStack;
     }
 
@@ -0,0 +1,140 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.inventory;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.lanternpowered.server.inventory.slot.LanternSlot;
+import org.spongepowered.api.item.ItemType;
+import org.spongepowered.api.item.inventory.ItemStack;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * A index that tracks which {@link LanternSlot}s of a flattened slot
+ * array contain a specific {@link ItemType}. The index is updated
+ * incrementally by the slots whenever their item type changes.
+ * <p>
+ * The index isn't thread safe, inventories may only be modified
+ * and queried from the main thread.
+ */
+public final class SlotItemTypeIndex {
+
+    private static final int INVALID_INDEX = -1;
+
+    private final LanternSlot[] slots;
+    private final Object2IntMap<LanternSlot> indexBySlot = new Object2IntOpenHashMap<>();
+    private final Map<ItemType, BitSet> slotsByType = new HashMap<>();
+
+    SlotItemTypeIndex(LanternSlot[] slots) {
+        this.slots = slots;
+        this.indexBySlot.defaultReturnValue(INVALID_INDEX);
+        for (int i = 0; i < slots.length; i++) {
+            final LanternSlot slot = slots[i];
+            this.indexBySlot.put(slot, i);
+            final ItemStack itemStack = slot.getRawItemStack();
+            if (itemStack != null) {
+                getOrCreate(itemStack.getItem()).set(i);
+            }
+            slot.addItemTypeIndex(this);
+        }
+    }
+
+    private BitSet getOrCreate(ItemType itemType) {
+        return this.slotsByType.computeIfAbsent(itemType, type -> new BitSet(this.slots.length));
+    }
+
+    /**
+     * Is called by a {@link LanternSlot} when the {@link ItemType}
+     * of its content changes.
+     *
+     * @param slot The slot
+     * @param oldType The previous item type, or {@code null} if the slot was empty
+     * @param newType The new item type, or {@code null} if the slot is now empty
+     */
+    public void update(LanternSlot slot, @Nullable ItemType oldType, @Nullable ItemType newType) {
+        final int index = this.indexBySlot.getInt(slot);
+        if (index == INVALID_INDEX) {
+            return;
+        }
+        if (oldType != null) {
+            final BitSet bitSet = this.slotsByType.get(oldType);
+            if (bitSet != null) {
+                bitSet.clear(index);
+            }
+        }
+        if (newType != null) {
+            getOrCreate(newType).set(index);
+        }
+    }
+
+    /**
+     * Detaches this index from all the slots, the index
+     * will no longer be updated afterwards.
+     */
+    void detach() {
+        for (LanternSlot slot : this.slots) {
+            slot.removeItemTypeIndex(this);
+        }
+    }
+
+    /**
+     * Gets the flattened slots that are covered by this index.
+     *
+     * @return The slots
+     */
+    LanternSlot[] getSlots() {
+        return this.slots;
+    }
+
+    /**
+     * Gets the indexes of all the slots which contain
+     * the given {@link ItemType}. The returned bit set
+     * is backed by the index and may not be modified.
+     *
+     * @param itemType The item type
+     * @return The slot indexes, or {@code null} if there are none
+     */
+    @Nullable
+    BitSet get(ItemType itemType) {
+        final BitSet bitSet = this.slotsByType.get(itemType);
+        return bitSet == null || bitSet.isEmpty() ? null : bitSet;
+    }
+
+    /**
+     * Gets whether any of the slots contains the given {@link ItemType}.
+     *
+     * @param itemType The item type
+     * @return Whether the item type is present
+     */
+    boolean contains(ItemType itemType) {
+        return get(itemType) != null;
+    }
+}
@@ -35,6 +35,7 @@
 import org.lanternpowered.server.inventory.PeekOfferTransactionsResult;
 import org.lanternpowered.server.inventory.PeekPollTransactionsResult;
 import org.lanternpowered.server.inventory.PeekSetTransactionsResult;
+import org.lanternpowered.server.inventory.SlotItemTypeIndex;
 import org.lanternpowered.server.inventory.equipment.LanternEquipmentType;
 import org.spongepowered.api.data.property.item.EquipmentProperty;
 import org.spongepowered.api.item.ItemType;
@@ -78,6 +79,16 @@ public class LanternSlot extends AbstractMutableInventory implements Slot {
      */
     private final Set<LanternContainer> containers = Collections.newSetFromMap(new WeakHashMap<>());
 
+    /**
+     * All the {@link SlotItemTypeIndex}s this slot is tracked by.
+     */
+    private final Set<SlotItemTypeIndex> itemTypeIndexes = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * The {@link ItemType} that was last reported to the {@link SlotItemTypeIndex}s.
+     */
+    @Nullable private ItemType indexedItemType;
+
     public LanternSlot(@Nullable Inventory parent) {
         super(parent, null);
     }
@@ -94,10 +105,32 @@ public void removeContainer(LanternContainer container) {
         this.containers.remove(container);
     }
 
+    public void addItemTypeIndex(SlotItemTypeIndex index) {
+        this.itemTypeIndexes.add(index);
+        // Make sure that the tracked type is in sync with the content
+        this.indexedItemType = this.itemStack == null ? null : this.itemStack.getItem();
+    }
+
+    public void removeItemTypeIndex(SlotItemTypeIndex index) {
+        this.itemTypeIndexes.remove(index);
+    }
+
     private void queueUpdate() {
         for (LanternContainer container : this.containers) {
             container.queueSlotChange(this);
         }
+        updateItemTypeIndexes();
+    }
+
+    private void updateItemTypeIndexes() {
+        final ItemType itemType = this.itemStack == null ? null : this.itemStack.getItem();
+        if (itemType == this.indexedItemType) {
+            return;
+        }
+        for (SlotItemTypeIndex index : this.itemTypeIndexes) {
+            index.update(this, this.indexedItemType, itemType);
+        }
+        this.indexedItemType = itemType;
     }
 
     /**
@@ -113,6 +146,7 @@ public ItemStack getRawItemStack() {
 
     public void setRawItemStack(@Nullable ItemStack itemStack) {
         this.itemStack = itemStack;
+        updateItemTypeIndexes();
     }
 
     /**
@@ -471,6 +505,7 @@ public InventoryTransactionResult set(@Nullable ItemStack stack) {
     @Override
     public void clear() {
         this.itemStack = null;
+        updateItemTypeIndexes();
     }
 
     @Override
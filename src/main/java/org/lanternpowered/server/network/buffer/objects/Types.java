@@ -41,6 +41,7 @@
 import org.lanternpowered.server.game.registry.type.item.ItemRegistryModule;
 import org.lanternpowered.server.inventory.LanternItemStack;
 import org.lanternpowered.server.network.buffer.ByteBuffer;
+import org.lanternpowered.server.network.buffer.ByteBufferAllocator;
 import org.lanternpowered.server.network.objects.LocalizedText;
 import org.lanternpowered.server.network.objects.RawItemStack;
 import org.lanternpowered.server.text.gson.JsonTextSerializer;
@@ -161,11 +162,34 @@ public void write(ByteBuffer buf, @Nullable ItemStack object) throws CodecExcept
             if (object == null) {
                 buf.write(Types.RAW_ITEM_STACK, null);
             } else {
-                final DataView dataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
-                this.store.serialize((LanternItemStack) object, dataView);
-                buf.write(Types.RAW_ITEM_STACK, new RawItemStack(ItemRegistryModule.get().getInternalId(object.getItem()),
-                        dataView.getShort(ItemStackStore.DATA).orElse((short) 0), object.getQuantity(),
-                        dataView.getView(ItemStackStore.TAG).orElse(null)));
+                final LanternItemStack itemStack = (LanternItemStack) object;
+                final byte[] encoded = itemStack.getOrCreateEncoding(this::encode);
+                // The format should match the raw item stack type,
+                // the quantity isn't part of the cached data
+                buf.writeShort((short) ItemRegistryModule.get().getInternalId(object.getItem()));
+                buf.writeByte((byte) object.getQuantity());
+                buf.writeBytes(encoded);
+            }
+        }
+
+        /**
+         * Encodes the data value and tag of the {@link LanternItemStack}.
+         *
+         * @param itemStack The item stack
+         * @return The encoded bytes
+         */
+        private byte[] encode(LanternItemStack itemStack) {
+            final DataView dataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+            this.store.serialize(itemStack, dataView);
+            final ByteBuffer buf = ByteBufferAllocator.unpooled().heapBuffer();
+            try {
+                buf.writeShort(dataView.getShort(ItemStackStore.DATA).orElse((short) 0));
+                buf.writeDataView(dataView.getView(ItemStackStore.TAG).orElse(null));
+                final byte[] encoded = new byte[buf.available()];
+                buf.readBytes(encoded);
+                return encoded;
+            } finally {
+                buf.release();
             }
         }
 
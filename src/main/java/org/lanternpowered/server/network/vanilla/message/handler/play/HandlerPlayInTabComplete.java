@@ -26,12 +26,17 @@
 package org.lanternpowered.server.network.vanilla.message.handler.play;
 
 import com.google.common.collect.ImmutableList;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import org.apache.commons.lang3.StringUtils;
 import org.lanternpowered.server.command.LanternCommandManager;
+import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.network.NetworkContext;
+import org.lanternpowered.server.network.message.Async;
 import org.lanternpowered.server.network.message.handler.Handler;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayInTabComplete;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutTabComplete;
+import org.lanternpowered.server.util.ThreadHelper;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
@@ -43,47 +48,166 @@
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
+/**
+ * Only the alias lookup of commands is done off the main thread, this avoids
+ * that tab completion spam affects the server ticks. Plugin completers, the
+ * permission checks of the commands, the target block and the
+ * {@link TabCompleteEvent}s are always handled on the main thread. Only the
+ * latest request of a player will be completed, older requests that are still
+ * pending will be cancelled.
+ */
+@Async
 public final class HandlerPlayInTabComplete implements Handler<MessagePlayInTabComplete> {
 
+    // The tab complete request that is currently being processed for a connection
+    private static final AttributeKey<CompletableFuture<?>> TAB_COMPLETE_REQUEST = AttributeKey.valueOf("tab-complete-request");
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            ThreadHelper.newFastThreadLocalThreadFactory(() -> "tab-complete-" + THREAD_COUNTER.getAndIncrement(),
+                    thread -> thread.setDaemon(true)));
+
     @Override
     public void handle(NetworkContext context, MessagePlayInTabComplete message) {
+        final Attribute<CompletableFuture<?>> attribute = context.getChannel().attr(TAB_COMPLETE_REQUEST);
+        final String command = getCommand(message);
+        // The request is completed with the result of the completion, cancelling
+        // the request stops all the steps of the completion that didn't run yet
+        final CompletableFuture<MessagePlayOutTabComplete> request = new CompletableFuture<>();
+        final CompletableFuture<?> previous = attribute.getAndSet(request);
+        if (previous != null) {
+            // A newer request replaces the old one, don't complete it anymore
+            previous.cancel(false);
+        }
+        final CompletableFuture<MessagePlayOutTabComplete> completion;
+        if (command != null && LanternCommandManager.isAliasCompletion(command)) {
+            // The alias trie is thread safe, the permissions are
+            // checked and the event is posted on the main thread
+            final Player player = context.getSession().getPlayer();
+            final LanternCommandManager commandManager = (LanternCommandManager) Sponge.getCommandManager();
+            completion = CompletableFuture.supplyAsync(() -> commandManager.getAliases(command), EXECUTOR)
+                    .thenCompose(aliases -> callSync(request, () -> complete(context, message, command,
+                            commandManager.filterAliasSuggestions(player, aliases))));
+        } else {
+            completion = callSync(request, () -> complete(context, message, command, null));
+        }
+        completion.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                request.completeExceptionally(throwable);
+            } else {
+                request.complete(result);
+            }
+        });
+        request.whenComplete((result, throwable) -> {
+            // Only send the result if there wasn't a newer request in the meantime
+            if (!attribute.compareAndSet(request, null)) {
+                return;
+            }
+            if (throwable != null) {
+                if (!(throwable instanceof CancellationException)) {
+                    Lantern.getLogger().error("Error while handling {}", message, throwable);
+                }
+            } else if (result != null) {
+                context.getSession().send(result);
+            }
+        });
+    }
+
+    /**
+     * Completes the {@link Supplier} on the main thread, nothing will
+     * be done if the request was cancelled in the meantime.
+     *
+     * @param request The request
+     * @param supplier The supplier
+     * @return The future
+     */
+    private static <T> CompletableFuture<T> callSync(CompletableFuture<?> request, Supplier<T> supplier) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        Lantern.getScheduler().createTaskBuilder().execute(() -> {
+            if (request.isDone()) {
+                future.cancel(false);
+                return;
+            }
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }).submit(Lantern.getMinecraftPlugin());
+        return future;
+    }
+
+    /**
+     * Gets the command that should be completed for the
+     * message, or {@code null} if it isn't a command.
+     *
+     * @param message The message
+     * @return The command
+     */
+    @Nullable
+    private static String getCommand(MessagePlayInTabComplete message) {
         final String text = message.getText();
         // The content with normalized spaces, the spaces are trimmed
         // from the ends and there are never two spaces directly after eachother
-        final String textNormalized = StringUtils.normalizeSpace(text);
+        String command = StringUtils.normalizeSpace(text);
+
+        final boolean hasPrefix = command.startsWith("/");
+        if (!hasPrefix && !message.getAssumeCommand()) {
+            return null;
+        }
+
+        // Don't include the '/'
+        if (hasPrefix) {
+            command = command.substring(1);
+        }
+
+        // Keep the last space, it must be there!
+        if (text.endsWith(" ")) {
+            command = command + " ";
+        }
+        return command;
+    }
+
+    @Nullable
+    private MessagePlayOutTabComplete complete(NetworkContext context, MessagePlayInTabComplete message,
+            @Nullable String command, @Nullable List<String> aliasSuggestions) {
+        final String text = message.getText();
 
         final Player player = context.getSession().getPlayer();
         final Location<World> targetBlock = message.getBlockPosition()
                 .map(pos -> new Location<>(player.getWorld(), pos)).orElse(null);
 
-        final boolean hasPrefix = textNormalized.startsWith("/");
-        if (hasPrefix || message.getAssumeCommand()) {
-            String command = textNormalized;
-
-            // Don't include the '/'
-            if (hasPrefix) {
-                command = command.substring(1);
-            }
-
-            // Keep the last space, it must be there!
-            if (text.endsWith(" ")) {
-                command = command + " ";
-            }
+        if (command != null) {
+            final LanternCommandManager commandManager = (LanternCommandManager) Sponge.getCommandManager();
 
             // Get the suggestions
-            List<String> suggestions = ((LanternCommandManager) Sponge.getCommandManager())
-                    .getSuggestions(player, command, targetBlock, message.getAssumeCommand());
+            List<String> suggestions;
+            if (aliasSuggestions != null) {
+                suggestions = commandManager.postTabCompleteEvent(player, command, aliasSuggestions,
+                        targetBlock, message.getAssumeCommand());
+            } else {
+                suggestions = commandManager.getSuggestions(player, command, targetBlock, message.getAssumeCommand());
+            }
 
             // If the suggestions are for the command and there was a prefix, then append the prefix
-            if (hasPrefix && command.split(" ").length == 1 && !command.endsWith(" ")) {
+            if (StringUtils.normalizeSpace(text).startsWith("/") && LanternCommandManager.isAliasCompletion(command)) {
                 suggestions = suggestions.stream()
                         .map(suggestion -> '/' + suggestion)
                         .collect(ImmutableList.toImmutableList());
             }
 
-            context.getSession().send(new MessagePlayOutTabComplete(suggestions));
+            return new MessagePlayOutTabComplete(suggestions);
         } else {
             // Vanilla mc will complete user names if
             // no command is being completed
@@ -95,7 +219,7 @@ public void handle(NetworkContext context, MessagePlayInTabComplete message) {
                 part = text.substring(index + 1);
             }
             if (part.isEmpty()) {
-                return;
+                return null;
             }
             final String part1 = part.toLowerCase();
             final List<String> suggestions = Sponge.getServer().getOnlinePlayers().stream()
@@ -105,9 +229,7 @@ public void handle(NetworkContext context, MessagePlayInTabComplete message) {
             final TabCompleteEvent.Chat event = SpongeEventFactory.createTabCompleteEventChat(
                     Cause.source(context.getSession().getPlayer()).build(),
                     ImmutableList.copyOf(suggestions), suggestions, text, Optional.ofNullable(targetBlock), false);
-            if (!Sponge.getEventManager().post(event)) {
-                context.getSession().send(new MessagePlayOutTabComplete(suggestions));
-            }
+            return Sponge.getEventManager().post(event) ? null : new MessagePlayOutTabComplete(suggestions);
         }
     }
 }
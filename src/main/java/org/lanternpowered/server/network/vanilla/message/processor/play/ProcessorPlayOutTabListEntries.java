@@ -25,8 +25,8 @@
  */
 package org.lanternpowered.server.network.vanilla.message.processor.play;
 
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.MultimapBuilder;
 import io.netty.handler.codec.CodecException;
 import org.lanternpowered.server.network.message.Message;
 import org.lanternpowered.server.network.message.codec.CodecContext;
@@ -40,25 +40,29 @@
 /**
  * This processor will separate the entries with different types and put them
  * into a new message, this is required because the vanilla codec can only use
- * one entry type for one message.
+ * one entry type for one message. Messages that only contain one entry type,
+ * like the grouped updates of the global tab list, are passed through directly.
  */
 public final class ProcessorPlayOutTabListEntries implements Processor<MessagePlayOutTabListEntries> {
 
     @Override
     public void process(CodecContext context, MessagePlayOutTabListEntries message, List<Message> output) throws CodecException {
-        final Multimap<Class<?>, Entry> entriesByType = HashMultimap.create();
-        for (Entry entry : message.getEntries()) {
-            entriesByType.put(entry.getClass(), entry);
-        }
-        if (entriesByType.isEmpty()) {
+        final List<Entry> entries = message.getEntries();
+        if (entries.isEmpty()) {
             return;
         }
-        if (entriesByType.keySet().size() == 1) {
+        final Class<?> type = entries.get(0).getClass();
+        if (entries.stream().allMatch(entry -> entry.getClass() == type)) {
             output.add(message);
-        } else {
-            for (java.util.Map.Entry<Class<?>, Collection<Entry>> en : entriesByType.asMap().entrySet()) {
-                output.add(new MessagePlayOutTabListEntries(en.getValue()));
-            }
+            return;
+        }
+        // Preserve the order in which the entry types were added
+        final Multimap<Class<?>, Entry> entriesByType = MultimapBuilder.linkedHashKeys().arrayListValues().build();
+        for (Entry entry : entries) {
+            entriesByType.put(entry.getClass(), entry);
+        }
+        for (java.util.Map.Entry<Class<?>, Collection<Entry>> en : entriesByType.asMap().entrySet()) {
+            output.add(new MessagePlayOutTabListEntries(en.getValue()));
         }
     }
 }
@@ -61,6 +61,9 @@
 @Singleton
 public final class LanternPluginManager implements PluginManager {
 
+    // The file that caches the scanned plugin classes of the jars
+    private static final String PLUGIN_INDEX_FILE = ".plugin-index.json";
+
     private final Map<String, PluginContainer> plugins = new HashMap<>();
     private final Map<Object, PluginContainer> pluginInstances = new IdentityHashMap<>();
 
@@ -98,7 +101,8 @@ public void registerPluginInstances() {
     public void loadPlugins(boolean scanClasspath) throws IOException {
         this.logger.info("Searching for plugins...");
 
-        final PluginScanner pluginScanner = new PluginScanner();
+        final PluginScanIndex pluginScanIndex = PluginScanIndex.load(this.pluginsFolder.resolve(PLUGIN_INDEX_FILE));
+        final PluginScanner pluginScanner = new PluginScanner(pluginScanIndex);
         if (scanClasspath) {
             Lantern.getLogger().info("Scanning classpath for plugins...");
 
@@ -118,6 +122,8 @@ public void loadPlugins(boolean scanClasspath) throws IOException {
             Files.createDirectories(this.pluginsFolder);
         }
 
+        pluginScanIndex.save();
+
         final Map<String, PluginCandidate> plugins = pluginScanner.getPlugins();
         this.logger.info("{} plugin(s) found", plugins.size());
 
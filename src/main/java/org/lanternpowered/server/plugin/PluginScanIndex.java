@@ -0,0 +1,173 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.plugin;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.lanternpowered.server.game.Lantern;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * A index file that stores the plugin classes that were found in each
+ * scanned jar, keyed by the path, size and modification time of the jar.
+ * Unchanged jars don't have to be scanned class by class again, only the
+ * known plugin classes will be read.
+ */
+final class PluginScanIndex {
+
+    private static final int VERSION = 1;
+
+    /**
+     * Loads the {@link PluginScanIndex} from the given file, an
+     * empty index will be returned if the file cannot be read.
+     *
+     * @param file The index file
+     * @return The plugin scan index
+     */
+    static PluginScanIndex load(Path file) {
+        final Map<String, Entry> entries = new HashMap<>();
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                final JsonObject json = new Gson().fromJson(reader, JsonObject.class);
+                if (json != null && json.has("version") && json.get("version").getAsInt() == VERSION) {
+                    for (JsonElement element : json.getAsJsonArray("jars")) {
+                        final JsonObject obj = element.getAsJsonObject();
+                        final ImmutableList.Builder<String> classes = ImmutableList.builder();
+                        for (JsonElement pluginClass : obj.getAsJsonArray("classes")) {
+                            classes.add(pluginClass.getAsString());
+                        }
+                        final String path = obj.get("path").getAsString();
+                        entries.put(path, new Entry(obj.get("size").getAsLong(), obj.get("modified").getAsLong(), classes.build()));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                Lantern.getLogger().warn("Failed to read the plugin index {}, all the plugins will be rescanned.", file, e);
+                entries.clear();
+            }
+        }
+        return new PluginScanIndex(file, entries);
+    }
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+    private final Map<String, Entry> scannedEntries = new ConcurrentHashMap<>();
+
+    private PluginScanIndex(Path file, Map<String, Entry> entries) {
+        this.entries = entries;
+        this.file = file;
+    }
+
+    private static String getKey(Path jar) {
+        return jar.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Gets the plugin classes that were found in the given jar during a previous
+     * scan, or {@code null} if the jar was changed or never scanned before.
+     *
+     * @param jar The jar path
+     * @param size The size of the jar
+     * @param modified The last modified time of the jar
+     * @return The plugin class names
+     */
+    @Nullable
+    List<String> get(Path jar, long size, long modified) {
+        final Entry entry = this.entries.get(getKey(jar));
+        return entry != null && entry.size == size && entry.modified == modified ? entry.classes : null;
+    }
+
+    /**
+     * Puts the plugin classes that were found in the given jar.
+     *
+     * @param jar The jar path
+     * @param size The size of the jar
+     * @param modified The last modified time of the jar
+     * @param classes The plugin class names
+     */
+    void put(Path jar, long size, long modified, List<String> classes) {
+        this.scannedEntries.put(getKey(jar), new Entry(size, modified, ImmutableList.copyOf(classes)));
+    }
+
+    /**
+     * Saves all the jars that were scanned since this index was loaded, jars that
+     * are no longer present will be removed from the index.
+     */
+    void save() {
+        final JsonArray jars = new JsonArray();
+        for (Map.Entry<String, Entry> mapEntry : this.scannedEntries.entrySet()) {
+            final Entry entry = mapEntry.getValue();
+            final JsonObject obj = new JsonObject();
+            obj.addProperty("path", mapEntry.getKey());
+            obj.addProperty("size", entry.size);
+            obj.addProperty("modified", entry.modified);
+            final JsonArray classes = new JsonArray();
+            entry.classes.forEach(classes::add);
+            obj.add("classes", classes);
+            jars.add(obj);
+        }
+        final JsonObject json = new JsonObject();
+        json.addProperty("version", VERSION);
+        json.add("jars", jars);
+        try {
+            final Path parent = this.file.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(this.file)) {
+                new Gson().toJson(json, writer);
+            }
+        } catch (IOException e) {
+            Lantern.getLogger().warn("Failed to save the plugin index {}", this.file, e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final long size;
+        private final long modified;
+        private final List<String> classes;
+
+        private Entry(long size, long modified, List<String> classes) {
+            this.modified = modified;
+            this.classes = classes;
+            this.size = size;
+        }
+    }
+}
@@ -34,7 +34,6 @@
 import org.spongepowered.plugin.meta.McModInfo;
 import org.spongepowered.plugin.meta.PluginMetadata;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -53,14 +52,16 @@
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
-import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 
 import javax.annotation.Nullable;
@@ -84,15 +85,21 @@ final class PluginScanner {
 
     private final Map<String, PluginCandidate> plugins = new HashMap<>();
     private final Set<String> pluginClasses = new HashSet<>();
+    private final PluginScanIndex index;
 
     @Nullable private FileVisitor<Path> classFileVisitor;
 
+    PluginScanner(PluginScanIndex index) {
+        this.index = index;
+    }
+
     public Map<String, PluginCandidate> getPlugins() {
         return this.plugins;
     }
 
     void scanClassPath(URLClassLoader loader) {
         final Set<URI> sources = new HashSet<>();
+        final List<Path> jars = new ArrayList<>();
 
         for (URL url : loader.getURLs()) {
             if (!url.getProtocol().equals("file")) {
@@ -119,11 +126,13 @@ void scanClassPath(URLClassLoader loader) {
                     if (Files.isDirectory(path)) {
                         scanClasspathDirectory(path);
                     } else if (JAR_FILE.matches(path)) {
-                        scanJar(path, true);
+                        jars.add(path);
                     }
                 }
             }
         }
+
+        scanJars(jars, true);
     }
 
     private void scanClasspathDirectory(Path dir) {
@@ -163,68 +172,144 @@ public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
     }
 
     void scanDirectory(Path path) {
+        final List<Path> jars = new ArrayList<>();
         try (DirectoryStream<Path> dir = Files.newDirectoryStream(path, JAR_FILTER)) {
             for (Path jar : dir) {
-                scanJar(jar, false);
+                jars.add(jar);
             }
         } catch (IOException e) {
             logger.error("Failed to search for plugins in {}", path, e);
         }
+        scanJars(jars, false);
+    }
+
+    /**
+     * Scans the given jars in parallel, the found candidates will be
+     * added in the same order as the jars were provided.
+     *
+     * @param jars The jars to scan
+     * @param classpath Whether the jars are located on the classpath
+     */
+    private void scanJars(List<Path> jars, boolean classpath) {
+        final List<JarScanResult> results = jars.parallelStream()
+                .map(jar -> scanJar(jar, classpath))
+                .collect(Collectors.toList());
+        for (JarScanResult result : results) {
+            if (result != null) {
+                addJarCandidates(result);
+            }
+        }
+    }
+
+    private static final class JarScanResult {
+
+        private final Path path;
+        private final boolean classpath;
+        private final List<PluginCandidate> candidates;
+        @Nullable private final List<PluginMetadata> metadata;
+
+        private JarScanResult(Path path, boolean classpath, List<PluginCandidate> candidates,
+                @Nullable List<PluginMetadata> metadata) {
+            this.candidates = candidates;
+            this.classpath = classpath;
+            this.metadata = metadata;
+            this.path = path;
+        }
     }
 
-    private void scanJar(Path path, boolean classpath) {
+    @Nullable
+    private JarScanResult scanJar(Path path, boolean classpath) {
         logger.trace("Scanning {} for plugins", path);
 
-        final List<PluginCandidate> candidates = new ArrayList<>();
+        List<PluginCandidate> candidates = null;
         List<PluginMetadata> metadata = null;
 
         // Open the zip file so we can scan it for plugins
-        try (JarInputStream jar = new JarInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
-            ZipEntry entry = jar.getNextEntry();
-            if (entry == null) {
-                return;
-            }
-
-            Manifest manifest = jar.getManifest();
-            if (manifest == null) {
-                // JarInputStream seems to be only able to find the manifest if it's one of the first entries...
-                // Try harder to find it anyway - Wtf Java?
-                try (JarFile jarFile = new JarFile(path.toFile())) {
-                    manifest = jarFile.getManifest();
-                }
+        try (JarFile jar = new JarFile(path.toFile())) {
+            if (jar.size() == 0) {
+                return null;
             }
 
+            final Manifest manifest = jar.getManifest();
             if (manifest == null && !classpath) {
                 logger.warn("Missing JAR manifest in {}", path); // TODO
             }
 
-            do {
-                if (entry.isDirectory()) {
-                    continue;
+            final ZipEntry metadataEntry = jar.getEntry(METADATA_FILE);
+            if (metadataEntry != null) {
+                try (InputStream in = jar.getInputStream(metadataEntry)) {
+                    metadata = McModInfo.DEFAULT.read(in);
+                } catch (IOException e) {
+                    logger.error("Failed to read plugin metadata from " + METADATA_FILE + " in {}", path, e);
+                    return null;
                 }
+            }
 
-                final String name = entry.getName();
-                if (!name.endsWith(CLASS_EXTENSION)) {
-                    if (name.equals(METADATA_FILE)) {
-                        try {
-                            metadata = McModInfo.DEFAULT.read(jar);
-                        } catch (IOException e) {
-                            logger.error("Failed to read plugin metadata from " + METADATA_FILE + " in {}", path, e);
-                            return;
+            final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            final long size = attributes.size();
+            final long modified = attributes.lastModifiedTime().toMillis();
+
+            // Only visit the known plugin classes if the jar didn't change since the last scan
+            final List<String> pluginClasses = this.index.get(path, size, modified);
+            if (pluginClasses != null) {
+                candidates = scanJarClasses(jar, path, pluginClasses);
+            }
+            if (candidates == null) {
+                candidates = new ArrayList<>();
+                final Enumeration<JarEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    final JarEntry entry = entries.nextElement();
+                    if (entry.isDirectory() || !entry.getName().endsWith(CLASS_EXTENSION)) {
+                        continue;
+                    }
+                    try (InputStream in = jar.getInputStream(entry)) {
+                        final PluginCandidate candidate = scanClassFile(in, path);
+                        if (candidate != null) {
+                            candidates.add(candidate);
                         }
                     }
-                    continue;
                 }
-
-                final PluginCandidate candidate = scanClassFile(jar, path);
-                if (candidate != null) {
-                    candidates.add(candidate);
-                }
-            } while ((entry = jar.getNextEntry()) != null);
+                this.index.put(path, size, modified, candidates.stream()
+                        .map(PluginCandidate::getPluginClass)
+                        .collect(Collectors.toList()));
+            } else {
+                this.index.put(path, size, modified, pluginClasses);
+            }
         } catch (IOException e) {
             logger.error("Failed to scan plugin JAR: {}", path, e);
-            return;
+            return null;
+        }
+
+        return new JarScanResult(path, classpath, candidates, metadata);
+    }
+
+    /**
+     * Scans the specified plugin classes of the jar, {@code null} will be
+     * returned if one of the classes is missing.
+     */
+    @Nullable
+    private List<PluginCandidate> scanJarClasses(JarFile jar, Path path, List<String> pluginClasses) throws IOException {
+        final List<PluginCandidate> candidates = new ArrayList<>();
+        for (String pluginClass : pluginClasses) {
+            final ZipEntry entry = jar.getEntry(pluginClass.replace('.', '/') + CLASS_EXTENSION);
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream in = jar.getInputStream(entry)) {
+                final PluginCandidate candidate = scanClassFile(in, path);
+                if (candidate == null) {
+                    return null;
+                }
+                candidates.add(candidate);
+            }
         }
+        return candidates;
+    }
+
+    private void addJarCandidates(JarScanResult result) {
+        final Path path = result.path;
+        final List<PluginCandidate> candidates = result.candidates;
+        final List<PluginMetadata> metadata = result.metadata;
 
         if (!candidates.isEmpty()) {
             boolean success = false;
@@ -255,7 +340,7 @@ private void scanJar(Path path, boolean classpath) {
                         + "This is not a problem when testing plugins, however it is recommended to include one in public plugins.\n"
                         + "Please see https://docs.spongepowered.org/master/en/plugin/plugin-meta.html for details.", path, METADATA_FILE);
             }
-        } else if (!classpath) {
+        } else if (!result.classpath) {
             logger.error("No valid plugins found in {}. Is the file actually a plugin JAR? Please keep in"
                     + "mind that Lantern can only load Sponge plugins.", path);
         }
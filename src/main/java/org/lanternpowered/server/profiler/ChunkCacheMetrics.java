@@ -0,0 +1,161 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import javax.management.ObjectName;
+
+/**
+ * Tracks how the chunks of a specific world are loaded, whether they
+ * could be reactivated from memory or had to be read from the disk or
+ * generated. The metrics may be updated by any thread.
+ */
+public final class ChunkCacheMetrics implements ChunkCacheMetricsMXBean {
+
+    private static final String OBJECT_NAME = "org.lanternpowered.server:type=ChunkCacheMetrics,name=";
+
+    private final String worldName;
+    private final IntSupplier warmCacheSize;
+
+    private final LongAdder warmCacheHits = new LongAdder();
+    private final LongAdder reusedChunks = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder generatedChunks = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder memoryPressureEvictions = new LongAdder();
+
+    public ChunkCacheMetrics(String worldName, IntSupplier warmCacheSize) {
+        this.worldName = checkNotNull(worldName, "worldName");
+        this.warmCacheSize = checkNotNull(warmCacheSize, "warmCacheSize");
+    }
+
+    /**
+     * Is called when a chunk is reactivated from the warm cache.
+     */
+    public void onWarmCacheHit() {
+        this.warmCacheHits.increment();
+    }
+
+    /**
+     * Is called when a chunk is reactivated because it was still referenced
+     * after being unloaded, but wasn't present in the warm cache.
+     */
+    public void onChunkReused() {
+        this.reusedChunks.increment();
+    }
+
+    /**
+     * Is called when a chunk is read from the disk.
+     */
+    public void onReload() {
+        this.reloads.increment();
+    }
+
+    /**
+     * Is called when a chunk is generated.
+     */
+    public void onGenerate() {
+        this.generatedChunks.increment();
+    }
+
+    /**
+     * Is called when chunks are evicted from the warm cache.
+     *
+     * @param count The amount of evicted chunks
+     * @param memoryPressure Whether the eviction was caused by memory pressure
+     */
+    public void onEviction(int count, boolean memoryPressure) {
+        this.evictions.add(count);
+        if (memoryPressure) {
+            this.memoryPressureEvictions.add(count);
+        }
+    }
+
+    /**
+     * Registers the management bean of these metrics.
+     */
+    public void registerMBean() {
+        TickMetrics.registerMBean(this, OBJECT_NAME + ObjectName.quote(this.worldName));
+    }
+
+    /**
+     * Unregisters the management bean of these metrics.
+     */
+    public void unregisterMBean() {
+        TickMetrics.unregisterMBean(OBJECT_NAME + ObjectName.quote(this.worldName));
+    }
+
+    @Override
+    public String getWorldName() {
+        return this.worldName;
+    }
+
+    @Override
+    public int getWarmCacheSize() {
+        return this.warmCacheSize.getAsInt();
+    }
+
+    @Override
+    public long getWarmCacheHits() {
+        return this.warmCacheHits.sum();
+    }
+
+    @Override
+    public long getReusedChunkCount() {
+        return this.reusedChunks.sum();
+    }
+
+    @Override
+    public long getReloadCount() {
+        return this.reloads.sum();
+    }
+
+    @Override
+    public long getGeneratedChunkCount() {
+        return this.generatedChunks.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    @Override
+    public long getMemoryPressureEvictionCount() {
+        return this.memoryPressureEvictions.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        final long hits = this.warmCacheHits.sum() + this.reusedChunks.sum();
+        final long total = hits + this.reloads.sum() + this.generatedChunks.sum();
+        return total == 0 ? 0.0 : hits / (double) total;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A immutable snapshot of a {@link TickHistogram}.
+ */
+public final class HistogramSnapshot {
+
+    private final long count;
+    private final long total;
+    private final long max;
+    private final long[] buckets;
+
+    HistogramSnapshot(long count, long total, long max, long[] buckets) {
+        this.count = count;
+        this.total = total;
+        this.max = max;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Gets the amount of samples.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the total duration of all the samples in nanoseconds.
+     *
+     * @return The total time
+     */
+    public long getTotalTime() {
+        return this.total;
+    }
+
+    /**
+     * Gets the longest sample in nanoseconds.
+     *
+     * @return The maximum time
+     */
+    public long getMaxTime() {
+        return this.max;
+    }
+
+    /**
+     * Gets the average duration of the samples in nanoseconds.
+     *
+     * @return The average time
+     */
+    public long getAverageTime() {
+        return this.count == 0 ? 0 : this.total / this.count;
+    }
+
+    /**
+     * Gets the duration at the given percentile in nanoseconds.
+     *
+     * @param percentile The percentile, between 0 and 1
+     * @return The duration
+     */
+    public long getPercentile(double percentile) {
+        checkArgument(percentile >= 0.0 && percentile <= 1.0, "percentile must be between 0 and 1");
+        if (this.count == 0) {
+            return 0;
+        }
+        final long target = Math.max(1L, (long) Math.ceil(this.count * percentile));
+        long seen = 0;
+        for (int i = 0; i < this.buckets.length; i++) {
+            seen += this.buckets[i];
+            if (seen >= target) {
+                return Math.min(this.max, TickHistogram.getBucketUpperBound(i));
+            }
+        }
+        return this.max;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("count", this.count)
+                .add("average", getAverageTime())
+                .add("p95", getPercentile(0.95))
+                .add("max", this.max)
+                .toString();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A low overhead profiler that tracks the time spent by plugins in event
+ * listeners, scheduled tasks and commands.
+ */
+public final class LanternProfiler {
+
+    public static final LanternProfiler INSTANCE = new LanternProfiler();
+
+    /**
+     * The comparator that sorts the snapshots from the
+     * highest to the lowest total time.
+     */
+    public static final Comparator<TimingSnapshot> BY_TOTAL_TIME =
+            Comparator.comparingLong(TimingSnapshot::getTotalTime).reversed();
+
+    /**
+     * All the timings per plugin. Shared timings are keyed by their type and
+     * name, timings that belong to a single object are keyed by themselves.
+     */
+    private final Map<PluginContainer, Map<Object, Timing>> timings = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+
+    private LanternProfiler() {
+    }
+
+    /**
+     * Gets whether the profiler is enabled. When disabled, no timings
+     * should be recorded by the profiled systems.
+     *
+     * @return Is enabled
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Sets whether the profiler is enabled.
+     *
+     * @param enabled Is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets or creates the {@link Timing} for the given plugin, type and name.
+     *
+     * @param plugin The plugin
+     * @param type The timing type
+     * @param name The name
+     * @return The timing
+     */
+    public Timing getTiming(PluginContainer plugin, TimingType type, String name) {
+        checkNotNull(plugin, "plugin");
+        checkNotNull(type, "type");
+        checkNotNull(name, "name");
+        return this.timings.computeIfAbsent(plugin, plugin0 -> new ConcurrentHashMap<>())
+                .computeIfAbsent(type.getId() + ':' + name, key -> new Timing(plugin, type, name));
+    }
+
+    /**
+     * Creates a new {@link Timing} for the given plugin, type and name. Unlike
+     * {@link #getTiming(PluginContainer, TimingType, String)}, the timing isn't
+     * shared with other timings that have the same name. The timing should be
+     * removed through {@link #removeTiming(Timing)} once it's no longer used.
+     *
+     * @param plugin The plugin
+     * @param type The timing type
+     * @param name The name
+     * @return The timing
+     */
+    public Timing createTiming(PluginContainer plugin, TimingType type, String name) {
+        checkNotNull(plugin, "plugin");
+        checkNotNull(type, "type");
+        checkNotNull(name, "name");
+        final Timing timing = new Timing(plugin, type, name);
+        this.timings.computeIfAbsent(plugin, plugin0 -> new ConcurrentHashMap<>()).put(timing, timing);
+        return timing;
+    }
+
+    /**
+     * Removes the {@link Timing} that was created
+     * through {@link #createTiming(PluginContainer, TimingType, String)}.
+     *
+     * @param timing The timing
+     */
+    public void removeTiming(Timing timing) {
+        checkNotNull(timing, "timing");
+        this.timings.computeIfPresent(timing.getPlugin(), (plugin, map) -> {
+            map.remove(timing);
+            return map.isEmpty() ? null : map;
+        });
+    }
+
+    /**
+     * Gets the amount of timings that are tracked.
+     *
+     * @return The amount of timings
+     */
+    public int getTimingCount() {
+        return this.timings.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Creates {@link TimingSnapshot}s for all the tracked timings, sorted
+     * from the highest to the lowest total time within the window.
+     *
+     * @return The snapshots
+     */
+    public List<TimingSnapshot> createSnapshots() {
+        return this.timings.values().stream()
+                .flatMap(map -> map.values().stream())
+                .map(Timing::createSnapshot)
+                .filter(snapshot -> snapshot.getCount() > 0)
+                .sorted(BY_TOTAL_TIME)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates {@link TimingSnapshot}s for every plugin, sorted from
+     * the highest to the lowest total time within the window.
+     *
+     * @return The plugin snapshots
+     */
+    public List<TimingSnapshot> createPluginSnapshots() {
+        final Map<PluginContainer, List<TimingSnapshot>> byPlugin = new HashMap<>();
+        for (TimingSnapshot snapshot : createSnapshots()) {
+            byPlugin.computeIfAbsent(snapshot.getPlugin(), plugin -> new ArrayList<>()).add(snapshot);
+        }
+        return byPlugin.entrySet().stream()
+                .map(entry -> TimingSnapshot.merge(entry.getKey(), entry.getValue()))
+                .sorted(BY_TOTAL_TIME)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Resets all the tracked timings.
+     */
+    public void reset() {
+        this.timings.values().forEach(map -> map.values().forEach(Timing::reset));
+    }
+
+    /**
+     * Exports the current window of all the timings to a flat, tab
+     * separated file. Times are expressed in microseconds.
+     *
+     * @param file The file to export to
+     * @throws IOException If a error occurred while writing
+     */
+    public void export(Path file) throws IOException {
+        checkNotNull(file, "file");
+        final Path parent = file.toAbsolutePath().getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("plugin\ttype\tname\tcount\ttotal\taverage\tp50\tp95\tp99\tmax");
+            writer.newLine();
+            for (TimingSnapshot snapshot : createSnapshots()) {
+                writer.write(String.join("\t",
+                        snapshot.getPlugin().getId(),
+                        snapshot.getType().map(TimingType::getId).orElse(""),
+                        snapshot.getName(),
+                        Long.toString(snapshot.getCount()),
+                        Long.toString(snapshot.getTotalTime() / 1000L),
+                        Long.toString(snapshot.getAverageTime() / 1000L),
+                        Long.toString(snapshot.getPercentile(0.5) / 1000L),
+                        Long.toString(snapshot.getPercentile(0.95) / 1000L),
+                        Long.toString(snapshot.getPercentile(0.99) / 1000L),
+                        Long.toString(snapshot.getMaxTime() / 1000L)));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import javax.management.ObjectName;
+
+/**
+ * Tracks how often the region files of a specific world are opened and
+ * closed, the reopen count shows how much churn is caused by the open
+ * file limit. The metrics may be updated by any thread.
+ */
+public final class RegionFileMetrics implements RegionFileMetricsMXBean {
+
+    private static final String OBJECT_NAME = "org.lanternpowered.server:type=RegionFileMetrics,name=";
+
+    private final String worldName;
+    private final IntSupplier openFileCount;
+
+    private final LongAdder opens = new LongAdder();
+    private final LongAdder reopens = new LongAdder();
+    private final LongAdder headerCacheHits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RegionFileMetrics(String worldName, IntSupplier openFileCount) {
+        this.worldName = checkNotNull(worldName, "worldName");
+        this.openFileCount = checkNotNull(openFileCount, "openFileCount");
+    }
+
+    /**
+     * Is called when a region file is opened.
+     *
+     * @param reopen Whether the region file was opened before
+     * @param headerCacheHit Whether the header of the region file was cached
+     */
+    public void onOpen(boolean reopen, boolean headerCacheHit) {
+        this.opens.increment();
+        if (reopen) {
+            this.reopens.increment();
+        }
+        if (headerCacheHit) {
+            this.headerCacheHits.increment();
+        }
+    }
+
+    /**
+     * Is called when an idle region file is closed to
+     * respect the open file limit or because it expired.
+     */
+    public void onEviction() {
+        this.evictions.increment();
+    }
+
+    /**
+     * Registers the management bean of these metrics.
+     */
+    public void registerMBean() {
+        TickMetrics.registerMBean(this, OBJECT_NAME + ObjectName.quote(this.worldName));
+    }
+
+    /**
+     * Unregisters the management bean of these metrics.
+     */
+    public void unregisterMBean() {
+        TickMetrics.unregisterMBean(OBJECT_NAME + ObjectName.quote(this.worldName));
+    }
+
+    @Override
+    public String getWorldName() {
+        return this.worldName;
+    }
+
+    @Override
+    public int getOpenFileCount() {
+        return this.openFileCount.getAsInt();
+    }
+
+    @Override
+    public long getOpenCount() {
+        return this.opens.sum();
+    }
+
+    @Override
+    public long getReopenCount() {
+        return this.reopens.sum();
+    }
+
+    @Override
+    public long getHeaderCacheHits() {
+        return this.headerCacheHits.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+}
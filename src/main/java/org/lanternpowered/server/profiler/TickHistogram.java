@@ -0,0 +1,153 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram that tracks the durations of the last {@code n} samples, the
+ * durations are stored in log-linear buckets (similar to a HDR histogram) with
+ * a precision of 1/16th of the value. A histogram may only be written to by a
+ * single thread, but may be read by any thread.
+ */
+public final class TickHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The maximum amount of shifts, the largest tracked
+     * duration is about 2^24 microseconds (16 seconds).
+     */
+    private static final int MAX_SHIFT = 24 - SUB_BUCKET_BITS;
+
+    static final int BUCKETS = (MAX_SHIFT + 2) * SUB_BUCKETS;
+
+    static int getBucket(long nanos) {
+        final long micros = nanos / 1000L;
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(0L, micros);
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        if (shift > MAX_SHIFT) {
+            return BUCKETS - 1;
+        }
+        final int subBucket = (int) (micros >> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the upper bound (exclusive) of the bucket in nanoseconds.
+     *
+     * @param bucket The bucket
+     * @return The upper bound
+     */
+    static long getBucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return (bucket + 1) * 1000L;
+        }
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) * 1000L;
+    }
+
+    private final AtomicLongArray samples;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong lifetimeCount = new AtomicLong();
+
+    private int position;
+    private volatile int size;
+
+    /**
+     * Constructs a new {@link TickHistogram}.
+     *
+     * @param capacity The amount of samples that should be tracked
+     */
+    public TickHistogram(int capacity) {
+        checkArgument(capacity > 0, "capacity must be greater then 0");
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Records the duration in nanoseconds, this should
+     * only be called by the owning thread.
+     *
+     * @param nanos The duration
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0L, nanos);
+        final int index = this.position;
+        long total = this.total.get();
+        final int size = this.size;
+        if (size == this.samples.length()) {
+            // Remove the oldest sample from the window
+            final long old = this.samples.get(index);
+            final int oldBucket = getBucket(old);
+            this.buckets.lazySet(oldBucket, this.buckets.get(oldBucket) - 1);
+            total -= old;
+        } else {
+            this.size = size + 1;
+        }
+        this.samples.lazySet(index, nanos);
+        final int bucket = getBucket(nanos);
+        this.buckets.lazySet(bucket, this.buckets.get(bucket) + 1);
+        this.total.lazySet(total + nanos);
+        this.lifetimeCount.lazySet(this.lifetimeCount.get() + 1);
+        this.position = index + 1 == this.samples.length() ? 0 : index + 1;
+    }
+
+    /**
+     * Gets the amount of samples that were recorded
+     * over the lifetime of this histogram.
+     *
+     * @return The lifetime count
+     */
+    public long getLifetimeCount() {
+        return this.lifetimeCount.get();
+    }
+
+    /**
+     * Creates a {@link HistogramSnapshot} of the current window.
+     *
+     * @return The snapshot
+     */
+    public HistogramSnapshot createSnapshot() {
+        final int size = this.size;
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, this.samples.get(i));
+        }
+        final long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = this.buckets.get(i);
+        }
+        return new HistogramSnapshot(size, this.total.get(), max, buckets);
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableMap;
+import org.lanternpowered.server.game.Lantern;
+import org.lanternpowered.server.game.LanternGame;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Tracks the durations of the phases of the server ticks, the overruns and
+ * the garbage collection activity during those overruns. The metrics may only
+ * be updated by the main thread.
+ */
+public final class TickMetrics implements TickMetricsMXBean {
+
+    /**
+     * The amount of ticks that are tracked by the histograms, one minute.
+     */
+    static final int WINDOW_SIZE = LanternGame.TICKS_PER_SECOND * 60;
+
+    /**
+     * The maximum age of a cached snapshot.
+     */
+    private static final long SNAPSHOT_MAX_AGE = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String OBJECT_NAME = "org.lanternpowered.server:type=TickMetrics";
+    private static final String WORLD_OBJECT_NAME = "org.lanternpowered.server:type=WorldTickMetrics,name=";
+
+    private final TickHistogram tickTimes = new TickHistogram(WINDOW_SIZE);
+    private final TickHistogram tickIntervals = new TickHistogram(WINDOW_SIZE);
+    private final TickHistogram[] phases = new TickHistogram[TickPhase.values().length];
+    private final Map<String, WorldTickMetrics> worlds = new ConcurrentHashMap<>();
+    private final List<GarbageCollectorMXBean> garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private long lastTickStart;
+    private long tickGarbageCollectionStart;
+
+    private volatile long overrunCount;
+    private volatile long overrunWithGarbageCollectionCount;
+    private volatile long garbageCollectionTimeDuringOverruns;
+
+    @Nullable private volatile TickMetricsSnapshot snapshot;
+
+    public TickMetrics() {
+        for (int i = 0; i < this.phases.length; i++) {
+            this.phases[i] = new TickHistogram(WINDOW_SIZE);
+        }
+    }
+
+    private long getGarbageCollectionTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean garbageCollector : this.garbageCollectors) {
+            time += Math.max(0L, garbageCollector.getCollectionTime());
+        }
+        return time;
+    }
+
+    /**
+     * Starts a new server tick.
+     *
+     * @return The {@link System#nanoTime()} at which the tick started
+     */
+    public long startTick() {
+        final long time = System.nanoTime();
+        if (this.lastTickStart != 0) {
+            this.tickIntervals.record(time - this.lastTickStart);
+        }
+        this.lastTickStart = time;
+        this.tickGarbageCollectionStart = getGarbageCollectionTime();
+        return time;
+    }
+
+    /**
+     * Ends the given {@link TickPhase}.
+     *
+     * @param phase The phase
+     * @param startTime The {@link System#nanoTime()} at which the phase started
+     * @return The {@link System#nanoTime()} at which the phase ended
+     */
+    public long endPhase(TickPhase phase, long startTime) {
+        final long time = System.nanoTime();
+        this.phases[phase.ordinal()].record(time - startTime);
+        return time;
+    }
+
+    /**
+     * Ends the current server tick.
+     *
+     * @param startTime The {@link System#nanoTime()} at which the tick started
+     */
+    public void endTick(long startTime) {
+        final long duration = System.nanoTime() - startTime;
+        this.tickTimes.record(duration);
+        if (duration > LanternGame.TICK_DURATION_NS) {
+            this.overrunCount++;
+            final long garbageCollectionTime = getGarbageCollectionTime() - this.tickGarbageCollectionStart;
+            if (garbageCollectionTime > 0) {
+                this.overrunWithGarbageCollectionCount++;
+                this.garbageCollectionTimeDuringOverruns += garbageCollectionTime;
+            }
+        }
+    }
+
+    /**
+     * Adds the {@link WorldTickMetrics} of a world that started ticking.
+     *
+     * @param metrics The world tick metrics
+     */
+    public void addWorld(WorldTickMetrics metrics) {
+        checkNotNull(metrics, "metrics");
+        if (this.worlds.put(metrics.getWorldName(), metrics) == null) {
+            registerMBean(metrics, WORLD_OBJECT_NAME + ObjectName.quote(metrics.getWorldName()));
+        }
+    }
+
+    /**
+     * Removes the {@link WorldTickMetrics} of a world that stopped ticking.
+     *
+     * @param metrics The world tick metrics
+     */
+    public void removeWorld(WorldTickMetrics metrics) {
+        checkNotNull(metrics, "metrics");
+        if (this.worlds.remove(metrics.getWorldName(), metrics)) {
+            unregisterMBean(WORLD_OBJECT_NAME + ObjectName.quote(metrics.getWorldName()));
+        }
+    }
+
+    /**
+     * Registers the management bean of the server tick metrics.
+     */
+    public void registerMBean() {
+        registerMBean(this, OBJECT_NAME);
+    }
+
+    /**
+     * Unregisters all the management beans of the tick metrics.
+     */
+    public void unregisterMBeans() {
+        unregisterMBean(OBJECT_NAME);
+        for (WorldTickMetrics metrics : this.worlds.values()) {
+            unregisterMBean(WORLD_OBJECT_NAME + ObjectName.quote(metrics.getWorldName()));
+        }
+    }
+
+    static void registerMBean(Object object, String name) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName objectName = new ObjectName(name);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(object, objectName);
+            }
+        } catch (JMException e) {
+            Lantern.getLogger().warn("Failed to register the management bean: {}", name, e);
+        }
+    }
+
+    static void unregisterMBean(String name) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName objectName = new ObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            Lantern.getLogger().warn("Failed to unregister the management bean: {}", name, e);
+        }
+    }
+
+    /**
+     * Gets a {@link TickMetricsSnapshot}, the snapshot is cached
+     * for a second so it's cheap to query frequently.
+     *
+     * @return The snapshot
+     */
+    public TickMetricsSnapshot getSnapshot() {
+        TickMetricsSnapshot snapshot = this.snapshot;
+        final long time = System.nanoTime();
+        if (snapshot == null || time - snapshot.getCreationTime() > SNAPSHOT_MAX_AGE) {
+            this.snapshot = snapshot = createSnapshot(time);
+        }
+        return snapshot;
+    }
+
+    private TickMetricsSnapshot createSnapshot(long time) {
+        final Map<TickPhase, HistogramSnapshot> phases = new EnumMap<>(TickPhase.class);
+        for (TickPhase phase : TickPhase.values()) {
+            phases.put(phase, this.phases[phase.ordinal()].createSnapshot());
+        }
+        final ImmutableMap.Builder<String, WorldTickMetricsSnapshot> worlds = ImmutableMap.builder();
+        for (WorldTickMetrics metrics : this.worlds.values()) {
+            worlds.put(metrics.getWorldName(), metrics.createSnapshot());
+        }
+        return new TickMetricsSnapshot(time, getTicksPerSecond(this.tickIntervals.createSnapshot()),
+                this.tickTimes.getLifetimeCount(), this.tickTimes.createSnapshot(), ImmutableMap.copyOf(phases),
+                this.overrunCount, this.overrunWithGarbageCollectionCount, this.garbageCollectionTimeDuringOverruns,
+                worlds.build());
+    }
+
+    private static double getTicksPerSecond(HistogramSnapshot tickIntervals) {
+        final long averageInterval = tickIntervals.getAverageTime();
+        if (averageInterval == 0) {
+            return LanternGame.TICKS_PER_SECOND;
+        }
+        return Math.min(LanternGame.TICKS_PER_SECOND, TimeUnit.SECONDS.toNanos(1) / (double) averageInterval);
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        return getSnapshot().getTicksPerSecond();
+    }
+
+    @Override
+    public double getAverageTickTime() {
+        return getSnapshot().getTickTimes().getAverageTime() / 1000000.0;
+    }
+
+    @Override
+    public double getTickTime95thPercentile() {
+        return getSnapshot().getTickTimes().getPercentile(0.95) / 1000000.0;
+    }
+
+    @Override
+    public double getTickTime99thPercentile() {
+        return getSnapshot().getTickTimes().getPercentile(0.99) / 1000000.0;
+    }
+
+    @Override
+    public double getMaxTickTime() {
+        return getSnapshot().getTickTimes().getMaxTime() / 1000000.0;
+    }
+
+    @Override
+    public long getTickCount() {
+        return this.tickTimes.getLifetimeCount();
+    }
+
+    @Override
+    public long getOverrunCount() {
+        return this.overrunCount;
+    }
+
+    @Override
+    public long getOverrunWithGarbageCollectionCount() {
+        return this.overrunWithGarbageCollectionCount;
+    }
+
+    @Override
+    public long getGarbageCollectionTimeDuringOverruns() {
+        return this.garbageCollectionTimeDuringOverruns;
+    }
+}
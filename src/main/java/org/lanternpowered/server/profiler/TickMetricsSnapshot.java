@@ -0,0 +1,152 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A immutable snapshot of the {@link TickMetrics}.
+ */
+public final class TickMetricsSnapshot {
+
+    private final long creationTime;
+    private final double ticksPerSecond;
+    private final long tickCount;
+    private final HistogramSnapshot tickTimes;
+    private final ImmutableMap<TickPhase, HistogramSnapshot> phases;
+    private final long overrunCount;
+    private final long overrunWithGarbageCollectionCount;
+    private final long garbageCollectionTimeDuringOverruns;
+    private final ImmutableMap<String, WorldTickMetricsSnapshot> worlds;
+
+    TickMetricsSnapshot(long creationTime, double ticksPerSecond, long tickCount, HistogramSnapshot tickTimes,
+            ImmutableMap<TickPhase, HistogramSnapshot> phases, long overrunCount, long overrunWithGarbageCollectionCount,
+            long garbageCollectionTimeDuringOverruns, ImmutableMap<String, WorldTickMetricsSnapshot> worlds) {
+        this.creationTime = creationTime;
+        this.ticksPerSecond = ticksPerSecond;
+        this.tickCount = tickCount;
+        this.tickTimes = tickTimes;
+        this.phases = phases;
+        this.overrunCount = overrunCount;
+        this.overrunWithGarbageCollectionCount = overrunWithGarbageCollectionCount;
+        this.garbageCollectionTimeDuringOverruns = garbageCollectionTimeDuringOverruns;
+        this.worlds = worlds;
+    }
+
+    /**
+     * Gets the {@link System#nanoTime()} at which this snapshot was created.
+     *
+     * @return The creation time
+     */
+    public long getCreationTime() {
+        return this.creationTime;
+    }
+
+    /**
+     * Gets the average amount of ticks per second.
+     *
+     * @return The ticks per second
+     */
+    public double getTicksPerSecond() {
+        return this.ticksPerSecond;
+    }
+
+    /**
+     * Gets the total amount of ticks since the server started.
+     *
+     * @return The tick count
+     */
+    public long getTickCount() {
+        return this.tickCount;
+    }
+
+    /**
+     * Gets the durations of the complete server ticks.
+     *
+     * @return The tick times
+     */
+    public HistogramSnapshot getTickTimes() {
+        return this.tickTimes;
+    }
+
+    /**
+     * Gets the durations of the given {@link TickPhase}.
+     *
+     * @param phase The phase
+     * @return The phase times
+     */
+    public HistogramSnapshot getPhaseTimes(TickPhase phase) {
+        return this.phases.get(phase);
+    }
+
+    /**
+     * Gets the amount of ticks that took longer than the tick duration.
+     *
+     * @return The overrun count
+     */
+    public long getOverrunCount() {
+        return this.overrunCount;
+    }
+
+    /**
+     * Gets the amount of overrun ticks during which the garbage collector was active.
+     *
+     * @return The overrun count
+     */
+    public long getOverrunWithGarbageCollectionCount() {
+        return this.overrunWithGarbageCollectionCount;
+    }
+
+    /**
+     * Gets the total time in milliseconds that the garbage
+     * collector was active during overrun ticks.
+     *
+     * @return The garbage collection time
+     */
+    public long getGarbageCollectionTimeDuringOverruns() {
+        return this.garbageCollectionTimeDuringOverruns;
+    }
+
+    /**
+     * Gets the snapshots of all the ticking worlds, mapped by their name.
+     *
+     * @return The world snapshots
+     */
+    public ImmutableMap<String, WorldTickMetricsSnapshot> getWorlds() {
+        return this.worlds;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("ticksPerSecond", this.ticksPerSecond)
+                .add("tickCount", this.tickCount)
+                .add("tickTimes", this.tickTimes)
+                .add("overrunCount", this.overrunCount)
+                .toString();
+    }
+}
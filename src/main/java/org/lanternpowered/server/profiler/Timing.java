@@ -0,0 +1,229 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free timing that tracks the durations of a specific listener, task
+ * or command. The durations are tracked in a histogram with power of two
+ * buckets over a rolling window, the lifetime totals are tracked separately.
+ */
+public final class Timing {
+
+    /**
+     * The amount of histogram buckets, bucket {@code n} contains the durations
+     * in the range [2^(n-1), 2^n) microseconds, the first bucket all the durations
+     * smaller than a microsecond and the last bucket all the remaining durations.
+     */
+    static final int BUCKETS = 24;
+
+    /**
+     * The duration of a single window slot.
+     */
+    static final long SLOT_DURATION = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * The amount of slots in the rolling window.
+     */
+    static final int SLOTS = 6;
+
+    // The layout of the data of a single slot
+    private static final long EMPTY_EPOCH = Long.MIN_VALUE;
+    private static final int EPOCH = 0;
+    private static final int COUNT = 1;
+    private static final int TOTAL = 2;
+    private static final int MAX = 3;
+    private static final int FIRST_BUCKET = 4;
+    private static final int SLOT_SIZE = FIRST_BUCKET + BUCKETS;
+
+    private final PluginContainer plugin;
+    private final TimingType type;
+    private final String name;
+
+    private final AtomicLongArray data = new AtomicLongArray(SLOTS * SLOT_SIZE);
+    private final LongAdder lifetimeCount = new LongAdder();
+    private final LongAdder lifetimeTotal = new LongAdder();
+
+    Timing(PluginContainer plugin, TimingType type, String name) {
+        this.plugin = checkNotNull(plugin, "plugin");
+        this.type = checkNotNull(type, "type");
+        this.name = checkNotNull(name, "name");
+        // Make sure that no slot matches the first epoch
+        for (int i = 0; i < SLOTS; i++) {
+            this.data.set(i * SLOT_SIZE + EPOCH, EMPTY_EPOCH);
+        }
+    }
+
+    /**
+     * Gets the {@link PluginContainer} that owns this timing.
+     *
+     * @return The plugin
+     */
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Gets the {@link TimingType} of this timing.
+     *
+     * @return The type
+     */
+    public TimingType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the name of this timing.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the total amount of invocations that were
+     * recorded over the lifetime of this timing.
+     *
+     * @return The invocation count
+     */
+    public long getLifetimeCount() {
+        return this.lifetimeCount.sum();
+    }
+
+    /**
+     * Gets the total amount of time in nanoseconds that
+     * was recorded over the lifetime of this timing.
+     *
+     * @return The total time
+     */
+    public long getLifetimeTotal() {
+        return this.lifetimeTotal.sum();
+    }
+
+    static int getBucket(long nanos) {
+        final int bucket = 64 - Long.numberOfLeadingZeros(nanos / 1000L);
+        return bucket >= BUCKETS ? BUCKETS - 1 : bucket;
+    }
+
+    /**
+     * Records a invocation that started and ended at the
+     * given {@link System#nanoTime()} timestamps.
+     *
+     * @param startTime The start time
+     * @param endTime The end time
+     */
+    public void record(long startTime, long endTime) {
+        final long nanos = Math.max(0L, endTime - startTime);
+        this.lifetimeCount.increment();
+        this.lifetimeTotal.add(nanos);
+
+        final long epoch = endTime / SLOT_DURATION;
+        final int base = (int) Math.floorMod(epoch, (long) SLOTS) * SLOT_SIZE;
+        final long slotEpoch = this.data.get(base + EPOCH);
+        if (slotEpoch != epoch) {
+            if (slotEpoch > epoch) {
+                // Stale timestamp, the slot was already reused
+                return;
+            }
+            // The first thread that moves the slot to the new epoch clears it,
+            // values recorded concurrently during the switch may get lost which
+            // is acceptable for profiling purposes
+            if (this.data.compareAndSet(base + EPOCH, slotEpoch, epoch)) {
+                for (int i = COUNT; i < SLOT_SIZE; i++) {
+                    this.data.set(base + i, 0L);
+                }
+            }
+        }
+        this.data.incrementAndGet(base + COUNT);
+        this.data.addAndGet(base + TOTAL, nanos);
+        long max;
+        while (nanos > (max = this.data.get(base + MAX))) {
+            if (this.data.compareAndSet(base + MAX, max, nanos)) {
+                break;
+            }
+        }
+        this.data.incrementAndGet(base + FIRST_BUCKET + getBucket(nanos));
+    }
+
+    /**
+     * Creates a {@link TimingSnapshot} of the current rolling window.
+     *
+     * @return The snapshot
+     */
+    public TimingSnapshot createSnapshot() {
+        final long currentEpoch = System.nanoTime() / SLOT_DURATION;
+        long count = 0;
+        long total = 0;
+        long max = 0;
+        final long[] buckets = new long[BUCKETS];
+        for (int slot = 0; slot < SLOTS; slot++) {
+            final int base = slot * SLOT_SIZE;
+            final long epoch = this.data.get(base + EPOCH);
+            // Ignore slots that are no longer within the window
+            if (epoch == EMPTY_EPOCH || currentEpoch - epoch >= SLOTS) {
+                continue;
+            }
+            count += this.data.get(base + COUNT);
+            total += this.data.get(base + TOTAL);
+            max = Math.max(max, this.data.get(base + MAX));
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] += this.data.get(base + FIRST_BUCKET + i);
+            }
+        }
+        return new TimingSnapshot(this.plugin, this.type, this.name, count, total, max, buckets);
+    }
+
+    /**
+     * Resets all the data of this timing.
+     */
+    public void reset() {
+        for (int i = 0; i < SLOTS; i++) {
+            this.data.set(i * SLOT_SIZE + EPOCH, EMPTY_EPOCH);
+        }
+        this.lifetimeCount.reset();
+        this.lifetimeTotal.reset();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("plugin", this.plugin.getId())
+                .add("type", this.type.getId())
+                .add("name", this.name)
+                .add("lifetimeCount", getLifetimeCount())
+                .add("lifetimeTotal", getLifetimeTotal())
+                .toString();
+    }
+}
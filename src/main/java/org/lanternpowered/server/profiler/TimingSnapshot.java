@@ -0,0 +1,185 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * A immutable snapshot of the rolling window of a {@link Timing},
+ * or the aggregated timings of a plugin.
+ */
+public final class TimingSnapshot {
+
+    /**
+     * Merges the given {@link TimingSnapshot}s into a
+     * single snapshot for the given plugin.
+     *
+     * @param plugin The plugin
+     * @param snapshots The snapshots to merge
+     * @return The merged snapshot
+     */
+    public static TimingSnapshot merge(PluginContainer plugin, Collection<TimingSnapshot> snapshots) {
+        long count = 0;
+        long total = 0;
+        long max = 0;
+        final long[] buckets = new long[Timing.BUCKETS];
+        for (TimingSnapshot snapshot : snapshots) {
+            count += snapshot.count;
+            total += snapshot.total;
+            max = Math.max(max, snapshot.max);
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] += snapshot.buckets[i];
+            }
+        }
+        return new TimingSnapshot(plugin, null, plugin.getId(), count, total, max, buckets);
+    }
+
+    private final PluginContainer plugin;
+    @Nullable private final TimingType type;
+    private final String name;
+    private final long count;
+    private final long total;
+    private final long max;
+    private final long[] buckets;
+
+    TimingSnapshot(PluginContainer plugin, @Nullable TimingType type, String name,
+            long count, long total, long max, long[] buckets) {
+        this.plugin = plugin;
+        this.type = type;
+        this.name = name;
+        this.count = count;
+        this.total = total;
+        this.max = max;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Gets the {@link PluginContainer} of the timing.
+     *
+     * @return The plugin
+     */
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Gets the {@link TimingType} of the timing, will be
+     * empty if this snapshot represents a whole plugin.
+     *
+     * @return The timing type
+     */
+    public Optional<TimingType> getType() {
+        return Optional.ofNullable(this.type);
+    }
+
+    /**
+     * Gets the name of the timing.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the amount of invocations within the window.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the total time in nanoseconds within the window.
+     *
+     * @return The total time
+     */
+    public long getTotalTime() {
+        return this.total;
+    }
+
+    /**
+     * Gets the longest invocation time in nanoseconds within the window.
+     *
+     * @return The maximum time
+     */
+    public long getMaxTime() {
+        return this.max;
+    }
+
+    /**
+     * Gets the average invocation time in nanoseconds within the window.
+     *
+     * @return The average time
+     */
+    public long getAverageTime() {
+        return this.count == 0 ? 0 : this.total / this.count;
+    }
+
+    /**
+     * Gets a estimation of the invocation time at the given percentile in
+     * nanoseconds, this is the upper bound of the matching histogram bucket.
+     *
+     * @param percentile The percentile, between 0 and 1
+     * @return The estimated time
+     */
+    public long getPercentile(double percentile) {
+        checkArgument(percentile >= 0.0 && percentile <= 1.0, "percentile must be between 0 and 1");
+        if (this.count == 0) {
+            return 0;
+        }
+        final long target = (long) Math.ceil(this.count * percentile);
+        long seen = 0;
+        for (int i = 0; i < this.buckets.length - 1; i++) {
+            seen += this.buckets[i];
+            if (seen >= target) {
+                return Math.min(this.max, (1L << i) * 1000L);
+            }
+        }
+        return this.max;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("plugin", this.plugin.getId())
+                .add("type", this.type == null ? null : this.type.getId())
+                .add("name", this.name)
+                .add("count", this.count)
+                .add("total", this.total)
+                .add("max", this.max)
+                .toString();
+    }
+}
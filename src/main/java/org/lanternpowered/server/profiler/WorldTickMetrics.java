@@ -0,0 +1,118 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableMap;
+import org.lanternpowered.server.game.LanternGame;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tracks the durations of the phases of the ticks of a specific world. The
+ * metrics may only be updated by the thread that is ticking the world.
+ */
+public final class WorldTickMetrics implements WorldTickMetricsMXBean {
+
+    private final String worldName;
+    private final TickHistogram tickTimes = new TickHistogram(TickMetrics.WINDOW_SIZE);
+    private final TickHistogram[] phases = new TickHistogram[WorldTickPhase.values().length];
+    private volatile long overrunCount;
+
+    public WorldTickMetrics(String worldName) {
+        this.worldName = checkNotNull(worldName, "worldName");
+        for (int i = 0; i < this.phases.length; i++) {
+            this.phases[i] = new TickHistogram(TickMetrics.WINDOW_SIZE);
+        }
+    }
+
+    /**
+     * Ends the given {@link WorldTickPhase}.
+     *
+     * @param phase The phase
+     * @param startTime The {@link System#nanoTime()} at which the phase started
+     * @return The {@link System#nanoTime()} at which the phase ended
+     */
+    public long endPhase(WorldTickPhase phase, long startTime) {
+        final long time = System.nanoTime();
+        this.phases[phase.ordinal()].record(time - startTime);
+        return time;
+    }
+
+    /**
+     * Ends the current world tick.
+     *
+     * @param startTime The {@link System#nanoTime()} at which the tick started
+     */
+    public void endTick(long startTime) {
+        final long duration = System.nanoTime() - startTime;
+        this.tickTimes.record(duration);
+        if (duration > LanternGame.TICK_DURATION_NS) {
+            this.overrunCount++;
+        }
+    }
+
+    /**
+     * Creates a {@link WorldTickMetricsSnapshot}.
+     *
+     * @return The snapshot
+     */
+    public WorldTickMetricsSnapshot createSnapshot() {
+        final Map<WorldTickPhase, HistogramSnapshot> phases = new EnumMap<>(WorldTickPhase.class);
+        for (WorldTickPhase phase : WorldTickPhase.values()) {
+            phases.put(phase, this.phases[phase.ordinal()].createSnapshot());
+        }
+        return new WorldTickMetricsSnapshot(this.worldName, this.tickTimes.createSnapshot(),
+                ImmutableMap.copyOf(phases), this.overrunCount);
+    }
+
+    @Override
+    public String getWorldName() {
+        return this.worldName;
+    }
+
+    @Override
+    public double getAverageTickTime() {
+        return this.tickTimes.createSnapshot().getAverageTime() / 1000000.0;
+    }
+
+    @Override
+    public double getTickTime95thPercentile() {
+        return this.tickTimes.createSnapshot().getPercentile(0.95) / 1000000.0;
+    }
+
+    @Override
+    public double getMaxTickTime() {
+        return this.tickTimes.createSnapshot().getMaxTime() / 1000000.0;
+    }
+
+    @Override
+    public long getOverrunCount() {
+        return this.overrunCount;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A immutable snapshot of the {@link WorldTickMetrics}.
+ */
+public final class WorldTickMetricsSnapshot {
+
+    private final String worldName;
+    private final HistogramSnapshot tickTimes;
+    private final ImmutableMap<WorldTickPhase, HistogramSnapshot> phases;
+    private final long overrunCount;
+
+    WorldTickMetricsSnapshot(String worldName, HistogramSnapshot tickTimes,
+            ImmutableMap<WorldTickPhase, HistogramSnapshot> phases, long overrunCount) {
+        this.worldName = worldName;
+        this.tickTimes = tickTimes;
+        this.phases = phases;
+        this.overrunCount = overrunCount;
+    }
+
+    /**
+     * Gets the name of the world.
+     *
+     * @return The world name
+     */
+    public String getWorldName() {
+        return this.worldName;
+    }
+
+    /**
+     * Gets the durations of the complete world ticks.
+     *
+     * @return The tick times
+     */
+    public HistogramSnapshot getTickTimes() {
+        return this.tickTimes;
+    }
+
+    /**
+     * Gets the durations of the given {@link WorldTickPhase}.
+     *
+     * @param phase The phase
+     * @return The phase times
+     */
+    public HistogramSnapshot getPhaseTimes(WorldTickPhase phase) {
+        return this.phases.get(phase);
+    }
+
+    /**
+     * Gets the amount of world ticks that took longer than the tick duration.
+     *
+     * @return The overrun count
+     */
+    public long getOverrunCount() {
+        return this.overrunCount;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("worldName", this.worldName)
+                .add("tickTimes", this.tickTimes)
+                .add("overrunCount", this.overrunCount)
+                .toString();
+    }
+}
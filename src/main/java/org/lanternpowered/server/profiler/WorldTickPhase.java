@@ -0,0 +1,72 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+/**
+ * The phases of a world tick.
+ */
+public enum WorldTickPhase {
+    /**
+     * Pulsing the chunk manager, this includes unloading chunks.
+     */
+    CHUNK_MANAGER       ("chunk-manager"),
+    /**
+     * Updating the time and the weather.
+     */
+    TIME_AND_WEATHER    ("time-and-weather"),
+    /**
+     * Pulsing all the entities.
+     */
+    ENTITIES            ("entities"),
+    /**
+     * Pulsing all the tile entities of the loaded chunks.
+     */
+    TILE_ENTITIES       ("tile-entities"),
+    /**
+     * Streaming the observed chunks to the players.
+     */
+    OBSERVED_CHUNKS     ("observed-chunks"),
+    /**
+     * Updating the entity trackers.
+     */
+    ENTITY_TRACKERS     ("entity-trackers"),
+    ;
+
+    private final String id;
+
+    WorldTickPhase(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the identifier of the phase.
+     *
+     * @return The identifier
+     */
+    public String getId() {
+        return this.id;
+    }
+}
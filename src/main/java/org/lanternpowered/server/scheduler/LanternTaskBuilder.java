@@ -138,6 +138,7 @@ public Task submit(Object plugin) {
         }
         ScheduledTask task = new ScheduledTask(this.syncType, this.consumer, name, delay,
                 delayIsTicks, interval, intervalIsTicks, pluginContainer);
+        task.setTimingName(this.name == null ? this.consumer.getClass().getName() : this.name);
         this.scheduler.submit(task);
         return task;
     }
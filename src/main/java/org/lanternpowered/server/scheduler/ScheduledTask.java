@@ -26,6 +26,9 @@
 package org.lanternpowered.server.scheduler;
 
 import com.google.common.base.MoreObjects;
+import org.lanternpowered.server.profiler.LanternProfiler;
+import org.lanternpowered.server.profiler.Timing;
+import org.lanternpowered.server.profiler.TimingType;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Task;
 
@@ -33,6 +36,8 @@
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
@@ -50,6 +55,8 @@ public class ScheduledTask implements Task {
     private final String name;
     final TaskSynchronicity syncType;
     private final String stringRepresentation;
+    @Nullable private String timingName;
+    @Nullable private Timing timing;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -185,6 +192,30 @@ void setState(ScheduledTaskState state) {
         this.state = state;
     }
 
+    /**
+     * Sets the name that should be used for the {@link Timing} of
+     * this task, generated task names are unique for every task so
+     * they aren't suitable to group timings.
+     *
+     * @param timingName The timing name
+     */
+    void setTimingName(String timingName) {
+        this.timingName = timingName;
+    }
+
+    /**
+     * Gets the {@link Timing} of this task.
+     *
+     * @return The timing
+     */
+    Timing getTiming() {
+        if (this.timing == null) {
+            this.timing = LanternProfiler.INSTANCE.getTiming(this.owner, TimingType.SCHEDULED_TASK,
+                    this.timingName == null ? this.name : this.timingName);
+        }
+        return this.timing;
+    }
+
     @Override
     public String toString() {
         return this.stringRepresentation;
@@ -28,6 +28,7 @@
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.lanternpowered.server.game.Lantern;
+import org.lanternpowered.server.profiler.LanternProfiler;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Task;
 
@@ -175,12 +176,17 @@ protected void processTask(ScheduledTask task) {
     protected void startTask(final ScheduledTask task) {
         executeTaskRunnable(() -> {
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            final boolean timings = LanternProfiler.INSTANCE.isEnabled();
+            final long start = timings ? System.nanoTime() : 0L;
             try {
                 task.getConsumer().accept(task);
             } catch (Throwable t) {
                 Lantern.getLogger().error("The Scheduler tried to run the task {} owned by {}, but an error occurred.",
                         task.getName(), task.getOwner(), t);
             }
+            if (timings) {
+                task.getTiming().record(start, System.nanoTime());
+            }
         });
     }
 
@@ -30,7 +30,6 @@
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import org.lanternpowered.server.network.message.Message;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutScoreboardObjective;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutScoreboardScore;
 import org.lanternpowered.server.text.LanternTexts;
@@ -41,22 +40,19 @@
 import org.spongepowered.api.scoreboard.objective.displaymode.ObjectiveDisplayMode;
 import org.spongepowered.api.text.Text;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LanternObjective implements Objective {
 
     private final String name;
     private final Criterion criterion;
-    final Map<Text, Score> scores = new HashMap<>();
-    final Set<Scoreboard> scoreboards = new HashSet<>();
-    private ObjectiveDisplayMode displayMode;
-    private Text displayName;
-    private String legacyDisplayName;
+    final Map<Text, Score> scores = new ConcurrentHashMap<>();
+    final Set<Scoreboard> scoreboards = ConcurrentHashMap.newKeySet();
+    private volatile ObjectiveDisplayMode displayMode;
+    private volatile Text displayName;
+    private volatile String legacyDisplayName;
 
     LanternObjective(String name, Criterion criterion, ObjectiveDisplayMode displayMode, Text displayName) {
         this.legacyDisplayName = LanternTexts.toLegacy(displayName);
@@ -102,12 +98,9 @@ public void setDisplayName(Text displayName) throws IllegalArgumentException {
     }
 
     private void sendObjectiveUpdate() {
-        if (!this.scoreboards.isEmpty()) {
-            final List<Message> message = Collections.singletonList(new MessagePlayOutScoreboardObjective.Update(
-                    this.name, this.legacyDisplayName, this.displayMode));
-            for (Scoreboard scoreboard : this.scoreboards) {
-                ((LanternScoreboard) scoreboard).sendToPlayers(() -> message);
-            }
+        for (Scoreboard scoreboard : this.scoreboards) {
+            ((LanternScoreboard) scoreboard).sendToPlayers(LanternScoreboard.UpdateKey.objective(this.name),
+                    () -> new MessagePlayOutScoreboardObjective.Update(this.name, this.legacyDisplayName, this.displayMode));
         }
     }
 
@@ -152,12 +145,10 @@ public void addScore(Score score) throws IllegalArgumentException {
     }
 
     private void sendScoreToClient(Score score) {
-        if (!this.scoreboards.isEmpty()) {
-            List<Message> message = Collections.singletonList(new MessagePlayOutScoreboardScore.CreateOrUpdate(this.getName(),
-                    LanternTexts.toLegacy(score.getName()), score.getScore()));
-            for (Scoreboard scoreboard : this.scoreboards) {
-                ((LanternScoreboard) scoreboard).sendToPlayers(() -> message);
-            }
+        final String legacyName = ((LanternScore) score).getLegacyName();
+        for (Scoreboard scoreboard : this.scoreboards) {
+            ((LanternScoreboard) scoreboard).sendToPlayers(LanternScoreboard.UpdateKey.score(this.name, legacyName),
+                    () -> new MessagePlayOutScoreboardScore.CreateOrUpdate(this.name, legacyName, score.getScore()));
         }
     }
 
@@ -182,11 +173,10 @@ public boolean removeScore(Score score) {
     }
 
     private void updateClientAfterRemove(Score score) {
-        final Map<Objective, Message> messages = new HashMap<>();
+        final String legacyName = ((LanternScore) score).getLegacyName();
         for (Scoreboard scoreboard : this.scoreboards) {
-            ((LanternScoreboard) scoreboard).sendToPlayers(() -> Collections.singletonList(
-                    messages.computeIfAbsent(this, obj -> new MessagePlayOutScoreboardScore.Remove(
-                            this.getName(), ((LanternScore) score).getLegacyName()))));
+            ((LanternScoreboard) scoreboard).sendToPlayers(LanternScoreboard.UpdateKey.score(this.name, legacyName),
+                    () -> new MessagePlayOutScoreboardScore.Remove(this.name, legacyName));
         }
     }
 
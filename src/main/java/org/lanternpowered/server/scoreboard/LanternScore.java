@@ -28,7 +28,6 @@
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
-import org.lanternpowered.server.network.message.Message;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutScoreboardScore;
 import org.lanternpowered.server.text.LanternTexts;
 import org.spongepowered.api.scoreboard.Score;
@@ -36,18 +35,16 @@
 import org.spongepowered.api.scoreboard.objective.Objective;
 import org.spongepowered.api.text.Text;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class LanternScore implements Score {
 
-    private final Set<Objective> objectives = new HashSet<>();
+    private final Set<Objective> objectives = ConcurrentHashMap.newKeySet();
     private final Text name;
     private final String legacyName;
-    private int score;
+    private volatile int score;
 
     public LanternScore(Text name) {
         this.legacyName = LanternTexts.toLegacy(name);
@@ -70,23 +67,23 @@ public int getScore() {
 
     @Override
     public void setScore(int score) {
-        if (this.score == score) {
-            return;
+        synchronized (this) {
+            if (this.score == score) {
+                return;
+            }
+            this.score = score;
         }
-        this.score = score;
         final Multimap<Scoreboard, Objective> scoreboards = HashMultimap.create();
         for (Objective objective : this.objectives) {
             for (Scoreboard scoreboard : ((LanternObjective) objective).scoreboards) {
                 scoreboards.put(scoreboard, objective);
             }
         }
-        if (!scoreboards.isEmpty()) {
-            final Map<Objective, Message> messages = new HashMap<>();
-            for (Map.Entry<Scoreboard, Objective> entry : scoreboards.entries()) {
-                ((LanternScoreboard) entry.getKey()).sendToPlayers(() -> Collections.singletonList(
-                        messages.computeIfAbsent(entry.getValue(), obj -> new MessagePlayOutScoreboardScore.CreateOrUpdate(
-                                obj.getName(), this.legacyName, score))));
-            }
+        for (Map.Entry<Scoreboard, Objective> entry : scoreboards.entries()) {
+            final String objectiveName = entry.getValue().getName();
+            // Use the current score, a concurrent update may have been queued before this one
+            ((LanternScoreboard) entry.getKey()).sendToPlayers(LanternScoreboard.UpdateKey.score(objectiveName, this.legacyName),
+                    () -> new MessagePlayOutScoreboardScore.CreateOrUpdate(objectiveName, this.legacyName, this.score));
         }
     }
 
@@ -30,9 +30,11 @@
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import org.lanternpowered.server.entity.living.player.LanternPlayer;
 import org.lanternpowered.server.network.message.Message;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutScoreboardDisplayObjective;
@@ -49,53 +51,137 @@
 import org.spongepowered.api.text.Text;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
 public class LanternScoreboard implements Scoreboard {
 
-    private final Set<LanternPlayer> players = new HashSet<>();
-    private final Map<String, Objective> objectives = new HashMap<>();
-    private final Multimap<Criterion, Objective> objectivesByCriterion = HashMultimap.create();
-    private final Map<DisplaySlot, Objective> objectivesInSlot = new HashMap<>();
-    private final Map<String, Team> teams = new HashMap<>();
+    // All the scoreboards that have pending changes
+    private static final Set<LanternScoreboard> dirtyScoreboards = ConcurrentHashMap.newKeySet();
 
+    /**
+     * Sends the pending changes of all the {@link LanternScoreboard}s
+     * to their players, this should be called once every tick.
+     */
+    public static void flushAll() {
+        final Iterator<LanternScoreboard> it = dirtyScoreboards.iterator();
+        while (it.hasNext()) {
+            final LanternScoreboard scoreboard = it.next();
+            it.remove();
+            scoreboard.flush();
+        }
+    }
+
+    private final Set<LanternPlayer> players = ConcurrentHashMap.newKeySet();
+    private final Map<String, Objective> objectives = new ConcurrentHashMap<>();
+    private final Multimap<Criterion, Objective> objectivesByCriterion = Multimaps.synchronizedSetMultimap(HashMultimap.create());
+    private final Map<DisplaySlot, Objective> objectivesInSlot = new ConcurrentHashMap<>();
+    private final Map<String, Team> teams = new ConcurrentHashMap<>();
+
+    // The changes since the last flush, a change with the same key
+    // as a pending change will replace that change
+    private final Map<Object, Message> pendingMessages = new LinkedHashMap<>();
+
+    /**
+     * Queues the messages, they will be send to all the
+     * players of this scoreboard during the next flush.
+     *
+     * @param messageSupplier The message supplier
+     */
     void sendToPlayers(Supplier<List<Message>> messageSupplier) {
-        if (!this.players.isEmpty()) {
-            final List<Message> messages = messageSupplier.get();
+        synchronized (this.pendingMessages) {
+            if (this.players.isEmpty()) {
+                return;
+            }
+            for (Message message : messageSupplier.get()) {
+                this.pendingMessages.put(new Object(), message);
+            }
+        }
+        dirtyScoreboards.add(this);
+    }
+
+    /**
+     * Queues the message for the given {@link UpdateKey}, a pending message
+     * with the same key will be discarded because it will be overwritten
+     * by the new message.
+     *
+     * @param key The update key
+     * @param messageSupplier The message supplier
+     */
+    void sendToPlayers(UpdateKey key, Supplier<Message> messageSupplier) {
+        synchronized (this.pendingMessages) {
+            if (this.players.isEmpty()) {
+                return;
+            }
+            // Remove the old entry first, the new message has to be
+            // send after all the changes that were queued before it
+            this.pendingMessages.remove(key);
+            this.pendingMessages.put(key, messageSupplier.get());
+        }
+        dirtyScoreboards.add(this);
+    }
+
+    /**
+     * Sends all the pending messages to the players. The same
+     * message instances are shared between all the players.
+     */
+    void flush() {
+        synchronized (this.pendingMessages) {
+            if (this.pendingMessages.isEmpty()) {
+                return;
+            }
+            final List<Message> messages = new ArrayList<>(this.pendingMessages.values());
+            this.pendingMessages.clear();
             this.players.forEach(player -> player.getConnection().send(messages));
         }
     }
 
     public void removePlayer(LanternPlayer player) {
-        this.players.remove(player);
-        for (Objective objective : this.objectives.values()) {
-            player.getConnection().send(new MessagePlayOutScoreboardObjective.Remove(objective.getName()));
-        }
-        for (Team team : this.teams.values()) {
-            player.getConnection().send(new MessagePlayOutTeams.Remove(team.getName()));
+        synchronized (this.pendingMessages) {
+            // The player should receive the pending changes before the removal
+            flush();
+            if (!this.players.remove(player)) {
+                return;
+            }
+            final List<Message> messages = new ArrayList<>();
+            for (Objective objective : this.objectives.values()) {
+                messages.add(new MessagePlayOutScoreboardObjective.Remove(objective.getName()));
+            }
+            for (Team team : this.teams.values()) {
+                messages.add(new MessagePlayOutTeams.Remove(team.getName()));
+            }
+            player.getConnection().send(messages);
         }
     }
 
     public void addPlayer(LanternPlayer player) {
-        this.players.add(player);
-        for (Objective objective : this.objectives.values()) {
-            player.getConnection().send(this.createObjectiveInitMessages(objective));
-        }
-        for (Map.Entry<DisplaySlot, Objective> entry : this.objectivesInSlot.entrySet()) {
-            player.getConnection().send(new MessagePlayOutScoreboardDisplayObjective(entry.getValue().getName(), entry.getKey()));
-        }
-        for (Team team : this.teams.values()) {
-            player.getConnection().send(((LanternTeam) team).toCreateOrUpdateMessage(true));
+        synchronized (this.pendingMessages) {
+            // Send the pending changes to the other players, the new
+            // player will receive the current state of the scoreboard
+            flush();
+            if (!this.players.add(player)) {
+                return;
+            }
+            final List<Message> messages = new ArrayList<>();
+            for (Objective objective : this.objectives.values()) {
+                messages.addAll(this.createObjectiveInitMessages(objective));
+            }
+            for (Map.Entry<DisplaySlot, Objective> entry : this.objectivesInSlot.entrySet()) {
+                messages.add(new MessagePlayOutScoreboardDisplayObjective(entry.getValue().getName(), entry.getKey()));
+            }
+            for (Team team : this.teams.values()) {
+                messages.add(((LanternTeam) team).toCreateOrUpdateMessage(true));
+            }
+            player.getConnection().send(messages);
         }
     }
 
@@ -143,23 +229,26 @@ public void updateDisplaySlot(@Nullable Objective objective, DisplaySlot display
             final Objective oldObjective = this.objectivesInSlot.remove(displaySlot);
             if (oldObjective != null) {
                 // Clear the display slot on the client
-                this.sendToPlayers(() -> Collections.singletonList(
-                        new MessagePlayOutScoreboardDisplayObjective(null, displaySlot)));
+                this.sendToPlayers(UpdateKey.displaySlot(displaySlot),
+                        () -> new MessagePlayOutScoreboardDisplayObjective(null, displaySlot));
             }
         } else {
             checkState(this.objectives.containsValue(objective),
                     "The specified objective does not exist in this scoreboard.");
             if (this.objectivesInSlot.put(displaySlot, objective) != objective) {
                 // Update the displayed objective on the client
-                this.sendToPlayers(() -> Collections.singletonList(
-                        new MessagePlayOutScoreboardDisplayObjective(objective.getName(), displaySlot)));
+                this.sendToPlayers(UpdateKey.displaySlot(displaySlot),
+                        () -> new MessagePlayOutScoreboardDisplayObjective(objective.getName(), displaySlot));
             }
         }
     }
 
     @Override
     public Set<Objective> getObjectivesByCriteria(Criterion criteria) {
-        return ImmutableSet.copyOf(this.objectivesByCriterion.get(checkNotNull(criteria, "criteria")));
+        checkNotNull(criteria, "criteria");
+        synchronized (this.objectivesByCriterion) {
+            return ImmutableSet.copyOf(this.objectivesByCriterion.get(criteria));
+        }
     }
 
     @Override
@@ -179,7 +268,7 @@ public void removeObjective(Objective objective) {
                     it.remove();
                 }
             }
-            this.sendToPlayers(() -> Collections.singletonList(new MessagePlayOutScoreboardObjective.Remove(objective.getName())));
+            this.sendToPlayers(() -> ImmutableList.of(new MessagePlayOutScoreboardObjective.Remove(objective.getName())));
         }
     }
 
@@ -223,7 +312,7 @@ public void registerTeam(Team team) throws IllegalArgumentException {
         checkArgument(!team.getScoreboard().isPresent(), "The team is already attached to a scoreboard.");
         this.teams.put(team.getName(), team);
         ((LanternTeam) team).setScoreboard(this);
-        this.sendToPlayers(() -> Collections.singletonList(((LanternTeam) team).toCreateOrUpdateMessage(true)));
+        this.sendToPlayers(() -> ImmutableList.of(((LanternTeam) team).toCreateOrUpdateMessage(true)));
     }
 
     @Override
@@ -245,4 +334,54 @@ public Optional<Team> getMemberTeam(Text member) {
     void removeTeam(Team team) {
         this.teams.remove(team.getName());
     }
+
+    /**
+     * The key of a change that replaces all the
+     * previous changes with the same key.
+     */
+    static final class UpdateKey {
+
+        static UpdateKey score(String objective, String score) {
+            return new UpdateKey(0, objective, score);
+        }
+
+        static UpdateKey objective(String objective) {
+            return new UpdateKey(1, objective, null);
+        }
+
+        static UpdateKey team(String team) {
+            return new UpdateKey(2, team, null);
+        }
+
+        static UpdateKey displaySlot(DisplaySlot displaySlot) {
+            return new UpdateKey(3, displaySlot, null);
+        }
+
+        private final int type;
+        private final Object target;
+        @Nullable private final Object subTarget;
+
+        private UpdateKey(int type, Object target, @Nullable Object subTarget) {
+            this.subTarget = subTarget;
+            this.target = target;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof UpdateKey)) {
+                return false;
+            }
+            final UpdateKey other = (UpdateKey) obj;
+            return this.type == other.type && this.target.equals(other.target) && Objects.equals(this.subTarget, other.subTarget);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.type, this.target, this.subTarget);
+        }
+    }
 }
@@ -29,7 +29,6 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Sets;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutTeams;
 import org.lanternpowered.server.text.LanternTexts;
 import org.spongepowered.api.scoreboard.CollisionRule;
@@ -45,6 +44,7 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -52,20 +52,22 @@
 public class LanternTeam implements Team {
 
     private final String name;
-    @Nullable private LanternScoreboard scoreboard;
-    final Set<Text> members = Sets.newHashSet();
-    private TextColor color;
-    private Text prefix;
-    private String legacyPrefix;
-    private Text suffix;
-    private String legacySuffix;
-    private Text displayName;
-    private String legacyDisplayName;
-    private boolean allowFriendlyFire;
-    private boolean canSeeFriendlyInvisibles;
-    private Visibility nameTagVisibility;
-    private Visibility deathMessageVisibility;
-    private CollisionRule collisionRule;
+    @Nullable private volatile LanternScoreboard scoreboard;
+    final Set<Text> members = ConcurrentHashMap.newKeySet();
+    // The properties may be read from any thread, mutations
+    // are guarded by this team
+    private volatile TextColor color;
+    private volatile Text prefix;
+    private volatile String legacyPrefix;
+    private volatile Text suffix;
+    private volatile String legacySuffix;
+    private volatile Text displayName;
+    private volatile String legacyDisplayName;
+    private volatile boolean allowFriendlyFire;
+    private volatile boolean canSeeFriendlyInvisibles;
+    private volatile Visibility nameTagVisibility;
+    private volatile Visibility deathMessageVisibility;
+    private volatile CollisionRule collisionRule;
 
     LanternTeam(String name, TextColor color, Text displayName, Text prefix, Text suffix,
                 boolean allowFriendlyFire, boolean canSeeFriendlyInvisibles, Visibility nameTagVisibility,
@@ -89,7 +91,7 @@ void setScoreboard(@Nullable LanternScoreboard scoreboard) {
         this.scoreboard = scoreboard;
     }
 
-    MessagePlayOutTeams.CreateOrUpdate toCreateOrUpdateMessage(boolean create) {
+    synchronized MessagePlayOutTeams.CreateOrUpdate toCreateOrUpdateMessage(boolean create) {
         return create ?
                 new MessagePlayOutTeams.Create(this.name, this.legacyDisplayName,
                         this.legacyPrefix, this.legacySuffix, this.nameTagVisibility,
@@ -100,9 +102,15 @@ MessagePlayOutTeams.CreateOrUpdate toCreateOrUpdateMessage(boolean create) {
                         this.collisionRule, this.color, this.allowFriendlyFire, this.canSeeFriendlyInvisibles);
     }
 
+    /**
+     * Queues a update of this team. This may not be called while holding the
+     * lock of this team, the message is created while holding the lock of the
+     * journal so that the last queued update always contains the latest state.
+     */
     private void sendUpdate() {
-        if (this.scoreboard != null) {
-            this.scoreboard.sendToPlayers(() -> Collections.singletonList(this.toCreateOrUpdateMessage(false)));
+        final LanternScoreboard scoreboard = this.scoreboard;
+        if (scoreboard != null) {
+            scoreboard.sendToPlayers(LanternScoreboard.UpdateKey.team(this.name), () -> this.toCreateOrUpdateMessage(false));
         }
     }
 
@@ -113,8 +121,12 @@ public CollisionRule getCollisionRule() {
 
     @Override
     public void setCollisionRule(CollisionRule rule) {
-        final boolean update = !checkNotNull(rule, "rule").equals(this.collisionRule);
-        this.collisionRule = rule;
+        checkNotNull(rule, "rule");
+        final boolean update;
+        synchronized (this) {
+            update = !rule.equals(this.collisionRule);
+            this.collisionRule = rule;
+        }
         if (update) {
             this.sendUpdate();
         }
@@ -139,9 +151,12 @@ public void setDisplayName(Text displayName) throws IllegalArgumentException {
         final String legacyDisplayName = LanternTexts.toLegacy(checkNotNull(displayName, "displayName"));
         checkArgument(legacyDisplayName.length() <= 32, "Display name is %s characters long! It must be at most 32.",
                 legacyDisplayName.length());
-        final boolean update = !this.legacyDisplayName.equals(legacyDisplayName);
-        this.legacyDisplayName = legacyDisplayName;
-        this.displayName = displayName;
+        final boolean update;
+        synchronized (this) {
+            update = !this.legacyDisplayName.equals(legacyDisplayName);
+            this.legacyDisplayName = legacyDisplayName;
+            this.displayName = displayName;
+        }
         if (update) {
             this.sendUpdate();
         }
@@ -154,8 +169,12 @@ public TextColor getColor() {
 
     @Override
     public void setColor(TextColor color) throws IllegalArgumentException {
-        final boolean update = !this.color.equals(checkNotNull(color, "color"));
-        this.color = color;
+        checkNotNull(color, "color");
+        final boolean update;
+        synchronized (this) {
+            update = !this.color.equals(color);
+            this.color = color;
+        }
         if (update) {
             this.sendUpdate();
         }
@@ -175,9 +194,12 @@ public void setPrefix(Text prefix) throws IllegalArgumentException {
         final String legacyPrefix = LanternTexts.toLegacy(checkNotNull(prefix, "prefix"));
         checkArgument(legacyPrefix.length() <= 16, "Prefix is %s characters long! It must be at most 16.",
                 legacyPrefix.length());
-        final boolean update = !this.legacyPrefix.equals(legacyPrefix);
-        this.legacyPrefix = legacyPrefix;
-        this.prefix = prefix;
+        final boolean update;
+        synchronized (this) {
+            update = !this.legacyPrefix.equals(legacyPrefix);
+            this.legacyPrefix = legacyPrefix;
+            this.prefix = prefix;
+        }
         if (update) {
             this.sendUpdate();
         }
@@ -197,9 +219,12 @@ public void setSuffix(Text suffix) throws IllegalArgumentException {
         final String legacySuffix = LanternTexts.toLegacy(checkNotNull(suffix, "suffix"));
         checkArgument(legacySuffix.length() <= 16, "Suffix is %s characters long! It must be at most 16.",
                 legacySuffix.length());
-        final boolean update = !this.legacySuffix.equals(legacySuffix);
-        this.legacySuffix = legacySuffix;
-        this.suffix = suffix;
+        final boolean update;
+        synchronized (this) {
+            update = !this.legacySuffix.equals(legacySuffix);
+            this.legacySuffix = legacySuffix;
+            this.suffix = suffix;
+        }
         if (update) {
             this.sendUpdate();
         }
@@ -212,8 +237,11 @@ public boolean allowFriendlyFire() {
 
     @Override
     public void setAllowFriendlyFire(boolean enabled) {
-        final boolean update = enabled != this.allowFriendlyFire;
-        this.allowFriendlyFire = enabled;
+        final boolean update;
+        synchronized (this) {
+            update = enabled != this.allowFriendlyFire;
+            this.allowFriendlyFire = enabled;
+        }
         if (update) {
             this.sendUpdate();
         }
@@ -226,8 +254,11 @@ public boolean canSeeFriendlyInvisibles() {
 
     @Override
     public void setCanSeeFriendlyInvisibles(boolean enabled) {
-        final boolean update = enabled != this.canSeeFriendlyInvisibles;
-        this.canSeeFriendlyInvisibles = enabled;
+        final boolean update;
+        synchronized (this) {
+            update = enabled != this.canSeeFriendlyInvisibles;
+            this.canSeeFriendlyInvisibles = enabled;
+        }
         if (update) {
             this.sendUpdate();
         }
@@ -240,8 +271,12 @@ public Visibility getNameTagVisibility() {
 
     @Override
     public void setNameTagVisibility(Visibility visibility) {
-        final boolean update = !checkNotNull(visibility, "visibility").equals(this.nameTagVisibility);
-        this.nameTagVisibility = visibility;
+        checkNotNull(visibility, "visibility");
+        final boolean update;
+        synchronized (this) {
+            update = !visibility.equals(this.nameTagVisibility);
+            this.nameTagVisibility = visibility;
+        }
         if (update) {
             this.sendUpdate();
         }
@@ -254,8 +289,12 @@ public Visibility getDeathMessageVisibility() {
 
     @Override
     public void setDeathMessageVisibility(Visibility visibility) {
-        final boolean update = !checkNotNull(visibility, "visibility").equals(this.deathMessageVisibility);
-        this.deathMessageVisibility = visibility;
+        checkNotNull(visibility, "visibility");
+        final boolean update;
+        synchronized (this) {
+            update = !visibility.equals(this.deathMessageVisibility);
+            this.deathMessageVisibility = visibility;
+        }
         if (update) {
             this.sendUpdate();
         }
@@ -268,8 +307,9 @@ public Set<Text> getMembers() {
 
     @Override
     public void addMember(Text member) {
-        if (this.members.add(checkNotNull(member, "member")) && this.scoreboard != null) {
-            this.scoreboard.sendToPlayers(() -> Collections.singletonList(
+        final LanternScoreboard scoreboard = this.scoreboard;
+        if (this.members.add(checkNotNull(member, "member")) && scoreboard != null) {
+            scoreboard.sendToPlayers(() -> Collections.singletonList(
                     new MessagePlayOutTeams.AddPlayers(this.name, Collections.singletonList(LanternTexts.toLegacy(member)))));
         }
     }
@@ -277,8 +317,9 @@ public void addMember(Text member) {
     @Override
     public boolean removeMember(Text member) {
         if (this.members.remove(checkNotNull(member, "member"))) {
-            if (this.scoreboard != null) {
-                this.scoreboard.sendToPlayers(() -> Collections.singletonList(
+            final LanternScoreboard scoreboard = this.scoreboard;
+            if (scoreboard != null) {
+                scoreboard.sendToPlayers(() -> Collections.singletonList(
                         new MessagePlayOutTeams.RemovePlayers(this.name, Collections.singletonList(LanternTexts.toLegacy(member)))));
             }
             return true;
@@ -297,8 +338,9 @@ public List<Text> addMembers(Collection<Text> members) {
                 failedMembers.add(member);
             }
         }
-        if (this.scoreboard != null) {
-            this.scoreboard.sendToPlayers(() -> Collections.singletonList(
+        final LanternScoreboard scoreboard = this.scoreboard;
+        if (scoreboard != null) {
+            scoreboard.sendToPlayers(() -> Collections.singletonList(
                     new MessagePlayOutTeams.AddPlayers(this.name, addedPlayers)));
         }
         return failedMembers;
@@ -318,8 +360,9 @@ public List<Text> removeMembers(Collection<Text> members) {
                 failedMembers.add(member);
             }
         }
-        if (this.scoreboard != null) {
-            this.scoreboard.sendToPlayers(() -> Collections.singletonList(
+        final LanternScoreboard scoreboard = this.scoreboard;
+        if (scoreboard != null) {
+            scoreboard.sendToPlayers(() -> Collections.singletonList(
                     new MessagePlayOutTeams.RemovePlayers(this.name, removedPlayers)));
         }
         return failedMembers;
@@ -332,11 +375,12 @@ public Optional<Scoreboard> getScoreboard() {
 
     @Override
     public boolean unregister() {
-        if (this.scoreboard == null) {
+        final LanternScoreboard scoreboard = this.scoreboard;
+        if (scoreboard == null) {
             return false;
         }
-        this.scoreboard.removeTeam(this);
-        this.scoreboard.sendToPlayers(() -> Collections.singletonList(new MessagePlayOutTeams.Remove(this.name)));
+        scoreboard.removeTeam(this);
+        scoreboard.sendToPlayers(() -> Collections.singletonList(new MessagePlayOutTeams.Remove(this.name)));
         this.scoreboard = null;
         return true;
     }
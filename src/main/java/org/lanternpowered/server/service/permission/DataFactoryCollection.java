@@ -29,13 +29,14 @@
 
 import org.lanternpowered.server.service.permission.base.LanternSubject;
 import org.lanternpowered.server.service.permission.base.LanternSubjectCollection;
+import org.lanternpowered.server.service.permission.base.PermissionTrie;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectCollection;
-import org.spongepowered.api.util.Tristate;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -106,15 +107,15 @@ public MemorySubjectData getSubjectData() {
         }
 
         @Override
-        public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-            Tristate ret = super.getPermissionValue(contexts, permission);
-            if (ret == Tristate.UNDEFINED) {
-                ret = getDataPermissionValue(DataFactoryCollection.this.getDefaults().getTransientSubjectData(), permission);
-            }
-            if (ret == Tristate.UNDEFINED) {
-                ret = this.getDataPermissionValue(DataFactoryCollection.this.service.getDefaults().getTransientSubjectData(), permission);
-            }
-            return ret;
+        protected LanternPermissionService getService() {
+            return DataFactoryCollection.this.service;
+        }
+
+        @Override
+        protected void collectPermissions(Set<Context> contexts, List<PermissionTrie> tries) {
+            super.collectPermissions(contexts, tries);
+            this.collectDataPermissions(DataFactoryCollection.this.getDefaults().getTransientSubjectData(), contexts, tries);
+            this.collectDataPermissions(DataFactoryCollection.this.service.getDefaults().getTransientSubjectData(), contexts, tries);
         }
 
         @Override
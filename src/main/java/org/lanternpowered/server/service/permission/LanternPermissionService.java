@@ -29,6 +29,7 @@
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 import org.lanternpowered.server.console.LanternConsoleSource;
 import org.lanternpowered.server.network.rcon.RconServer;
@@ -41,20 +42,27 @@
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.context.ContextCalculator;
 import org.spongepowered.api.service.permission.PermissionDescription;
 import org.spongepowered.api.service.permission.PermissionDescription.Builder;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectCollection;
+import org.spongepowered.api.service.permission.SubjectData;
 import org.spongepowered.api.service.rcon.RconService;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import javax.annotation.Nullable;
@@ -75,6 +83,13 @@ public class LanternPermissionService implements PermissionService {
     private final ConcurrentMap<String, SubjectCollection> subjects = new ConcurrentHashMap<>();
     private final LanternSubjectCollection defaultCollection;
     private final LanternSubject defaultData;
+    private final List<ContextCalculator<Subject>> contextCalculators = new CopyOnWriteArrayList<>();
+
+    /**
+     * The generation of the permissions, is increased every time that
+     * the permissions or parents of a subject are modified.
+     */
+    private final AtomicLong permissionGeneration = new AtomicLong();
 
     @Inject
     public LanternPermissionService(Game game) {
@@ -123,8 +138,45 @@ public LanternSubject getDefaults() {
         return this.defaultData;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public void registerContextCalculator(ContextCalculator calculator) {
+        this.contextCalculators.add(checkNotNull(calculator, "calculator"));
+    }
+
+    /**
+     * Gets the active {@link Context}s for the given {@link Subject}
+     * based on the registered {@link ContextCalculator}s.
+     *
+     * @param subject The subject
+     * @return The active contexts
+     */
+    public Set<Context> getActiveContexts(Subject subject) {
+        if (this.contextCalculators.isEmpty()) {
+            return SubjectData.GLOBAL_CONTEXT;
+        }
+        final Set<Context> contexts = new HashSet<>();
+        for (ContextCalculator<Subject> calculator : this.contextCalculators) {
+            calculator.accumulateContexts(subject, contexts);
+        }
+        return ImmutableSet.copyOf(contexts);
+    }
+
+    /**
+     * Gets the current generation of the permissions.
+     *
+     * @return The permission generation
+     */
+    public long getPermissionGeneration() {
+        return this.permissionGeneration.get();
+    }
+
+    /**
+     * Invalidates all the resolved permissions of the subjects
+     * within this service.
+     */
+    public void invalidatePermissions() {
+        this.permissionGeneration.incrementAndGet();
     }
 
     @Override
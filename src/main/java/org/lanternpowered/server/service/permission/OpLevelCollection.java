@@ -106,6 +106,11 @@ public int getOpLevel() {
             return this.level;
         }
 
+        @Override
+        protected LanternPermissionService getService() {
+            return this.service;
+        }
+
         @Override
         public String getIdentifier() {
             return "op_" + this.level;
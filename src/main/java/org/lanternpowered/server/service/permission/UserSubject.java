@@ -31,6 +31,7 @@
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.profile.LanternGameProfile;
 import org.lanternpowered.server.service.permission.base.LanternSubject;
+import org.lanternpowered.server.service.permission.base.PermissionTrie;
 import org.lanternpowered.server.service.permission.base.SingleParentMemorySubjectData;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.profile.GameProfile;
@@ -40,6 +41,7 @@
 import org.spongepowered.api.service.permission.SubjectCollection;
 import org.spongepowered.api.util.Tristate;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -53,6 +55,7 @@ public class UserSubject extends LanternSubject {
     private final GameProfile player;
     private final MemorySubjectData data;
     private final UserCollection collection;
+    private volatile int compiledOpLevel = -1;
 
     public UserSubject(final GameProfile player, final UserCollection users) {
         this.player = checkNotNull(player, "player");
@@ -112,16 +115,34 @@ public MemorySubjectData getSubjectData() {
         return this.data;
     }
 
+    @Override
+    protected LanternPermissionService getService() {
+        return this.collection.getService();
+    }
+
+    @Override
+    public PermissionTrie getCompiledPermissions(Set<Context> contexts) {
+        // The parent depends on the op level, which can be modified
+        // directly through the ops config
+        final int opLevel = this.getOpLevel();
+        if (opLevel != this.compiledOpLevel) {
+            this.invalidateCompiledPermissions();
+            this.compiledOpLevel = opLevel;
+        }
+        return super.getCompiledPermissions(contexts);
+    }
+
+    @Override
+    protected void collectPermissions(Set<Context> contexts, List<PermissionTrie> tries) {
+        super.collectPermissions(contexts, tries);
+        this.collectDataPermissions(this.collection.getDefaults().getSubjectData(), contexts, tries);
+        this.collectDataPermissions(this.collection.getService().getDefaults().getSubjectData(), contexts, tries);
+    }
+
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
         Tristate ret = super.getPermissionValue(contexts, permission);
-        if (ret == Tristate.UNDEFINED) {
-            ret = this.getDataPermissionValue(this.collection.getDefaults().getSubjectData(), permission);
-        }
-        if (ret == Tristate.UNDEFINED) {
-            ret = this.getDataPermissionValue(this.collection.getService().getDefaults().getSubjectData(), permission);
-        }
-        if (ret == Tristate.UNDEFINED && this.getOpLevel() >= Lantern.getGame().getGlobalConfig().getDefaultOpPermissionLevel()) {
+        if (ret == Tristate.UNDEFINED && this.compiledOpLevel >= Lantern.getGame().getGlobalConfig().getDefaultOpPermissionLevel()) {
             ret = Tristate.TRUE;
         }
         return ret;
@@ -26,6 +26,7 @@
 package org.lanternpowered.server.service.permission.base;
 
 import com.google.common.collect.ImmutableMap;
+import org.lanternpowered.server.service.permission.LanternPermissionService;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.PermissionService;
@@ -38,6 +39,8 @@
 
 public class GlobalMemorySubjectData extends MemorySubjectData {
 
+    private final PermissionService service;
+
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
      *
@@ -45,6 +48,24 @@ public class GlobalMemorySubjectData extends MemorySubjectData {
      */
     public GlobalMemorySubjectData(PermissionService service) {
         super(service);
+        this.service = service;
+    }
+
+    /**
+     * Is called when the permissions or parents of this
+     * subject data were modified.
+     */
+    protected void onPermissionsChanged() {
+        if (this.service instanceof LanternPermissionService) {
+            ((LanternPermissionService) this.service).invalidatePermissions();
+        }
+    }
+
+    private boolean onPermissionsChanged(boolean result) {
+        if (result) {
+            this.onPermissionsChanged();
+        }
+        return result;
     }
 
     @Override
@@ -57,7 +78,7 @@ public boolean setPermission(Set<Context> contexts, String permission, Tristate
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.setPermission(contexts, permission, value);
+        return this.onPermissionsChanged(super.setPermission(contexts, permission, value));
     }
 
     @Override
@@ -65,7 +86,7 @@ public boolean clearPermissions(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearPermissions(contexts);
+        return this.onPermissionsChanged(super.clearPermissions(contexts));
     }
 
     @Override
@@ -73,7 +94,7 @@ public boolean addParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.addParent(contexts, parent);
+        return this.onPermissionsChanged(super.addParent(contexts, parent));
     }
 
     @Override
@@ -81,7 +102,7 @@ public boolean removeParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.removeParent(contexts, parent);
+        return this.onPermissionsChanged(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -89,6 +110,16 @@ public boolean clearParents(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearParents(contexts);
+        return this.onPermissionsChanged(super.clearParents(contexts));
+    }
+
+    @Override
+    public boolean clearPermissions() {
+        return this.onPermissionsChanged(super.clearPermissions());
+    }
+
+    @Override
+    public boolean clearParents() {
+        return this.onPermissionsChanged(super.clearParents());
     }
 }
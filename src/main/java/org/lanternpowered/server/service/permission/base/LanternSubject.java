@@ -25,18 +25,37 @@
  */
 package org.lanternpowered.server.service.permission.base;
 
+import com.google.common.collect.ImmutableSet;
+import org.lanternpowered.server.service.permission.LanternPermissionService;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectData;
 import org.spongepowered.api.util.Tristate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public abstract class LanternSubject implements Subject {
 
+    /**
+     * The resolved permissions of this subject, flattened across all the
+     * parents and defaults, per context set.
+     */
+    private final ConcurrentMap<Set<Context>, CompiledPermissions> compiledPermissions = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the {@link LanternPermissionService} this subject belongs to.
+     *
+     * @return The permission service
+     */
+    protected abstract LanternPermissionService getService();
+
     @Override
     public MemorySubjectData getTransientSubjectData() {
         return this.getSubjectData();
@@ -52,22 +71,84 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        return this.getDataPermissionValue(this.getSubjectData(), permission);
+        return this.getCompiledPermissions(contexts).get(permission);
     }
 
-    protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
-        Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+    /**
+     * Gets the {@link PermissionTrie} with all the resolved permissions of
+     * this subject for the given contexts. The trie will be rebuilt once
+     * the permissions of any subject within the service are modified.
+     *
+     * @param contexts The contexts
+     * @return The permission trie
+     */
+    public PermissionTrie getCompiledPermissions(Set<Context> contexts) {
+        final long generation = this.getService().getPermissionGeneration();
+        CompiledPermissions compiled = this.compiledPermissions.get(contexts);
+        if (compiled == null || compiled.generation != generation) {
+            final List<PermissionTrie> tries = new ArrayList<>();
+            this.collectPermissions(contexts, tries);
+            compiled = new CompiledPermissions(generation, PermissionTrie.merge(tries));
+            this.compiledPermissions.put(ImmutableSet.copyOf(contexts), compiled);
+        }
+        return compiled.trie;
+    }
 
-        if (res == Tristate.UNDEFINED) {
-            for (Subject parent : subject.getParents(SubjectData.GLOBAL_CONTEXT)) {
-                Tristate tempRes = parent.getPermissionValue(SubjectData.GLOBAL_CONTEXT, permission);
-                if (tempRes != Tristate.UNDEFINED) {
-                    res = tempRes;
-                    break;
+    /**
+     * Invalidates all the compiled permissions of this subject.
+     */
+    protected void invalidateCompiledPermissions() {
+        this.compiledPermissions.clear();
+    }
+
+    /**
+     * Collects all the {@link PermissionTrie}s that should be used to resolve
+     * the permissions of this subject, ordered by priority.
+     *
+     * @param contexts The contexts
+     * @param tries The permission tries
+     */
+    protected void collectPermissions(Set<Context> contexts, List<PermissionTrie> tries) {
+        this.collectDataPermissions(this.getSubjectData(), contexts, tries);
+    }
+
+    /**
+     * Collects all the {@link PermissionTrie}s of the given {@link MemorySubjectData}, the
+     * permissions of the data itself will be added first, followed by the ones of the parents.
+     * Data of more specific context sets will have priority over less specific ones.
+     *
+     * @param subjectData The subject data
+     * @param contexts The contexts
+     * @param tries The permission tries
+     */
+    protected void collectDataPermissions(MemorySubjectData subjectData, Set<Context> contexts, List<PermissionTrie> tries) {
+        for (Map<String, Boolean> permissions : getApplicable(subjectData.getAllPermissions(), contexts)) {
+            tries.add(PermissionTrie.of(permissions));
+        }
+        for (List<Subject> parents : getApplicable(subjectData.getAllParents(), contexts)) {
+            for (Subject parent : parents) {
+                // Only lantern subjects can be flattened, the service
+                // doesn't provide any other kind of subjects
+                if (parent instanceof LanternSubject) {
+                    tries.add(((LanternSubject) parent).getCompiledPermissions(contexts));
                 }
             }
         }
-        return res;
+    }
+
+    private static <T> List<T> getApplicable(Map<Set<Context>, T> entries, Set<Context> contexts) {
+        final List<Map.Entry<Set<Context>, T>> applicable = new ArrayList<>();
+        for (Map.Entry<Set<Context>, T> entry : entries.entrySet()) {
+            if (contexts.containsAll(entry.getKey())) {
+                applicable.add(entry);
+            }
+        }
+        applicable.sort((o1, o2) -> Integer.compare(o2.getKey().size(), o1.getKey().size()));
+        final List<T> values = new ArrayList<>(applicable.size());
+        for (Map.Entry<Set<Context>, T> entry : applicable) {
+            values.add(entry.getValue());
+        }
+        return values;
     }
 
     @Override
@@ -101,7 +182,17 @@ public Optional<String> getOption(Set<Context> contexts, String key) {
 
     @Override
     public Set<Context> getActiveContexts() {
-        return SubjectData.GLOBAL_CONTEXT;
+        return this.getService().getActiveContexts(this);
+    }
+
+    private static final class CompiledPermissions {
+
+        private final long generation;
+        private final PermissionTrie trie;
+
+        private CompiledPermissions(long generation, PermissionTrie trie) {
+            this.generation = generation;
+            this.trie = trie;
+        }
     }
-    
 }
@@ -0,0 +1,224 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.service.permission.base;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.util.Tristate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * A immutable trie of resolved permission values, keyed by the
+ * segments of the permission nodes.
+ *
+ * <p>Every node stores the value that applies to it, so values
+ * that are inherited from a parent node (like the node tree does)
+ * don't have to be searched for on lookup. Looking up a permission
+ * walks as far as possible down the trie and returns the value
+ * of the deepest node that was reached.</p>
+ */
+public final class PermissionTrie {
+
+    private static final Node UNDEFINED_LEAF = new Node(Tristate.UNDEFINED, null);
+    private static final Node TRUE_LEAF = new Node(Tristate.TRUE, null);
+    private static final Node FALSE_LEAF = new Node(Tristate.FALSE, null);
+
+    /**
+     * A empty {@link PermissionTrie}, every permission will
+     * be {@link Tristate#UNDEFINED}.
+     */
+    public static final PermissionTrie EMPTY = new PermissionTrie(UNDEFINED_LEAF);
+
+    /**
+     * Creates a new {@link PermissionTrie} for the given permission nodes.
+     *
+     * @param permissions The permission nodes
+     * @return The permission trie
+     */
+    public static PermissionTrie of(Map<String, Boolean> permissions) {
+        checkNotNull(permissions, "permissions");
+        if (permissions.isEmpty()) {
+            return EMPTY;
+        }
+        final MutableNode root = new MutableNode();
+        for (Map.Entry<String, Boolean> entry : permissions.entrySet()) {
+            MutableNode node = root;
+            for (String segment : entry.getKey().toLowerCase().split("\\.")) {
+                node = node.children.computeIfAbsent(segment, key -> new MutableNode());
+            }
+            node.value = Tristate.fromBoolean(entry.getValue());
+        }
+        return new PermissionTrie(root.freeze(Tristate.UNDEFINED));
+    }
+
+    /**
+     * Merges the given {@link PermissionTrie}s into one. The tries are
+     * ordered by priority, the value of the first trie that defines a
+     * permission will be used.
+     *
+     * @param tries The permission tries
+     * @return The merged permission trie
+     */
+    public static PermissionTrie merge(List<PermissionTrie> tries) {
+        checkNotNull(tries, "tries");
+        if (tries.isEmpty()) {
+            return EMPTY;
+        } else if (tries.size() == 1) {
+            return tries.get(0);
+        }
+        final Node[] roots = new Node[tries.size()];
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = tries.get(i).root;
+        }
+        return new PermissionTrie(merge(roots));
+    }
+
+    private static Node merge(Node[] nodes) {
+        Tristate value = Tristate.UNDEFINED;
+        for (Node node : nodes) {
+            if (node.value != Tristate.UNDEFINED) {
+                value = node.value;
+                break;
+            }
+        }
+        Set<String> keys = null;
+        for (Node node : nodes) {
+            if (node.children != null) {
+                if (keys == null) {
+                    keys = new HashSet<>();
+                }
+                keys.addAll(node.children.keySet());
+            }
+        }
+        if (keys == null) {
+            return leaf(value);
+        }
+        final Map<String, Node> children = new HashMap<>();
+        for (String key : keys) {
+            final Node[] childNodes = new Node[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                final Node child = nodes[i].children == null ? null : nodes[i].children.get(key);
+                // A trie without a deeper node inherits the value of the last node
+                childNodes[i] = child == null ? leaf(nodes[i].value) : child;
+            }
+            final Node child = merge(childNodes);
+            // Don't store nodes that wouldn't change the result
+            if (child.children != null || child.value != value) {
+                children.put(key, child);
+            }
+        }
+        return children.isEmpty() ? leaf(value) : new Node(value, children);
+    }
+
+    private static Node leaf(Tristate value) {
+        switch (value) {
+            case TRUE:
+                return TRUE_LEAF;
+            case FALSE:
+                return FALSE_LEAF;
+            default:
+                return UNDEFINED_LEAF;
+        }
+    }
+
+    private final Node root;
+
+    private PermissionTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Gets the {@link Tristate} value for the given permission.
+     *
+     * @param permission The permission
+     * @return The value
+     */
+    public Tristate get(String permission) {
+        checkNotNull(permission, "permission");
+        Node node = this.root;
+        if (node.children == null) {
+            return node.value;
+        }
+        permission = permission.toLowerCase();
+        final int length = permission.length();
+        int start = 0;
+        while (node.children != null) {
+            int end = permission.indexOf('.', start);
+            if (end == -1) {
+                end = length;
+            }
+            final Node child = node.children.get(permission.substring(start, end));
+            if (child == null) {
+                break;
+            }
+            node = child;
+            if (end == length) {
+                break;
+            }
+            start = end + 1;
+        }
+        return node.value;
+    }
+
+    private static final class Node {
+
+        private final Tristate value;
+        @Nullable private final Map<String, Node> children;
+
+        private Node(Tristate value, @Nullable Map<String, Node> children) {
+            this.value = value;
+            this.children = children;
+        }
+    }
+
+    private static final class MutableNode {
+
+        private final Map<String, MutableNode> children = new HashMap<>();
+        private Tristate value = Tristate.UNDEFINED;
+
+        private Node freeze(Tristate parentValue) {
+            final Tristate value = this.value == Tristate.UNDEFINED ? parentValue : this.value;
+            if (this.children.isEmpty()) {
+                return leaf(value);
+            }
+            final Map<String, Node> children = new HashMap<>();
+            for (Map.Entry<String, MutableNode> entry : this.children.entrySet()) {
+                final Node child = entry.getValue().freeze(value);
+                if (child.children != null || child.value != value) {
+                    children.put(entry.getKey(), child);
+                }
+            }
+            return children.isEmpty() ? leaf(value) : new Node(value, children);
+        }
+    }
+}
@@ -86,6 +86,7 @@ public boolean clearParents(Set<Context> contexts) {
 
     public boolean setParent(@Nullable Subject parent) {
         this.parent = parent;
+        this.onPermissionsChanged();
         return true;
     }
 
@@ -29,6 +29,7 @@
 
 import com.flowpowered.math.vector.Vector3d;
 import com.google.common.collect.ImmutableSet;
+import org.lanternpowered.server.world.LanternWorld;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
@@ -51,6 +52,7 @@
 import org.spongepowered.api.text.selector.Selector;
 import org.spongepowered.api.text.selector.SelectorType;
 import org.spongepowered.api.text.selector.SelectorTypes;
+import org.spongepowered.api.util.AABB;
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.api.world.Locatable;
 import org.spongepowered.api.world.Location;
@@ -60,9 +62,12 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -80,6 +85,17 @@ public class SelectorResolver {
     private static final Function<Number, Double> TO_DOUBLE = Number::doubleValue;
     private static final Collection<SelectorType> INFINITE_TYPES = ImmutableSet.of(SelectorTypes.ALL_ENTITIES, SelectorTypes.ALL_PLAYERS);
 
+    /**
+     * The vertical bounds of the query box if no y dimension is specified.
+     */
+    private static final double QUERY_Y_BOUND = 1024.0;
+
+    /**
+     * The maximum amount of chunk columns that a query box may cover, larger
+     * boxes will fall back to iterating through all the entities.
+     */
+    private static final int MAX_QUERY_CHUNKS = 4096;
+
     static {
         ImmutableSet.Builder<ArgumentType<?>> builder = ImmutableSet.builder();
         builder.addAll(ArgumentTypes.POSITION.getTypes());
@@ -122,6 +138,12 @@ private static <E> Collection<E> asSet(Optional<E> opt) {
     private final Predicate<Entity> selectorFilter;
     private final boolean alwaysUsePosition;
 
+    // The query plan, used to narrow down the entities that will be tested
+    private final Vector3d queryPosition;
+    private final boolean playersOnly;
+    @Nullable private final EntityType entityType;
+    @Nullable private final AABB queryBox;
+
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
         this(extents, null, null, selector, force);
     }
@@ -140,14 +162,72 @@ private SelectorResolver(Collection<? extends Extent> extents, @Nullable Vector3
         this.position = position == null ? ORIGIN : position;
         this.original = Optional.ofNullable(original);
         this.selector = checkNotNull(selector);
+        this.queryPosition = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        this.playersOnly = isPlayerOnlySelector();
+        this.entityType = getEntityType();
+        this.queryBox = makeQueryBox(this.queryPosition);
         this.selectorFilter = makeFilter();
         this.alwaysUsePosition = force;
     }
 
-    private Predicate<Entity> makeFilter() {
-        // for easier reading
+    private boolean isPlayerOnlySelector() {
+        final SelectorType selectorType = this.selector.getType();
+        final Optional<Argument.Invertible<EntityType>> type = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
+        return selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
+                || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
+                && type.get().getValue() != EntityTypes.PLAYER);
+    }
+
+    @Nullable
+    private EntityType getEntityType() {
+        final Optional<Argument.Invertible<EntityType>> type = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        return type.isPresent() && !type.get().isInverted() ? type.get().getValue() : null;
+    }
+
+    /**
+     * Creates a box that contains all the entities that could match
+     * the radius and dimension arguments, if they are bounded.
+     */
+    @Nullable
+    private AABB makeQueryBox(Vector3d position) {
         final Selector sel = this.selector;
-        final Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        Vector3d min = null;
+        Vector3d max = null;
+        final Optional<Integer> radiusMax = sel.get(ArgumentTypes.RADIUS.maximum());
+        if (radiusMax.isPresent()) {
+            final double radius = radiusMax.get();
+            min = position.sub(radius, radius, radius);
+            max = position.add(radius, radius, radius);
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.x()) && sel.has(ArgumentTypes.DIMENSION.z())) {
+            final Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
+            final Vector3d det2 = position.add(boxDimensions);
+            Vector3d boxMin = position.min(det2);
+            Vector3d boxMax = position.max(det2);
+            if (!sel.has(ArgumentTypes.DIMENSION.y())) {
+                boxMin = new Vector3d(boxMin.getX(), -QUERY_Y_BOUND, boxMin.getZ());
+                boxMax = new Vector3d(boxMax.getX(), QUERY_Y_BOUND, boxMax.getZ());
+            }
+            min = min == null ? boxMin : min.max(boxMin);
+            max = max == null ? boxMax : max.min(boxMax);
+        }
+        if (min == null) {
+            return null;
+        }
+        // The box only has to contain all the candidates, the filters
+        // still apply, so pad it to avoid degenerate boxes
+        max = max.max(min);
+        final long chunksX = ((long) Math.floor(max.getX()) >> 4) - ((long) Math.floor(min.getX()) >> 4) + 1;
+        final long chunksZ = ((long) Math.floor(max.getZ()) >> 4) - ((long) Math.floor(min.getZ()) >> 4) + 1;
+        if (chunksX * chunksZ > MAX_QUERY_CHUNKS) {
+            return null;
+        }
+        return new AABB(min.sub(1, 1, 1), max.add(1, 1, 1));
+    }
+
+    private Predicate<Entity> makeFilter() {
+        final Vector3d position = this.queryPosition;
         final List<Predicate<Entity>> filters = new ArrayList<>();
         addTypeFilters(filters);
         addDimensionFilters(position, filters);
@@ -158,14 +238,7 @@ private Predicate<Entity> makeFilter() {
         addRotationFilters(filters);
         addTeamFilters(filters);
         addScoreFilters(filters);
-        SelectorType selectorType = sel.getType();
-        final Optional<Argument.Invertible<EntityType>> type = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
-        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
-        final boolean isPlayerOnlySelector =
-            selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
-                || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
-                && type.get().getValue() != EntityTypes.PLAYER);
-        if (isPlayerOnlySelector) {
+        if (this.playersOnly) {
             // insert at the start so it applies first
             filters.add(0, requireTypePredicate(Entity.class, Player.class));
         }
@@ -344,35 +417,94 @@ public String getName() {
     }
 
     public Set<Entity> resolve() {
-        SelectorType selectorType = this.selector.getType();
+        final SelectorType selectorType = this.selector.getType();
         int defaultCount = 1;
         if (INFINITE_TYPES.contains(selectorType)) {
             defaultCount = 0;
         }
-        int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
-        Set<? extends Extent> extents = getExtentSet();
+        final int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
+        final Set<? extends Extent> extents = getExtentSet();
+        if (selectorType == SelectorTypes.RANDOM) {
+            return selectRandom(extents, maxToSelect);
+        } else if (selectorType == SelectorTypes.NEAREST_PLAYER) {
+            return selectNearest(extents, maxToSelect);
+        }
         int count = 0;
-        ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
+        final ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
         for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
-            if (selectorType == SelectorTypes.RANDOM) {
-                List<Entity> entityList = new ArrayList<Entity>(allEntities);
-                Collections.shuffle(entityList);
-                allEntities = entityList;
+            for (Entity entity : getCandidates(extent)) {
+                if (!test(entity)) {
+                    continue;
+                }
+                entities.add(entity);
+                if (++count == maxToSelect) {
+                    return entities.build();
+                }
             }
+        }
+        return entities.build();
+    }
 
-            for (Entity e : allEntities) {
-                if (!this.selectorFilter.test(e)) {
+    private Set<Entity> selectRandom(Set<? extends Extent> extents, int maxToSelect) {
+        final int size = maxToSelect <= 0 ? Integer.MAX_VALUE : maxToSelect;
+        final Random random = ThreadLocalRandom.current();
+        // Reservoir sampling, avoids copying and shuffling all the entities
+        final List<Entity> reservoir = new ArrayList<>();
+        int count = 0;
+        for (Extent extent : extents) {
+            for (Entity entity : getCandidates(extent)) {
+                if (!test(entity)) {
                     continue;
                 }
-                entities.add(e);
                 count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
+                if (reservoir.size() < size) {
+                    reservoir.add(entity);
+                } else {
+                    final int index = random.nextInt(count);
+                    if (index < size) {
+                        reservoir.set(index, entity);
+                    }
                 }
             }
         }
-        return entities.build();
+        Collections.shuffle(reservoir, random);
+        return ImmutableSet.copyOf(reservoir);
+    }
+
+    private Set<Entity> selectNearest(Set<? extends Extent> extents, int maxToSelect) {
+        final List<Entity> entities = new ArrayList<>();
+        for (Extent extent : extents) {
+            for (Entity entity : getCandidates(extent)) {
+                if (test(entity)) {
+                    entities.add(entity);
+                }
+            }
+        }
+        final Vector3d position = this.queryPosition;
+        entities.sort(Comparator.comparingDouble((Entity entity) -> entity.getLocation().getPosition().distanceSquared(position)));
+        if (maxToSelect > 0 && entities.size() > maxToSelect) {
+            return ImmutableSet.copyOf(entities.subList(0, maxToSelect));
+        }
+        return ImmutableSet.copyOf(entities);
+    }
+
+    private boolean test(Entity entity) {
+        return !entity.isRemoved() && this.selectorFilter.test(entity);
+    }
+
+    /**
+     * Gets the entities of the {@link Extent} that could match the selector,
+     * based on the most selective index that is available.
+     */
+    private Iterable<? extends Entity> getCandidates(Extent extent) {
+        if (this.playersOnly && extent instanceof World) {
+            return ((World) extent).getPlayers();
+        } else if (this.queryBox != null) {
+            return extent.getIntersectingEntities(this.queryBox, entity -> true);
+        } else if (this.entityType != null && extent instanceof LanternWorld) {
+            return ((LanternWorld) extent).getRawEntities(this.entityType);
+        }
+        return extent.getEntities();
     }
 
     private Set<? extends Extent> getExtentSet() {
@@ -50,6 +50,24 @@ private IpSet(InetAddress addr, int prefixLen) {
         this.prefixLen = prefixLen;
     }
 
+    /**
+     * Gets the base {@link InetAddress} of this ip set.
+     *
+     * @return The address
+     */
+    public InetAddress getAddress() {
+        return this.addr;
+    }
+
+    /**
+     * Gets the length of the prefix of this ip set, in bits.
+     *
+     * @return The prefix length
+     */
+    public int getPrefixLength() {
+        return this.prefixLen;
+    }
+
     @Override
     public boolean test(@Nullable InetAddress input) {
         if (input == null) {
@@ -70,7 +88,7 @@ public boolean test(@Nullable InetAddress input) {
             }
         }
         for (byte i = 0; i < overlap; ++i) {
-            if (((checkAddr[completeSegments + 1] >> (7 - i)) & 0x1) != ((address[completeSegments + 1] >> (7 - i)) & 0x1)) {
+            if (((checkAddr[completeSegments] >> (7 - i)) & 0x1) != ((address[completeSegments] >> (7 - i)) & 0x1)) {
                 return false;
             }
         }
@@ -0,0 +1,361 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.InetAddress;
+
+import javax.annotation.Nullable;
+
+/**
+ * A binary radix trie that maps ip addresses and address ranges (CIDR
+ * notation) to values. IPv4 and IPv6 addresses are stored in separate
+ * trees. Paths without branches are compressed into a single node, so
+ * the amount of nodes stays proportional to the amount of entries.
+ *
+ * <p>All the lookups take at most one step per bit of the address,
+ * independent of the amount of entries.</p>
+ *
+ * <p>This class isn't thread safe.</p>
+ *
+ * @param <V> The type of the values
+ */
+public final class IpTrie<V> {
+
+    @Nullable private Node<V> ipv4Root;
+    @Nullable private Node<V> ipv6Root;
+    private int size;
+
+    /**
+     * Gets the amount of entries in this trie.
+     *
+     * @return The size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all the entries from this trie.
+     */
+    public void clear() {
+        this.ipv4Root = null;
+        this.ipv6Root = null;
+        this.size = 0;
+    }
+
+    /**
+     * Puts a value for the specified {@link IpSet}.
+     *
+     * @param ipSet The ip set
+     * @param value The value
+     * @return The previous value, or {@code null} if not present
+     */
+    @Nullable
+    public V put(IpSet ipSet, V value) {
+        checkNotNull(ipSet, "ipSet");
+        return this.put(ipSet.getAddress(), ipSet.getPrefixLength(), value);
+    }
+
+    /**
+     * Puts a value for the specified {@link InetAddress}.
+     *
+     * @param address The address
+     * @param value The value
+     * @return The previous value, or {@code null} if not present
+     */
+    @Nullable
+    public V put(InetAddress address, V value) {
+        checkNotNull(address, "address");
+        return this.put(address, address.getAddress().length << 3, value);
+    }
+
+    /**
+     * Puts a value for the address range of the specified
+     * {@link InetAddress} and prefix length.
+     *
+     * @param address The address
+     * @param prefixLength The length of the prefix, in bits
+     * @param value The value
+     * @return The previous value, or {@code null} if not present
+     */
+    @Nullable
+    public V put(InetAddress address, int prefixLength, V value) {
+        checkNotNull(value, "value");
+        final byte[] key = toKey(address, prefixLength);
+        Node<V> parent = null;
+        Node<V> node = this.getRoot(key);
+        while (node != null) {
+            final int common = commonPrefix(node.key, key, 0, Math.min(node.length, prefixLength));
+            if (common < node.length) {
+                // Split the node, the new entry diverges within its prefix
+                final Node<V> split = new Node<>(mask(key, common), common);
+                split.setChild(bit(node.key, common), node);
+                if (common == prefixLength) {
+                    split.value = value;
+                } else {
+                    split.setChild(bit(key, common), new Node<>(key, prefixLength, value));
+                }
+                this.replace(parent, node, split, key);
+                this.size++;
+                return null;
+            }
+            if (node.length == prefixLength) {
+                final V oldValue = node.value;
+                node.value = value;
+                if (oldValue == null) {
+                    this.size++;
+                }
+                return oldValue;
+            }
+            final int bit = bit(key, node.length);
+            final Node<V> child = node.getChild(bit);
+            if (child == null) {
+                node.setChild(bit, new Node<>(key, prefixLength, value));
+                this.size++;
+                return null;
+            }
+            parent = node;
+            node = child;
+        }
+        this.setRoot(key, new Node<>(key, prefixLength, value));
+        this.size++;
+        return null;
+    }
+
+    /**
+     * Gets the value that was put for exactly the specified
+     * {@link InetAddress} and prefix length.
+     *
+     * @param address The address
+     * @param prefixLength The length of the prefix, in bits
+     * @return The value, or {@code null} if not present
+     */
+    @Nullable
+    public V getExact(InetAddress address, int prefixLength) {
+        final byte[] key = toKey(address, prefixLength);
+        Node<V> node = this.getRoot(key);
+        int offset = 0;
+        while (node != null) {
+            if (node.length > prefixLength || commonPrefix(node.key, key, offset, node.length) < node.length) {
+                return null;
+            }
+            if (node.length == prefixLength) {
+                return node.value;
+            }
+            offset = node.length;
+            node = node.getChild(bit(key, offset));
+        }
+        return null;
+    }
+
+    /**
+     * Gets the value of the most specific address range
+     * that contains the specified {@link InetAddress}.
+     *
+     * @param address The address
+     * @return The value, or {@code null} if not present
+     */
+    @Nullable
+    public V get(InetAddress address) {
+        final byte[] key = checkNotNull(address, "address").getAddress();
+        final int length = key.length << 3;
+        Node<V> node = this.getRoot(key);
+        V value = null;
+        int offset = 0;
+        while (node != null) {
+            if (commonPrefix(node.key, key, offset, node.length) < node.length) {
+                break;
+            }
+            if (node.value != null) {
+                value = node.value;
+            }
+            if (node.length == length) {
+                break;
+            }
+            offset = node.length;
+            node = node.getChild(bit(key, offset));
+        }
+        return value;
+    }
+
+    /**
+     * Removes the value for the specified {@link InetAddress}.
+     *
+     * @param address The address
+     * @return The removed value, or {@code null} if not present
+     */
+    @Nullable
+    public V remove(InetAddress address) {
+        checkNotNull(address, "address");
+        return this.remove(address, address.getAddress().length << 3);
+    }
+
+    /**
+     * Removes the value that was put for exactly the
+     * specified {@link InetAddress} and prefix length.
+     *
+     * @param address The address
+     * @param prefixLength The length of the prefix, in bits
+     * @return The removed value, or {@code null} if not present
+     */
+    @Nullable
+    public V remove(InetAddress address, int prefixLength) {
+        final byte[] key = toKey(address, prefixLength);
+        Node<V> grandParent = null;
+        Node<V> parent = null;
+        Node<V> node = this.getRoot(key);
+        int offset = 0;
+        while (node != null) {
+            if (node.length > prefixLength || commonPrefix(node.key, key, offset, node.length) < node.length) {
+                return null;
+            }
+            if (node.length == prefixLength) {
+                break;
+            }
+            offset = node.length;
+            grandParent = parent;
+            parent = node;
+            node = node.getChild(bit(key, offset));
+        }
+        if (node == null || node.value == null) {
+            return null;
+        }
+        final V oldValue = node.value;
+        node.value = null;
+        this.size--;
+        if (node.zero != null && node.one != null) {
+            // Still required to branch
+            return oldValue;
+        }
+        final Node<V> replacement = node.zero != null ? node.zero : node.one;
+        this.replace(parent, node, replacement, key);
+        // The parent may no longer be needed to branch
+        if (replacement == null && parent != null && parent.value == null) {
+            this.replace(grandParent, parent, parent.zero != null ? parent.zero : parent.one, key);
+        }
+        return oldValue;
+    }
+
+    @Nullable
+    private Node<V> getRoot(byte[] key) {
+        return key.length == 4 ? this.ipv4Root : this.ipv6Root;
+    }
+
+    private void setRoot(byte[] key, @Nullable Node<V> root) {
+        if (key.length == 4) {
+            this.ipv4Root = root;
+        } else {
+            this.ipv6Root = root;
+        }
+    }
+
+    private void replace(@Nullable Node<V> parent, Node<V> node, @Nullable Node<V> replacement, byte[] key) {
+        if (parent == null) {
+            this.setRoot(key, replacement);
+        } else if (parent.zero == node) {
+            parent.zero = replacement;
+        } else {
+            parent.one = replacement;
+        }
+    }
+
+    private static byte[] toKey(InetAddress address, int prefixLength) {
+        final byte[] key = checkNotNull(address, "address").getAddress();
+        checkArgument(prefixLength >= 0 && prefixLength <= key.length << 3,
+                "Invalid prefix length %s for the address %s", prefixLength, address);
+        return mask(key, prefixLength);
+    }
+
+    private static byte[] mask(byte[] key, int length) {
+        final byte[] masked = new byte[key.length];
+        final int bytes = length >> 3;
+        System.arraycopy(key, 0, masked, 0, bytes);
+        final int bits = length & 7;
+        if (bits != 0) {
+            masked[bytes] = (byte) (key[bytes] & (0xff00 >> bits));
+        }
+        return masked;
+    }
+
+    private static int bit(byte[] key, int index) {
+        return (key[index >> 3] >> (7 - (index & 7))) & 0x1;
+    }
+
+    /**
+     * Gets the length of the common prefix of both keys, starting
+     * to compare at the given offset, up to the given length.
+     */
+    private static int commonPrefix(byte[] key1, byte[] key2, int offset, int length) {
+        int index = offset;
+        while (index < length) {
+            // Compare complete bytes where possible
+            if ((index & 7) == 0 && index + 8 <= length && key1[index >> 3] == key2[index >> 3]) {
+                index += 8;
+            } else if (bit(key1, index) == bit(key2, index)) {
+                index++;
+            } else {
+                break;
+            }
+        }
+        return index;
+    }
+
+    private static final class Node<V> {
+
+        private final byte[] key;
+        private final int length;
+
+        @Nullable private V value;
+        @Nullable private Node<V> zero;
+        @Nullable private Node<V> one;
+
+        private Node(byte[] key, int length) {
+            this.key = key;
+            this.length = length;
+        }
+
+        private Node(byte[] key, int length, V value) {
+            this(key, length);
+            this.value = value;
+        }
+
+        @Nullable
+        private Node<V> getChild(int bit) {
+            return bit == 0 ? this.zero : this.one;
+        }
+
+        private void setChild(int bit, Node<V> child) {
+            if (bit == 0) {
+                this.zero = child;
+            } else {
+                this.one = child;
+            }
+        }
+    }
+}
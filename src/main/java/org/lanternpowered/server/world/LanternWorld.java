@@ -62,6 +62,8 @@
 import org.lanternpowered.server.network.entity.EntityProtocolManager;
 import org.lanternpowered.server.network.entity.EntityProtocolType;
 import org.lanternpowered.server.network.message.Message;
+import org.lanternpowered.server.profiler.WorldTickMetrics;
+import org.lanternpowered.server.profiler.WorldTickPhase;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutParticleEffect;
 import org.lanternpowered.server.text.chat.LanternChatType;
 import org.lanternpowered.server.text.title.LanternTitles;
@@ -198,6 +200,11 @@ public class LanternWorld implements AbstractExtent, org.lanternpowered.api.worl
      */
     private final Map<UUID, LanternEntity> entitiesByUniqueId = new ConcurrentHashMap<>();
 
+    /**
+     * The entities mapped by their type.
+     */
+    private final Map<EntityType, Set<LanternEntity>> entitiesByType = new ConcurrentHashMap<>();
+
     /**
      * The chunk manager that will allows observers to track
      * changes in chunks.
@@ -223,6 +230,9 @@ public class LanternWorld implements AbstractExtent, org.lanternpowered.api.worl
     // The context of this world
     private final Context worldContext;
 
+    // The metrics of the ticks of this world
+    private final WorldTickMetrics tickMetrics;
+
     private final MultiWorldEventListener worldEventListener = new MultiWorldEventListener();
 
     /**
@@ -250,7 +260,8 @@ public LanternWorld(LanternGame game, WorldConfig worldConfig, Path directory,
         this.properties = properties;
         this.game = game;
         // Create the chunk io service
-        final ChunkIOService chunkIOService = new AnvilChunkIOService(directory, this, this.logger, Lantern.getScheduler());
+        final ChunkIOService chunkIOService = new AnvilChunkIOService(directory, this, this.logger, Lantern.getScheduler(),
+                worldConfig.getMaxOpenRegionFiles());
         // Get the chunk load service
         final LanternChunkTicketManager chunkLoadService = game.getChunkTicketManager();
         // Get the dimension type
@@ -272,6 +283,7 @@ public LanternWorld(LanternGame game, WorldConfig worldConfig, Path directory,
         this.chunkManager = new LanternChunkManager(Lantern.getMinecraftPlugin(), this.game, this, this.worldConfig, chunkLoadService,
                 chunkIOService, worldGenerator, directory);
         this.worldContext = new Context(Context.WORLD_KEY, getName());
+        this.tickMetrics = new WorldTickMetrics(getName());
         this.worldEventListener.add(this.observedChunkManager);
         getWorldBorder().updateCurrentTime();
     }
@@ -285,6 +297,15 @@ public ObservedChunkManager getObservedChunkManager() {
         return this.observedChunkManager;
     }
 
+    /**
+     * Gets the {@link WorldTickMetrics} of this world.
+     *
+     * @return The tick metrics
+     */
+    public WorldTickMetrics getTickMetrics() {
+        return this.tickMetrics;
+    }
+
     public void initialize() {
         // Initialize the world if needed
         if (this.properties.isInitialized()) {
@@ -362,6 +383,19 @@ public Collection<Player> getPlayers() {
         return this.unmodifiablePlayers;
     }
 
+    /**
+     * Gets a raw collection with all the entities of the given {@link EntityType}
+     * that are currently in this world. The collection may contain entities that
+     * were removed since the last pulse.
+     *
+     * @param entityType The entity type
+     * @return The entities
+     */
+    public Collection<LanternEntity> getRawEntities(EntityType entityType) {
+        final Set<LanternEntity> entities = this.entitiesByType.get(checkNotNull(entityType, "entityType"));
+        return entities == null ? Collections.emptySet() : Collections.unmodifiableSet(entities);
+    }
+
     /**
      * Gets a raw list with all the players that are currently in this world.
      *
@@ -379,6 +413,7 @@ public void addPlayer(LanternPlayer player) {
     public void removePlayer(LanternPlayer player) {
         this.players.remove(player);
         this.entitiesByUniqueId.remove(player.getUniqueId());
+        this.removeEntityByType(player);
         final Vector3i lastChunkSection = player.getLastChunkSectionCoords();
         LanternChunk chunk;
         if (lastChunkSection != null && (chunk = this.chunkManager.getChunkIfLoaded(
@@ -590,6 +625,7 @@ private void forEachEntity(Consumer<LanternEntity> consumer) {
             // the other ones can be resurrected after chunk loading
             if (entity.isRemoved()) {
                 iterator.remove();
+                this.removeEntityByType(entity);
             } else {
                 consumer.accept(entity);
             }
@@ -1162,6 +1198,7 @@ private LanternEntity addEntity(LanternEntity entity) {
         if (entity1 != null) {
             return entity1;
         }
+        this.entitiesByType.computeIfAbsent(entity.getType(), type -> Sets.newConcurrentHashSet()).add(entity);
         final EntityProtocolType entityProtocolType = entity.getEntityProtocolType();
         if (entityProtocolType != null) {
             //noinspection unchecked
@@ -1171,6 +1208,13 @@ private LanternEntity addEntity(LanternEntity entity) {
         return null;
     }
 
+    private void removeEntityByType(LanternEntity entity) {
+        final Set<LanternEntity> entities = this.entitiesByType.get(entity.getType());
+        if (entities != null) {
+            entities.remove(entity);
+        }
+    }
+
     private void pulseEntities() {
         // Pulse the entities
         for (LanternEntity entity : new ArrayList<>(this.entitiesByUniqueId.values())) {
@@ -1184,6 +1228,7 @@ private void pulseEntities() {
                 }
                 this.entityProtocolManager.remove(entity);
                 this.entitiesByUniqueId.remove(entity.getUniqueId());
+                this.removeEntityByType(entity);
             } else {
                 final Vector3i lastChunkSection = entity.getLastChunkSectionCoords();
                 entity.pulse();
@@ -1302,21 +1347,30 @@ public int getSeaLevel() {
     }
 
     public void pulse() {
+        final WorldTickMetrics metrics = this.tickMetrics;
+        final long startTime = System.nanoTime();
         this.chunkManager.pulse();
+        long time = metrics.endPhase(WorldTickPhase.CHUNK_MANAGER, startTime);
         this.timeUniverse.pulse();
         if (this.weatherUniverse != null) {
             this.weatherUniverse.pulse();
         }
+        time = metrics.endPhase(WorldTickPhase.TIME_AND_WEATHER, time);
 
         // Pulse the entities
         pulseEntities();
+        time = metrics.endPhase(WorldTickPhase.ENTITIES, time);
 
         // Pulse the tile entities
         getLoadedChunks().forEach(chunk -> ((LanternChunk) chunk).pulse());
+        time = metrics.endPhase(WorldTickPhase.TILE_ENTITIES, time);
 
         // TODO: Maybe async?
         this.observedChunkManager.pulse();
+        time = metrics.endPhase(WorldTickPhase.OBSERVED_CHUNKS, time);
         this.entityProtocolManager.updateTrackers(this.players);
+        metrics.endPhase(WorldTickPhase.ENTITY_TRACKERS, time);
+        metrics.endTick(startTime);
     }
 
     public void broadcast(Supplier<Message> message) {
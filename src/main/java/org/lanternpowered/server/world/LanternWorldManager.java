@@ -715,6 +715,8 @@ private void addWorldTask(LanternWorld world) {
             }
         }, "world-" + world.getName());
         this.worldThreads.put(world, thread);
+        this.game.getServer().getTickMetrics().addWorld(world.getTickMetrics());
+        world.getChunkManager().getCacheMetrics().registerMBean();
         this.tickBegin.register();
         this.tickEnd.register();
         thread.start();
@@ -728,6 +730,8 @@ private void removeWorldTask(LanternWorld world) {
             return;
         }
         this.worldThreads.remove(world).interrupt();
+        this.game.getServer().getTickMetrics().removeWorld(world.getTickMetrics());
+        world.getChunkManager().getCacheMetrics().unregisterMBean();
     }
 
     // The current tick that is executing
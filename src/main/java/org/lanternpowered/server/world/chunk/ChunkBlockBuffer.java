@@ -0,0 +1,187 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.chunk;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_HEIGHT;
+import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTIONS;
+import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTION_SIZE;
+import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTION_VOLUME;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.lanternpowered.server.game.registry.type.block.BlockRegistryModule;
+import org.lanternpowered.server.util.gen.block.AbstractMutableBlockBuffer;
+import org.lanternpowered.server.util.gen.block.AtomicShortArrayMutableBlockBuffer;
+import org.lanternpowered.server.util.gen.block.ShortArrayImmutableBlockBuffer;
+import org.lanternpowered.server.util.gen.block.ShortArrayMutableBlockBuffer;
+import org.lanternpowered.server.world.extent.ExtentBufferHelper;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.extent.StorageType;
+
+import java.util.Arrays;
+
+/**
+ * A custom block buffer that will be used to generate the chunks
+ * in the world generation to increase the performance.
+ * <p>
+ * Generators that are aware of this buffer can write the internal
+ * block state ids directly through {@link #setColumn(int, int, short[], int)}
+ * instead of setting every block state separately.
+ */
+public final class ChunkBlockBuffer extends AbstractMutableBlockBuffer {
+
+    private static final Vector3i CHUNK_SIZE = new Vector3i(
+            CHUNK_SECTION_SIZE, CHUNK_HEIGHT, CHUNK_SECTION_SIZE);
+
+    final short[][] types = new short[CHUNK_SECTIONS][CHUNK_SECTION_VOLUME];
+    final int[] nonAirCount = new int[CHUNK_SECTIONS];
+
+    public ChunkBlockBuffer() {
+        super(Vector3i.ZERO, CHUNK_SIZE);
+    }
+
+    /**
+     * Clears this buffer and moves it to the specified start position.
+     *
+     * @param start The start position
+     */
+    public void reuse(Vector3i start) {
+        this.start = checkNotNull(start, "start");
+        this.end = this.start.add(this.size).sub(Vector3i.ONE);
+        for (int i = 0; i < CHUNK_SECTIONS; i++) {
+            Arrays.fill(this.types[i], (short) 0);
+        }
+        Arrays.fill(this.nonAirCount, 0);
+    }
+
+    /**
+     * Sets the internal block state ids of a column within this buffer, starting
+     * at the bottom of the chunk. The blocks above the height are left untouched.
+     *
+     * @param x The x coordinate, relative to the chunk
+     * @param z The z coordinate, relative to the chunk
+     * @param column The internal block state ids, indexed by the y coordinate
+     * @param height The amount of blocks of the column that should be set
+     */
+    public void setColumn(int x, int z, short[] column, int height) {
+        checkArgument(height >= 0 && height <= CHUNK_HEIGHT && height <= column.length, "Invalid height: %s", height);
+        final int columnIndex = ((z & 0xf) << 4) | x & 0xf;
+        for (int sy = 0; sy < CHUNK_SECTIONS; sy++) {
+            final int minY = sy << 4;
+            if (minY >= height) {
+                break;
+            }
+            final int maxY = Math.min(minY + CHUNK_SECTION_SIZE, height);
+            final short[] types = this.types[sy];
+            int nonAirCount = this.nonAirCount[sy];
+            for (int y = minY; y < maxY; y++) {
+                final int index = ((y & 0xf) << 8) | columnIndex;
+                final short type = column[y];
+                final short oldType = types[index];
+                if (type == 0 && oldType != 0) {
+                    nonAirCount--;
+                } else if (type != 0 && oldType == 0) {
+                    nonAirCount++;
+                }
+                types[index] = type;
+            }
+            this.nonAirCount[sy] = nonAirCount;
+        }
+    }
+
+    /**
+     * Gets the internal block state id at the specified position,
+     * relative to the chunk.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The internal block state id
+     */
+    public short getRawType(int x, int y, int z) {
+        return this.types[y >> 4][((y & 0xf) << 8) | ((z & 0xf) << 4) | x & 0xf];
+    }
+
+    /**
+     * Gets the amount of blocks that aren't air in the section at the index.
+     *
+     * @param sectionIndex The section index
+     * @return The non air block count
+     */
+    public int getNonAirCount(int sectionIndex) {
+        return this.nonAirCount[sectionIndex];
+    }
+
+    @Override
+    public boolean setBlock(int x, int y, int z, BlockState block, Cause cause) {
+        checkNotNull(block, "blockState");
+        checkRange(x, y, z);
+        final int sy = y >> 4;
+        final int index = ((y & 0xf) << 8) | ((z & 0xf) << 4) | x & 0xf;
+        final short[] types = this.types[sy];
+        final short type = BlockRegistryModule.get().getStateInternalIdAndData(block);
+        if (type == 0 && types[index] != 0) {
+            this.nonAirCount[sy]--;
+        } else if (type != 0 && types[index] == 0) {
+            this.nonAirCount[sy]++;
+        }
+        types[index] = type;
+        return true;
+    }
+
+    @Override
+    public BlockState getBlock(int x, int y, int z) {
+        checkRange(x, y, z);
+        return BlockRegistryModule.get().getStateByInternalIdAndData(this.types[y >> 4][((y & 0xf) << 8) | ((z & 0xf) << 4) | x & 0xf])
+                .orElse(BlockTypes.AIR.getDefaultState());
+    }
+
+    @Override
+    public MutableBlockVolume getBlockCopy(StorageType type) {
+        checkNotNull(type, "storageType");
+        switch (type) {
+            case STANDARD:
+                return new ShortArrayMutableBlockBuffer(ExtentBufferHelper.copyToBlockArray(
+                        this, this.start, this.end, this.size), this.start, this.size);
+            case THREAD_SAFE:
+                return new AtomicShortArrayMutableBlockBuffer(ExtentBufferHelper.copyToBlockArray(
+                        this, this.start, this.end, this.size), this.start, this.size);
+            default:
+                throw new UnsupportedOperationException(type.name());
+        }
+    }
+
+    @Override
+    public ImmutableBlockVolume getImmutableBlockCopy() {
+        return ShortArrayImmutableBlockBuffer.newWithoutArrayClone(ExtentBufferHelper.copyToBlockArray(
+                this, this.start, this.end, this.size), this.start, this.size);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.chunk;
+
+import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTIONS;
+
+import it.unimi.dsi.fastutil.shorts.Short2ShortMap;
+import it.unimi.dsi.fastutil.shorts.Short2ShortOpenHashMap;
+import org.lanternpowered.server.world.chunk.LanternChunk.ChunkSection;
+import org.lanternpowered.server.world.gen.TemplateGenerationPopulator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * A cache for the chunk templates that are generated by a
+ * {@link TemplateGenerationPopulator}. The block types of the
+ * templates are shared with all the chunk sections that are
+ * created from them, until they get modified.
+ */
+final class ChunkTemplateCache {
+
+    /**
+     * The maximum amount of templates that will be cached, periodic
+     * generators with more variants will generate the remaining ones
+     * every time.
+     */
+    private static final int MAX_TEMPLATES = 64;
+
+    private final Map<Integer, ChunkTemplate> templates = new ConcurrentHashMap<>();
+    private final TemplateGenerationPopulator populator;
+
+    ChunkTemplateCache(TemplateGenerationPopulator populator) {
+        this.populator = populator;
+    }
+
+    /**
+     * Gets the {@link TemplateGenerationPopulator} that
+     * generates the templates of this cache.
+     *
+     * @return The template generation populator
+     */
+    TemplateGenerationPopulator getPopulator() {
+        return this.populator;
+    }
+
+    /**
+     * Gets the {@link ChunkTemplate} for the specified template key.
+     *
+     * @param key The template key
+     * @return The chunk template, or {@code null} if not yet generated
+     */
+    @Nullable
+    ChunkTemplate get(int key) {
+        return this.templates.get(key);
+    }
+
+    /**
+     * Creates a new {@link ChunkTemplate} for the specified template key from
+     * the contents of the {@link ChunkBlockBuffer} and caches it if possible.
+     *
+     * @param key The template key
+     * @param blockBuffer The block buffer
+     * @return The chunk template
+     */
+    ChunkTemplate create(int key, ChunkBlockBuffer blockBuffer) {
+        final ChunkTemplate template = new ChunkTemplate(blockBuffer);
+        if (this.templates.size() >= MAX_TEMPLATES) {
+            return template;
+        }
+        final ChunkTemplate oldTemplate = this.templates.putIfAbsent(key, template);
+        return oldTemplate != null ? oldTemplate : template;
+    }
+
+    static final class ChunkTemplate {
+
+        // The block types of each section, null for empty sections
+        private final short[][] types = new short[CHUNK_SECTIONS][];
+        private final Short2ShortMap[] typesCountMaps = new Short2ShortMap[CHUNK_SECTIONS];
+        private final int[] nonAirCount = new int[CHUNK_SECTIONS];
+
+        private ChunkTemplate(ChunkBlockBuffer blockBuffer) {
+            for (int sy = 0; sy < CHUNK_SECTIONS; sy++) {
+                final int nonAirCount = blockBuffer.nonAirCount[sy];
+                if (nonAirCount <= 0) {
+                    continue;
+                }
+                final short[] types = blockBuffer.types[sy].clone();
+                final Short2ShortMap typesCountMap = new Short2ShortOpenHashMap();
+                for (short type : types) {
+                    if (type != 0) {
+                        typesCountMap.put(type, (short) (typesCountMap.get(type) + 1));
+                    }
+                }
+                this.types[sy] = types;
+                this.typesCountMaps[sy] = typesCountMap;
+                this.nonAirCount[sy] = nonAirCount;
+            }
+        }
+
+        /**
+         * Creates the chunk sections for a new chunk, the
+         * block types are shared until they are modified.
+         *
+         * @return The chunk sections
+         */
+        ChunkSection[] createSections() {
+            final ChunkSection[] sections = new ChunkSection[CHUNK_SECTIONS];
+            for (int sy = 0; sy < CHUNK_SECTIONS; sy++) {
+                if (this.types[sy] != null) {
+                    sections[sy] = new ChunkSection(this.types[sy], this.typesCountMaps[sy], this.nonAirCount[sy]);
+                }
+            }
+            return sections;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.chunk;
+
+import com.flowpowered.math.vector.Vector2i;
+import org.lanternpowered.server.profiler.ChunkCacheMetrics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * A size bounded cache of chunks that were recently unloaded. The chunks
+ * are already saved before they enter the cache, so they can be evicted
+ * at any time and reactivated without reading them from the disk.
+ */
+final class ChunkWarmCache {
+
+    // The amount of steps in which the cached chunks are evicted when the heap is getting full
+    static final int MEMORY_PRESSURE_STEPS = 8;
+
+    // The chunks in access order, the eldest entries will be evicted first
+    private final LinkedHashMap<Vector2i, LanternChunk> chunks = new LinkedHashMap<>(16, 0.75f, true);
+    private final ChunkCacheMetrics metrics;
+    private final HeapMonitor heapMonitor;
+    private final double heapWatermark;
+    private final int maxSize;
+
+    // The garbage collection count at the last memory pressure eviction
+    private long lastCollectionCount = -1;
+
+    ChunkWarmCache(int maxSize, double heapWatermark, HeapMonitor heapMonitor, ChunkCacheMetrics metrics) {
+        this.maxSize = maxSize;
+        this.heapWatermark = heapWatermark;
+        this.heapMonitor = heapMonitor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds a chunk that was unloaded, the least recently
+     * used chunks will be evicted if the cache is full.
+     *
+     * @param chunk The chunk
+     */
+    synchronized void add(LanternChunk chunk) {
+        if (this.maxSize <= 0) {
+            return;
+        }
+        this.chunks.put(chunk.getCoords(), chunk);
+        int evicted = 0;
+        final Iterator<Map.Entry<Vector2i, LanternChunk>> it = this.chunks.entrySet().iterator();
+        while (this.chunks.size() > this.maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evicted++;
+        }
+        if (evicted > 0) {
+            this.metrics.onEviction(evicted, false);
+        }
+    }
+
+    /**
+     * Removes the chunk at the coordinates from the cache.
+     *
+     * @param coords The coordinates
+     * @return The chunk, or {@code null} if not present
+     */
+    @Nullable
+    synchronized LanternChunk remove(Vector2i coords) {
+        return this.chunks.remove(coords);
+    }
+
+    /**
+     * Evicts all the chunks from the cache.
+     *
+     * @param memoryPressure Whether the eviction was caused by memory pressure
+     */
+    synchronized void evictAll(boolean memoryPressure) {
+        if (!this.chunks.isEmpty()) {
+            this.metrics.onEviction(this.chunks.size(), memoryPressure);
+            this.chunks.clear();
+        }
+    }
+
+    /**
+     * Evicts the least recently used chunks while the used heap is above the
+     * watermark. The memory of the evicted chunks is only released by the next
+     * garbage collection, so only a part of the chunks is evicted until a new
+     * collection happened and the heap usage can be checked again.
+     *
+     * @return The amount of evicted chunks
+     */
+    synchronized int evictForMemoryPressure() {
+        if (this.chunks.isEmpty()) {
+            return 0;
+        }
+        final long collectionCount = this.heapMonitor.getCollectionCount();
+        if (collectionCount == this.lastCollectionCount ||
+                this.heapMonitor.getUsedMemory() <= this.heapMonitor.getMaxMemory() * this.heapWatermark) {
+            return 0;
+        }
+        this.lastCollectionCount = collectionCount;
+        final int count = Math.max(1, (this.chunks.size() + MEMORY_PRESSURE_STEPS - 1) / MEMORY_PRESSURE_STEPS);
+        final Iterator<Map.Entry<Vector2i, LanternChunk>> it = this.chunks.entrySet().iterator();
+        for (int i = 0; i < count; i++) {
+            it.next();
+            it.remove();
+        }
+        this.metrics.onEviction(count, true);
+        return count;
+    }
+
+    synchronized int size() {
+        return this.chunks.size();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.chunk;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * Provides the heap usage that is used to decide whether chunks
+ * should be released from the {@link ChunkWarmCache}.
+ */
+interface HeapMonitor {
+
+    /**
+     * Gets the used heap memory after the last garbage collection, in bytes. This
+     * doesn't include the garbage that was created since that collection.
+     *
+     * @return The used heap memory
+     */
+    long getUsedMemory();
+
+    /**
+     * Gets the maximum heap memory, in bytes.
+     *
+     * @return The maximum heap memory
+     */
+    long getMaxMemory();
+
+    /**
+     * Gets the amount of garbage collections that happened
+     * since the start of the virtual machine.
+     *
+     * @return The collection count
+     */
+    long getCollectionCount();
+
+    /**
+     * The {@link HeapMonitor} that is backed by the memory pools
+     * and garbage collectors of the virtual machine.
+     */
+    HeapMonitor RUNTIME = new HeapMonitor() {
+
+        private final List<MemoryPoolMXBean> memoryPools = ManagementFactory.getMemoryPoolMXBeans();
+        private final List<GarbageCollectorMXBean> garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+        @Override
+        public long getUsedMemory() {
+            long used = 0;
+            boolean supported = false;
+            for (MemoryPoolMXBean memoryPool : this.memoryPools) {
+                if (memoryPool.getType() != MemoryType.HEAP) {
+                    continue;
+                }
+                final MemoryUsage usage = memoryPool.getCollectionUsage();
+                if (usage != null) {
+                    used += usage.getUsed();
+                    supported = true;
+                }
+            }
+            if (supported) {
+                return used;
+            }
+            // Fall back to the current usage, which includes uncollected garbage
+            final Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+
+        @Override
+        public long getMaxMemory() {
+            return Runtime.getRuntime().maxMemory();
+        }
+
+        @Override
+        public long getCollectionCount() {
+            long count = 0;
+            for (GarbageCollectorMXBean garbageCollector : this.garbageCollectors) {
+                count += Math.max(0, garbageCollector.getCollectionCount());
+            }
+            return count;
+        }
+    };
+}
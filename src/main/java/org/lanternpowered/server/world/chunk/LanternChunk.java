@@ -115,6 +115,7 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -174,7 +175,14 @@ public static class ChunkSection {
         /**
          * The block types array.
          */
-        final short[] types;
+        short[] types;
+
+        /**
+         * Whether the block types array is shared with other
+         * chunk sections, it will be copied before the first
+         * modification.
+         */
+        boolean sharedTypes;
 
         /**
          * The amount of blocks per block type/state in
@@ -226,6 +234,27 @@ private ChunkSection(@Nullable short[] types, @Nullable Integer nonAirCount) {
             this.lightFromSky = new NibbleArray(CHUNK_SECTION_VOLUME);
         }
 
+        /**
+         * Creates a new chunk section that shares the block types
+         * array until it's modified, the array may not be modified
+         * by the caller anymore.
+         *
+         * @param sharedTypes The shared block types array
+         * @param typesCountMap The amount of blocks per block type/state
+         * @param nonAirCount The amount of non air blocks
+         */
+        ChunkSection(short[] sharedTypes, Short2ShortMap typesCountMap, int nonAirCount) {
+            checkArgument(sharedTypes.length == CHUNK_SECTION_VOLUME, "Type array length mismatch: Got "
+                    + sharedTypes.length + ", but expected " + CHUNK_SECTION_VOLUME);
+            this.types = sharedTypes;
+            this.sharedTypes = true;
+            this.typesCountMap.putAll(typesCountMap);
+            this.nonAirCount = nonAirCount;
+            this.tileEntities = new Short2ObjectOpenHashMap<>();
+            this.lightFromBlock = new NibbleArray(CHUNK_SECTION_VOLUME);
+            this.lightFromSky = new NibbleArray(CHUNK_SECTION_VOLUME);
+        }
+
         public ChunkSection(short[] types, NibbleArray lightFromSky, NibbleArray lightFromBlock,
                 Short2ObjectMap<LanternTileEntity> tileEntities) {
             checkArgument(types.length == CHUNK_SECTION_VOLUME, "Type array length mismatch: Got "
@@ -255,6 +284,18 @@ public static int index(int x, int y, int z) {
             return (y << 8) | (z << 4) | x;
         }
 
+        /**
+         * Copies the block types array if it's shared
+         * with other chunk sections, this must be called
+         * before the block types are modified.
+         */
+        void unshareTypes() {
+            if (this.sharedTypes) {
+                this.types = this.types.clone();
+                this.sharedTypes = false;
+            }
+        }
+
         /**
          * Recounts the amount of non air blocks.
          */
@@ -374,7 +415,21 @@ private ChunkSectionSnapshot(short[] types, Short2ShortMap typesCountMap, Short2
     volatile boolean populated;
 
     // Whether this chunk is currently being populated
-    volatile boolean populating;
+    final AtomicBoolean populating = new AtomicBoolean();
+
+    // Whether a population is currently writing into this chunk, the population
+    // areas of neighbor chunks overlap so every chunk of the area is claimed
+    final AtomicBoolean populationClaim = new AtomicBoolean();
+
+    // Whether the load event was posted and the chunk is being tracked
+    final AtomicBoolean loadAnnounced = new AtomicBoolean();
+
+    // The last completed generation stage of this chunk
+    volatile GenerationStatus generationStatus = GenerationStatus.EMPTY;
+
+    // The amount of generation tasks that are using this chunk as a
+    // neighbor, or -1 if the chunk is getting unloaded
+    private final AtomicInteger generationPins = new AtomicInteger();
 
     // The state of the lock
     volatile LockState lockState = LockState.NONE;
@@ -394,6 +449,49 @@ private ChunkSectionSnapshot(short[] types, Short2ShortMap typesCountMap, Short2
         }
     }
 
+    /**
+     * The stages of the world generation pipeline, in the
+     * order that they are applied to a {@link LanternChunk}.
+     */
+    public enum GenerationStatus {
+        /**
+         * Nothing is generated yet.
+         */
+        EMPTY,
+        /**
+         * The biomes are generated.
+         */
+        BIOMES,
+        /**
+         * The base terrain is generated.
+         */
+        TERRAIN,
+        /**
+         * All the generation populators are applied, the chunk
+         * is waiting for its neighbors to be populated.
+         */
+        DECORATED,
+        /**
+         * All the populators are applied.
+         */
+        POPULATED,
+        /**
+         * The light is calculated, the chunk is fully generated.
+         */
+        LIGHTED;
+
+        /**
+         * Gets whether this status is the same or a later
+         * stage than the specified status.
+         *
+         * @param status The status
+         * @return Is at least the status
+         */
+        public boolean isAtLeast(GenerationStatus status) {
+            return ordinal() >= status.ordinal();
+        }
+    }
+
     /**
      * The states that the chunk lock can have.
      */
@@ -717,6 +815,57 @@ public void setPopulated(boolean populated) {
         this.populated = populated;
     }
 
+    /**
+     * Gets the last completed stage of the world generation.
+     *
+     * @return The generation status
+     */
+    public GenerationStatus getGenerationStatus() {
+        return this.generationStatus;
+    }
+
+    /**
+     * Attempts to pin this chunk so that it cannot be unloaded
+     * while a generation task is depending on it.
+     *
+     * @return Whether the chunk was pinned, fails if the chunk is unloading
+     */
+    boolean tryPinForGeneration() {
+        int pins;
+        do {
+            pins = this.generationPins.get();
+            if (pins < 0) {
+                return false;
+            }
+        } while (!this.generationPins.compareAndSet(pins, pins + 1));
+        return true;
+    }
+
+    /**
+     * Releases a pin that was acquired through {@link #tryPinForGeneration()}.
+     */
+    void unpinForGeneration() {
+        this.generationPins.decrementAndGet();
+    }
+
+    /**
+     * Attempts to block all the generation pins, this is only
+     * possible if no generation task is using this chunk.
+     *
+     * @return Whether the pins were blocked
+     */
+    boolean tryBlockGenerationPins() {
+        return this.generationPins.compareAndSet(0, -1);
+    }
+
+    /**
+     * Allows the chunk to be pinned again after
+     * {@link #tryBlockGenerationPins()}.
+     */
+    void unblockGenerationPins() {
+        this.generationPins.compareAndSet(-1, 0);
+    }
+
     /**
      * Gets the x coordinate of the chunk.
      * 
@@ -951,6 +1100,7 @@ public boolean setBlock(int x, int y, int z, BlockState block, BlockChangeFlag f
             } else if (remove) {
                 section.tileEntities.remove((short) index);
             }
+            section.unshareTypes();
             section.types[index] = type1;
             return section;
         });
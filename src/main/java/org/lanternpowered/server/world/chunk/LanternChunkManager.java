@@ -28,10 +28,7 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.lanternpowered.server.util.Conditions.checkPlugin;
 import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_AREA;
-import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_HEIGHT;
 import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTIONS;
-import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTION_SIZE;
-import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTION_VOLUME;
 import static org.lanternpowered.server.world.chunk.LanternChunkLayout.CHUNK_BIOME_VOLUME;
 
 import com.flowpowered.math.vector.Vector2i;
@@ -51,23 +48,17 @@
 import org.lanternpowered.server.game.DirectoryKeys;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.game.LanternGame;
-import org.lanternpowered.server.game.registry.type.block.BlockRegistryModule;
 import org.lanternpowered.server.plugin.InternalPluginsInfo;
+import org.lanternpowered.server.profiler.ChunkCacheMetrics;
 import org.lanternpowered.server.util.FastSoftThreadLocal;
 import org.lanternpowered.server.util.ThreadHelper;
 import org.lanternpowered.server.util.gen.biome.ObjectArrayImmutableBiomeBuffer;
 import org.lanternpowered.server.util.gen.biome.ShortArrayMutableBiomeBuffer;
-import org.lanternpowered.server.util.gen.block.AbstractMutableBlockBuffer;
-import org.lanternpowered.server.util.gen.block.AtomicShortArrayMutableBlockBuffer;
-import org.lanternpowered.server.util.gen.block.ShortArrayImmutableBlockBuffer;
-import org.lanternpowered.server.util.gen.block.ShortArrayMutableBlockBuffer;
 import org.lanternpowered.server.world.LanternWorld;
 import org.lanternpowered.server.world.chunk.LanternChunk.ChunkSection;
-import org.lanternpowered.server.world.extent.ExtentBufferHelper;
 import org.lanternpowered.server.world.extent.SoftBufferExtentViewDownsize;
+import org.lanternpowered.server.world.gen.TemplateGenerationPopulator;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.block.BlockState;
-import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.event.EventManager;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -85,9 +76,6 @@
 import org.spongepowered.api.world.biome.VirtualBiomeType;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
-import org.spongepowered.api.world.extent.ImmutableBlockVolume;
-import org.spongepowered.api.world.extent.MutableBlockVolume;
-import org.spongepowered.api.world.extent.StorageType;
 import org.spongepowered.api.world.gen.BiomeGenerator;
 import org.spongepowered.api.world.gen.GenerationPopulator;
 import org.spongepowered.api.world.gen.Populator;
@@ -108,11 +96,16 @@
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -122,16 +115,6 @@
 
 public final class LanternChunkManager {
 
-    // The maximum amount of threads that can load chunks asynchronously
-    private static final int CHUNK_LOADING_MAX_POOL_SIZE = 10;
-
-    // The core amount of threads that can load chunks asynchronously
-    private static final int CHUNK_LOADING_CORE_POOL_SIZE = 4;
-
-    // The delay to unload chunks that are not forced,
-    // loaded through loadChunk methods
-    private static final long UNLOAD_DELAY = TimeUnit.SECONDS.toMillis(1);
-
     // All the attached tickets mapped by the forced chunk coordinates
     private final Map<Vector2i, Set<ChunkLoadingTicket>> ticketsByPos = new ConcurrentHashMap<>();
 
@@ -145,6 +128,13 @@ public final class LanternChunkManager {
     // so much after all, because of active references to the chunk
     private final Map<Vector2i, LanternChunk> reusableChunks = new MapMaker().weakValues().makeMap();
 
+    // The recently unloaded chunks that are kept in memory, these are
+    // strongly referenced until evicted so they can be reused without I/O
+    private final ChunkWarmCache warmCache;
+
+    // The metrics of the chunk loading and the warm cache
+    private final ChunkCacheMetrics cacheMetrics;
+
     // A set which contains chunks that are pending for removal,
     // chunks loaded by loadChunk may not have been locked in the process,
     // and using a queue for removal should prevent the chunks from unloading too early
@@ -173,128 +163,88 @@ public int hashCode() {
         }
     }
 
-    // All the futures that will cause chunk loading/unloading, they are stored
-    // here to allow them to be cancelled
-    private final Map<Vector2i, LanternChunkQueueTask> chunkQueueTasks = new ConcurrentHashMap<>();
+    // The chunk load executor, the pool size is defined by the world config
+    private final ThreadPoolExecutor chunkTaskExecutor;
 
-    // The chunk load executor
-    private final ThreadPoolExecutor chunkTaskExecutor = new ThreadPoolExecutor(
-            CHUNK_LOADING_CORE_POOL_SIZE, CHUNK_LOADING_MAX_POOL_SIZE, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
-            ThreadHelper.newFastThreadLocalThreadFactory());
+    // All the chunks that are being loaded through loadAsync, this
+    // prevents that the same chunk is queued multiple times
+    private final Map<Vector2i, CompletableFuture<LanternChunk>> pendingLoads = new ConcurrentHashMap<>();
+
+    // The loads that were queued for forced chunks, they are
+    // stored here to allow them to be cancelled when unforced
+    private final Map<Vector2i, CompletableFuture<LanternChunk>> ticketLoads = new ConcurrentHashMap<>();
+
+    // The tasks that should be executed on the world thread, the futures
+    // of the asynchronous chunk loads are completed through this queue
+    private final Queue<Runnable> worldThreadTasks = new ConcurrentLinkedQueue<>();
+
+    // The pool that runs the generation stages and the populations that depend on
+    // neighbor chunks, work stealing allows many small tasks to scale with the amount of cores
+    private final ForkJoinPool generationPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("chunk-generation-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, true);
 
     // Some objects that can be used in {@link Chunk} population.
     private class PopulationData {
 
         private final Random random = new Random();
-        private final ChunkLoadingTicket lockTicket = new InternalLoadingTicket();
-    }
-
-    private LanternChunkQueueTask queueTask(Vector2i coords, Runnable runnable) {
-        final LanternChunkQueueTask task = new LanternChunkQueueTask(coords, runnable);
-        task.setFuture(this.chunkTaskExecutor.submit(task));
-        return task;
     }
 
-    private class LanternChunkQueueTask implements Callable<Void> {
-
-        private final Vector2i coords;
-        // The runnable that should be executed
-        private final Runnable runnable;
-        // The future attached to this callable
-        @Nullable private Future<Void> future;
-
-        LanternChunkQueueTask(Vector2i coords, Runnable runnable) {
-            this.runnable = runnable;
-            this.coords = coords;
-        }
-
-        public void setFuture(Future<Void> future) {
-            this.future = future;
-            synchronized (this) {
-                notifyAll();
-            }
-        }
-
-        @Override
-        public Void call() throws Exception {
-            // Wait for the future to be set, in case it's getting directly executed
-            synchronized (this) {
-                while (this.future == null) {
-                    try {
-                        wait();
-                    } catch (InterruptedException ignored) {
-                    }
-                }
-            }
-            this.runnable.run();
-            return null;
+    private void doAsyncChunkLoad(Vector2i coords, Supplier<Cause> cause, boolean generate,
+            CompletableFuture<LanternChunk> future) {
+        // The load was cancelled before it started
+        if (future.isCancelled()) {
+            return;
         }
-
-        boolean cancel() {
-            // We have to wait for the future to be set before we
-            // can cancel it, shouldn't be long
-            synchronized (this) {
-                while (this.future == null) {
-                    try {
-                        wait();
-                    } catch (InterruptedException ignored) {
-                    }
-                }
+        LanternChunk chunk = null;
+        Throwable throwable = null;
+        try {
+            chunk = getOrCreateChunkAfterUnload(coords, cause, generate, true);
+        } catch (Throwable t) {
+            throwable = t;
+        }
+        final LanternChunk chunk0 = chunk;
+        final Throwable throwable0 = throwable;
+        // Resume the callbacks on the world thread
+        this.worldThreadTasks.add(() -> {
+            this.pendingLoads.remove(coords, future);
+            if (throwable0 != null) {
+                future.completeExceptionally(throwable0);
+            } else {
+                future.complete(chunk0);
             }
-            return this.future.cancel(false);
-        }
-
-        @Override
-        public boolean equals(Object other) {
-            return other instanceof LanternChunkQueueTask && ((LanternChunkQueueTask) other).coords.equals(this.coords);
-        }
-
-        @Override
-        public int hashCode() {
-            return this.coords.hashCode();
-        }
-    }
-
-    private class LanternChunkUnloadTask implements Runnable {
-
-        // The callable that is bound to the unloading task
-        private final LanternChunkQueueTask callable;
-
-        private LanternChunkUnloadTask(LanternChunkQueueTask callable) {
-            this.callable = callable;
-        }
-
-        @Override
-        public void run() {
-            unload0(this.callable.coords, () -> Cause.source(world).build(), false);
-        }
+        });
     }
 
-    private class LanternChunkLoadTask implements Runnable {
-
-        // The coordinates of the chunk
-        private final Vector2i coords;
-
-        private LanternChunkLoadTask(Vector2i coords) {
-            this.coords = coords;
-        }
-
-        @Override
-        public void run() {
-            doChunkLoad(this.coords);
+    /**
+     * Gets or creates the chunk at the specified coordinates, a chunk that is
+     * currently unloading will be loaded again once the unloading is finished.
+     * <p>
+     * This should only be called from the chunk loading threads, the unloading
+     * never waits for these threads so this cannot result in a deadlock.
+     *
+     * @param coords the coordinates of the chunk to load
+     * @param cause a supplier of the cause that triggered the chunk load
+     * @param generate whether the chunk should be generated if not found
+     * @param wait whether the current thread should wait for the loading to finish
+     * @return the chunk
+     */
+    private LanternChunk getOrCreateChunkAfterUnload(Vector2i coords, Supplier<Cause> cause, boolean generate, boolean wait) {
+        LanternChunk chunk = this.loadedChunks.get(coords);
+        if (chunk == null) {
+            // The chunk may already be removed from the loaded chunks
+            // while it's still being saved by the unloading thread
+            chunk = this.reusableChunks.get(coords);
         }
-    }
-
-    private void doChunkLoad(Vector2i coords) {
-        final Set<ChunkLoadingTicket> tickets = this.ticketsByPos.get(coords);
-        if (tickets == null) {
-            return;
+        if (chunk != null && chunk.lockState == LanternChunk.LockState.UNLOADING) {
+            // Wait for the chunk to be unloaded, it will be resurrected
+            // from the warm cache or the reusable chunks afterwards
+            awaitUnlock(chunk);
         }
-        // Chunk may be null if's already being loaded by a different thread.
-        getOrCreateChunk(coords, () -> {
-            // Build the cause only if the chunk isn't already loaded
-            return Cause.source(this.world).named("tickets", tickets.toArray(new Object[tickets.size()])).build();
-        }, true, false);
+        return getOrCreateChunk(coords, cause, generate, wait);
     }
 
     // The game instance
@@ -324,6 +274,9 @@ private class GenerationBuffers {
     // The world generation buffers that will be reused
     private final FastSoftThreadLocal<GenerationBuffers> genBuffers = FastSoftThreadLocal.withInitial(GenerationBuffers::new);
 
+    // The templates of the chunks that are shared between chunks
+    @Nullable private volatile ChunkTemplateCache templateCache;
+
     // The randoms that will be shared for population
     private final FastSoftThreadLocal<PopulationData> populationData = FastSoftThreadLocal.withInitial(PopulationData::new);
 
@@ -345,6 +298,13 @@ public LanternChunkManager(
         this.worldConfig = worldConfig;
         this.world = world;
         this.game = game;
+        final int loadingThreads = Math.max(1, worldConfig.getChunkLoadingThreads());
+        this.chunkTaskExecutor = new ThreadPoolExecutor(loadingThreads,
+                Math.max(loadingThreads, worldConfig.getMaxChunkLoadingThreads()), 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), ThreadHelper.newFastThreadLocalThreadFactory());
+        this.cacheMetrics = new ChunkCacheMetrics(world.getName(), () -> this.warmCache.size());
+        this.warmCache = new ChunkWarmCache(worldConfig.getChunkWarmCacheSize(),
+                worldConfig.getChunkWarmCacheHeapWatermark(), HeapMonitor.RUNTIME, this.cacheMetrics);
     }
 
     public LanternWorld getWorld() {
@@ -355,6 +315,15 @@ public ChunkIOService getChunkIOService() {
         return this.chunkIOService;
     }
 
+    /**
+     * Gets the {@link ChunkCacheMetrics} of this chunk manager.
+     *
+     * @return The cache metrics
+     */
+    public ChunkCacheMetrics getCacheMetrics() {
+        return this.cacheMetrics;
+    }
+
     /**
      * Sets the generator of the world (chunk manager).
      * 
@@ -599,13 +568,25 @@ public LanternChunk getChunkIfLoaded(int x, int z) {
         return getChunkIfLoaded(new Vector2i(x, z));
     }
 
+    /**
+     * Waits for the thread that is currently holding the lock of the
+     * chunk to finish its work. The lock condition can only be awaited
+     * while holding the lock, so acquiring the lock is used instead.
+     *
+     * @param chunk the chunk
+     */
+    private static void awaitUnlock(LanternChunk chunk) {
+        chunk.lock.lock();
+        chunk.lock.unlock();
+    }
+
     @Nullable
     private LanternChunk getChunk(Vector2i coords, boolean wait) {
         final LanternChunk chunk = this.loadedChunks.get(checkNotNull(coords, "coords"));
         if (wait && chunk != null && !chunk.loaded &&
                 chunk.lockState == LanternChunk.LockState.LOADING) {
             // Wait for the chunk to finish loading
-            chunk.lockCondition.awaitUninterruptibly();
+            awaitUnlock(chunk);
         }
         return chunk;
     }
@@ -692,17 +673,32 @@ private LanternChunk getOrCreateChunk(Vector2i coords, Supplier<Cause> cause, bo
             }
             return chunk;
         }
-        // Lets try to visit the graveyard, try to retrieve chunks that where
-        // not gc yet, allowing us to reuse them to avoid loading a new chunk
-        chunk = this.reusableChunks.get(coords);
-        if (chunk != null) {
-            this.loadedChunks.put(coords, chunk);
-            this.reusableChunks.remove(coords);
+        // Try to reactivate a recently unloaded chunk from the warm cache, otherwise
+        // visit the graveyard, try to retrieve chunks that where not gc yet,
+        // allowing us to reuse them to avoid loading a new chunk
+        chunk = this.warmCache.remove(coords);
+        final boolean warm = chunk != null;
+        if (!warm) {
+            chunk = this.reusableChunks.get(coords);
+        }
+        // Claim the coordinates before the chunk is announced, only one thread
+        // may reactivate the chunk. If another thread was first, continue below
+        // with the chunk of that thread
+        if (chunk != null && this.loadedChunks.putIfAbsent(coords, chunk) == null) {
+            if (warm) {
+                this.cacheMetrics.onWarmCacheHit();
+            } else {
+                this.cacheMetrics.onChunkReused();
+            }
+            this.reusableChunks.remove(coords, chunk);
             if (!this.ticketsByPos.containsKey(coords)) {
                 this.pendingForUnload.add(new UnloadingChunkEntry(coords));
             }
-            this.game.getEventManager().post(SpongeEventFactory.createLoadChunkEvent(cause.get(), chunk));
-            this.world.getEventListener().onLoadChunk(chunk);
+            final Cause cause0 = cause.get();
+            announceLoad(chunk, cause0);
+            // The chunk may still be waiting for its population, or complete
+            // the population dependencies of its neighbors
+            schedulePopulation(chunk, cause0);
             // Resurrect all the entities in the chunk
             chunk.resurrectEntities();
             this.world.addEntities(chunk.getEntities());
@@ -726,7 +722,7 @@ private LanternChunk getOrCreateChunk(Vector2i coords, Supplier<Cause> cause, bo
                     return chunk;
                 }
                 // Wait for the chunk to finish loading
-                chunk.lockCondition.awaitUninterruptibly();
+                awaitUnlock(chunk);
             }
             // Loading is not triggered?
             return chunk;
@@ -740,26 +736,85 @@ private LanternChunk getOrCreateChunk(Vector2i coords, Supplier<Cause> cause, bo
         return chunk;
     }
 
-    private static final int UP = 0;
-    private static final int DOWN = 1;
-    private static final int RIGHT = 2;
-    private static final int RIGHT_UP = 3;
-    private static final int RIGHT_DOWN = 4;
-    private static final int LEFT = 5;
-    private static final int LEFT_UP = 6;
-    private static final int LEFT_DOWN = 7;
-
-    private static Vector2i[] getSides(Vector2i center) {
-        final Vector2i[] sides = new Vector2i[8];
-        sides[UP] = center.add(0, 1);
-        sides[DOWN] = center.add(0, -1);
-        sides[RIGHT] = center.add(1, 0);
-        sides[RIGHT_UP] = center.add(1, 1);
-        sides[RIGHT_DOWN] = center.add(1, -1);
-        sides[LEFT] = center.add(-1, 0);
-        sides[LEFT_UP] = center.add(-1, 1);
-        sides[LEFT_DOWN] = center.add(-1, -1);
-        return sides;
+    /**
+     * Loads the chunk at the specified coordinates on one of the chunk loading
+     * threads, the caller will never wait for the chunk to be read or generated.
+     * <p>
+     * The returned future is completed on the world thread, so the callbacks
+     * that are attached to it will be executed on the world thread as well. If
+     * the chunk was already loaded, the future will be completed directly.
+     * <p>
+     * The chunks that are forced by {@link ChunkLoadingTicket}s, which includes
+     * the chunks that are tracked by players and other moving entities, are loaded
+     * through this method as well. Cancelling the returned future drops the load if
+     * it didn't start yet, this affects all the callers that are waiting for the
+     * same chunk.
+     * <p>
+     * The following loads still block the calling thread:
+     * <ul>
+     *     <li>{@link LanternWorld#loadChunk(int, int, int, boolean)}, the api
+     *         contract requires the chunk to be returned directly</li>
+     *     <li>Spawning an entity into an unloaded chunk, the chunk must be present
+     *         to add the entity to</li>
+     *     <li>Generating the spawn area while the world is being loaded</li>
+     *     <li>The chunk pre generation if it isn't running in parallel, it's already
+     *         running outside the world tick</li>
+     *     <li>The block, biome and entity accessors of the world that are called for
+     *         unloaded chunks through {@link #getOrLoadChunk(int, int)}</li>
+     * </ul>
+     *
+     * @param coords the coordinates
+     * @param cause the cause
+     * @param generate whether the chunk should be generated if missing
+     * @return the future of the chunk
+     */
+    public CompletableFuture<LanternChunk> loadAsync(Vector2i coords, Supplier<Cause> cause, boolean generate) {
+        checkNotNull(coords, "coords");
+        checkNotNull(cause, "cause");
+        final LanternChunk chunk = getChunkIfLoaded(coords);
+        if (chunk != null && chunk.lockState != LanternChunk.LockState.UNLOADING) {
+            if (!this.ticketsByPos.containsKey(coords)) {
+                this.pendingForUnload.add(new UnloadingChunkEntry(coords));
+            }
+            return CompletableFuture.completedFuture(chunk);
+        }
+        final boolean[] newLoad = new boolean[1];
+        final CompletableFuture<LanternChunk> future = this.pendingLoads.computeIfAbsent(coords, coords0 -> {
+            newLoad[0] = true;
+            return new CompletableFuture<>();
+        });
+        if (newLoad[0]) {
+            final Future<?> task;
+            try {
+                task = this.chunkTaskExecutor.submit(() -> doAsyncChunkLoad(coords, cause, generate, future));
+            } catch (RejectedExecutionException e) {
+                // The chunk manager is shutting down
+                this.pendingLoads.remove(coords, future);
+                future.completeExceptionally(e);
+                return future;
+            }
+            future.whenComplete((chunk0, throwable) -> {
+                if (future.isCancelled()) {
+                    task.cancel(false);
+                    this.pendingLoads.remove(coords, future);
+                }
+            });
+        }
+        return future;
+    }
+
+    /**
+     * Loads the chunk at the specified coordinates on one of the chunk loading
+     * threads, see {@link #loadAsync(Vector2i, Supplier, boolean)}.
+     *
+     * @param x the x coordinate
+     * @param z the z coordinate
+     * @param cause the cause
+     * @param generate whether the chunk should be generated if missing
+     * @return the future of the chunk
+     */
+    public CompletableFuture<LanternChunk> loadAsync(int x, int z, Supplier<Cause> cause, boolean generate) {
+        return loadAsync(new Vector2i(x, z), cause, generate);
     }
 
     /**
@@ -778,65 +833,216 @@ private static Vector2i[] getSides(Vector2i center) {
      * | . . . . .|          |
      * +----------+----------+
      *
-     * @param chunk the chunk
+     * A chunk can only be populated once the chunk itself and the chunks at the
+     * positive x and z sides are decorated. This means that a newly decorated chunk
+     * can complete the dependencies of itself and the chunks at its negative sides,
+     * so only those chunks have to be checked.
+     *
+     * The populations run on the generation pool. The areas of neighbor chunks
+     * overlap, so a population claims all the chunks of its area before the
+     * populators are applied, overlapping populations never run at the same time.
+     *
+     * @param chunk the chunk that was decorated
+     * @param cause the cause
      */
-    private void tryPopulateSurroundingChunks(LanternChunk chunk, Cause cause) {
-        final Vector2i pos = chunk.chunkPos;
-        final Vector2i[] sides = getSides(pos);
-        final PopulationData populationData = this.populationData.get();
-        final Random random = populationData.random;
-        // TODO: Populating must be done in the sync thread???
-        for (Vector2i side : sides) {
-            lockInternally(side, populationData.lockTicket);
-        }
-        LanternChunk up = isChunkLoaded(sides[UP]);
-        LanternChunk right = isChunkLoaded(sides[RIGHT]);
-        LanternChunk rightUp = isChunkLoaded(sides[RIGHT_UP]);
-        if (up != null && right != null && rightUp != null) {
-            if (!chunk.populating && !chunk.populated) {
-                populateChunk(chunk, cause, random);
+    private void schedulePopulation(LanternChunk chunk, Cause cause) {
+        for (int x = -1; x <= 0; x++) {
+            for (int z = -1; z <= 0; z++) {
+                final LanternChunk target = x == 0 && z == 0 ? chunk : getDecoratedChunk(chunk.getX() + x, chunk.getZ() + z);
+                if (target != null && !target.populated) {
+                    tryQueuePopulation(target, cause);
+                }
             }
         }
-        LanternChunk left = isChunkLoaded(sides[LEFT]);
-        LanternChunk leftDown = isChunkLoaded(sides[LEFT_DOWN]);
-        LanternChunk down = isChunkLoaded(sides[DOWN]);
-        if (leftDown != null && left != null && down != null) {
-            if (!leftDown.populating && !leftDown.populated) {
-                populateChunk(leftDown, cause, random);
-            }
+    }
+
+    private void tryQueuePopulation(LanternChunk chunk, Cause cause) {
+        final LanternChunk[] area = new LanternChunk[4];
+        area[0] = chunk;
+        if ((area[1] = getDecoratedChunk(chunk.getX() + 1, chunk.getZ())) == null ||
+                (area[2] = getDecoratedChunk(chunk.getX(), chunk.getZ() + 1)) == null ||
+                (area[3] = getDecoratedChunk(chunk.getX() + 1, chunk.getZ() + 1)) == null) {
+            return;
+        }
+        // Only one task may claim the population of a chunk
+        if (!chunk.populating.compareAndSet(false, true)) {
+            return;
         }
-        if (up == null) { // Maybe it is loaded by now?
-            up = isChunkLoaded(sides[UP]);
+        // Lock all the chunks within the area, so that they won't be queued for
+        // unloading while the population is pending or running
+        final ChunkLoadingTicket ticket = new InternalLoadingTicket();
+        for (LanternChunk chunk0 : area) {
+            lockInternally(chunk0.getCoords(), ticket);
         }
-        if (left == null) { // Maybe it is loaded by now?
-            left = isChunkLoaded(sides[LEFT]);
+        try {
+            this.generationPool.execute(() -> populateArea(area, ticket, cause));
+        } catch (RejectedExecutionException e) {
+            // The chunk manager is shutting down
+            releasePopulationArea(area, ticket);
+            chunk.populating.set(false);
         }
-        LanternChunk leftUp = isChunkLoaded(sides[LEFT_UP]);
-        if (left != null && leftUp != null && up != null) {
-            if (!left.populating && !left.populated) {
-                populateChunk(left, cause, random);
+    }
+
+    private void releasePopulationArea(LanternChunk[] area, ChunkLoadingTicket ticket) {
+        for (LanternChunk chunk0 : area) {
+            final Vector2i coords = chunk0.getCoords();
+            // Queue the chunk for unload again, the pending unload
+            // was dropped while the chunk was locked
+            if (unlockInternally(coords, ticket) && !this.ticketsByPos.containsKey(coords)) {
+                this.pendingForUnload.add(new UnloadingChunkEntry(coords));
             }
         }
-        if (right == null) { // Maybe it is loaded by now?
-            right = isChunkLoaded(sides[RIGHT]);
+    }
+
+    /**
+     * Attempts to claim all the chunks within the population area. The areas
+     * of neighbor chunks overlap, so only one population may write into a chunk
+     * at the same time. Claiming never waits, a partial claim is released again.
+     *
+     * @param area the chunks of the population area
+     * @return whether all the chunks were claimed
+     */
+    private static boolean tryClaimPopulationArea(LanternChunk[] area) {
+        for (int i = 0; i < area.length; i++) {
+            if (!area[i].populationClaim.compareAndSet(false, true)) {
+                for (int j = 0; j < i; j++) {
+                    area[j].populationClaim.set(false);
+                }
+                return false;
+            }
         }
-        if (down == null) { // Maybe it is loaded by now?
-            down = isChunkLoaded(sides[DOWN]);
+        return true;
+    }
+
+    private static boolean isPopulationAreaClaimed(LanternChunk[] area) {
+        for (LanternChunk chunk : area) {
+            if (chunk.populationClaim.get()) {
+                return true;
+            }
         }
-        LanternChunk rightDown = isChunkLoaded(sides[RIGHT_DOWN]);
-        if (down != null && rightDown != null && right != null) {
-            if (!down.populating && !down.populated) {
-                populateChunk(down, cause, random);
+        return false;
+    }
+
+    /**
+     * Queues the populations that overlap with the population area of the
+     * given chunk again, they may have been postponed because the area
+     * was claimed.
+     *
+     * @param chunk the chunk that was populated
+     * @param cause the cause
+     */
+    private void requeueOverlappingPopulations(LanternChunk chunk, Cause cause) {
+        for (int x = -1; x <= 1; x++) {
+            for (int z = -1; z <= 1; z++) {
+                if (x == 0 && z == 0) {
+                    continue;
+                }
+                final LanternChunk target = getDecoratedChunk(chunk.getX() + x, chunk.getZ() + z);
+                if (target != null && !target.populated) {
+                    tryQueuePopulation(target, cause);
+                }
             }
         }
-        for (Vector2i side : sides) {
-            unlockInternally(side, populationData.lockTicket);
+    }
+
+    private void populateArea(LanternChunk[] area, ChunkLoadingTicket ticket, Cause cause) {
+        final LanternChunk chunk = area[0];
+        int pinned = 0;
+        boolean claimed = false;
+        boolean postponed = false;
+        try {
+            // Pin all the chunks within the area so that they cannot unload while
+            // populating, the tickets only prevent the chunks from being queued
+            for (LanternChunk chunk0 : area) {
+                // The chunk was already unloading before the area was locked, the population
+                // will be scheduled again once the chunk is loaded again
+                if (!chunk0.tryPinForGeneration()) {
+                    this.game.getLogger().debug("Postponed the population of chunk ({};{}), chunk ({};{}) is unloading",
+                            chunk.getX(), chunk.getZ(), chunk0.getX(), chunk0.getZ());
+                    return;
+                }
+                pinned++;
+                if (!chunk0.loaded || this.loadedChunks.get(chunk0.getCoords()) != chunk0) {
+                    this.game.getLogger().debug("Postponed the population of chunk ({};{}), chunk ({};{}) is unloaded",
+                            chunk.getX(), chunk.getZ(), chunk0.getX(), chunk0.getZ());
+                    return;
+                }
+            }
+            if (chunk.populated) {
+                return;
+            }
+            // A overlapping population is writing into the area, the population
+            // will be queued again once that population is finished
+            if (!tryClaimPopulationArea(area)) {
+                postponed = true;
+                return;
+            }
+            claimed = true;
+            populateChunk(chunk, cause, this.populationData.get().random);
+            chunk.generationStatus = LanternChunk.GenerationStatus.POPULATED;
+            // The populators may have changed the terrain, so the light needs to be updated
+            chunk.setLightPopulated(false);
+            chunk.initializeLight();
+            chunk.generationStatus = LanternChunk.GenerationStatus.LIGHTED;
+        } catch (Throwable e) {
+            this.game.getLogger().error("Error while populating chunk ({};{})", chunk.getX(), chunk.getZ(), e);
+        } finally {
+            if (claimed) {
+                for (LanternChunk chunk0 : area) {
+                    chunk0.populationClaim.set(false);
+                }
+            }
+            for (int i = 0; i < pinned; i++) {
+                area[i].unpinForGeneration();
+            }
+            releasePopulationArea(area, ticket);
+            chunk.populating.set(false);
+            if (claimed) {
+                requeueOverlappingPopulations(chunk, cause);
+            } else if (postponed && !isPopulationAreaClaimed(area)) {
+                // The population that claimed the area finished before the populating
+                // flag was released, so it couldn't queue this population again
+                tryQueuePopulation(chunk, cause);
+            }
         }
     }
 
-    private void populateChunk(LanternChunk chunk, Cause cause, Random random) {
-        chunk.populating = true;
+    /**
+     * Posts the chunk load event and starts the tracking of the chunk, this
+     * happens as soon as the chunk is loaded. Chunks that are populated later
+     * on are sent again to the players through the populate chunk listener.
+     *
+     * @param chunk the chunk
+     * @param cause the cause
+     */
+    private void announceLoad(LanternChunk chunk, Cause cause) {
+        if (chunk.loadAnnounced.compareAndSet(false, true)) {
+            this.game.getEventManager().post(SpongeEventFactory.createLoadChunkEvent(cause, chunk));
+            this.world.getEventListener().onLoadChunk(chunk);
+        }
+    }
+
+    /**
+     * Posts the chunk unload event and stops the tracking of the
+     * chunk, if the load of the chunk was announced.
+     *
+     * @param chunk the chunk
+     * @param cause the cause
+     */
+    private void announceUnload(LanternChunk chunk, Supplier<Cause> cause) {
+        if (chunk.loadAnnounced.compareAndSet(true, false)) {
+            this.game.getEventManager().post(SpongeEventFactory.createUnloadChunkEvent(cause.get(), chunk));
+            this.world.getEventListener().onUnloadChunk(chunk);
+        }
+    }
 
+    @Nullable
+    private LanternChunk getDecoratedChunk(int x, int z) {
+        final LanternChunk chunk = getChunk(new Vector2i(x, z), false);
+        return chunk != null && chunk.loaded && chunk.generationStatus.isAtLeast(LanternChunk.GenerationStatus.DECORATED) ? chunk : null;
+    }
+
+    private void populateChunk(LanternChunk chunk, Cause cause, Random random) {
         // Populate
         int chunkX = chunk.getX() * 16;
         int chunkZ = chunk.getZ() * 16;
@@ -893,13 +1099,6 @@ private void populateChunk(LanternChunk chunk, Cause cause, Random random) {
 
         // We are done
         chunk.populated = true;
-        chunk.populating = false;
-    }
-
-    @Nullable
-    private LanternChunk isChunkLoaded(Vector2i pos) {
-        final LanternChunk chunk = getChunk(pos, false);
-        return chunk != null && chunk.loaded ? chunk : null;
     }
 
     /**
@@ -927,7 +1126,7 @@ private boolean load0(LanternChunk chunk, Supplier<Cause> cause, boolean generat
             if (chunk.lockState == LanternChunk.LockState.LOADING) {
                 if (wait) {
                     // Wait for the chunk to finish loading
-                    chunk.lockCondition.awaitUninterruptibly();
+                    awaitUnlock(chunk);
                     // Consider it was a success?
                     return chunk.loadingSuccess;
                 } else {
@@ -942,19 +1141,19 @@ private boolean load0(LanternChunk chunk, Supplier<Cause> cause, boolean generat
             }
         }
         boolean success = true;
+        @Nullable Cause populationCause = null;
         try {
             chunk.lockState = LanternChunk.LockState.LOADING;
-            final LanternChunkQueueTask task = this.chunkQueueTasks.remove(chunk.getCoords());
-            // Try to cancel the task, the task will probably be ignored
-            // because we are already locked
-            if (task != null) {
-                task.cancel();
-            }
             try {
                 // Try to load the chunk
                 if (this.chunkIOService.read(chunk)) {
-                    this.game.getEventManager().post(SpongeEventFactory.createLoadChunkEvent(cause.get(), chunk));
-                    this.world.getEventListener().onLoadChunk(chunk);
+                    this.cacheMetrics.onReload();
+                    chunk.generationStatus = chunk.populated ?
+                            LanternChunk.GenerationStatus.LIGHTED : LanternChunk.GenerationStatus.DECORATED;
+                    final Cause cause0 = cause.get();
+                    announceLoad(chunk, cause0);
+                    // The chunk may complete the population dependencies of its neighbors
+                    populationCause = cause0;
                     return true;
                 }
             } catch (Exception e) {
@@ -973,14 +1172,14 @@ private boolean load0(LanternChunk chunk, Supplier<Cause> cause, boolean generat
             // Generate chunk
             try {
                 generate(chunk, cause0);
+                this.cacheMetrics.onGenerate();
             } catch (Throwable e) {
                 this.game.getLogger().error("Error while generating chunk ({};{})", chunk.getX(), chunk.getZ(), e);
                 return success = false;
             }
-            // Try to populate the chunk
-            tryPopulateSurroundingChunks(chunk, cause0);
-            this.game.getEventManager().post(SpongeEventFactory.createLoadChunkEvent(cause0, chunk));
-            this.world.getEventListener().onLoadChunk(chunk);
+            announceLoad(chunk, cause0);
+            // Populate the chunk once it's loaded
+            populationCause = cause0;
             return true;
         } finally {
             chunk.lockState = LanternChunk.LockState.NONE;
@@ -988,6 +1187,11 @@ private boolean load0(LanternChunk chunk, Supplier<Cause> cause, boolean generat
             chunk.loadingSuccess = success;
             chunk.lockCondition.signalAll();
             chunk.lock.unlock();
+            // The population stage runs on the generation pool, outside of the chunk lock,
+            // as soon as the neighbor chunks that are required are decorated
+            if (populationCause != null) {
+                schedulePopulation(chunk, populationCause);
+            }
         }
     }
 
@@ -1000,7 +1204,42 @@ private boolean load0(LanternChunk chunk, Supplier<Cause> cause, boolean generat
     private void generate(LanternChunk chunk, Cause cause) {
         final EventManager eventManager = Sponge.getEventManager();
         eventManager.post(SpongeEventFactory.createGenerateChunkEventPre(cause, chunk));
+        runOnGenerationPool(() -> generateStages(chunk));
+        eventManager.post(SpongeEventFactory.createGenerateChunkEventPost(cause, chunk));
+    }
+
+    /**
+     * Runs the task on the generation pool and waits for it to finish. The
+     * chunk lock is owned by the calling thread, so it can't be released until
+     * the task is done. The task is executed directly if the current thread
+     * already belongs to the pool, or if the pool is shut down.
+     *
+     * @param task the task
+     */
+    private void runOnGenerationPool(Runnable task) {
+        if (ForkJoinTask.getPool() == this.generationPool) {
+            task.run();
+            return;
+        }
+        final ForkJoinTask<?> forkJoinTask;
+        try {
+            forkJoinTask = this.generationPool.submit(task);
+        } catch (RejectedExecutionException e) {
+            // The chunk manager is shutting down
+            task.run();
+            return;
+        }
+        forkJoinTask.join();
+    }
 
+    /**
+     * Applies the biome, terrain and decoration stages to the chunk. These
+     * stages don't depend on the neighbor chunks, so every chunk can be
+     * generated concurrently on the generation pool.
+     *
+     * @param chunk The chunk
+     */
+    private void generateStages(LanternChunk chunk) {
         final GenerationBuffers buffers = this.genBuffers.get();
         //noinspection ConstantConditions
         final ChunkBiomeBuffer biomeBuffer = buffers.chunkBiomeBuffer;
@@ -1013,47 +1252,97 @@ private void generate(LanternChunk chunk, Cause cause) {
         // Initialize the biomes into the chunk
         final ImmutableBiomeVolume immutableBiomeVolume = biomeBuffer.getImmutableBiomeCopy();
         chunk.initializeBiomes(biomeBuffer.detach().clone());
+        chunk.generationStatus = LanternChunk.GenerationStatus.BIOMES;
 
-        final ChunkBlockBuffer blockBuffer = buffers.chunkBlockBuffer;
-        blockBuffer.reuse(new Vector3i(chunk.getX() << 4, 0, chunk.getZ() << 4));
-
-        // Apply the main world generator
         final GenerationPopulator baseGenerator = this.worldGenerator.getBaseGenerationPopulator();
-        baseGenerator.populate(this.world, blockBuffer, immutableBiomeVolume);
-
         // Get all the used biome types
         final Set<BiomeType> biomeTypes = ImmutableSet.copyOf(biomeBuffer.biomeTypes);
-        for (BiomeType biomeType : biomeTypes) {
-            final BiomeGenerationSettings settings = this.worldGenerator.getBiomeSettings(biomeType);
-            for (GenerationPopulator generator : settings.getGenerationPopulators()) {
-                generator.populate(this.world, blockBuffer, immutableBiomeVolume);
+
+        // Try to reuse the sections of a chunk template
+        final ChunkTemplateCache templateCache = getTemplateCache(baseGenerator, biomeTypes);
+        int templateKey = TemplateGenerationPopulator.NO_TEMPLATE;
+        ChunkSection[] sections = null;
+        if (templateCache != null) {
+            templateKey = templateCache.getPopulator().getTemplateKey(chunk.getX(), chunk.getZ());
+            if (templateKey != TemplateGenerationPopulator.NO_TEMPLATE) {
+                final ChunkTemplateCache.ChunkTemplate template = templateCache.get(templateKey);
+                if (template != null) {
+                    sections = template.createSections();
+                }
             }
         }
 
-        // Apply the generator populators to complete the block buffer
-        for (GenerationPopulator generator : this.worldGenerator.getGenerationPopulators()) {
-            generator.populate(this.world, blockBuffer, immutableBiomeVolume);
-        }
+        if (sections == null) {
+            final ChunkBlockBuffer blockBuffer = buffers.chunkBlockBuffer;
+            blockBuffer.reuse(new Vector3i(chunk.getX() << 4, 0, chunk.getZ() << 4));
 
-        // Create the chunk sections
-        final ChunkSection[] sections = new ChunkSection[CHUNK_SECTIONS];
-        for (int sy = 0; sy < CHUNK_SECTIONS; sy++) {
-            final int nonAirCount = blockBuffer.nonAirCount[sy];
-            if (nonAirCount > 0) {
-                sections[sy] = new ChunkSection(blockBuffer.types[sy], nonAirCount);
+            // Apply the main world generator
+            baseGenerator.populate(this.world, blockBuffer, immutableBiomeVolume);
+
+            for (BiomeType biomeType : biomeTypes) {
+                final BiomeGenerationSettings settings = this.worldGenerator.getBiomeSettings(biomeType);
+                for (GenerationPopulator generator : settings.getGenerationPopulators()) {
+                    generator.populate(this.world, blockBuffer, immutableBiomeVolume);
+                }
+            }
+
+            // Apply the generator populators to complete the block buffer
+            for (GenerationPopulator generator : this.worldGenerator.getGenerationPopulators()) {
+                generator.populate(this.world, blockBuffer, immutableBiomeVolume);
+            }
+
+            if (templateKey != TemplateGenerationPopulator.NO_TEMPLATE) {
+                //noinspection ConstantConditions
+                sections = templateCache.create(templateKey, blockBuffer).createSections();
+            } else {
+                // Create the chunk sections
+                sections = new ChunkSection[CHUNK_SECTIONS];
+                for (int sy = 0; sy < CHUNK_SECTIONS; sy++) {
+                    final int nonAirCount = blockBuffer.nonAirCount[sy];
+                    if (nonAirCount > 0) {
+                        sections[sy] = new ChunkSection(blockBuffer.types[sy], nonAirCount);
+                    }
+                }
             }
         }
+        chunk.generationStatus = LanternChunk.GenerationStatus.TERRAIN;
 
         // Initialize the chunk
         chunk.initializeSections(sections);
         chunk.initializeHeightMap(null);
         chunk.initializeLight();
-
-        eventManager.post(SpongeEventFactory.createGenerateChunkEventPost(cause, chunk));
+        chunk.generationStatus = LanternChunk.GenerationStatus.DECORATED;
     }
 
-    private static final Vector3i CHUNK_SIZE = new Vector3i(
-            CHUNK_SECTION_SIZE, CHUNK_HEIGHT, CHUNK_SECTION_SIZE);
+    /**
+     * Gets the {@link ChunkTemplateCache} that can be used to generate
+     * a chunk with the specified biome types, chunk templates can only
+     * be used if the base generator is the only generation populator.
+     *
+     * @param baseGenerator The base generation populator
+     * @param biomeTypes The biome types of the chunk
+     * @return The template cache, or {@code null} if templates can't be used
+     */
+    @Nullable
+    private ChunkTemplateCache getTemplateCache(GenerationPopulator baseGenerator, Set<BiomeType> biomeTypes) {
+        if (!(baseGenerator instanceof TemplateGenerationPopulator) ||
+                !this.worldGenerator.getGenerationPopulators().isEmpty()) {
+            return null;
+        }
+        for (BiomeType biomeType : biomeTypes) {
+            if (!this.worldGenerator.getBiomeSettings(biomeType).getGenerationPopulators().isEmpty()) {
+                return null;
+            }
+        }
+        ChunkTemplateCache templateCache = this.templateCache;
+        // The base generator may be replaced at any time, so
+        // invalidate the templates when this happens
+        if (templateCache == null || templateCache.getPopulator() != baseGenerator) {
+            templateCache = new ChunkTemplateCache((TemplateGenerationPopulator) baseGenerator);
+            this.templateCache = templateCache;
+        }
+        return templateCache;
+    }
 
     /**
      * A biome buffer that also holds a backing array with all the biome
@@ -1101,74 +1390,6 @@ public ImmutableBiomeVolume getImmutableBiomeCopy() {
         }
     }
 
-    /**
-     * A custom block buffer that will be used to generate the chunks
-     * in the world generation to increase the performance.
-     */
-    private final class ChunkBlockBuffer extends AbstractMutableBlockBuffer {
-
-        private final short[][] types = new short[CHUNK_SECTIONS][CHUNK_SECTION_VOLUME];
-        private final int[] nonAirCount = new int[CHUNK_SECTIONS];
-
-        ChunkBlockBuffer() {
-            super(Vector3i.ZERO, CHUNK_SIZE);
-        }
-
-        void reuse(Vector3i start) {
-            this.start = checkNotNull(start, "start");
-            this.end = this.start.add(this.size).sub(Vector3i.ONE);
-            for (int i = 0; i < CHUNK_SECTIONS; i++) {
-                Arrays.fill(this.types[i], (short) 0);
-            }
-            Arrays.fill(this.nonAirCount, 0);
-        }
-
-        @Override
-        public boolean setBlock(int x, int y, int z, BlockState block, Cause cause) {
-            checkNotNull(block, "blockState");
-            checkRange(x, y, z);
-            final int sy = y >> 4;
-            final int index = ((y & 0xf) << 8) | ((z & 0xf) << 4) | x & 0xf;
-            final short[] types = this.types[sy];
-            final short type = BlockRegistryModule.get().getStateInternalIdAndData(block);
-            if (type == 0 && types[index] != 0) {
-                this.nonAirCount[sy]--;
-            } else if (type != 0 && types[index] == 0) {
-                this.nonAirCount[sy]++;
-            }
-            types[index] = type;
-            return true;
-        }
-
-        @Override
-        public BlockState getBlock(int x, int y, int z) {
-            checkRange(x, y, z);
-            return BlockRegistryModule.get().getStateByInternalIdAndData(this.types[y >> 4][((y & 0xf) << 8) | ((z & 0xf) << 4) | x & 0xf])
-                    .orElse(BlockTypes.AIR.getDefaultState());
-        }
-
-        @Override
-        public MutableBlockVolume getBlockCopy(StorageType type) {
-            checkNotNull(type, "storageType");
-            switch (type) {
-                case STANDARD:
-                    return new ShortArrayMutableBlockBuffer(ExtentBufferHelper.copyToBlockArray(
-                            this, this.start, this.end, this.size), this.start, this.size);
-                case THREAD_SAFE:
-                    return new AtomicShortArrayMutableBlockBuffer(ExtentBufferHelper.copyToBlockArray(
-                            this, this.start, this.end, this.size), this.start, this.size);
-                default:
-                    throw new UnsupportedOperationException(type.name());
-            }
-        }
-
-        @Override
-        public ImmutableBlockVolume getImmutableBlockCopy() {
-            return ShortArrayImmutableBlockBuffer.newWithoutArrayClone(ExtentBufferHelper.copyToBlockArray(
-                    this, this.start, this.end, this.size), this.start, this.size);
-        }
-    }
-
     /**
      * Attempts to save the specified chunk.
      * 
@@ -1223,7 +1444,7 @@ public boolean unload(Vector2i coords, Supplier<Cause> cause) {
 
     private boolean unload0(Vector2i coords, Supplier<Cause> cause, boolean wait) {
         checkNotNull(cause, "cause");
-        final LanternChunk chunk = getChunk(checkNotNull(coords, "coords"));
+        final LanternChunk chunk = getChunk(checkNotNull(coords, "coords"), wait);
         if (chunk != null) {
             return unload0(chunk, cause, wait);
         }
@@ -1254,42 +1475,49 @@ private boolean unload0(LanternChunk chunk, Supplier<Cause> cause, boolean wait)
             // The chunk is already unloading, so wait for it to complete
             if (chunk.lockState == LanternChunk.LockState.UNLOADING) {
                 if (wait) {
-                    chunk.lockCondition.awaitUninterruptibly();
+                    awaitUnlock(chunk);
                     return chunk.unloadingSuccess;
                 } else {
                     return false;
                 }
             // The chunk is currently loading or saving, wait for it to complete
             // and then unload it again
-            } else {
+            } else if (wait) {
                 chunk.lock.lock();
+            // Don't block the current thread, the unload can be tried again later
+            } else {
+                return false;
             }
         }
+        boolean success = true;
         try {
             chunk.lockState = LanternChunk.LockState.UNLOADING;
             // The chunk isn't loaded yet, fast fail
             if (!chunk.loaded) {
                 return true;
             }
-            final LanternChunkQueueTask task = this.chunkQueueTasks.remove(coords);
-            // Try to cancel all the current tasks
-            if (task != null) {
-                task.cancel();
+            // The chunk is still required by the population of a neighbor
+            if (!chunk.tryBlockGenerationPins()) {
+                return success = false;
             }
             // Post the chunk unload event
-            this.game.getEventManager().post(SpongeEventFactory.createUnloadChunkEvent(cause.get(), chunk));
-            this.world.getEventListener().onUnloadChunk(chunk);
+            announceUnload(chunk, cause);
             // Remove from the loaded chunks
             this.loadedChunks.remove(coords);
             // Move the chunk to the graveyard
             this.reusableChunks.put(coords, chunk);
             // Bury the entities
             chunk.buryEntities();
-            save0(chunk);
+            // Keep the chunk in memory once it's saved, so that
+            // it can be reused without any I/O if it gets loaded again
+            if (save0(chunk)) {
+                this.warmCache.add(chunk);
+            }
             return true;
         } finally {
+            chunk.unblockGenerationPins();
             chunk.lockState = LanternChunk.LockState.NONE;
-            chunk.unloadingSuccess = true;
+            chunk.unloadingSuccess = success;
             chunk.lockCondition.signalAll();
             chunk.lock.unlock();
         }
@@ -1323,6 +1551,33 @@ private boolean unlockInternally(Vector2i coords, ChunkLoadingTicket ticket) {
         return false;
     }
 
+    /**
+     * Queues the load of a chunk that is forced by tickets, the
+     * load is completed on the world thread.
+     *
+     * @param coords the coordinates
+     * @return the future of the chunk
+     */
+    private CompletableFuture<LanternChunk> queueTicketLoad(Vector2i coords) {
+        final CompletableFuture<LanternChunk> future = loadAsync(coords, () -> {
+            // Build the cause only if the chunk isn't already loaded
+            final Set<ChunkLoadingTicket> tickets = this.ticketsByPos.get(coords);
+            final Cause.Builder builder = Cause.source(this.world);
+            if (tickets != null) {
+                builder.named("tickets", tickets.toArray(new Object[tickets.size()]));
+            }
+            return builder.build();
+        }, true);
+        future.whenComplete((chunk, throwable) -> {
+            this.ticketLoads.remove(coords, future);
+            if (throwable != null && !(throwable instanceof CancellationException)) {
+                this.game.getLogger().error("Error while loading forced chunk ({};{})",
+                        coords.getX(), coords.getY(), throwable);
+            }
+        });
+        return future;
+    }
+
     /**
      * Forces the specified chunk coordinates for a specific ticket.
      * 
@@ -1358,10 +1613,12 @@ void force(LanternLoadingTicket ticket, Vector2i coords, boolean callEvents) {
             queueLoad = true;
         }
         if (queueLoad) {
-            LanternChunkQueueTask task = this.chunkQueueTasks.get(coords);
-            if (task == null || !(task.runnable instanceof LanternChunkLoadTask)) {
-                this.chunkQueueTasks.computeIfAbsent(coords, coords1 ->
-                        queueTask(coords1, new LanternChunkLoadTask(coords1)));
+            final CompletableFuture<LanternChunk> load = this.ticketLoads.get(coords);
+            if (load == null || load.isDone()) {
+                final CompletableFuture<LanternChunk> newLoad = queueTicketLoad(coords);
+                if (!newLoad.isDone()) {
+                    this.ticketLoads.put(coords, newLoad);
+                }
             }
         }
         if  (callEvents) {
@@ -1379,20 +1636,19 @@ void force(LanternLoadingTicket ticket, Vector2i coords, boolean callEvents) {
      */
     void unforce(LanternLoadingTicket ticket, Vector2i coords, boolean callEvents) {
         if (unlockInternally(coords, ticket)) {
-            final LanternChunk chunk = getChunk(coords, false);
-            // Try to cancel any queued chunk loadings
-            if (chunk != null && chunk.lock.isLocked() && chunk.lockState == LanternChunk.LockState.LOADING) {
-                final LanternChunkQueueTask task = this.chunkQueueTasks.get(coords);
-                if (task != null && task.runnable instanceof LanternChunkLoadTask) {
-                    task.cancel();
-                }
-            // Queue the chunk for unload, will be some ticks later
-            } else {
-                final UnloadingChunkEntry entry = new UnloadingChunkEntry(coords);
-                if (!this.pendingForUnload.contains(entry)) {
-                    this.pendingForUnload.offer(entry);
+            // Try to cancel the queued load, if no other ticket needs the chunk
+            if (!this.ticketsByPos.containsKey(coords)) {
+                final CompletableFuture<LanternChunk> load = this.ticketLoads.remove(coords);
+                if (load != null) {
+                    load.cancel(false);
                 }
             }
+            // Queue the chunk for unload, will be some ticks later. The load may
+            // already be running, so this is also needed if it was cancelled
+            final UnloadingChunkEntry entry = new UnloadingChunkEntry(coords);
+            if (!this.pendingForUnload.contains(entry)) {
+                this.pendingForUnload.offer(entry);
+            }
         }
         if (callEvents) {
             final Vector3i coords0 = new Vector3i(coords.getX(), 0, coords.getY());
@@ -1436,18 +1692,34 @@ public void shutdown() {
         } catch (IOException e) {
             this.game.getLogger().warn("An error occurred while saving the chunk loading tickets", e);
         }
+        // Wait for the pending loading and population tasks
+        this.chunkTaskExecutor.shutdown();
+        this.generationPool.shutdown();
+        try {
+            this.chunkTaskExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            this.generationPool.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Complete the remaining asynchronous chunk loads
+        Runnable task;
+        while ((task = this.worldThreadTasks.poll()) != null) {
+            task.run();
+        }
         for (Entry<Vector2i, LanternChunk> entry : this.loadedChunks.entrySet()) {
             final LanternChunk chunk = entry.getValue();
-            // Post the chunk unload event
-            this.game.getEventManager().post(SpongeEventFactory.createUnloadChunkEvent(
-                    Cause.source(this.game.getMinecraftPlugin()).owner(this.world).build(), chunk));
+            // Post the chunk unload event, if the load was announced
+            if (chunk.loadAnnounced.compareAndSet(true, false)) {
+                this.game.getEventManager().post(SpongeEventFactory.createUnloadChunkEvent(
+                        Cause.source(this.game.getMinecraftPlugin()).owner(this.world).build(), chunk));
+            }
             // Save the chunk
             save(chunk);
         }
         // Cleanup
         this.loadedChunks.clear();
         this.reusableChunks.clear();
-        this.chunkTaskExecutor.shutdown();
+        this.warmCache.evictAll(false);
         try {
             this.chunkIOService.unload();
         } catch (IOException e) {
@@ -1459,13 +1731,26 @@ public void shutdown() {
      * Pulses the chunk manager.
      */
     public void pulse() {
+        // Complete the chunk loads that finished since the last pulse
+        Runnable task;
+        while ((task = this.worldThreadTasks.poll()) != null) {
+            task.run();
+        }
+        // Release the warm chunks if the heap is getting full
+        this.warmCache.evictForMemoryPressure();
+        final long unloadDelay = this.worldConfig.getChunkUnloadDelay();
         UnloadingChunkEntry entry;
         while ((entry = this.pendingForUnload.peek()) != null &&
-                (System.currentTimeMillis() - entry.time) > UNLOAD_DELAY) {
+                (System.currentTimeMillis() - entry.time) > unloadDelay) {
             this.pendingForUnload.poll();
             if (!this.ticketsByPos.containsKey(entry.coords)) {
                 // TODO: Create unload tasks
-                unload(entry.coords, () -> Cause.source(this.world).build());
+                // The world thread shouldn't wait for chunks that are loading or saving
+                if (!unload0(entry.coords, () -> Cause.source(this.world).build(), false)) {
+                    // The chunk is still in use by the world generation or
+                    // is locked by a different thread, try again later
+                    this.pendingForUnload.add(new UnloadingChunkEntry(entry.coords));
+                }
             }
         }
     }
@@ -0,0 +1,59 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.gen;
+
+import org.spongepowered.api.world.gen.GenerationPopulator;
+
+/**
+ * Represents a {@link GenerationPopulator} that generates the same blocks
+ * for every chunk, or for a small set of chunk variants. The chunk manager
+ * will generate every variant only once and share the resulting chunk
+ * sections between the chunks until they are modified.
+ * <p>
+ * This is only applied when this populator is the base generation populator
+ * and no other generation populators are present for the generated chunk.
+ */
+public interface TemplateGenerationPopulator extends GenerationPopulator {
+
+    /**
+     * The template key that should be returned for
+     * chunks that are unique and can't be shared.
+     */
+    int NO_TEMPLATE = -1;
+
+    /**
+     * Gets the template key of the chunk at the specified chunk
+     * coordinates. All the chunks that share the same key must
+     * result in the same blocks when being populated by this
+     * populator, position-invariant populators can always
+     * return {@code 0}.
+     *
+     * @param chunkX The x coordinate of the chunk
+     * @param chunkZ The z coordinate of the chunk
+     * @return The template key, or {@link #NO_TEMPLATE} if the chunk should be generated normally
+     */
+    int getTemplateKey(int chunkX, int chunkZ);
+}
@@ -30,6 +30,7 @@
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.Sets;
 import org.lanternpowered.server.block.state.LanternBlockState;
+import org.lanternpowered.server.world.gen.TemplateGenerationPopulator;
 import org.spongepowered.api.GameRegistry;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockType;
@@ -38,13 +39,12 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
-import org.spongepowered.api.world.gen.GenerationPopulator;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-public final class DebugGenerationPopulator implements GenerationPopulator {
+public final class DebugGenerationPopulator implements TemplateGenerationPopulator {
 
     // The height of the plane where all the blocks are set
     private static final int BLOCKS_PLANE = 70;
@@ -79,6 +79,17 @@ public DebugGenerationPopulator(Iterable<BlockState> blockStates) {
         this.size = (int) Math.ceil(Math.sqrt((double) this.blockStateCache.length));
     }
 
+    @Override
+    public int getTemplateKey(int chunkX, int chunkZ) {
+        // All the chunks outside the blocks plane only contain
+        // the barrier plane, the others are unique
+        final int maxChunk = (this.size * 2 + 1) >> 4;
+        if (chunkX < 0 || chunkZ < 0 || chunkX > maxChunk || chunkZ > maxChunk) {
+            return 0;
+        }
+        return NO_TEMPLATE;
+    }
+
     @Override
     public void populate(World world, MutableBlockVolume buffer, ImmutableBiomeVolume biomes) {
         final Vector3i min = buffer.getBlockMin();
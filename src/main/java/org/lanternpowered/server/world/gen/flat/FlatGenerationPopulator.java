@@ -28,18 +28,18 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.flowpowered.math.vector.Vector3i;
+import org.lanternpowered.server.world.gen.TemplateGenerationPopulator;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
-import org.spongepowered.api.world.gen.GenerationPopulator;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public final class FlatGenerationPopulator implements GenerationPopulator {
+public final class FlatGenerationPopulator implements TemplateGenerationPopulator {
 
     // The cause to populate chunks
     private final Cause cause = Cause.source(this).build();
@@ -65,6 +65,12 @@ public FlatGenerationPopulator(FlatGeneratorSettings settings, int generatorHeig
         this.blockStateCache = blockStates.toArray(new BlockState[blockStates.size()]);
     }
 
+    @Override
+    public int getTemplateKey(int chunkX, int chunkZ) {
+        // Every chunk of a flat world is the same
+        return 0;
+    }
+
     @Override
     public void populate(World world, MutableBlockVolume buffer, ImmutableBiomeVolume biomes) {
         final Vector3i min = buffer.getBlockMin();
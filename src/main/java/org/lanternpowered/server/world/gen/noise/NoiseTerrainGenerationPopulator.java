@@ -0,0 +1,248 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.gen.noise;
+
+import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_HEIGHT;
+import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTION_SIZE;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.lanternpowered.server.game.registry.type.block.BlockRegistryModule;
+import org.lanternpowered.server.util.FastSoftThreadLocal;
+import org.lanternpowered.server.world.chunk.ChunkBlockBuffer;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.gen.GenerationPopulator;
+
+import java.util.Random;
+
+/**
+ * A {@link GenerationPopulator} that generates terrain based on 3D noise. The
+ * noise is only sampled at the corners of cells of 4x8x4 blocks, the density of
+ * the blocks in between is interpolated. Whole columns are written directly into
+ * a {@link ChunkBlockBuffer}, other buffers fall back to setting every block.
+ */
+public final class NoiseTerrainGenerationPopulator implements GenerationPopulator {
+
+    private static final int CELL_WIDTH = 4;
+    private static final int CELL_HEIGHT = 8;
+
+    private static final int SAMPLES_XZ = CHUNK_SECTION_SIZE / CELL_WIDTH + 1;
+    private static final int SAMPLES_Y = CHUNK_HEIGHT / CELL_HEIGHT + 1;
+
+    private static final double HEIGHT_SCALE = 0.004;
+    private static final double HEIGHT_VARIATION = 28.0;
+    private static final double DENSITY_SCALE_XZ = 0.015;
+    private static final double DENSITY_SCALE_Y = 0.03;
+    private static final double DENSITY_FALLOFF = 0.125;
+
+    // The amount of blocks below the surface that are covered by the filler block
+    private static final int FILLER_DEPTH = 3;
+
+    private static final class Buffers {
+
+        private final double[] densities = new double[SAMPLES_XZ * SAMPLES_XZ * SAMPLES_Y];
+        private final double[] columnDensities = new double[SAMPLES_Y];
+        private final short[] column = new short[CHUNK_HEIGHT];
+    }
+
+    // The noise buffers are reused by every generation thread
+    private final FastSoftThreadLocal<Buffers> buffers = FastSoftThreadLocal.withInitial(Buffers::new);
+
+    // The cause to populate chunks
+    private final Cause cause = Cause.source(this).build();
+
+    private final OctavePerlinNoise heightNoise;
+    private final OctavePerlinNoise densityNoise;
+
+    private final int seaLevel;
+    private final int generatorHeight;
+
+    private final short stone;
+    private final short dirt;
+    private final short grass;
+    private final short sand;
+    private final short water;
+    private final short bedrock;
+
+    public NoiseTerrainGenerationPopulator(long seed, int seaLevel, int generatorHeight) {
+        this(seed, seaLevel, generatorHeight, getType(BlockTypes.STONE.getDefaultState()), getType(BlockTypes.DIRT.getDefaultState()),
+                getType(BlockTypes.GRASS.getDefaultState()), getType(BlockTypes.SAND.getDefaultState()),
+                getType(BlockTypes.WATER.getDefaultState()), getType(BlockTypes.BEDROCK.getDefaultState()));
+    }
+
+    NoiseTerrainGenerationPopulator(long seed, int seaLevel, int generatorHeight,
+            short stone, short dirt, short grass, short sand, short water, short bedrock) {
+        final Random random = new Random(seed);
+        this.heightNoise = new OctavePerlinNoise(random, 6);
+        this.densityNoise = new OctavePerlinNoise(random, 4);
+        this.seaLevel = seaLevel;
+        this.generatorHeight = Math.min(generatorHeight, CHUNK_HEIGHT);
+        this.stone = stone;
+        this.dirt = dirt;
+        this.grass = grass;
+        this.sand = sand;
+        this.water = water;
+        this.bedrock = bedrock;
+    }
+
+    private static short getType(BlockState blockState) {
+        return BlockRegistryModule.get().getStateInternalIdAndData(blockState);
+    }
+
+    @Override
+    public void populate(World world, MutableBlockVolume buffer, ImmutableBiomeVolume biomes) {
+        final Vector3i min = buffer.getBlockMin();
+        if (buffer instanceof ChunkBlockBuffer) {
+            generate((ChunkBlockBuffer) buffer, min.getX(), min.getZ());
+            return;
+        }
+        final Vector3i max = buffer.getBlockMax();
+        //noinspection ConstantConditions
+        final Buffers buffers = this.buffers.get();
+        final short[] column = buffers.column;
+        final int minY = Math.max(min.getY(), 0);
+        final int maxY = Math.min(max.getY(), CHUNK_HEIGHT - 1);
+        // Generate the buffer chunk by chunk, the buffer doesn't have to be aligned
+        for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+            for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                final int baseX = chunkX << 4;
+                final int baseZ = chunkZ << 4;
+                sampleDensities(buffers, baseX, baseZ);
+                final int startX = Math.max(baseX, min.getX());
+                final int endX = Math.min(baseX + CHUNK_SECTION_SIZE - 1, max.getX());
+                final int startZ = Math.max(baseZ, min.getZ());
+                final int endZ = Math.min(baseZ + CHUNK_SECTION_SIZE - 1, max.getZ());
+                for (int x = startX; x <= endX; x++) {
+                    for (int z = startZ; z <= endZ; z++) {
+                        buildColumn(buffers, x - baseX, z - baseZ);
+                        for (int y = minY; y <= maxY; y++) {
+                            buffer.setBlock(x, y, z, BlockRegistryModule.get().getStateByInternalIdAndData(column[y])
+                                    .orElseGet(BlockTypes.AIR::getDefaultState), this.cause);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates the terrain of the chunk at the specified
+     * block position into the {@link ChunkBlockBuffer}.
+     *
+     * @param buffer The chunk block buffer
+     * @param baseX The x coordinate of the first block of the chunk
+     * @param baseZ The z coordinate of the first block of the chunk
+     */
+    void generate(ChunkBlockBuffer buffer, int baseX, int baseZ) {
+        //noinspection ConstantConditions
+        final Buffers buffers = this.buffers.get();
+        sampleDensities(buffers, baseX, baseZ);
+        for (int x = 0; x < CHUNK_SECTION_SIZE; x++) {
+            for (int z = 0; z < CHUNK_SECTION_SIZE; z++) {
+                buildColumn(buffers, x, z);
+                buffer.setColumn(x, z, buffers.column, this.generatorHeight);
+            }
+        }
+    }
+
+    private void sampleDensities(Buffers buffers, int baseX, int baseZ) {
+        final double[] densities = buffers.densities;
+        for (int sx = 0; sx < SAMPLES_XZ; sx++) {
+            final double x = baseX + sx * CELL_WIDTH;
+            for (int sz = 0; sz < SAMPLES_XZ; sz++) {
+                final double z = baseZ + sz * CELL_WIDTH;
+                // The height around which the terrain will be generated
+                final double height = this.seaLevel + 4.0 + this.heightNoise.noise(
+                        x * HEIGHT_SCALE, 0, z * HEIGHT_SCALE) * HEIGHT_VARIATION;
+                final int offset = (sx * SAMPLES_XZ + sz) * SAMPLES_Y;
+                for (int sy = 0; sy < SAMPLES_Y; sy++) {
+                    final double y = sy * CELL_HEIGHT;
+                    densities[offset + sy] = (height - y) * DENSITY_FALLOFF + this.densityNoise.noise(
+                            x * DENSITY_SCALE_XZ, y * DENSITY_SCALE_Y, z * DENSITY_SCALE_XZ);
+                }
+            }
+        }
+    }
+
+    private void buildColumn(Buffers buffers, int x, int z) {
+        final double[] densities = buffers.densities;
+        final double[] columnDensities = buffers.columnDensities;
+        final short[] column = buffers.column;
+
+        // Interpolate the densities of the four surrounding sample columns
+        final int cx = x / CELL_WIDTH;
+        final int cz = z / CELL_WIDTH;
+        final double fx = (double) (x % CELL_WIDTH) / CELL_WIDTH;
+        final double fz = (double) (z % CELL_WIDTH) / CELL_WIDTH;
+        final int offset00 = (cx * SAMPLES_XZ + cz) * SAMPLES_Y;
+        final int offset01 = (cx * SAMPLES_XZ + cz + 1) * SAMPLES_Y;
+        final int offset10 = ((cx + 1) * SAMPLES_XZ + cz) * SAMPLES_Y;
+        final int offset11 = ((cx + 1) * SAMPLES_XZ + cz + 1) * SAMPLES_Y;
+        for (int sy = 0; sy < SAMPLES_Y; sy++) {
+            columnDensities[sy] = PerlinNoise.lerp(fx,
+                    PerlinNoise.lerp(fz, densities[offset00 + sy], densities[offset01 + sy]),
+                    PerlinNoise.lerp(fz, densities[offset10 + sy], densities[offset11 + sy]));
+        }
+
+        // Walk from the top to the bottom to find the surfaces
+        int depth = -1;
+        short filler = this.dirt;
+        for (int y = CHUNK_HEIGHT - 1; y >= 0; y--) {
+            final short type;
+            if (y >= this.generatorHeight) {
+                type = 0;
+            } else if (y == 0) {
+                type = this.bedrock;
+            } else {
+                final int cy = y / CELL_HEIGHT;
+                final double density = PerlinNoise.lerp((double) (y % CELL_HEIGHT) / CELL_HEIGHT,
+                        columnDensities[cy], columnDensities[cy + 1]);
+                if (density > 0) {
+                    if (depth == -1) {
+                        // A new surface, grass only grows above the water
+                        final boolean dry = y >= this.seaLevel;
+                        filler = dry ? this.dirt : this.sand;
+                        type = dry ? this.grass : this.sand;
+                        depth = 0;
+                    } else if (depth < FILLER_DEPTH) {
+                        type = filler;
+                        depth++;
+                    } else {
+                        type = this.stone;
+                    }
+                } else {
+                    type = y <= this.seaLevel ? this.water : 0;
+                    depth = -1;
+                }
+            }
+            column[y] = type;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.gen.noise;
+
+import java.util.Random;
+
+/**
+ * Combines multiple octaves of {@link PerlinNoise}, every octave
+ * doubles the frequency and halves the amplitude.
+ */
+final class OctavePerlinNoise {
+
+    private final PerlinNoise[] octaves;
+
+    OctavePerlinNoise(Random random, int octaves) {
+        this.octaves = new PerlinNoise[octaves];
+        for (int i = 0; i < octaves; i++) {
+            this.octaves[i] = new PerlinNoise(random);
+        }
+    }
+
+    double noise(double x, double y, double z) {
+        double value = 0;
+        double frequency = 1.0;
+        double amplitude = 1.0;
+        for (PerlinNoise octave : this.octaves) {
+            value += octave.noise(x * frequency, y * frequency, z * frequency) * amplitude;
+            frequency *= 2.0;
+            amplitude *= 0.5;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.gen.noise;
+
+import com.flowpowered.math.GenericMath;
+
+import java.util.Random;
+
+/**
+ * A seeded implementation of the improved perlin noise.
+ */
+final class PerlinNoise {
+
+    private final int[] permutations = new int[512];
+
+    private final double offsetX;
+    private final double offsetY;
+    private final double offsetZ;
+
+    PerlinNoise(Random random) {
+        this.offsetX = random.nextDouble() * 256.0;
+        this.offsetY = random.nextDouble() * 256.0;
+        this.offsetZ = random.nextDouble() * 256.0;
+        for (int i = 0; i < 256; i++) {
+            this.permutations[i] = i;
+        }
+        // Shuffle the permutations based on the seed
+        for (int i = 255; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int value = this.permutations[i];
+            this.permutations[i] = this.permutations[j];
+            this.permutations[j] = value;
+        }
+        System.arraycopy(this.permutations, 0, this.permutations, 256, 256);
+    }
+
+    /**
+     * Gets the noise value at the specified coordinates, the
+     * value will be roughly in the range [-1, 1].
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The noise value
+     */
+    double noise(double x, double y, double z) {
+        x += this.offsetX;
+        y += this.offsetY;
+        z += this.offsetZ;
+
+        final int floorX = GenericMath.floor(x);
+        final int floorY = GenericMath.floor(y);
+        final int floorZ = GenericMath.floor(z);
+
+        final int ix = floorX & 0xff;
+        final int iy = floorY & 0xff;
+        final int iz = floorZ & 0xff;
+
+        x -= floorX;
+        y -= floorY;
+        z -= floorZ;
+
+        final double u = fade(x);
+        final double v = fade(y);
+        final double w = fade(z);
+
+        final int[] p = this.permutations;
+        final int a = p[ix] + iy;
+        final int aa = p[a] + iz;
+        final int ab = p[a + 1] + iz;
+        final int b = p[ix + 1] + iy;
+        final int ba = p[b] + iz;
+        final int bb = p[b + 1] + iz;
+
+        return lerp(w,
+                lerp(v,
+                        lerp(u, grad(p[aa], x, y, z), grad(p[ba], x - 1, y, z)),
+                        lerp(u, grad(p[ab], x, y - 1, z), grad(p[bb], x - 1, y - 1, z))),
+                lerp(v,
+                        lerp(u, grad(p[aa + 1], x, y, z - 1), grad(p[ba + 1], x - 1, y, z - 1)),
+                        lerp(u, grad(p[ab + 1], x, y - 1, z - 1), grad(p[bb + 1], x - 1, y - 1, z - 1))));
+    }
+
+    private static double fade(double t) {
+        return t * t * t * (t * (t * 6.0 - 15.0) + 10.0);
+    }
+
+    static double lerp(double t, double a, double b) {
+        return a + t * (b - a);
+    }
+
+    private static double grad(int hash, double x, double y, double z) {
+        final int h = hash & 15;
+        final double u = h < 8 ? x : y;
+        final double v = h < 4 ? y : h == 12 || h == 14 ? x : z;
+        return ((h & 1) == 0 ? u : -u) + ((h & 2) == 0 ? v : -v);
+    }
+}
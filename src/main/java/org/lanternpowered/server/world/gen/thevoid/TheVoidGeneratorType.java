@@ -28,8 +28,11 @@
 import org.lanternpowered.server.world.gen.LanternGeneratorType;
 import org.lanternpowered.server.world.gen.LanternWorldGenerator;
 import org.lanternpowered.server.world.gen.SingleBiomeGenerator;
+import org.lanternpowered.server.world.gen.TemplateGenerationPopulator;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.biome.BiomeTypes;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.gen.WorldGenerator;
 
 public final class TheVoidGeneratorType extends LanternGeneratorType {
@@ -40,6 +43,18 @@ public TheVoidGeneratorType(String pluginId, String name) {
 
     @Override
     public WorldGenerator createGenerator(World world) {
-        return new LanternWorldGenerator(world, new SingleBiomeGenerator(BiomeTypes.VOID), ((world1, buffer, biomes) -> {}));
+        return new LanternWorldGenerator(world, new SingleBiomeGenerator(BiomeTypes.VOID), new VoidGenerationPopulator());
+    }
+
+    private static final class VoidGenerationPopulator implements TemplateGenerationPopulator {
+
+        @Override
+        public int getTemplateKey(int chunkX, int chunkZ) {
+            return 0;
+        }
+
+        @Override
+        public void populate(World world, MutableBlockVolume buffer, ImmutableBiomeVolume biomes) {
+        }
     }
 }
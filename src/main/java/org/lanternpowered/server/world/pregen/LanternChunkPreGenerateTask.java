@@ -35,7 +35,10 @@
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.lanternpowered.server.data.io.ChunkIOService;
 import org.lanternpowered.server.game.Lantern;
+import org.lanternpowered.server.world.LanternWorld;
+import org.lanternpowered.server.world.chunk.LanternChunk;
 import org.lanternpowered.server.world.chunk.LanternChunkLayout;
+import org.lanternpowered.server.world.chunk.LanternChunkManager;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.EventListener;
@@ -53,9 +56,18 @@
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -64,6 +76,9 @@ public class LanternChunkPreGenerateTask implements ChunkPreGenerate, Consumer<T
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
 
+    // The amount of chunk areas that may be queued per generation thread
+    private static final int QUEUED_AREAS_PER_THREAD = 4;
+
     private static final Vector3i[] OFFSETS = {
             Vector3i.UNIT_Z.negate().mul(2),
             Vector3i.UNIT_X.mul(2),
@@ -81,6 +96,7 @@ public class LanternChunkPreGenerateTask implements ChunkPreGenerate, Consumer<T
     private final Task spongeTask;
     private final int tickInterval;
     private final Object plugin;
+    private final int parallelism;
 
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
@@ -99,8 +115,31 @@ public class LanternChunkPreGenerateTask implements ChunkPreGenerate, Consumer<T
     private long generationEndTime = 0;
     private boolean isCancelled = false;
 
+    // The following fields are only used in the parallel mode
+
+    // The pool that generates the chunks, if running in parallel
+    @Nullable private final ForkJoinPool generationPool;
+
+    // The amount of chunk areas that are submitted but not yet finished
+    private final AtomicInteger queuedAreas = new AtomicInteger();
+
+    // The generated and skipped chunks since the last step
+    private final AtomicInteger stepGenerated = new AtomicInteger();
+    private final AtomicInteger stepSkipped = new AtomicInteger();
+
+    // The chunks that are loaded by the generation pool and
+    // should be unloaded once they are no longer needed
+    private final Queue<LanternChunk> generatedChunks = new ConcurrentLinkedQueue<>();
+
+    // The bounds of the chunks that will be generated
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int maxChunkX;
+    private final int maxChunkZ;
+
     private LanternChunkPreGenerateTask(Object plugin, World world, Vector3d center, double diameter,
-            int chunkCount, float tickPercent, int tickInterval, Cause cause, List<Consumer<ChunkPreGenerationEvent>> eventListeners) {
+            int chunkCount, float tickPercent, int tickInterval, int parallelism, Cause cause,
+            List<Consumer<ChunkPreGenerationEvent>> eventListeners) {
         final int preferredTickInterval = Lantern.getScheduler().getPreferredTickInterval();
 
         this.plugin = plugin;
@@ -118,6 +157,23 @@ private LanternChunkPreGenerateTask(Object plugin, World world, Vector3d center,
         } else {
             throw new IllegalArgumentException("Center is not a valid chunk coordinate");
         }
+        this.parallelism = parallelism;
+        if (parallelism > 0) {
+            this.generationPool = new ForkJoinPool(parallelism, pool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("chunk-pregen-" + world.getName() + '-' + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, true);
+        } else {
+            this.generationPool = null;
+        }
+        // The chunks at the negative sides of the outer layer are generated as well
+        this.minChunkX = this.currentPosition.getX() - this.chunkRadius - 1;
+        this.minChunkZ = this.currentPosition.getZ() - this.chunkRadius - 1;
+        this.maxChunkX = this.currentPosition.getX() + this.chunkRadius;
+        this.maxChunkZ = this.currentPosition.getZ() + this.chunkRadius;
+
         this.currentGenCount = 4;
         this.currentLayer = 0;
         this.currentIndex = 0;
@@ -163,6 +219,27 @@ public int getTargetTotalChunks() {
         return this.totalChunksToGenerate;
     }
 
+    /**
+     * Gets the average amount of chunks that were generated per second.
+     *
+     * @return The chunks per second
+     */
+    public double getChunksPerSecond() {
+        final long millis = getTotalTime().toMillis();
+        return millis == 0 ? 0 : this.chunksGenerated * 1000.0 / millis;
+    }
+
+    /**
+     * Gets the amount of threads that are generating chunks
+     * in parallel, or {@code 0} if the generation is throttled
+     * by the tick time of the main thread.
+     *
+     * @return The parallelism
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
     @Override
     public Duration getTotalTime() {
         return Duration.of((isCancelled() ? this.generationEndTime : System.currentTimeMillis()) - this.generationStartTime, ChronoUnit.MILLIS);
@@ -191,6 +268,7 @@ public void cancel() {
             }
             this.spongeTask.cancel();
             this.isCancelled = true;
+            shutdownGenerationPool(() -> {});
         }
     }
 
@@ -219,28 +297,35 @@ public void accept(Task task) {
         // Count how many chunks are generated during the tick
         int count = 0;
         int skipped = 0;
-        do {
-            final Vector3i position = nextChunkPosition();
-            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
-            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
-            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
-
-            // We can only skip generation if all chunks are loaded.
-            if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
-
-                // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
-
-                count += this.currentGenCount;
-            } else {
-
-                // Skipped them, log this.
-                skipped += this.currentGenCount;
-            }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+        if (this.generationPool != null) {
+            // Collect the progress of the generation pool
+            count = this.stepGenerated.getAndSet(0);
+            skipped = this.stepSkipped.getAndSet(0);
+            queueParallelGeneration(this.generationPool);
+        } else {
+            do {
+                final Vector3i position = nextChunkPosition();
+                final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
+                final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
+                final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+
+                // We can only skip generation if all chunks are loaded.
+                if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
+
+                    // At least one chunk isn't generated, so to populate, we need to load them all.
+                    this.world.loadChunk(position, true);
+                    this.world.loadChunk(pos1, true);
+                    this.world.loadChunk(pos2, true);
+                    this.world.loadChunk(pos3, true);
+
+                    count += this.currentGenCount;
+                } else {
+
+                    // Skipped them, log this.
+                    skipped += this.currentGenCount;
+                }
+            } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+        }
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
@@ -255,15 +340,180 @@ public void accept(Task task) {
             return;
         }
 
-        if (!hasNextChunkPosition()) {
-            // Generation has completed.
-            Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventComplete(this.cause, this, this.world));
+        if (!hasNextChunkPosition() && this.queuedAreas.get() == 0) {
+            // Generation has completed, the completion is announced
+            // once the generation pool is finished
             this.isCancelled = true;
-            unregisterListener();
             task.cancel();
+            shutdownGenerationPool(() -> {
+                // Include the chunks that were finished during this step
+                this.chunksGenerated += this.stepGenerated.getAndSet(0);
+                this.chunksSkipped += this.stepSkipped.getAndSet(0);
+                Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventComplete(this.cause, this, this.world));
+                unregisterListener();
+            });
+        }
+    }
+
+    private void queueParallelGeneration(ForkJoinPool pool) {
+        // Unload all the chunks that aren't needed anymore to keep the memory usage flat
+        final Iterator<LanternChunk> it = this.generatedChunks.iterator();
+        while (it.hasNext()) {
+            final LanternChunk chunk = it.next();
+            if (canRelease(chunk)) {
+                it.remove();
+                pool.execute(() -> release(chunk));
+            }
+        }
+        // Keep the pool busy, the areas are still handed out in spiral order so
+        // that the chunks that depend on each other are generated close in time
+        final int maxQueuedAreas = this.parallelism * QUEUED_AREAS_PER_THREAD;
+        while (hasNextChunkPosition() && this.queuedAreas.get() < maxQueuedAreas) {
+            final Vector3i position = nextChunkPosition();
+            final int genCount = this.currentGenCount;
+            this.queuedAreas.incrementAndGet();
+            pool.execute(() -> {
+                try {
+                    generateArea(position, genCount);
+                } catch (Throwable t) {
+                    Lantern.getLogger().error("Failed to pre generate the chunks at {} in the world {}",
+                            position, this.world.getName(), t);
+                } finally {
+                    this.queuedAreas.decrementAndGet();
+                }
+            });
+        }
+        if (!hasNextChunkPosition() && this.queuedAreas.get() == 0) {
+            // Everything is generated, the remaining chunks at the border will never be populated
+            LanternChunk chunk;
+            while ((chunk = this.generatedChunks.poll()) != null) {
+                final LanternChunk chunk0 = chunk;
+                pool.execute(() -> release(chunk0));
+            }
         }
     }
 
+    private void generateArea(Vector3i position, int genCount) {
+        final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
+        final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
+        final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+
+        // The existence checks are done on the generation threads
+        // to keep the disk access out of the main thread
+        if (areAllChunksLoaded(position, pos1, pos2, pos3)) {
+            this.stepSkipped.addAndGet(genCount);
+            return;
+        }
+        final LanternChunkManager chunkManager = ((LanternWorld) this.world).getChunkManager();
+        generateChunk(chunkManager, position);
+        generateChunk(chunkManager, pos1);
+        generateChunk(chunkManager, pos2);
+        generateChunk(chunkManager, pos3);
+        this.stepGenerated.addAndGet(genCount);
+    }
+
+    private void generateChunk(LanternChunkManager chunkManager, Vector3i position) {
+        final LanternChunk chunk = chunkManager.getOrCreateChunk(position.getX(), position.getZ(), () -> this.cause, true);
+        chunkManager.load(chunk, () -> this.cause, true);
+        this.generatedChunks.add(chunk);
+    }
+
+    /**
+     * Gets whether the specified chunk can be unloaded, this is the case once
+     * the chunk and all the chunks that need it for population are populated.
+     *
+     * @param chunk The chunk
+     * @return Whether the chunk can be released
+     */
+    private boolean canRelease(LanternChunk chunk) {
+        if (!chunk.isPopulated()) {
+            return false;
+        }
+        final LanternChunkManager chunkManager = ((LanternWorld) this.world).getChunkManager();
+        for (int x = -1; x <= 0; x++) {
+            for (int z = -1; z <= 0; z++) {
+                final int chunkX = chunk.getX() + x;
+                final int chunkZ = chunk.getZ() + z;
+                // Chunks outside the generated area don't need to be populated
+                if ((x == 0 && z == 0) || chunkX < this.minChunkX || chunkZ < this.minChunkZ) {
+                    continue;
+                }
+                final LanternChunk other = chunkManager.getChunkIfLoaded(chunkX, chunkZ);
+                if (other == null || !other.isPopulated()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void release(LanternChunk chunk) {
+        // Unloading also saves the chunk, this fails if the chunk
+        // is still used by the population of a neighbor
+        if (!((LanternWorld) this.world).getChunkManager().unload(chunk, () -> this.cause)) {
+            this.generatedChunks.add(chunk);
+        }
+    }
+
+    /**
+     * Shuts down the generation pool without waiting for it on the main thread. The
+     * queued areas are finished and the remaining chunks are released by an async
+     * task, the callback is executed on the main thread once that is done.
+     *
+     * @param whenTerminated The callback
+     */
+    private void shutdownGenerationPool(Runnable whenTerminated) {
+        final ForkJoinPool pool = this.generationPool;
+        if (pool == null || pool.isShutdown()) {
+            whenTerminated.run();
+            return;
+        }
+        pool.shutdown();
+        final LanternChunkManager chunkManager = ((LanternWorld) this.world).getChunkManager();
+        Lantern.getScheduler().createTaskBuilder().async().execute(() -> {
+            final int remaining = shutdownAndRelease(pool, this.generatedChunks,
+                    chunk -> chunkManager.unload(chunk, () -> this.cause), 1, TimeUnit.MINUTES);
+            if (remaining > 0) {
+                // The chunks are still used by the population of a neighbor, they
+                // are already queued for unloading by the chunk manager
+                Lantern.getLogger().debug("{} pre generated chunks in the world {} are still in use and will be unloaded later",
+                        remaining, this.world.getName());
+            }
+            Lantern.getScheduler().createTaskBuilder().execute(whenTerminated).submit(this.plugin);
+        }).submit(this.plugin);
+    }
+
+    /**
+     * Shuts down the pool, waits for all the submitted tasks to finish and
+     * releases the chunks that are still queued on the current thread. This
+     * blocks, so it should never be called from the main thread. The
+     * chunks that are queued by the tasks while waiting are released as well.
+     *
+     * @param pool The pool
+     * @param chunks The queue with the chunks that should be released
+     * @param release The function that releases a chunk, returns whether it was successful
+     * @param timeout The maximum time to wait for the pool
+     * @param unit The unit of the timeout
+     * @param <T> The type of the chunks
+     * @return The amount of chunks that couldn't be released
+     */
+    static <T> int shutdownAndRelease(ExecutorService pool, Queue<T> chunks, Predicate<T> release, long timeout, TimeUnit unit) {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int remaining = 0;
+        T chunk;
+        while ((chunk = chunks.poll()) != null) {
+            if (!release.test(chunk)) {
+                remaining++;
+            }
+        }
+        return remaining;
+    }
+
     private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
         // In order to be able to check whether a chunk exists, we could use standard Sponge API methods. However,
         // because they set up an async method which we need to get sync anyway, we just bypass it.
@@ -284,13 +534,16 @@ private void unregisterListener() {
 
     private void cancelTask(Task task) {
         // Don't fire multiple instances.
-        if (Lantern.getScheduler().getTaskById(task.getUniqueId()).isPresent()) {
-            Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventCancelled(this.cause, this, this.world));
-            task.cancel();
-        }
-
+        final boolean scheduled = Lantern.getScheduler().getTaskById(task.getUniqueId()).isPresent();
+        task.cancel();
         this.isCancelled = true;
-        unregisterListener();
+        // The cancellation is announced once the generation pool is finished
+        shutdownGenerationPool(() -> {
+            if (scheduled) {
+                Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventCancelled(this.cause, this, this.world));
+            }
+            unregisterListener();
+        });
     }
 
     private boolean hasNextChunkPosition() {
@@ -340,6 +593,7 @@ public static class Builder implements ChunkPreGenerate.Builder {
         private int tickInterval = DEFAULT_TICK_INTERVAL;
         private float tickPercent = DEFAULT_TICK_PERCENT;
         private int chunksPerTick = 0;
+        private int parallelism = 0;
 
         public Builder(World world, Vector3d center, double diameter) {
             this.world = world;
@@ -364,11 +618,13 @@ public ChunkPreGenerate.Builder logger(@Nullable Logger logger) {
                 this.addListener(event -> {
                     if (event instanceof ChunkPreGenerationEvent.Post) {
                         ChunkPreGenerationEvent.Post post = (ChunkPreGenerationEvent.Post) event;
-                        logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
+                        final LanternChunkPreGenerateTask task = (LanternChunkPreGenerateTask) post.getChunkPreGenerate();
+                        logger.info("Generated {} chunks in {}, {}% complete, {} chunks/s", post.getChunksGeneratedThisStep(),
                                 DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
                                 GenericMath.floor(
                                         (post.getChunkPreGenerate().getTotalGeneratedChunks() + post.getChunkPreGenerate().getTotalSkippedChunks())
-                                                / post.getChunkPreGenerate().getTargetTotalChunks() * 100)
+                                                / post.getChunkPreGenerate().getTargetTotalChunks() * 100),
+                                String.format("%.1f", task.getChunksPerSecond())
                         );
                     } else if (event instanceof ChunkPreGenerationEvent.Complete) {
                         logger.info("Done! Generated a total of {} chunks in {}", event.getChunkPreGenerate().getTargetTotalChunks(),
@@ -401,6 +657,25 @@ public ChunkPreGenerate.Builder tickPercentLimit(float tickPercent) {
             return this;
         }
 
+        /**
+         * Sets the amount of threads that should generate chunks in parallel. The
+         * generation will no longer be limited by the tick time of the main thread,
+         * the main thread will only hand out the chunks to the generation threads.
+         * Use {@code 0} to generate the chunks on the main thread.
+         * <p>
+         * The chunks are loaded and unloaded by the generation threads, so the
+         * chunk load and unload events of these chunks are posted from those
+         * threads instead of the main thread.
+         *
+         * @param parallelism The parallelism
+         * @return This builder, for chaining
+         */
+        public Builder parallelism(int parallelism) {
+            checkArgument(parallelism >= 0, "parallelism may not be negative");
+            this.parallelism = parallelism;
+            return this;
+        }
+
         @Override
         public ChunkPreGenerate.Builder addListener(Consumer<ChunkPreGenerationEvent> listener) {
             checkNotNull(listener, "listener cannot be null");
@@ -411,9 +686,10 @@ public ChunkPreGenerate.Builder addListener(Consumer<ChunkPreGenerationEvent> li
         @Override
         public ChunkPreGenerate start() {
             checkNotNull(plugin, "owner cannot be null");
-            checkArgument(this.chunksPerTick > 0 || this.tickPercent > 0, "Must use at least one of \"chunks per tick\" or \"tick percent limit\"");
+            checkArgument(this.parallelism > 0 || this.chunksPerTick > 0 || this.tickPercent > 0,
+                    "Must use at least one of \"chunks per tick\", \"tick percent limit\" or \"parallelism\"");
             return new LanternChunkPreGenerateTask(this.plugin, this.world, this.center, this.diameter, this.chunksPerTick, this.tickPercent,
-                    this.tickInterval, Cause.of(NamedCause.owner(this.plugin)), this.eventListeners);
+                    this.tickInterval, this.parallelism, Cause.of(NamedCause.owner(this.plugin)), this.eventListeners);
         }
 
         @Override
@@ -425,6 +701,7 @@ public ChunkPreGenerate.Builder from(ChunkPreGenerate value) {
             final LanternChunkPreGenerateTask other = (LanternChunkPreGenerateTask) value;
             // Bypass null check
             this.plugin = other.plugin;
+            this.parallelism = other.parallelism;
             return tickInterval(other.tickInterval)
                     .chunksPerTick(other.chunkCount)
                     .tickPercentLimit(other.tickPercent);
@@ -436,6 +713,7 @@ public ChunkPreGenerate.Builder reset() {
             this.tickInterval = 0;
             this.chunksPerTick = 0;
             this.tickPercent = DEFAULT_TICK_PERCENT;
+            this.parallelism = 0;
             this.eventListeners.clear();
             return this;
         }
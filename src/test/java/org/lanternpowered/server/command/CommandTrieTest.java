@@ -0,0 +1,89 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+public class CommandTrieTest {
+
+    @Test
+    public void testAdd() {
+        final CommandTrie trie = new CommandTrie();
+        trie.add("tp");
+        trie.add("tell");
+        trie.add("time");
+        trie.add("give");
+        assertEquals(ImmutableList.of("tell", "time", "tp"), trie.getAliases("t"));
+        assertEquals(ImmutableList.of("tp"), trie.getAliases("tp"));
+        assertEquals(ImmutableList.of("give", "tell", "time", "tp"), trie.getAliases(""));
+        assertTrue(trie.getAliases("x").isEmpty());
+        assertTrue(trie.getAliases("tpa").isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        final CommandTrie trie = new CommandTrie();
+        trie.add("tp");
+        trie.add("tpa");
+        trie.add("tell");
+        trie.remove("tp");
+        assertEquals(ImmutableList.of("tpa"), trie.getAliases("tp"));
+        assertEquals(ImmutableList.of("tell", "tpa"), trie.getAliases("t"));
+        // Removing an unknown alias doesn't affect the others
+        trie.remove("teleport");
+        assertEquals(ImmutableList.of("tell", "tpa"), trie.getAliases("t"));
+    }
+
+    @Test
+    public void testPrune() {
+        final CommandTrie trie = new CommandTrie();
+        trie.add("tp");
+        trie.add("tpaccept");
+        trie.remove("tpaccept");
+        assertTrue(trie.getAliases("tpa").isEmpty());
+        assertEquals(ImmutableList.of("tp"), trie.getAliases("tp"));
+        // The pruned path can be added again
+        trie.add("tpa");
+        assertEquals(ImmutableList.of("tpa"), trie.getAliases("tpa"));
+        trie.remove("tp");
+        trie.remove("tpa");
+        assertTrue(trie.getAliases("").isEmpty());
+    }
+
+    @Test
+    public void testCaseInsensitive() {
+        final CommandTrie trie = new CommandTrie();
+        trie.add("Gamemode");
+        assertEquals(ImmutableList.of("gamemode"), trie.getAliases("GAME"));
+        assertEquals(ImmutableList.of("gamemode"), trie.getAliases("game"));
+        trie.remove("GAMEMODE");
+        assertTrue(trie.getAliases("g").isEmpty());
+    }
+}
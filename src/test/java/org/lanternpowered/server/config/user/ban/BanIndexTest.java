@@ -0,0 +1,179 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.config.user.ban;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.lanternpowered.server.profile.LanternGameProfile;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+public class BanIndexTest {
+
+    private static BanEntry.Profile profileBan(UUID uniqueId, String name, @Nullable Instant expirationDate) {
+        return new BanEntry.Profile(new LanternGameProfile(uniqueId, name), Instant.now(), expirationDate, null, null);
+    }
+
+    private static BanEntry.Ip ipBan(String address, @Nullable Instant expirationDate) throws UnknownHostException {
+        return new BanEntry.Ip(InetAddress.getByName(address), Instant.now(), expirationDate, null, null);
+    }
+
+    @Test
+    public void testProfileLookup() {
+        final BanIndex index = new BanIndex();
+        final UUID uniqueId = UUID.randomUUID();
+        final BanEntry.Profile entry = profileBan(uniqueId, "Player", null);
+        index.add(entry);
+        assertTrue(index.contains(entry));
+        assertEquals(Optional.of(entry), index.getByUniqueId(uniqueId));
+        assertEquals(Optional.of(entry), index.getByName("player"));
+        assertEquals(Optional.of(entry), index.getByName("PLAYER"));
+        assertEquals(Optional.empty(), index.getByUniqueId(UUID.randomUUID()));
+        assertEquals(Optional.empty(), index.getByName("Other"));
+        assertEquals(ImmutableList.of(entry), index.getProfileEntries());
+        assertEquals(ImmutableList.of(), index.getIpEntries());
+    }
+
+    @Test
+    public void testIpLookup() throws UnknownHostException {
+        final BanIndex index = new BanIndex();
+        final BanEntry.Ip entry = ipBan("10.0.0.1", null);
+        index.add(entry);
+        assertEquals(Optional.of(entry), index.getByAddress(InetAddress.getByName("10.0.0.1")));
+        assertEquals(Optional.empty(), index.getByAddress(InetAddress.getByName("10.0.0.2")));
+        assertEquals(ImmutableList.of(entry), index.getIpEntries());
+        assertEquals(ImmutableList.of(), index.getProfileEntries());
+    }
+
+    @Test
+    public void testReplace() throws UnknownHostException {
+        final BanIndex index = new BanIndex();
+        final UUID uniqueId = UUID.randomUUID();
+        final BanEntry.Profile entry1 = profileBan(uniqueId, "OldName", null);
+        final BanEntry.Profile entry2 = profileBan(uniqueId, "NewName", null);
+        index.add(entry1);
+        index.add(entry2);
+        assertFalse(index.contains(entry1));
+        assertEquals(Optional.of(entry2), index.getByUniqueId(uniqueId));
+        assertEquals(Optional.empty(), index.getByName("OldName"));
+        assertEquals(Optional.of(entry2), index.getByName("NewName"));
+        // The replaced entry is no longer present
+        assertFalse(index.remove(entry1));
+        assertEquals(Optional.of(entry2), index.getByUniqueId(uniqueId));
+
+        final BanEntry.Ip ipEntry1 = ipBan("10.0.0.1", null);
+        final BanEntry.Ip ipEntry2 = ipBan("10.0.0.1", null);
+        index.add(ipEntry1);
+        index.add(ipEntry2);
+        assertFalse(index.remove(ipEntry1));
+        assertEquals(Optional.of(ipEntry2), index.getByAddress(InetAddress.getByName("10.0.0.1")));
+        assertEquals(ImmutableList.of(entry2, ipEntry2), index.getEntries());
+    }
+
+    @Test
+    public void testSharedName() {
+        final BanIndex index = new BanIndex();
+        final UUID uniqueId1 = UUID.randomUUID();
+        final UUID uniqueId2 = UUID.randomUUID();
+        final BanEntry.Profile entry1 = profileBan(uniqueId1, "Player", null);
+        final BanEntry.Profile entry2 = profileBan(uniqueId2, "player", null);
+        index.add(entry1);
+        index.add(entry2);
+        // Both profiles are still banned, the most recent entry is found by name
+        assertEquals(Optional.of(entry1), index.getByUniqueId(uniqueId1));
+        assertEquals(Optional.of(entry2), index.getByUniqueId(uniqueId2));
+        assertEquals(Optional.of(entry2), index.getByName("Player"));
+        // The other profile with the name can be found again
+        assertTrue(index.remove(entry2));
+        assertEquals(Optional.of(entry1), index.getByName("Player"));
+        // Adding the same entry again doesn't index it twice
+        index.add(entry1);
+        assertTrue(index.remove(entry1));
+        assertEquals(Optional.empty(), index.getByName("Player"));
+    }
+
+    @Test
+    public void testRemove() throws UnknownHostException {
+        final BanIndex index = new BanIndex();
+        final UUID uniqueId = UUID.randomUUID();
+        final BanEntry.Profile entry = profileBan(uniqueId, "Player", null);
+        final BanEntry.Ip ipEntry = ipBan("10.0.0.1", null);
+        index.add(entry);
+        index.add(ipEntry);
+        assertTrue(index.remove(entry));
+        assertFalse(index.remove(entry));
+        assertEquals(Optional.empty(), index.getByUniqueId(uniqueId));
+        assertEquals(Optional.empty(), index.getByName("Player"));
+        assertTrue(index.remove(ipEntry));
+        assertEquals(Optional.empty(), index.getByAddress(InetAddress.getByName("10.0.0.1")));
+        assertEquals(ImmutableList.of(), index.getEntries());
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        final BanIndex index = new BanIndex();
+        // Expired entries are never added
+        index.add(profileBan(UUID.randomUUID(), "Expired", Instant.now().minusSeconds(1)));
+        assertEquals(ImmutableList.of(), index.getEntries());
+
+        final UUID uniqueId = UUID.randomUUID();
+        final BanEntry.Profile entry = profileBan(uniqueId, "Player", Instant.now().plusMillis(100));
+        final BanEntry.Ip ipEntry = ipBan("10.0.0.1", Instant.now().plusMillis(100));
+        final BanEntry.Ip indefiniteEntry = ipBan("10.0.0.2", null);
+        index.add(entry);
+        index.add(ipEntry);
+        index.add(indefiniteEntry);
+        assertEquals(3, index.getEntries().size());
+
+        Thread.sleep(150);
+        assertFalse(index.contains(entry));
+        assertEquals(Optional.empty(), index.getByUniqueId(uniqueId));
+        assertEquals(Optional.empty(), index.getByName("Player"));
+        assertEquals(Optional.empty(), index.getByAddress(InetAddress.getByName("10.0.0.1")));
+        assertEquals(ImmutableList.of(indefiniteEntry), index.getEntries());
+    }
+
+    @Test
+    public void testClear() throws UnknownHostException {
+        final BanIndex index = new BanIndex();
+        index.add(profileBan(UUID.randomUUID(), "Player", null));
+        index.add(ipBan("10.0.0.1", null));
+        index.clear();
+        assertEquals(ImmutableList.of(), index.getEntries());
+        assertEquals(Optional.empty(), index.getByName("Player"));
+        assertEquals(Optional.empty(), index.getByAddress(InetAddress.getByName("10.0.0.1")));
+    }
+}
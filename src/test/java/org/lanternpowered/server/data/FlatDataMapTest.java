@@ -0,0 +1,129 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class FlatDataMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        final FlatDataMap map = new FlatDataMap();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("A"));
+
+        for (int i = 0; i < 20; i++) {
+            assertNull(map.put("Key" + i, i));
+        }
+        assertEquals(20, map.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, map.get("Key" + i));
+        }
+        assertEquals(5, map.put("Key5", 50));
+        assertEquals(50, map.get(new String("Key5")));
+        assertEquals(20, map.size());
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        final FlatDataMap map = new FlatDataMap();
+        map.put("C", 1);
+        map.put("A", 2);
+        map.put("B", 3);
+        map.remove("A");
+        map.put("D", 4);
+        assertEquals(ImmutableList.of("C", "B", "D"), new ArrayList<>(map.keySet()));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        final FlatDataMap map = new FlatDataMap();
+        map.put("A", 1);
+        map.put("B", 2);
+        map.put("C", 3);
+        final Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<String, Object> entry = it.next();
+            if (entry.getKey().equals("B")) {
+                it.remove();
+            } else {
+                entry.setValue(0);
+            }
+        }
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("B"));
+        assertEquals(0, map.get("A"));
+        assertEquals(0, map.get("C"));
+    }
+
+    @Test
+    public void testHashFallback() {
+        final FlatDataMap map = new FlatDataMap();
+        final List<String> keys = new ArrayList<>();
+        for (int i = 0; i <= FlatDataMap.MAX_FLAT_SIZE; i++) {
+            assertFalse(map.isHashed());
+            map.put("Key" + i, i);
+            keys.add("Key" + i);
+        }
+        assertTrue(map.isHashed());
+        assertEquals(keys, new ArrayList<>(map.keySet()));
+        assertEquals(3, map.get(new String("Key3")));
+        assertEquals(3, map.remove("Key3"));
+        keys.remove("Key3");
+        assertEquals(keys, new ArrayList<>(map.keySet()));
+        assertEquals(keys.size(), map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.isHashed());
+        map.put("A", 1);
+        assertEquals(1, map.get("A"));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testHashFallbackWhileIterating() {
+        final FlatDataMap map = new FlatDataMap();
+        for (int i = 0; i < FlatDataMap.MAX_FLAT_SIZE; i++) {
+            map.put("Key" + i, i);
+        }
+        final Iterator<String> it = map.keySet().iterator();
+        it.next();
+        map.put("Other", 0);
+        it.next();
+    }
+}
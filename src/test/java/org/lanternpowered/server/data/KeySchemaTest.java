@@ -0,0 +1,114 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.data.key.Key;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class KeySchemaTest {
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, KeySchema.EMPTY.size());
+        assertEquals(ImmutableList.of(), KeySchema.EMPTY.getKeys());
+        assertEquals(-1, KeySchema.EMPTY.indexOf(mock(Key.class)));
+    }
+
+    @Test
+    public void testIndices() {
+        final Key<?> key1 = mock(Key.class);
+        final Key<?> key2 = mock(Key.class);
+        final Key<?> key3 = mock(Key.class);
+        final KeySchema schema1 = KeySchema.EMPTY.with(key1);
+        final KeySchema schema2 = schema1.with(key2).with(key3);
+        assertEquals(3, schema2.size());
+        assertEquals(ImmutableList.of(key1, key2, key3), schema2.getKeys());
+        assertEquals(0, schema2.indexOf(key1));
+        assertEquals(1, schema2.indexOf(key2));
+        assertEquals(2, schema2.indexOf(key3));
+        assertEquals(-1, schema2.indexOf(mock(Key.class)));
+        // The parent schema isn't modified
+        assertEquals(1, schema1.size());
+        assertEquals(-1, schema1.indexOf(key2));
+        assertEquals(0, KeySchema.EMPTY.size());
+    }
+
+    @Test
+    public void testInterning() {
+        final Key<?> key1 = mock(Key.class);
+        final Key<?> key2 = mock(Key.class);
+        assertSame(KeySchema.EMPTY.with(key1).with(key2), KeySchema.EMPTY.with(key1).with(key2));
+        // A different registration order results in a different layout
+        final KeySchema reversed = KeySchema.EMPTY.with(key2).with(key1);
+        assertNotSame(KeySchema.EMPTY.with(key1).with(key2), reversed);
+        assertEquals(0, reversed.indexOf(key2));
+        assertEquals(1, reversed.indexOf(key1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateKey() {
+        final Key<?> key = mock(Key.class);
+        KeySchema.EMPTY.with(key).with(mock(Key.class)).with(key);
+    }
+
+    @Test
+    public void testConcurrentTransitions() throws Exception {
+        final Key<?> key1 = mock(Key.class);
+        final Key<?> key2 = mock(Key.class);
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            final List<Future<KeySchema>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    return KeySchema.EMPTY.with(key1).with(key2);
+                }));
+            }
+            latch.countDown();
+            final KeySchema schema = futures.get(0).get();
+            for (Future<KeySchema> future : futures) {
+                assertSame(schema, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.spongepowered.api.data.key.Key;
+
+@SuppressWarnings("unchecked")
+public class ValueCollectionTest {
+
+    private final static int KEYS = 40;
+
+    private static Key[] createKeys() {
+        final Key[] keys = new Key[KEYS];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = mock(Key.class);
+        }
+        return keys;
+    }
+
+    private static ValueCollection createCollection(Key[] keys) {
+        final ValueCollection valueCollection = ValueCollection.create();
+        for (Key key : keys) {
+            valueCollection.registerProcessor(key);
+        }
+        return valueCollection;
+    }
+
+    @Test
+    public void testRegistration() {
+        final Key[] keys = createKeys();
+        final ValueCollection valueCollection = createCollection(keys);
+        assertEquals(Lists.newArrayList(keys), Lists.newArrayList(valueCollection.getKeys()));
+        assertEquals(KEYS, valueCollection.getAll().size());
+        for (Key key : keys) {
+            assertTrue(valueCollection.has(key));
+            assertSame(valueCollection.getRegistration(key), valueCollection.get(key).get());
+        }
+        final Key other = mock(Key.class);
+        assertFalse(valueCollection.has(other));
+        assertNull(valueCollection.getRegistration(other));
+        assertFalse(valueCollection.get(other).isPresent());
+        try {
+            valueCollection.registerProcessor(keys[0]);
+            throw new AssertionError("Duplicate keys may not be registered.");
+        } catch (IllegalArgumentException ignored) {
+        }
+        // Holders with the same keys share the same schema
+        assertSame(valueCollection.getKeys(), createCollection(keys).getKeys());
+        assertSame(valueCollection.getKeys(), valueCollection.copy().getKeys());
+        // Registering more keys on a copy doesn't affect the original
+        final ValueCollection copy = valueCollection.copy();
+        copy.registerProcessor(other);
+        assertTrue(copy.has(other));
+        assertFalse(valueCollection.has(other));
+    }
+}
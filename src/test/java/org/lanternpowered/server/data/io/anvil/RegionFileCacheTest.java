@@ -0,0 +1,151 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data.io.anvil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.lanternpowered.server.profiler.RegionFileMetrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class RegionFileCacheTest {
+
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+    private RegionFileCache cache;
+    private RegionFileMetrics metrics;
+
+    @Before
+    public void setup() throws IOException {
+        this.cache = new RegionFileCache(this.folder.getRoot().toPath(), "test", 2);
+        this.metrics = this.cache.getMetrics();
+    }
+
+    @After
+    public void cleanup() {
+        this.cache.clear();
+    }
+
+    @Test
+    public void testAcquireSameRegion() throws IOException {
+        final RegionFileCache.Handle handle1 = this.cache.acquire(0, 0);
+        final RegionFileCache.Handle handle2 = this.cache.acquireByChunk(RegionFileCache.REGION_MASK, 0);
+        assertSame(handle1, handle2);
+        assertSame(handle1.getRegionFile(), handle2.getRegionFile());
+        handle1.close();
+        handle2.close();
+        assertEquals(1, this.metrics.getOpenCount());
+        assertEquals(1, this.metrics.getOpenFileCount());
+    }
+
+    @Test
+    public void testPinnedNotEvicted() throws IOException {
+        final RegionFileCache.Handle handle1 = this.cache.acquire(0, 0);
+        final RegionFileCache.Handle handle2 = this.cache.acquire(1, 0);
+        final RegionFileCache.Handle handle3 = this.cache.acquire(2, 0);
+        // All the region files are pinned, so the limit may be exceeded
+        assertEquals(3, this.metrics.getOpenFileCount());
+        assertEquals(0, this.metrics.getEvictionCount());
+
+        handle2.close();
+        // The released region file is the only one that can be closed
+        assertEquals(2, this.metrics.getOpenFileCount());
+        assertEquals(1, this.metrics.getEvictionCount());
+        assertSame(handle1, this.cache.acquire(0, 0));
+        assertNotSame(handle2, this.cache.acquire(1, 0));
+        assertEquals(1, this.metrics.getReopenCount());
+        assertEquals(1, this.metrics.getHeaderCacheHits());
+        handle1.close();
+        handle3.close();
+    }
+
+    @Test
+    public void testIdleEviction() throws IOException {
+        final RegionFileCache.Handle handle = this.cache.acquire(0, 0);
+        handle.close();
+        final long time = System.currentTimeMillis();
+        this.cache.evictIdle(time);
+        assertEquals(1, this.metrics.getOpenFileCount());
+
+        this.cache.evictIdle(time + RegionFileCache.IDLE_TIMEOUT + 1);
+        assertEquals(0, this.metrics.getOpenFileCount());
+        assertEquals(1, this.metrics.getEvictionCount());
+    }
+
+    @Test
+    public void testIdleEvictionPinned() throws IOException {
+        try (RegionFileCache.Handle handle = this.cache.acquire(0, 0)) {
+            this.cache.evictIdle(System.currentTimeMillis() + RegionFileCache.IDLE_TIMEOUT + 1);
+            assertEquals(1, this.metrics.getOpenFileCount());
+            assertEquals(0, this.metrics.getEvictionCount());
+        }
+    }
+
+    @Test
+    public void testConcurrentAcquire() throws Exception {
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            final List<Future<RegionFileCache.Handle>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    final RegionFileCache.Handle handle = this.cache.acquire(0, 0);
+                    // Access the region file before releasing the handle
+                    handle.getRegionFile().hasChunk(0, 0);
+                    return handle;
+                }));
+            }
+            latch.countDown();
+            final RegionFileCache.Handle handle = futures.get(0).get();
+            for (Future<RegionFileCache.Handle> future : futures) {
+                assertSame(handle, future.get());
+            }
+            assertEquals(1, this.metrics.getOpenCount());
+            for (Future<RegionFileCache.Handle> future : futures) {
+                future.get().close();
+            }
+            this.cache.evictIdle(System.currentTimeMillis() + RegionFileCache.IDLE_TIMEOUT + 1);
+            assertEquals(0, this.metrics.getOpenFileCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
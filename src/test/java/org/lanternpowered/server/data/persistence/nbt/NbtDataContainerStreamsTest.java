@@ -25,6 +25,7 @@
  */
 package org.lanternpowered.server.data.persistence.nbt;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import java.io.ByteArrayInputStream;
@@ -50,6 +51,9 @@ public class NbtDataContainerStreamsTest {
     private static final DataQuery F = DataQuery.of("F");
     private static final DataQuery G = DataQuery.of("G");
     private static final DataQuery H = DataQuery.of("H");
+    private static final DataQuery I = DataQuery.of("I");
+    private static final DataQuery J = DataQuery.of("J");
+    private static final DataQuery K = DataQuery.of("K");
 
     @Test
     public void test() throws IOException {
@@ -84,4 +88,63 @@ public void test() throws IOException {
 
         assertEquals(container, newContainer);
     }
+
+    @Test
+    public void testArrays() throws IOException {
+        final byte[] bytes = new byte[4096];
+        final int[] ints = new int[4096];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+            ints[i] = i * 31 - 2048;
+        }
+        DataContainer container = DataContainer.createNew();
+        container.set(A, bytes);
+        container.set(B, ints);
+        container.set(C, new int[0]);
+        container.set(D, true);
+        container.set(E, Lists.newArrayList(true, false, true));
+        container.set(F, Lists.newArrayList(
+                DataContainer.createNew().set(A, 1).set(B, "TestB"),
+                DataContainer.createNew().set(A, 2).set(B, "TestC")));
+
+        DataContainer newContainer = writeAndRead(container, false);
+        assertArrayEquals(bytes, (byte[]) newContainer.get(A).get());
+        assertArrayEquals(ints, (int[]) newContainer.get(B).get());
+        assertArrayEquals(new int[0], (int[]) newContainer.get(C).get());
+        assertEquals(true, newContainer.getBoolean(D).get());
+        assertEquals(Lists.newArrayList(true, false, true), newContainer.getList(E).get());
+        assertEquals(container.getViewList(F).get(), newContainer.getViewList(F).get());
+
+        newContainer = writeAndRead(container, true);
+        assertArrayEquals(bytes, (byte[]) newContainer.get(A).get());
+        assertArrayEquals(ints, (int[]) newContainer.get(B).get());
+    }
+
+    @Test
+    public void testNestedViews() throws IOException {
+        DataContainer container = DataContainer.createNew();
+        container.createView(I)
+                .set(A, "TestA")
+                .createView(J)
+                .set(B, 6904L)
+                .set(K, Lists.newArrayList("A", "B"));
+        container.set(K, (short) 3);
+
+        DataContainer newContainer = writeAndRead(container, true);
+        assertEquals(container, newContainer);
+        assertEquals("TestA", newContainer.getString(I.then(A)).get());
+        assertEquals(6904L, (long) newContainer.getLong(I.then(J).then(B)).get());
+    }
+
+    private static DataContainer writeAndRead(DataContainer container, boolean compressed) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (NbtDataContainerOutputStream ndcos = new NbtDataContainerOutputStream(baos, compressed)) {
+            ndcos.write(container);
+            ndcos.flush();
+        }
+        try (NbtDataContainerInputStream ndcis = new NbtDataContainerInputStream(
+                new ByteArrayInputStream(baos.toByteArray()), compressed)) {
+            return ndcis.read();
+        }
+    }
 }
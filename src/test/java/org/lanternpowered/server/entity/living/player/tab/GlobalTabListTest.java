@@ -0,0 +1,202 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.entity.living.player.tab;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.lanternpowered.server.entity.living.player.LanternPlayer;
+import org.lanternpowered.server.network.NetworkSession;
+import org.lanternpowered.server.network.message.Message;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutTabListEntries;
+import org.lanternpowered.server.profile.LanternGameProfile;
+import org.mockito.ArgumentCaptor;
+import org.spongepowered.api.entity.living.player.gamemode.GameMode;
+import org.spongepowered.api.text.Text;
+
+import java.util.List;
+import java.util.UUID;
+
+public class GlobalTabListTest {
+
+    private static final int LATENCY_INTERVAL = 500;
+    private static final int LATENCY_MIN_DELTA = 20;
+
+    private GlobalTabList globalTabList;
+    private NetworkSession connection1;
+    private NetworkSession connection2;
+    private LanternTabList tabList1;
+    private LanternTabList tabList2;
+    private GlobalTabListEntry entry1;
+    private GlobalTabListEntry entry2;
+
+    private static LanternTabList createTabList(NetworkSession connection) {
+        final LanternPlayer player = mock(LanternPlayer.class);
+        when(player.getConnection()).thenReturn(connection);
+        return new LanternTabList(player);
+    }
+
+    private GlobalTabListEntry createGlobalEntry(String name) {
+        return this.globalTabList.getOrCreate(new LanternGameProfile(UUID.randomUUID(), name));
+    }
+
+    private static LanternTabListEntry addEntry(GlobalTabListEntry globalEntry, LanternTabList tabList) {
+        final LanternTabListEntry entry = new LanternTabListEntry(globalEntry, tabList, mock(GameMode.class), 0, null);
+        tabList.addEntry(entry);
+        return entry;
+    }
+
+    private static List<MessagePlayOutTabListEntries> getMessages(NetworkSession connection, int count) {
+        final ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(connection, times(count)).send(captor.capture());
+        final ImmutableList.Builder<MessagePlayOutTabListEntries> messages = ImmutableList.builder();
+        for (Message message : captor.getAllValues()) {
+            messages.add((MessagePlayOutTabListEntries) message);
+        }
+        return messages.build();
+    }
+
+    @Before
+    public void setup() {
+        this.globalTabList = new GlobalTabList();
+        this.connection1 = mock(NetworkSession.class);
+        this.connection2 = mock(NetworkSession.class);
+        this.tabList1 = createTabList(this.connection1);
+        this.tabList2 = createTabList(this.connection2);
+        this.entry1 = createGlobalEntry("Player1");
+        this.entry2 = createGlobalEntry("Player2");
+    }
+
+    @Test
+    public void testGrouping() {
+        addEntry(this.entry1, this.tabList1);
+        addEntry(this.entry1, this.tabList2);
+        addEntry(this.entry2, this.tabList1);
+        addEntry(this.entry2, this.tabList2);
+        clearInvocations(this.connection1, this.connection2);
+
+        this.entry1.setDisplayName(mock(Text.class));
+        this.entry2.setDisplayName(mock(Text.class));
+        this.entry1.setGameMode(mock(GameMode.class));
+        this.globalTabList.flush(1000L, LATENCY_INTERVAL, LATENCY_MIN_DELTA);
+
+        // One message per type of change, shared by the players that see all the entries
+        final List<MessagePlayOutTabListEntries> messages1 = getMessages(this.connection1, 2);
+        final List<MessagePlayOutTabListEntries> messages2 = getMessages(this.connection2, 2);
+        assertEquals(2, messages1.get(0).getEntries().size());
+        assertTrue(messages1.get(0).getEntries().get(0) instanceof MessagePlayOutTabListEntries.Entry.UpdateDisplayName);
+        assertEquals(1, messages1.get(1).getEntries().size());
+        assertTrue(messages1.get(1).getEntries().get(0) instanceof MessagePlayOutTabListEntries.Entry.UpdateGameMode);
+        assertSame(messages1.get(0), messages2.get(0));
+        assertSame(messages1.get(1), messages2.get(1));
+
+        // Nothing is pending anymore
+        clearInvocations(this.connection1, this.connection2);
+        this.globalTabList.flush(1000L, LATENCY_INTERVAL, LATENCY_MIN_DELTA);
+        getMessages(this.connection1, 0);
+        getMessages(this.connection2, 0);
+    }
+
+    @Test
+    public void testFiltering() {
+        addEntry(this.entry1, this.tabList1);
+        addEntry(this.entry1, this.tabList2);
+        // The second player can't see the second entry
+        addEntry(this.entry2, this.tabList1);
+        clearInvocations(this.connection1, this.connection2);
+
+        final Text displayName1 = mock(Text.class);
+        this.entry1.setDisplayName(displayName1);
+        this.entry2.setDisplayName(mock(Text.class));
+        this.globalTabList.flush(1000L, LATENCY_INTERVAL, LATENCY_MIN_DELTA);
+
+        final MessagePlayOutTabListEntries message1 = getMessages(this.connection1, 1).get(0);
+        final MessagePlayOutTabListEntries message2 = getMessages(this.connection2, 1).get(0);
+        assertEquals(2, message1.getEntries().size());
+        assertNotSame(message1, message2);
+        assertEquals(1, message2.getEntries().size());
+        assertSame(this.entry1.getProfile(), message2.getEntries().get(0).getGameProfile());
+        assertSame(displayName1, message2.getEntries().get(0).getDisplayName());
+    }
+
+    @Test
+    public void testLatencyThrottling() {
+        addEntry(this.entry1, this.tabList1);
+        clearInvocations(this.connection1);
+
+        // The first latency update is send directly
+        this.entry1.setLatency(100);
+        this.globalTabList.flush(1000L, LATENCY_INTERVAL, LATENCY_MIN_DELTA);
+        assertEquals(100, (int) getMessages(this.connection1, 1).get(0).getEntries().get(0).getPing());
+        clearInvocations(this.connection1);
+
+        // The difference is too small, the update is dropped
+        this.entry1.setLatency(110);
+        this.globalTabList.flush(1100L, LATENCY_INTERVAL, LATENCY_MIN_DELTA);
+        getMessages(this.connection1, 0);
+
+        // The interval didn't pass yet, the update stays pending
+        this.entry1.setLatency(200);
+        this.globalTabList.flush(1200L, LATENCY_INTERVAL, LATENCY_MIN_DELTA);
+        getMessages(this.connection1, 0);
+        this.globalTabList.flush(1500L, LATENCY_INTERVAL, LATENCY_MIN_DELTA);
+        assertEquals(200, (int) getMessages(this.connection1, 1).get(0).getEntries().get(0).getPing());
+    }
+
+    @Test
+    public void testPerListChange() {
+        final LanternTabListEntry tabListEntry1 = addEntry(this.entry1, this.tabList1);
+        addEntry(this.entry1, this.tabList2);
+        clearInvocations(this.connection1, this.connection2);
+
+        final Text globalName = mock(Text.class);
+        final Text localName = mock(Text.class);
+        this.entry1.setDisplayName(globalName);
+        // The pending global change is send before the change of the
+        // tab list, so that it doesn't override it afterwards
+        tabListEntry1.setDisplayName(localName);
+        final List<MessagePlayOutTabListEntries> messages1 = getMessages(this.connection1, 2);
+        assertSame(globalName, messages1.get(0).getEntries().get(0).getDisplayName());
+        assertSame(localName, messages1.get(1).getEntries().get(0).getDisplayName());
+        assertSame(globalName, getMessages(this.connection2, 1).get(0).getEntries().get(0).getDisplayName());
+
+        clearInvocations(this.connection1, this.connection2);
+        this.globalTabList.flush(1000L, LATENCY_INTERVAL, LATENCY_MIN_DELTA);
+        getMessages(this.connection1, 0);
+        getMessages(this.connection2, 0);
+        assertSame(localName, tabListEntry1.getDisplayName().get());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.spongepowered.api.event.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+public class AsyncEventLaneTest {
+
+    private static final RegisteredListener<?>[] NO_LISTENERS = new RegisteredListener<?>[0];
+
+    private static AsyncEventLane createLane(BiConsumer<Event, RegisteredListener<?>[]> dispatcher) {
+        return new AsyncEventLane(LoggerFactory.getLogger(AsyncEventLaneTest.class), dispatcher);
+    }
+
+    @Test
+    public void testOrder() {
+        final List<Event> handled = Collections.synchronizedList(new ArrayList<>());
+        final AsyncEventLane lane = createLane((event, listeners) -> handled.add(event));
+        final List<Event> posted = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Event event = mock(Event.class);
+            posted.add(event);
+            lane.post(event, NO_LISTENERS);
+        }
+        lane.shutdown(10, TimeUnit.SECONDS);
+        assertEquals(posted, handled);
+        assertEquals(0, lane.getQueueDepth());
+        assertEquals(1000, lane.getProcessedEvents());
+    }
+
+    @Test
+    public void testPostFromLane() throws InterruptedException {
+        final Event first = mock(Event.class);
+        final Event second = mock(Event.class);
+        final AtomicReference<AsyncEventLane> laneRef = new AtomicReference<>();
+        final List<Event> handled = Collections.synchronizedList(new ArrayList<>());
+        final AtomicReference<Thread> secondThread = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AsyncEventLane lane = createLane((event, listeners) -> {
+            if (event == first) {
+                // Posting from within the lane is queued after the current event
+                laneRef.get().post(second, listeners);
+            } else {
+                secondThread.set(Thread.currentThread());
+            }
+            handled.add(event);
+            latch.countDown();
+        });
+        laneRef.set(lane);
+        lane.post(first, NO_LISTENERS);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(secondThread.get() != Thread.currentThread());
+        assertEquals(Arrays.asList(first, second), handled);
+        lane.shutdown(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testPostWhenFull() throws InterruptedException {
+        final Thread testThread = Thread.currentThread();
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final List<Event> handled = Collections.synchronizedList(new ArrayList<>());
+        final AtomicReference<Thread> postingThread = new AtomicReference<>();
+        final AsyncEventLane lane = createLane((event, listeners) -> {
+            if (Thread.currentThread() == testThread) {
+                postingThread.set(testThread);
+            }
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.add(event);
+        });
+        final List<Event> posted = new ArrayList<>();
+        for (int i = 0; i < lane.getQueueCapacity(); i++) {
+            final Event event = mock(Event.class);
+            posted.add(event);
+            lane.post(event, NO_LISTENERS);
+        }
+        // The lane is full, so the event should be dropped
+        lane.post(mock(Event.class), NO_LISTENERS);
+        assertNull(postingThread.get());
+        assertEquals(1, lane.getDroppedEvents());
+        blocker.countDown();
+        lane.shutdown(10, TimeUnit.SECONDS);
+        assertEquals(0, lane.getQueueDepth());
+        // The queued events are still handled in order
+        assertEquals(posted, handled);
+    }
+
+    @Test
+    public void testPostAfterShutdown() {
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        final AsyncEventLane lane = createLane((event, listeners) -> thread.set(Thread.currentThread()));
+        lane.shutdown(10, TimeUnit.SECONDS);
+        lane.post(mock(Event.class), NO_LISTENERS);
+        assertNull(thread.get());
+        assertEquals(1, lane.getDroppedEvents());
+        assertEquals(0, lane.getQueueDepth());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import org.junit.Test;
+import org.lanternpowered.server.profiler.LanternProfiler;
+import org.slf4j.LoggerFactory;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LanternEventManagerTest {
+
+    public interface TestEvent extends Event {
+    }
+
+    public interface SubTestEvent extends TestEvent {
+    }
+
+    private static LanternEventManager createEventManager() {
+        return new LanternEventManager(LoggerFactory.getLogger(LanternEventManagerTest.class));
+    }
+
+    @Test
+    public void testHasListeners() {
+        final LanternEventManager eventManager = createEventManager();
+        assertFalse(eventManager.hasListeners(TestEvent.class));
+        eventManager.register(new RegisteredListener<>(mock(PluginContainer.class), TestEvent.class, Order.DEFAULT, event -> {}));
+        assertTrue(eventManager.hasListeners(Event.class));
+        assertTrue(eventManager.hasListeners(TestEvent.class));
+        assertTrue(eventManager.hasListeners(SubTestEvent.class));
+    }
+
+    @Test
+    public void testPostOrder() {
+        final LanternEventManager eventManager = createEventManager();
+        final PluginContainer plugin = mock(PluginContainer.class);
+        final List<Order> orders = new ArrayList<>();
+        eventManager.register(new RegisteredListener<>(plugin, TestEvent.class, Order.LAST, event -> orders.add(Order.LAST)));
+        eventManager.register(new RegisteredListener<>(plugin, TestEvent.class, Order.FIRST, event -> orders.add(Order.FIRST)));
+        eventManager.register(new RegisteredListener<>(plugin, Event.class, Order.DEFAULT, event -> orders.add(Order.DEFAULT)));
+        eventManager.post(mock(SubTestEvent.class));
+        assertEquals(Arrays.asList(Order.FIRST, Order.DEFAULT, Order.LAST), orders);
+    }
+
+    @Test
+    public void testPostCancelled() {
+        final LanternEventManager eventManager = createEventManager();
+        final Event event = mock(TestEvent.class, withSettings().extraInterfaces(Cancellable.class));
+        assertFalse(eventManager.post(event));
+        when(((Cancellable) event).isCancelled()).thenReturn(true);
+        assertTrue(eventManager.post(event));
+    }
+
+    @Test
+    public void testUnregister() {
+        final LanternEventManager eventManager = createEventManager();
+        final int[] counter = new int[1];
+        final EventListener<TestEvent> listener = event -> counter[0]++;
+        final int timings = LanternProfiler.INSTANCE.getTimingCount();
+        eventManager.register(new RegisteredListener<>(mock(PluginContainer.class), TestEvent.class, Order.DEFAULT, listener));
+        eventManager.post(mock(TestEvent.class));
+        assertEquals(1, counter[0]);
+        assertEquals(timings + 1, LanternProfiler.INSTANCE.getTimingCount());
+        eventManager.unregisterListeners(listener);
+        assertFalse(eventManager.hasListeners(TestEvent.class));
+        // The timing of the listener should be removed as well
+        assertEquals(timings, LanternProfiler.INSTANCE.getTimingCount());
+        eventManager.post(mock(TestEvent.class));
+        assertEquals(1, counter[0]);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.inventory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.lanternpowered.server.data.AdditionalContainerCollection;
+import org.lanternpowered.server.data.ValueCollection;
+import org.lanternpowered.server.data.element.Element;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.api.item.ItemType;
+
+import java.util.function.Function;
+
+@SuppressWarnings("unchecked")
+public class ItemStackEncodingTest {
+
+    private static final Key<?> KEY = mock(Key.class);
+
+    private static LanternItemStack createItemStack() {
+        final LanternItemStack itemStack = new LanternItemStack(mock(ItemType.class), 1,
+                ValueCollection.create(), AdditionalContainerCollection.createConcurrent());
+        itemStack.getValueCollection().register((Key) KEY, "First");
+        return itemStack;
+    }
+
+    private static Element<Object> getElement(LanternItemStack itemStack) {
+        return itemStack.getValueCollection().getElement((Key) KEY).get();
+    }
+
+    private static final class CountingEncoder implements Function<LanternItemStack, byte[]> {
+
+        private int count;
+
+        @Override
+        public byte[] apply(LanternItemStack itemStack) {
+            this.count++;
+            return new byte[] { (byte) this.count };
+        }
+    }
+
+    @Test
+    public void testCacheHit() {
+        final LanternItemStack itemStack = createItemStack();
+        final CountingEncoder encoder = new CountingEncoder();
+        final byte[] encoded = itemStack.getOrCreateEncoding(encoder);
+        assertSame(encoded, itemStack.getOrCreateEncoding(encoder));
+        // Quantity changes don't affect the encoding
+        itemStack.setQuantity(20);
+        assertSame(encoded, itemStack.getOrCreateEncoding(encoder));
+        assertEquals(1, encoder.count);
+    }
+
+    @Test
+    public void testInvalidateByElement() {
+        final LanternItemStack itemStack = createItemStack();
+        final CountingEncoder encoder = new CountingEncoder();
+        final byte[] encoded = itemStack.getOrCreateEncoding(encoder);
+        getElement(itemStack).set("Second");
+        assertNull(itemStack.getCachedEncoding());
+        assertNotSame(encoded, itemStack.getOrCreateEncoding(encoder));
+        assertEquals(2, encoder.count);
+    }
+
+    @Test
+    public void testInvalidateByAdditionalContainer() {
+        final LanternItemStack itemStack = createItemStack();
+        final CountingEncoder encoder = new CountingEncoder();
+        itemStack.getOrCreateEncoding(encoder);
+        itemStack.getAdditionalContainers().offer(mock(DataManipulator.class));
+        assertNull(itemStack.getCachedEncoding());
+        itemStack.getOrCreateEncoding(encoder);
+        assertEquals(2, encoder.count);
+    }
+
+    @Test
+    public void testInvalidateByIncrement() {
+        final LanternItemStack itemStack = createItemStack();
+        itemStack.getOrCreateEncoding(new CountingEncoder());
+        itemStack.incrementVersion();
+        assertNull(itemStack.getCachedEncoding());
+    }
+
+    @Test
+    public void testModificationWhileEncoding() {
+        final LanternItemStack itemStack = createItemStack();
+        itemStack.getOrCreateEncoding(stack -> {
+            getElement(stack).set("Second");
+            return new byte[0];
+        });
+        assertNull(itemStack.getCachedEncoding());
+    }
+
+    @Test
+    public void testCopySharesEncodingWithSource() {
+        final LanternItemStack itemStack = createItemStack();
+        final CountingEncoder encoder = new CountingEncoder();
+        // Encoding a copy caches the encoding on the item stack that is kept
+        final byte[] encoded = itemStack.copy().getOrCreateEncoding(encoder);
+        assertSame(encoded, itemStack.getCachedEncoding());
+        assertSame(encoded, itemStack.copy().getOrCreateEncoding(encoder));
+        assertSame(encoded, itemStack.copy().copy().getOrCreateEncoding(encoder));
+        assertEquals(1, encoder.count);
+    }
+
+    @Test
+    public void testModifiedCopy() {
+        final LanternItemStack itemStack = createItemStack();
+        final CountingEncoder encoder = new CountingEncoder();
+        final byte[] encoded = itemStack.getOrCreateEncoding(encoder);
+        final int version = itemStack.getVersion();
+        final LanternItemStack copy = itemStack.copy();
+        getElement(copy).set("Second");
+        // Modifying the copy doesn't affect the source
+        assertEquals(version, itemStack.getVersion());
+        assertEquals("First", getElement(itemStack).get());
+        final byte[] copyEncoded = copy.getOrCreateEncoding(encoder);
+        assertNotSame(encoded, copyEncoded);
+        assertSame(encoded, itemStack.getCachedEncoding());
+        assertEquals(2, encoder.count);
+    }
+
+    @Test
+    public void testModifiedSource() {
+        final LanternItemStack itemStack = createItemStack();
+        final CountingEncoder encoder = new CountingEncoder();
+        itemStack.getOrCreateEncoding(encoder);
+        final LanternItemStack copy = itemStack.copy();
+        getElement(itemStack).set("Second");
+        // The copy still has the old data, it can't be shared with the source anymore
+        assertNull(copy.getCachedEncoding());
+        final byte[] copyEncoded = copy.getOrCreateEncoding(encoder);
+        assertNull(itemStack.getCachedEncoding());
+        assertSame(copyEncoded, copy.getCachedEncoding());
+        assertEquals(2, encoder.count);
+    }
+}
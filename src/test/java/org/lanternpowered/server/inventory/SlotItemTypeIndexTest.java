@@ -0,0 +1,130 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.inventory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.lanternpowered.server.data.AdditionalContainerCollection;
+import org.lanternpowered.server.data.ValueCollection;
+import org.lanternpowered.server.inventory.block.ChestInventory;
+import org.lanternpowered.server.inventory.slot.LanternSlot;
+import org.spongepowered.api.item.ItemType;
+import org.spongepowered.api.item.inventory.Inventory;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.item.inventory.Slot;
+import org.spongepowered.api.text.translation.Translation;
+
+import java.util.BitSet;
+
+public class SlotItemTypeIndexTest {
+
+    private static ItemType createItemType() {
+        final ItemType itemType = mock(ItemType.class);
+        when(itemType.getMaxStackQuantity()).thenReturn(64);
+        return itemType;
+    }
+
+    private static ItemStack createItemStack(ItemType itemType, int quantity) {
+        return new LanternItemStack(itemType, quantity, ValueCollection.create(), AdditionalContainerCollection.createConcurrent());
+    }
+
+    private static LanternSlot[] createSlots(int amount) {
+        final LanternSlot[] slots = new LanternSlot[amount];
+        for (int i = 0; i < amount; i++) {
+            slots[i] = new LanternSlot(null);
+        }
+        return slots;
+    }
+
+    @Test
+    public void testInitialContents() {
+        final ItemType stone = createItemType();
+        final LanternSlot[] slots = createSlots(3);
+        slots[2].setRawItemStack(createItemStack(stone, 1));
+        final SlotItemTypeIndex index = new SlotItemTypeIndex(slots);
+        final BitSet bitSet = index.get(stone);
+        assertEquals(1, bitSet.cardinality());
+        assertTrue(bitSet.get(2));
+    }
+
+    @Test
+    public void testUpdate() {
+        final ItemType stone = createItemType();
+        final ItemType dirt = createItemType();
+        final LanternSlot[] slots = createSlots(3);
+        final SlotItemTypeIndex index = new SlotItemTypeIndex(slots);
+        assertFalse(index.contains(stone));
+        slots[1].setRawItemStack(createItemStack(stone, 1));
+        assertTrue(index.contains(stone));
+        assertTrue(index.get(stone).get(1));
+        slots[1].setRawItemStack(createItemStack(dirt, 1));
+        assertFalse(index.contains(stone));
+        assertTrue(index.get(dirt).get(1));
+        slots[1].setRawItemStack(null);
+        assertFalse(index.contains(dirt));
+        assertNull(index.get(dirt));
+    }
+
+    @Test
+    public void testDetach() {
+        final ItemType stone = createItemType();
+        final LanternSlot[] slots = createSlots(2);
+        final SlotItemTypeIndex index = new SlotItemTypeIndex(slots);
+        index.detach();
+        slots[0].setRawItemStack(createItemStack(stone, 1));
+        assertFalse(index.contains(stone));
+    }
+
+    @Test
+    public void testInventoryIndex() {
+        final ItemType stone = createItemType();
+        final ItemType dirt = createItemType();
+        final ChestInventory chest = new ChestInventory(null, mock(Translation.class), 6);
+        assertFalse(chest.contains(stone));
+        chest.offer(createItemStack(stone, 10));
+        assertTrue(chest.contains(stone));
+        assertFalse(chest.contains(dirt));
+        assertEquals(1, chest.query(stone).slotCount());
+        assertEquals(10, chest.poll(20, stone).get().getQuantity());
+        assertFalse(chest.contains(stone));
+        assertEquals(54, chest.slotCount());
+    }
+
+    @Test
+    public void testQueryCache() {
+        final ChestInventory chest = new ChestInventory(null, mock(Translation.class), 3);
+        final Inventory slots = chest.query(Slot.class);
+        assertSame(slots, chest.query(Slot.class));
+        assertEquals(27, slots.slotCount());
+    }
+}
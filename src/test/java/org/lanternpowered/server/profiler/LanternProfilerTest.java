@@ -0,0 +1,76 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.profiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.spongepowered.api.plugin.PluginContainer;
+
+public class LanternProfilerTest {
+
+    @Test
+    public void testRecord() {
+        final Timing timing = new Timing(mock(PluginContainer.class), TimingType.EVENT_LISTENER, "test");
+        final long start = System.nanoTime();
+        timing.record(start, start + 1500L);
+        timing.record(start, start + 100L);
+        final TimingSnapshot snapshot = timing.createSnapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(1600L, snapshot.getTotalTime());
+        assertEquals(1500L, snapshot.getMaxTime());
+        assertEquals(1000L, snapshot.getPercentile(0.5));
+        assertEquals(1500L, snapshot.getPercentile(1.0));
+    }
+
+    @Test
+    public void testSharedTiming() {
+        final PluginContainer plugin = mock(PluginContainer.class);
+        final LanternProfiler profiler = LanternProfiler.INSTANCE;
+        final Timing timing = profiler.getTiming(plugin, TimingType.COMMAND, "test");
+        assertSame(timing, profiler.getTiming(plugin, TimingType.COMMAND, "test"));
+        assertNotSame(timing, profiler.getTiming(plugin, TimingType.SCHEDULED_TASK, "test"));
+    }
+
+    @Test
+    public void testCreateAndRemoveTiming() {
+        final PluginContainer plugin = mock(PluginContainer.class);
+        final LanternProfiler profiler = LanternProfiler.INSTANCE;
+        final int count = profiler.getTimingCount();
+        final Timing timing1 = profiler.createTiming(plugin, TimingType.EVENT_LISTENER, "test");
+        final Timing timing2 = profiler.createTiming(plugin, TimingType.EVENT_LISTENER, "test");
+        // Timings with the same name may not be merged
+        assertNotSame(timing1, timing2);
+        assertEquals(count + 2, profiler.getTimingCount());
+        profiler.removeTiming(timing1);
+        assertEquals(count + 1, profiler.getTimingCount());
+        profiler.removeTiming(timing2);
+        assertEquals(count, profiler.getTimingCount());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.scoreboard;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.lanternpowered.server.entity.living.player.LanternPlayer;
+import org.lanternpowered.server.network.NetworkSession;
+import org.lanternpowered.server.network.message.Message;
+import org.spongepowered.api.scoreboard.displayslot.DisplaySlot;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class LanternScoreboardTest {
+
+    private LanternScoreboard scoreboard;
+    private NetworkSession connection;
+    private LanternPlayer player;
+
+    @Before
+    public void setup() {
+        this.scoreboard = new LanternScoreboard();
+        this.connection = mock(NetworkSession.class);
+        this.player = mock(LanternPlayer.class);
+        when(this.player.getConnection()).thenReturn(this.connection);
+        this.scoreboard.addPlayer(this.player);
+        // The initial state of the empty scoreboard
+        verify(this.connection).send(Collections.<Message>emptyList());
+    }
+
+    @Test
+    public void testCollapse() {
+        final Message message1 = mock(Message.class);
+        final Message message2 = mock(Message.class);
+        final Message message3 = mock(Message.class);
+        this.scoreboard.sendToPlayers(LanternScoreboard.UpdateKey.score("objective", "line1"), () -> message1);
+        this.scoreboard.sendToPlayers(LanternScoreboard.UpdateKey.score("objective", "line1"), () -> message2);
+        this.scoreboard.sendToPlayers(LanternScoreboard.UpdateKey.score("objective", "line2"), () -> message3);
+        this.scoreboard.flush();
+        // Only the last update of the first line is send
+        verify(this.connection).send(Arrays.asList(message2, message3));
+        verifyNoMoreInteractions(this.connection);
+    }
+
+    @Test
+    public void testOrder() {
+        final Message create = mock(Message.class);
+        final Message score1 = mock(Message.class);
+        final Message remove = mock(Message.class);
+        final Message score2 = mock(Message.class);
+        final DisplaySlot displaySlot = mock(DisplaySlot.class);
+        final Message display = mock(Message.class);
+        this.scoreboard.sendToPlayers(LanternScoreboard.UpdateKey.score("objective", "line"), () -> score1);
+        this.scoreboard.sendToPlayers(() -> ImmutableList.of(remove, create));
+        this.scoreboard.sendToPlayers(LanternScoreboard.UpdateKey.displaySlot(displaySlot), () -> display);
+        // The replacement has to be send after the structural changes that were queued before it
+        this.scoreboard.sendToPlayers(LanternScoreboard.UpdateKey.score("objective", "line"), () -> score2);
+        this.scoreboard.flush();
+        verify(this.connection).send(Arrays.asList(remove, create, display, score2));
+        verifyNoMoreInteractions(this.connection);
+    }
+
+    @Test
+    public void testUnkeyedNotCollapsed() {
+        final Message message1 = mock(Message.class);
+        final Message message2 = mock(Message.class);
+        this.scoreboard.sendToPlayers(() -> ImmutableList.of(message1));
+        this.scoreboard.sendToPlayers(() -> ImmutableList.of(message1));
+        this.scoreboard.sendToPlayers(() -> ImmutableList.of(message2));
+        this.scoreboard.flush();
+        verify(this.connection).send(Arrays.asList(message1, message1, message2));
+        verifyNoMoreInteractions(this.connection);
+    }
+
+    @Test
+    public void testFlushAll() {
+        final Message message = mock(Message.class);
+        this.scoreboard.sendToPlayers(LanternScoreboard.UpdateKey.objective("objective"), () -> message);
+        LanternScoreboard.flushAll();
+        verify(this.connection).send(Collections.singletonList(message));
+        // Nothing is pending anymore
+        LanternScoreboard.flushAll();
+        this.scoreboard.flush();
+        verifyNoMoreInteractions(this.connection);
+    }
+
+    @Test
+    public void testRemovePlayer() {
+        final Message message = mock(Message.class);
+        this.scoreboard.sendToPlayers(LanternScoreboard.UpdateKey.team("team"), () -> message);
+        this.scoreboard.removePlayer(this.player);
+        // The pending changes are flushed before the player is removed
+        verify(this.connection).send(Collections.singletonList(message));
+        // The empty scoreboard is cleared, once for adding and once for removing
+        verify(this.connection, times(2)).send(Collections.<Message>emptyList());
+
+        // Changes without players aren't queued
+        final Message other = mock(Message.class);
+        this.scoreboard.sendToPlayers(LanternScoreboard.UpdateKey.team("team"), () -> other);
+        this.scoreboard.flush();
+        verify(this.connection, never()).send(Collections.singletonList(other));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.service.permission.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.spongepowered.api.util.Tristate;
+
+public class PermissionTrieTest {
+
+    @Test
+    public void testEmpty() {
+        assertSame(PermissionTrie.EMPTY, PermissionTrie.of(ImmutableMap.of()));
+        assertSame(PermissionTrie.EMPTY, PermissionTrie.merge(ImmutableList.of()));
+        assertEquals(Tristate.UNDEFINED, PermissionTrie.EMPTY.get("plugin.command"));
+        assertEquals(Tristate.UNDEFINED, PermissionTrie.EMPTY.get(""));
+    }
+
+    @Test
+    public void testInheritance() {
+        final PermissionTrie trie = PermissionTrie.of(ImmutableMap.of("plugin.command", true));
+        assertEquals(Tristate.UNDEFINED, trie.get("plugin"));
+        assertEquals(Tristate.TRUE, trie.get("plugin.command"));
+        assertEquals(Tristate.TRUE, trie.get("plugin.command.sub"));
+        assertEquals(Tristate.TRUE, trie.get("plugin.command.sub.deeper"));
+        assertEquals(Tristate.UNDEFINED, trie.get("plugin.other"));
+        assertEquals(Tristate.UNDEFINED, trie.get("other"));
+    }
+
+    @Test
+    public void testSegmentBoundaries() {
+        final PermissionTrie trie = PermissionTrie.of(ImmutableMap.of("plugin.command", true));
+        // Only whole segments may match
+        assertEquals(Tristate.UNDEFINED, trie.get("plugin.commands"));
+        assertEquals(Tristate.UNDEFINED, trie.get("plugin.comm"));
+        assertEquals(Tristate.UNDEFINED, trie.get("plugincommand"));
+    }
+
+    @Test
+    public void testOverride() {
+        final PermissionTrie trie = PermissionTrie.of(ImmutableMap.of(
+                "plugin", true,
+                "plugin.command", false,
+                "plugin.command.sub", true));
+        assertEquals(Tristate.TRUE, trie.get("plugin"));
+        assertEquals(Tristate.TRUE, trie.get("plugin.other"));
+        assertEquals(Tristate.FALSE, trie.get("plugin.command"));
+        assertEquals(Tristate.FALSE, trie.get("plugin.command.other"));
+        assertEquals(Tristate.TRUE, trie.get("plugin.command.sub"));
+        assertEquals(Tristate.TRUE, trie.get("plugin.command.sub.other"));
+    }
+
+    @Test
+    public void testCaseInsensitive() {
+        final PermissionTrie trie = PermissionTrie.of(ImmutableMap.of("Plugin.Command", true));
+        assertEquals(Tristate.TRUE, trie.get("plugin.command"));
+        assertEquals(Tristate.TRUE, trie.get("PLUGIN.COMMAND"));
+        assertEquals(Tristate.TRUE, trie.get("plugin.Command.Sub"));
+    }
+
+    @Test
+    public void testMergePriority() {
+        final PermissionTrie first = PermissionTrie.of(ImmutableMap.of("plugin.command", false));
+        final PermissionTrie second = PermissionTrie.of(ImmutableMap.of("plugin", true));
+        assertSame(first, PermissionTrie.merge(ImmutableList.of(first)));
+
+        final PermissionTrie merged = PermissionTrie.merge(ImmutableList.of(first, second));
+        assertEquals(Tristate.TRUE, merged.get("plugin"));
+        assertEquals(Tristate.TRUE, merged.get("plugin.other"));
+        assertEquals(Tristate.FALSE, merged.get("plugin.command"));
+        assertEquals(Tristate.FALSE, merged.get("plugin.command.sub"));
+
+        final PermissionTrie reversed = PermissionTrie.merge(ImmutableList.of(second, first));
+        assertEquals(Tristate.TRUE, reversed.get("plugin.command"));
+        assertEquals(Tristate.TRUE, reversed.get("plugin.command.sub"));
+    }
+
+    @Test
+    public void testMergeFallback() {
+        // The first trie doesn't define the intermediate nodes,
+        // so the values of the second trie apply there
+        final PermissionTrie first = PermissionTrie.of(ImmutableMap.of("plugin.command.sub", true));
+        final PermissionTrie second = PermissionTrie.of(ImmutableMap.of("plugin", false));
+        final PermissionTrie merged = PermissionTrie.merge(ImmutableList.of(first, second));
+        assertEquals(Tristate.FALSE, merged.get("plugin"));
+        assertEquals(Tristate.FALSE, merged.get("plugin.command"));
+        assertEquals(Tristate.TRUE, merged.get("plugin.command.sub"));
+        assertEquals(Tristate.TRUE, merged.get("plugin.command.sub.other"));
+        assertEquals(Tristate.FALSE, merged.get("plugin.command.other"));
+        assertEquals(Tristate.UNDEFINED, merged.get("other"));
+    }
+}
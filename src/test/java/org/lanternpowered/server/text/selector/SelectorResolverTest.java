@@ -0,0 +1,274 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.text.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.lanternpowered.server.entity.LanternEntity;
+import org.lanternpowered.server.game.registry.util.RegistryHelper;
+import org.lanternpowered.server.world.LanternWorld;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.gamemode.GameMode;
+import org.spongepowered.api.scoreboard.Team;
+import org.spongepowered.api.text.selector.ArgumentHolder;
+import org.spongepowered.api.text.selector.ArgumentTypes;
+import org.spongepowered.api.text.selector.Selector;
+import org.spongepowered.api.text.selector.SelectorType;
+import org.spongepowered.api.text.selector.SelectorTypes;
+import org.spongepowered.api.util.AABB;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class SelectorResolverTest {
+
+    @BeforeClass
+    public static void setupCatalogs() {
+        final Map<String, SelectorType> selectorTypes = new HashMap<>();
+        selectorTypes.put("all_players", new LanternSelectorType("minecraft", "all_players", "a"));
+        selectorTypes.put("all_entities", new LanternSelectorType("minecraft", "all_entities", "e"));
+        selectorTypes.put("nearest_player", new LanternSelectorType("minecraft", "nearest_player", "p"));
+        selectorTypes.put("random", new LanternSelectorType("minecraft", "random", "r"));
+        RegistryHelper.mapFields(SelectorTypes.class, selectorTypes);
+
+        // The same argument types as the ArgumentTypeRegistryModule
+        final LanternSelectorFactory factory = new LanternSelectorFactory(null);
+        final Map<String, ArgumentHolder<?>> argumentTypes = new HashMap<>();
+        argumentTypes.put("position", new LanternArgumentHolder.LanternVector3<>(factory.createArgumentType("x", Integer.class),
+                factory.createArgumentType("y", Integer.class), factory.createArgumentType("z", Integer.class), Vector3i.class));
+        argumentTypes.put("radius", new LanternArgumentHolder.LanternLimit<>(factory.createArgumentType("rm", Integer.class),
+                factory.createArgumentType("r", Integer.class)));
+        argumentTypes.put("game_mode", factory.createArgumentType("m", GameMode.class));
+        argumentTypes.put("count", factory.createArgumentType("c", Integer.class));
+        argumentTypes.put("level", new LanternArgumentHolder.LanternLimit<>(factory.createArgumentType("lm", Integer.class),
+                factory.createArgumentType("l", Integer.class)));
+        argumentTypes.put("team", factory.createInvertibleArgumentType("team", Integer.class, Team.class.getName()));
+        argumentTypes.put("name", factory.createInvertibleArgumentType("name", String.class));
+        argumentTypes.put("dimension", new LanternArgumentHolder.LanternVector3<>(factory.createArgumentType("dx", Integer.class),
+                factory.createArgumentType("dy", Integer.class), factory.createArgumentType("dz", Integer.class), Vector3i.class));
+        argumentTypes.put("rotation", new LanternArgumentHolder.LanternLimit<>(
+                new LanternArgumentHolder.LanternVector3<>(factory.createArgumentType("rxm", Double.class),
+                        factory.createArgumentType("rym", Double.class), factory.createArgumentType("rzm", Double.class), Vector3d.class),
+                new LanternArgumentHolder.LanternVector3<>(factory.createArgumentType("rx", Double.class),
+                        factory.createArgumentType("ry", Double.class), factory.createArgumentType("rz", Double.class), Vector3d.class)));
+        argumentTypes.put("entity_type", factory.createInvertibleArgumentType("type", EntityType.class));
+        RegistryHelper.mapFields(ArgumentTypes.class, argumentTypes);
+    }
+
+    private static EntityType createEntityType(String id) {
+        final EntityType entityType = createEntityType("minecraft:zombie");
+        when(entityType.getId()).thenReturn(id);
+        return entityType;
+    }
+
+    private static <T extends Entity> T createEntity(Class<T> type, LanternWorld world, EntityType entityType, double x, double z) {
+        final T entity = mock(type);
+        when(entity.getType()).thenReturn(entityType);
+        when(entity.getLocation()).thenReturn(new Location<>(world, new Vector3d(x, 64, z)));
+        return entity;
+    }
+
+    /**
+     * Creates a world of which all the entity indexes are
+     * consistent with the list of entities.
+     */
+    @SuppressWarnings("unchecked")
+    private static LanternWorld createWorld(List<Entity> entities) {
+        final LanternWorld world = mock(LanternWorld.class);
+        when(world.getEntities()).thenReturn(entities);
+        when(world.getPlayers()).thenAnswer(invocation -> entities.stream()
+                .filter(entity -> entity instanceof Player)
+                .map(entity -> (Player) entity)
+                .collect(Collectors.toList()));
+        when(world.getRawEntities(any())).thenAnswer(invocation -> entities.stream()
+                .filter(entity -> entity.getType() == invocation.getArgument(0))
+                .map(entity -> (LanternEntity) entity)
+                .collect(Collectors.toList()));
+        when(world.getIntersectingEntities(any(AABB.class), any())).thenAnswer(invocation -> {
+            final AABB box = invocation.getArgument(0);
+            final Predicate<Entity> filter = invocation.getArgument(1);
+            return entities.stream()
+                    .filter(entity -> box.contains(entity.getLocation().getPosition()) && filter.test(entity))
+                    .collect(Collectors.toSet());
+        });
+        return world;
+    }
+
+    private static Selector selector(SelectorType type) {
+        return new LanternSelectorBuilder().type(type).build();
+    }
+
+    private static Selector selector(SelectorType type, int count) {
+        return new LanternSelectorBuilder().type(type).add(ArgumentTypes.COUNT, count).build();
+    }
+
+    private static Selector typeSelector(EntityType entityType, boolean inverted) {
+        return new LanternSelectorBuilder().type(SelectorTypes.ALL_ENTITIES)
+                .add(new LanternArgument.Invertible<>(ArgumentTypes.ENTITY_TYPE, entityType, inverted)).build();
+    }
+
+    @Test
+    public void testCountAcrossExtents() {
+        final EntityType entityType = createEntityType("minecraft:zombie");
+        final List<Entity> entities1 = new ArrayList<>();
+        final List<Entity> entities2 = new ArrayList<>();
+        final LanternWorld world1 = createWorld(entities1);
+        final LanternWorld world2 = createWorld(entities2);
+        for (int i = 0; i < 3; i++) {
+            entities1.add(createEntity(LanternEntity.class, world1, entityType, i, 0));
+            entities2.add(createEntity(LanternEntity.class, world2, entityType, i, 0));
+        }
+        // The count is reached within the first extent
+        Set<Entity> result = new SelectorResolver(ImmutableList.of(world1, world2),
+                selector(SelectorTypes.ALL_ENTITIES, 2), true).resolve();
+        assertEquals(ImmutableSet.copyOf(entities1.subList(0, 2)), result);
+        verify(world2, never()).getEntities();
+
+        // The count is reached within the second extent
+        result = new SelectorResolver(ImmutableList.of(world1, world2),
+                selector(SelectorTypes.ALL_ENTITIES, 4), true).resolve();
+        assertEquals(ImmutableSet.builder().addAll(entities1).add(entities2.get(0)).build(), result);
+
+        // No count selects everything
+        result = new SelectorResolver(ImmutableList.of(world1, world2),
+                selector(SelectorTypes.ALL_ENTITIES), true).resolve();
+        assertEquals(ImmutableSet.builder().addAll(entities1).addAll(entities2).build(), result);
+    }
+
+    @Test
+    public void testNearestPlayerOrdering() {
+        final EntityType entityType = createEntityType("minecraft:zombie");
+        final List<Entity> entities = new ArrayList<>();
+        final LanternWorld world = createWorld(entities);
+        final Player far = createEntity(Player.class, world, entityType, 10, 0);
+        final Player near = createEntity(Player.class, world, entityType, 1, 0);
+        final Player middle = createEntity(Player.class, world, entityType, 0, -5);
+        entities.add(far);
+        entities.add(createEntity(LanternEntity.class, world, entityType, 0, 0));
+        entities.add(near);
+        entities.add(middle);
+        final Location<World> origin = new Location<>(world, Vector3d.ZERO);
+
+        // The nearest player, not the nearest entity
+        Set<Entity> result = new SelectorResolver(origin, selector(SelectorTypes.NEAREST_PLAYER), true).resolve();
+        assertEquals(ImmutableList.of(near), ImmutableList.copyOf(result));
+
+        result = new SelectorResolver(origin, selector(SelectorTypes.NEAREST_PLAYER, 3), true).resolve();
+        assertEquals(ImmutableList.of(near, middle, far), ImmutableList.copyOf(result));
+        verify(world, never()).getEntities();
+    }
+
+    @Test
+    public void testRandomSampleSize() {
+        final EntityType entityType = createEntityType("minecraft:zombie");
+        final List<Entity> entities = new ArrayList<>();
+        final LanternWorld world = createWorld(entities);
+        for (int i = 0; i < 10; i++) {
+            entities.add(createEntity(LanternEntity.class, world, entityType, i, 0));
+        }
+        for (int i = 0; i < 20; i++) {
+            Set<Entity> result = new SelectorResolver(ImmutableList.of(world), selector(SelectorTypes.RANDOM), true).resolve();
+            assertEquals(1, result.size());
+            assertTrue(entities.containsAll(result));
+
+            result = new SelectorResolver(ImmutableList.of(world), selector(SelectorTypes.RANDOM, 4), true).resolve();
+            assertEquals(4, result.size());
+            assertTrue(entities.containsAll(result));
+        }
+        // The sample can't be larger than the amount of candidates
+        final Set<Entity> result = new SelectorResolver(ImmutableList.of(world), selector(SelectorTypes.RANDOM, 20), true).resolve();
+        assertEquals(ImmutableSet.copyOf(entities), result);
+    }
+
+    /**
+     * Resolves the selector through the entity indexes and compares
+     * it with the result of testing all the entities.
+     */
+    private static void assertSameAsFullScan(List<Entity> entities, Location<World> origin, Selector selector,
+            Predicate<Entity> expected) {
+        final Set<Entity> result = new SelectorResolver(origin, selector, true).resolve();
+        assertEquals(entities.stream().filter(expected).collect(Collectors.toSet()), result);
+    }
+
+    @Test
+    public void testCandidateSources() {
+        final EntityType zombie = createEntityType("minecraft:zombie");
+        final EntityType skeleton = createEntityType("minecraft:skeleton");
+        final List<Entity> entities = new ArrayList<>();
+        final LanternWorld world = createWorld(entities);
+        for (int i = -40; i <= 40; i += 4) {
+            entities.add(createEntity(LanternEntity.class, world, zombie, i, i / 2));
+            entities.add(createEntity(LanternEntity.class, world, skeleton, i / 2, i));
+            entities.add(createEntity(Player.class, world, skeleton, i, -i));
+        }
+        final Location<World> origin = new Location<>(world, new Vector3d(2, 64, 2));
+
+        // The query box of the radius
+        assertSameAsFullScan(entities, origin, new LanternSelectorBuilder()
+                        .type(SelectorTypes.ALL_ENTITIES).add(ArgumentTypes.RADIUS.maximum(), 10).build(),
+                entity -> entity.getLocation().getPosition().distanceSquared(origin.getPosition()) <= 100);
+        // The query box of the dimensions
+        assertSameAsFullScan(entities, origin, new LanternSelectorBuilder()
+                        .type(SelectorTypes.ALL_ENTITIES).add(ArgumentTypes.DIMENSION.x(), 12).add(ArgumentTypes.DIMENSION.z(), -6).build(),
+                entity -> {
+                    final Vector3d pos = entity.getLocation().getPosition();
+                    return pos.getX() >= 2 && pos.getX() <= 14 && pos.getZ() >= -4 && pos.getZ() <= 2;
+                });
+        // The entity type index
+        assertSameAsFullScan(entities, origin, typeSelector(zombie, false),
+                entity -> entity.getType() == zombie);
+        // The players of the world
+        assertSameAsFullScan(entities, origin, selector(SelectorTypes.ALL_PLAYERS),
+                entity -> entity instanceof Player);
+        // None of the selectors had to visit all the entities
+        verify(world, never()).getEntities();
+
+        // An inverted type can't use the index
+        assertSameAsFullScan(entities, origin, typeSelector(zombie, true),
+                entity -> entity.getType() != zombie);
+    }
+}
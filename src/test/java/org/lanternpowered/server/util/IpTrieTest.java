@@ -0,0 +1,170 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class IpTrieTest {
+
+    private static InetAddress address(String address) throws UnknownHostException {
+        return InetAddress.getByName(address);
+    }
+
+    @Test
+    public void testRanges() throws UnknownHostException {
+        final IpTrie<String> trie = new IpTrie<>();
+        trie.put(IpSet.fromCidr("10.0.0.0/8"), "a");
+        trie.put(IpSet.fromCidr("10.20.0.0/20"), "b");
+        trie.put(address("10.20.3.4"), "c");
+        assertEquals(3, trie.size());
+        assertEquals("c", trie.get(address("10.20.3.4")));
+        assertEquals("b", trie.get(address("10.20.15.1")));
+        assertEquals("a", trie.get(address("10.20.16.1")));
+        assertNull(trie.get(address("11.0.0.1")));
+        assertNull(trie.get(address("::1")));
+        assertEquals("b", trie.remove(address("10.20.0.0"), 20));
+        assertEquals("a", trie.get(address("10.20.15.1")));
+        assertEquals("c", trie.get(address("10.20.3.4")));
+        assertNull(trie.getExact(address("10.20.0.0"), 20));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    public void testReplace() throws UnknownHostException {
+        final IpTrie<String> trie = new IpTrie<>();
+        assertNull(trie.put(address("192.168.1.1"), "a"));
+        assertEquals("a", trie.put(address("192.168.1.1"), "b"));
+        assertEquals(1, trie.size());
+        assertEquals("b", trie.get(address("192.168.1.1")));
+        // The host bits of a range are ignored
+        assertNull(trie.put(address("192.168.1.1"), 24, "c"));
+        assertEquals("c", trie.put(address("192.168.1.0"), 24, "d"));
+        assertEquals("d", trie.getExact(address("192.168.1.200"), 24));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    public void testIpv6() throws UnknownHostException {
+        final IpTrie<String> trie = new IpTrie<>();
+        trie.put(IpSet.fromCidr("2001:db8::/32"), "a");
+        trie.put(address("2001:db8::1"), "b");
+        trie.put(address("10.0.0.1"), "c");
+        assertEquals("b", trie.get(address("2001:db8::1")));
+        assertEquals("a", trie.get(address("2001:db8:ffff::1")));
+        assertNull(trie.get(address("2001:db9::1")));
+        assertEquals("c", trie.get(address("10.0.0.1")));
+        assertEquals("b", trie.remove(address("2001:db8::1")));
+        assertEquals("a", trie.get(address("2001:db8::1")));
+    }
+
+    @Test
+    public void testRemove() throws UnknownHostException {
+        final IpTrie<String> trie = new IpTrie<>();
+        trie.put(address("10.0.0.1"), "a");
+        trie.put(address("10.0.0.2"), "b");
+        trie.put(address("10.0.1.0"), "c");
+        assertNull(trie.remove(address("10.0.0.3")));
+        assertNull(trie.remove(address("10.0.0.0"), 24));
+        assertEquals("a", trie.remove(address("10.0.0.1")));
+        assertNull(trie.remove(address("10.0.0.1")));
+        assertNull(trie.get(address("10.0.0.1")));
+        assertEquals("b", trie.get(address("10.0.0.2")));
+        assertEquals("c", trie.get(address("10.0.1.0")));
+        assertEquals("b", trie.remove(address("10.0.0.2")));
+        assertEquals("c", trie.remove(address("10.0.1.0")));
+        assertEquals(0, trie.size());
+
+        trie.put(address("10.0.0.1"), "d");
+        assertEquals("d", trie.get(address("10.0.0.1")));
+        trie.clear();
+        assertEquals(0, trie.size());
+        assertNull(trie.get(address("10.0.0.1")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPrefixLength() throws UnknownHostException {
+        new IpTrie<String>().put(address("10.0.0.1"), 33, "a");
+    }
+
+    @Test
+    public void testRandomRanges() throws UnknownHostException {
+        final Random random = new Random(100);
+        final IpTrie<IpSet> trie = new IpTrie<>();
+        final List<IpSet> ipSets = new ArrayList<>();
+        final byte[] bytes = new byte[4];
+        for (int i = 0; i < 500; i++) {
+            random.nextBytes(bytes);
+            // Keep the addresses close to each other to get nested ranges
+            bytes[0] = (byte) (bytes[0] & 0x3);
+            final IpSet ipSet = IpSet.fromCidr(InetAddress.getByAddress(bytes).getHostAddress() + "/" + (8 + random.nextInt(25)));
+            if (trie.getExact(ipSet.getAddress(), ipSet.getPrefixLength()) == null) {
+                ipSets.add(ipSet);
+                trie.put(ipSet, ipSet);
+            }
+        }
+        assertEquals(ipSets.size(), trie.size());
+        for (int i = 0; i < 2000; i++) {
+            random.nextBytes(bytes);
+            bytes[0] = (byte) (bytes[0] & 0x3);
+            final InetAddress address = InetAddress.getByAddress(bytes);
+            assertEquals(find(ipSets, address), trie.get(address));
+        }
+        // Remove half of the ranges and check again
+        for (int i = 0; i < ipSets.size(); i++) {
+            final IpSet ipSet = ipSets.remove(i);
+            assertEquals(ipSet, trie.remove(ipSet.getAddress(), ipSet.getPrefixLength()));
+        }
+        assertEquals(ipSets.size(), trie.size());
+        for (int i = 0; i < 2000; i++) {
+            random.nextBytes(bytes);
+            bytes[0] = (byte) (bytes[0] & 0x3);
+            final InetAddress address = InetAddress.getByAddress(bytes);
+            assertEquals(find(ipSets, address), trie.get(address));
+        }
+    }
+
+    /**
+     * Finds the most specific {@link IpSet} that contains the address.
+     */
+    private static IpSet find(List<IpSet> ipSets, InetAddress address) {
+        IpSet result = null;
+        for (IpSet ipSet : ipSets) {
+            if (ipSet.test(address) && (result == null || ipSet.getPrefixLength() > result.getPrefixLength())) {
+                result = ipSet;
+            }
+        }
+        return result;
+    }
+}
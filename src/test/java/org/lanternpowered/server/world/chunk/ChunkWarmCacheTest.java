@@ -0,0 +1,151 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.chunk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.flowpowered.math.vector.Vector2i;
+import org.junit.Test;
+import org.lanternpowered.server.profiler.ChunkCacheMetrics;
+
+public class ChunkWarmCacheTest {
+
+    private static final class TestHeapMonitor implements HeapMonitor {
+
+        private long usedMemory;
+        private long collectionCount;
+
+        @Override
+        public long getUsedMemory() {
+            return this.usedMemory;
+        }
+
+        @Override
+        public long getMaxMemory() {
+            return 100;
+        }
+
+        @Override
+        public long getCollectionCount() {
+            return this.collectionCount;
+        }
+    }
+
+    private static LanternChunk createChunk(int x, int z) {
+        final LanternChunk chunk = mock(LanternChunk.class);
+        when(chunk.getCoords()).thenReturn(new Vector2i(x, z));
+        return chunk;
+    }
+
+    private static ChunkWarmCache createCache(int maxSize, HeapMonitor heapMonitor, ChunkCacheMetrics[] metrics) {
+        final ChunkWarmCache[] cache = new ChunkWarmCache[1];
+        metrics[0] = new ChunkCacheMetrics("test", () -> cache[0].size());
+        cache[0] = new ChunkWarmCache(maxSize, 0.5, heapMonitor, metrics[0]);
+        return cache[0];
+    }
+
+    @Test
+    public void testSizeBound() {
+        final ChunkCacheMetrics[] metrics = new ChunkCacheMetrics[1];
+        final ChunkWarmCache cache = createCache(2, new TestHeapMonitor(), metrics);
+        cache.add(createChunk(0, 0));
+        cache.add(createChunk(1, 0));
+        // Access the first chunk, the second one is now the eldest
+        assertNotNull(cache.remove(new Vector2i(0, 0)));
+        cache.add(createChunk(0, 0));
+        cache.add(createChunk(2, 0));
+        assertEquals(2, cache.size());
+        assertNull(cache.remove(new Vector2i(1, 0)));
+        assertNotNull(cache.remove(new Vector2i(0, 0)));
+        assertNotNull(cache.remove(new Vector2i(2, 0)));
+        assertEquals(1, metrics[0].getEvictionCount());
+        assertEquals(0, metrics[0].getMemoryPressureEvictionCount());
+    }
+
+    @Test
+    public void testNoEvictionBelowWatermark() {
+        final TestHeapMonitor heapMonitor = new TestHeapMonitor();
+        final ChunkWarmCache cache = createCache(32, heapMonitor, new ChunkCacheMetrics[1]);
+        for (int i = 0; i < 16; i++) {
+            cache.add(createChunk(i, 0));
+        }
+        heapMonitor.usedMemory = 50;
+        heapMonitor.collectionCount = 1;
+        assertEquals(0, cache.evictForMemoryPressure());
+        assertEquals(16, cache.size());
+    }
+
+    @Test
+    public void testIncrementalEviction() {
+        final TestHeapMonitor heapMonitor = new TestHeapMonitor();
+        final ChunkCacheMetrics[] metrics = new ChunkCacheMetrics[1];
+        final ChunkWarmCache cache = createCache(32, heapMonitor, metrics);
+        for (int i = 0; i < 16; i++) {
+            cache.add(createChunk(i, 0));
+        }
+        heapMonitor.usedMemory = 80;
+        heapMonitor.collectionCount = 1;
+        final int step = 16 / ChunkWarmCache.MEMORY_PRESSURE_STEPS;
+        assertEquals(step, cache.evictForMemoryPressure());
+        assertEquals(16 - step, cache.size());
+        // The least recently used chunks are evicted first
+        for (int i = 0; i < step; i++) {
+            assertNull(cache.remove(new Vector2i(i, 0)));
+        }
+
+        // No new collection happened, the heap usage is outdated
+        assertEquals(0, cache.evictForMemoryPressure());
+        assertEquals(16 - step, cache.size());
+
+        heapMonitor.collectionCount = 2;
+        assertEquals(step, cache.evictForMemoryPressure());
+        assertEquals(16 - step * 2, cache.size());
+
+        // The heap is under the watermark again
+        heapMonitor.usedMemory = 40;
+        heapMonitor.collectionCount = 3;
+        assertEquals(0, cache.evictForMemoryPressure());
+        assertEquals(16 - step * 2, cache.size());
+        assertEquals(step * 2, metrics[0].getMemoryPressureEvictionCount());
+    }
+
+    @Test
+    public void testEvictLastChunk() {
+        final TestHeapMonitor heapMonitor = new TestHeapMonitor();
+        final ChunkWarmCache cache = createCache(32, heapMonitor, new ChunkCacheMetrics[1]);
+        cache.add(createChunk(0, 0));
+        heapMonitor.usedMemory = 80;
+        heapMonitor.collectionCount = 1;
+        assertEquals(1, cache.evictForMemoryPressure());
+        assertEquals(0, cache.size());
+        heapMonitor.collectionCount = 2;
+        assertEquals(0, cache.evictForMemoryPressure());
+    }
+}
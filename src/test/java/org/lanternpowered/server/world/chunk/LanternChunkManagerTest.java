@@ -0,0 +1,208 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.chunk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.lanternpowered.server.config.world.WorldConfig;
+import org.lanternpowered.server.data.io.ChunkIOService;
+import org.lanternpowered.server.game.LanternGame;
+import org.lanternpowered.server.profiler.ChunkCacheMetrics;
+import org.lanternpowered.server.world.LanternWorld;
+import org.lanternpowered.server.world.MultiWorldEventListener;
+import org.slf4j.LoggerFactory;
+import org.spongepowered.api.event.EventManager;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.world.gen.WorldGenerator;
+
+import java.nio.file.Paths;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class LanternChunkManagerTest {
+
+    private LanternChunkManager chunkManager;
+    private ChunkIOService chunkIOService;
+    private Supplier<Cause> cause;
+
+    @Before
+    public void setup() {
+        final LanternGame game = mock(LanternGame.class);
+        when(game.getLogger()).thenReturn(LoggerFactory.getLogger(LanternChunkManagerTest.class));
+        when(game.getEventManager()).thenReturn(mock(EventManager.class));
+
+        final LanternWorld world = mock(LanternWorld.class);
+        when(world.getName()).thenReturn("test");
+        when(world.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(world.getEventListener()).thenReturn(mock(MultiWorldEventListener.class));
+
+        final WorldConfig worldConfig = mock(WorldConfig.class);
+        when(worldConfig.getChunkLoadingThreads()).thenReturn(1);
+        when(worldConfig.getMaxChunkLoadingThreads()).thenReturn(1);
+        when(worldConfig.getChunkWarmCacheSize()).thenReturn(16);
+        when(worldConfig.getChunkWarmCacheHeapWatermark()).thenReturn(1.0);
+        // Don't unload the chunks during the pulses of the test
+        when(worldConfig.getChunkUnloadDelay()).thenReturn(TimeUnit.MINUTES.toMillis(10));
+
+        this.chunkIOService = mock(ChunkIOService.class);
+        this.cause = () -> Cause.source(world).build();
+        this.chunkManager = new LanternChunkManager(mock(PluginContainer.class), game, world, worldConfig,
+                mock(LanternChunkTicketManager.class), this.chunkIOService, mock(WorldGenerator.class), Paths.get("test"));
+    }
+
+    private LanternChunk awaitLoad(CompletableFuture<LanternChunk> future) throws Exception {
+        final long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        // The futures are completed by the world thread
+        while (!future.isDone() && System.currentTimeMillis() < end) {
+            this.chunkManager.pulse();
+            Thread.sleep(1);
+        }
+        assertTrue(future.isDone());
+        return future.get();
+    }
+
+    @Test
+    public void testLoadAsync() throws Exception {
+        when(this.chunkIOService.read(any())).thenReturn(true);
+        final CompletableFuture<LanternChunk> future = this.chunkManager.loadAsync(0, 0, this.cause, false);
+        final LanternChunk chunk = awaitLoad(future);
+        assertTrue(chunk.isLoaded());
+        assertSame(chunk, this.chunkManager.getChunkIfLoaded(0, 0));
+        // A loaded chunk is completed directly
+        assertSame(chunk, this.chunkManager.loadAsync(0, 0, this.cause, false).getNow(null));
+    }
+
+    @Test
+    public void testReactivateConcurrently() throws Exception {
+        when(this.chunkIOService.read(any())).thenReturn(true);
+        final LanternChunk chunk = this.chunkManager.getOrCreateChunk(0, 0, this.cause, false);
+        assertTrue(this.chunkManager.unload(chunk, this.cause));
+        assertNull(this.chunkManager.getChunkIfLoaded(0, 0));
+
+        // All the threads should receive the same chunk, and
+        // only one of them is allowed to reactivate it
+        final int threads = 4;
+        final CountDownLatch start = new CountDownLatch(1);
+        final LanternChunk[] chunks = new LanternChunk[threads];
+        final Thread[] loadThreads = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            final int index = i;
+            loadThreads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                chunks[index] = this.chunkManager.getOrCreateChunk(0, 0, this.cause, false);
+            });
+            loadThreads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : loadThreads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        for (LanternChunk chunk0 : chunks) {
+            assertSame(chunk, chunk0);
+        }
+        assertSame(chunk, this.chunkManager.getChunkIfLoaded(0, 0));
+        verify(this.chunkIOService, times(1)).read(any());
+        final ChunkCacheMetrics metrics = this.chunkManager.getCacheMetrics();
+        assertEquals(1, metrics.getWarmCacheHits() + metrics.getReusedChunkCount());
+    }
+
+    @Test
+    public void testLoadWhileUnloading() throws Exception {
+        when(this.chunkIOService.read(any())).thenReturn(true);
+        final LanternChunk chunk = this.chunkManager.getOrCreateChunk(0, 0, this.cause, false);
+        assertTrue(chunk.isLoaded());
+
+        // Block the unloading thread while the chunk is being saved, the
+        // chunk is already removed from the loaded chunks at that point
+        final CountDownLatch saving = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            saving.countDown();
+            release.await();
+            return null;
+        }).when(this.chunkIOService).write(any());
+
+        final Thread unloadThread = new Thread(() -> this.chunkManager.unload(chunk, this.cause));
+        unloadThread.start();
+        assertTrue(saving.await(10, TimeUnit.SECONDS));
+
+        final CompletableFuture<LanternChunk> future = this.chunkManager.loadAsync(0, 0, this.cause, false);
+        this.chunkManager.pulse();
+        // The load has to wait for the unloading to finish
+        assertFalse(future.isDone());
+
+        release.countDown();
+        unloadThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        // The unloaded chunk is handed over to the load, without reading it again
+        assertSame(chunk, awaitLoad(future));
+        assertSame(chunk, this.chunkManager.getChunkIfLoaded(0, 0));
+        verify(this.chunkIOService, times(1)).read(any());
+        assertEquals(1, this.chunkManager.getCacheMetrics().getWarmCacheHits());
+    }
+
+    @Test
+    public void testCancelLoad() throws Exception {
+        // Occupy the loading thread, so that the next load stays queued
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(this.chunkIOService.read(any())).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            return true;
+        });
+        final CompletableFuture<LanternChunk> first = this.chunkManager.loadAsync(0, 0, this.cause, false);
+        assertTrue(reading.await(10, TimeUnit.SECONDS));
+        final CompletableFuture<LanternChunk> second = this.chunkManager.loadAsync(1, 0, this.cause, false);
+        assertTrue(second.cancel(false));
+        release.countDown();
+        awaitLoad(first);
+        // Give the loading thread the chance to pick up the cancelled load
+        awaitLoad(this.chunkManager.loadAsync(2, 0, this.cause, false));
+        verify(this.chunkIOService, times(2)).read(any());
+        assertNull(this.chunkManager.getChunkIfLoaded(1, 0));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.gen.noise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+import org.lanternpowered.server.world.chunk.ChunkBlockBuffer;
+
+public class NoiseTerrainGenerationPopulatorTest {
+
+    private final static short STONE = 1 << 4;
+    private final static short GRASS = 2 << 4;
+    private final static short DIRT = 3 << 4;
+    private final static short BEDROCK = 7 << 4;
+    private final static short WATER = 9 << 4;
+    private final static short SAND = 12 << 4;
+
+    private static NoiseTerrainGenerationPopulator createPopulator() {
+        return new NoiseTerrainGenerationPopulator(1234L, 62, 256, STONE, DIRT, GRASS, SAND, WATER, BEDROCK);
+    }
+
+    @Test
+    public void testTerrain() {
+        final NoiseTerrainGenerationPopulator populator = createPopulator();
+        final ChunkBlockBuffer buffer = new ChunkBlockBuffer();
+        buffer.reuse(Vector3i.ZERO);
+        populator.generate(buffer, 0, 0);
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                assertEquals(BEDROCK, buffer.getRawType(x, 0, z));
+                // The terrain never reaches the top of the world
+                assertEquals(0, buffer.getRawType(x, 255, z));
+            }
+        }
+        assertTrue(buffer.getNonAirCount(0) > 0);
+    }
+
+    @Test
+    public void testDeterministic() {
+        final ChunkBlockBuffer buffer1 = new ChunkBlockBuffer();
+        buffer1.reuse(Vector3i.ZERO);
+        createPopulator().generate(buffer1, 160, -320);
+        final ChunkBlockBuffer buffer2 = new ChunkBlockBuffer();
+        buffer2.reuse(Vector3i.ZERO);
+        createPopulator().generate(buffer2, 160, -320);
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 256; y++) {
+                for (int z = 0; z < 16; z++) {
+                    assertEquals(buffer1.getRawType(x, y, z), buffer2.getRawType(x, y, z));
+                }
+            }
+        }
+    }
+}
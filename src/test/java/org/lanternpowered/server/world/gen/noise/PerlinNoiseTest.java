@@ -0,0 +1,84 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.gen.noise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+public class PerlinNoiseTest {
+
+    @Test
+    public void testRange() {
+        final PerlinNoise noise = new PerlinNoise(new Random(0L));
+        final Random random = new Random(1L);
+        for (int i = 0; i < 100000; i++) {
+            final double value = noise.noise(random.nextDouble() * 1000.0, random.nextDouble() * 1000.0, random.nextDouble() * 1000.0);
+            // The extremes of improved perlin noise slightly exceed one
+            assertTrue(Math.abs(value) <= 1.1);
+        }
+    }
+
+    @Test
+    public void testDeterministic() {
+        final PerlinNoise noise1 = new PerlinNoise(new Random(42L));
+        final PerlinNoise noise2 = new PerlinNoise(new Random(42L));
+        final PerlinNoise noise3 = new PerlinNoise(new Random(43L));
+        boolean different = false;
+        for (int i = 0; i < 100; i++) {
+            final double x = i * 0.37;
+            final double z = i * 0.71;
+            assertEquals(noise1.noise(x, 0.5, z), noise2.noise(x, 0.5, z), 0.0);
+            different |= noise1.noise(x, 0.5, z) != noise3.noise(x, 0.5, z);
+        }
+        assertTrue(different);
+    }
+
+    @Test
+    public void testContinuous() {
+        final PerlinNoise noise = new PerlinNoise(new Random(0L));
+        double previous = noise.noise(0.0, 0.0, 0.0);
+        for (int i = 1; i < 10000; i++) {
+            final double value = noise.noise(i * 0.001, 0.0, 0.0);
+            assertEquals(previous, value, 0.01);
+            previous = value;
+        }
+    }
+
+    @Test
+    public void testOctaves() {
+        final OctavePerlinNoise single = new OctavePerlinNoise(new Random(5L), 1);
+        final PerlinNoise noise = new PerlinNoise(new Random(5L));
+        // A single octave equals the plain noise
+        assertEquals(noise.noise(1.5, 2.5, 3.5), single.noise(1.5, 2.5, 3.5), 0.0);
+        final OctavePerlinNoise octaves = new OctavePerlinNoise(new Random(5L), 4);
+        assertNotEquals(single.noise(1.5, 2.5, 3.5), octaves.noise(1.5, 2.5, 3.5), 0.0);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.pregen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class LanternChunkPreGenerateTaskTest {
+
+    @Test
+    public void testShutdownAndRelease() throws InterruptedException {
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        final Queue<Integer> chunks = new ConcurrentLinkedQueue<>();
+        final List<Integer> released = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        chunks.add(0);
+        for (int i = 1; i <= 8; i++) {
+            final int chunk = i;
+            pool.execute(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                // Chunks are still queued while the pool is shutting down
+                chunks.add(chunk);
+            });
+        }
+        started.await();
+        final int remaining = LanternChunkPreGenerateTask.shutdownAndRelease(pool, chunks, released::add, 1, TimeUnit.MINUTES);
+        assertTrue(pool.isTerminated());
+        assertEquals(0, remaining);
+        assertTrue(chunks.isEmpty());
+        assertEquals(9, released.size());
+    }
+
+    @Test
+    public void testFailedRelease() {
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        final Queue<Integer> chunks = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < 10; i++) {
+            chunks.add(i);
+        }
+        final int remaining = LanternChunkPreGenerateTask.shutdownAndRelease(pool, chunks, chunk -> chunk % 2 == 0, 1, TimeUnit.MINUTES);
+        assertEquals(5, remaining);
+        assertTrue(chunks.isEmpty());
+    }
+}